@@ -72,4 +72,16 @@ public class BackendFormRenderingContextImpl implements BackendFormRenderingCont
     public Map<String, Object> getAttributes() {
         return attributes;
     }
+
+    /**
+     * Drops the references to the form data and the class loader once the context is no longer going to be used.
+     */
+    public void release() {
+        formData = null;
+        classLoader = null;
+        attributes.clear();
+        if ( renderingContext != null ) {
+            renderingContext.setModel( null );
+        }
+    }
 }
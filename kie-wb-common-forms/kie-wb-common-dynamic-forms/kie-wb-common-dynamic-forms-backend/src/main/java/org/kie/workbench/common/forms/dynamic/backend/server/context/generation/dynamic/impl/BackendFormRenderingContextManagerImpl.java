@@ -17,7 +17,6 @@
 package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
 import javax.enterprise.context.SessionScoped;
 import javax.inject.Inject;
@@ -35,7 +34,7 @@ import org.slf4j.LoggerFactory;
 public class BackendFormRenderingContextManagerImpl implements BackendFormRenderingContextManager {
     private static final Logger logger = LoggerFactory.getLogger( BackendFormRenderingContextManagerImpl.class );
 
-    protected Map<Long, BackendFormRenderingContextImpl> contexts = new HashMap<>();
+    protected BackendFormRenderingContextStore contexts = new BackendFormRenderingContextStore();
 
     protected FormValuesProcessor valuesProcessor;
 
@@ -61,7 +60,7 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
         Arrays.stream( nestedForms ).forEach( form -> clientRenderingContext.getAvailableForms().put( form.getId(),
                                                                                                       form ) );
 
-        BackendFormRenderingContextImpl context = new BackendFormRenderingContextImpl( System.currentTimeMillis(),
+        BackendFormRenderingContextImpl context = new BackendFormRenderingContextImpl( BackendFormRenderingContextStore.nextId(),
                                                                                        clientRenderingContext,
                                                                                        formData,
                                                                                        classLoader );
@@ -72,7 +71,7 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
 
         clientRenderingContext.setModel( clienFormData );
 
-        contexts.put( context.getTimestamp(), context );
+        contexts.put( context );
 
         return context;
     }
@@ -103,6 +102,10 @@ public class BackendFormRenderingContextManagerImpl implements BackendFormRender
 
     @Override
     public boolean removeContext( Long timestamp ) {
-        return contexts.remove( timestamp ) != null;
+        return contexts.remove( timestamp );
+    }
+
+    public BackendFormRenderingContextStore getContextStore() {
+        return contexts;
     }
 }
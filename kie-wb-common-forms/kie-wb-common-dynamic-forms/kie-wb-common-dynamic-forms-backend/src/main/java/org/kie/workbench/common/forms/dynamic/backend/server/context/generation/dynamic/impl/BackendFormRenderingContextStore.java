@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Stores the rendering contexts of a session. The store keeps at most <code>maxSize</code> contexts and drops the
+ * contexts that haven't been used for more than <code>maxIdleTime</code> milliseconds, releasing the model and
+ * class loader references of the evicted contexts.
+ */
+public class BackendFormRenderingContextStore {
+
+    public static final int DEFAULT_MAX_SIZE = 100;
+
+    public static final long DEFAULT_MAX_IDLE_TIME = TimeUnit.MINUTES.toMillis( 30 );
+
+    private static final AtomicLong lastId = new AtomicLong();
+
+    private final int maxSize;
+
+    private final long maxIdleTime;
+
+    private final LongSupplier clock;
+
+    private final LinkedHashMap<Long, StoredContext> contexts = new LinkedHashMap<>( 16, 0.75f, true );
+
+    private long registeredCount = 0;
+
+    private long evictedCount = 0;
+
+    private StoreMetrics metrics;
+
+    public BackendFormRenderingContextStore() {
+        this( DEFAULT_MAX_SIZE, DEFAULT_MAX_IDLE_TIME );
+    }
+
+    public BackendFormRenderingContextStore( int maxSize,
+                                             long maxIdleTime ) {
+        this( maxSize, maxIdleTime, System::currentTimeMillis );
+    }
+
+    BackendFormRenderingContextStore( int maxSize,
+                                      long maxIdleTime,
+                                      LongSupplier clock ) {
+        if ( maxSize < 1 ) {
+            throw new IllegalArgumentException( "Store size must be greater than 0" );
+        }
+        this.maxSize = maxSize;
+        this.maxIdleTime = maxIdleTime;
+        this.clock = clock;
+    }
+
+    /**
+     * Generates a new context id. Ids are unique and increasing for the whole application and, as long as no more
+     * than one context is created per millisecond, equal to the creation timestamp.
+     */
+    public static long nextId() {
+        return lastId.updateAndGet( last -> Math.max( last + 1, System.currentTimeMillis() ) );
+    }
+
+    public synchronized void put( BackendFormRenderingContextImpl context ) {
+        long now = clock.getAsLong();
+
+        expire( now );
+
+        contexts.put( context.getTimestamp(), new StoredContext( context, now ) );
+        registeredCount++;
+
+        Iterator<StoredContext> it = contexts.values().iterator();
+        while ( contexts.size() > maxSize && it.hasNext() ) {
+            evict( it.next(), it );
+        }
+
+        if ( metrics != null ) {
+            metrics.contextRegistered( contexts.size() );
+        }
+    }
+
+    public synchronized BackendFormRenderingContextImpl get( Long id ) {
+        expire( clock.getAsLong() );
+
+        StoredContext stored = contexts.get( id );
+
+        if ( stored == null ) {
+            return null;
+        }
+
+        stored.lastAccess = clock.getAsLong();
+
+        return stored.context;
+    }
+
+    public synchronized boolean remove( Long id ) {
+        boolean removed = contexts.remove( id ) != null;
+        if ( removed && metrics != null ) {
+            metrics.contextRemoved( contexts.size() );
+        }
+        return removed;
+    }
+
+    public synchronized int size() {
+        return contexts.size();
+    }
+
+    public synchronized long getRegisteredCount() {
+        return registeredCount;
+    }
+
+    public synchronized long getEvictedCount() {
+        return evictedCount;
+    }
+
+    public synchronized void setMetrics( StoreMetrics metrics ) {
+        this.metrics = metrics;
+    }
+
+    private void expire( long now ) {
+        // Contexts are kept in access order, so the idle ones are always at the beginning
+        Iterator<StoredContext> it = contexts.values().iterator();
+        while ( it.hasNext() ) {
+            StoredContext stored = it.next();
+            if ( now - stored.lastAccess <= maxIdleTime ) {
+                return;
+            }
+            evict( stored, it );
+        }
+    }
+
+    private void evict( StoredContext stored,
+                        Iterator<StoredContext> it ) {
+        it.remove();
+        stored.context.release();
+        evictedCount++;
+        if ( metrics != null ) {
+            metrics.contextEvicted( contexts.size() );
+        }
+    }
+
+    /**
+     * Receives the changes on the number of contexts held by a store.
+     */
+    public interface StoreMetrics {
+
+        void contextRegistered( int size );
+
+        void contextRemoved( int size );
+
+        void contextEvicted( int size );
+    }
+
+    private static class StoredContext {
+
+        private final BackendFormRenderingContextImpl context;
+
+        private long lastAccess;
+
+        StoredContext( BackendFormRenderingContextImpl context,
+                       long lastAccess ) {
+            this.context = context;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl.fieldProcessors;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the nested model classes for each (ClassLoader, class name) pair only once, and gives access to
+ * their property accessors.
+ * <p>
+ * Entries are weakly bound to the class loaders, so when a project class loader is replaced by a new one
+ * the classes get resolved again and the previous ones can be collected. Both the class loaders and the
+ * resolved classes are only weakly referenced, so this registry never keeps a class loader alive.
+ */
+public class ModelAccessorsRegistry {
+
+    private static final ModelAccessorsRegistry INSTANCE = new ModelAccessorsRegistry();
+
+    private final Map<ClassLoader, Map<String, WeakReference<Class<?>>>> classes = new WeakHashMap<>();
+
+    public static ModelAccessorsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    ModelAccessorsRegistry() {
+    }
+
+    /**
+     * Loads the given class from the class loader, or from the application class loader if not present there.
+     */
+    public Class<?> loadClass( ClassLoader classLoader,
+                               String className ) throws ClassNotFoundException {
+        Map<String, WeakReference<Class<?>>> loaded = getLoadedClasses( classLoader );
+        WeakReference<Class<?>> reference = loaded.get( className );
+        Class<?> clazz = reference != null ? reference.get() : null;
+        if ( clazz == null ) {
+            try {
+                clazz = classLoader.loadClass( className );
+            } catch ( ClassNotFoundException e ) {
+                // Maybe the nested class it is not on the classLoader context... let's try on the app classloader
+                clazz = Class.forName( className );
+            }
+            loaded.put( className, new WeakReference<>( clazz ) );
+        }
+        return clazz;
+    }
+
+    public ModelClassAccessors getAccessors( Class<?> type ) {
+        return ModelClassAccessors.get( type );
+    }
+
+    /**
+     * Discards the classes resolved for the given class loader, for example when it's been replaced.
+     */
+    public void invalidate( ClassLoader classLoader ) {
+        synchronized ( classes ) {
+            classes.remove( classLoader );
+        }
+    }
+
+    private Map<String, WeakReference<Class<?>>> getLoadedClasses( ClassLoader classLoader ) {
+        synchronized ( classes ) {
+            return classes.computeIfAbsent( classLoader, loader -> new ConcurrentHashMap<>() );
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl.fieldProcessors;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.beanutils.PropertyUtils;
+
+/**
+ * The property accessors (binding -> accessor) for a given model class, plus its default constructor.
+ * It's computed only once per class and then shared by all the nested form value processors.
+ */
+public class ModelClassAccessors {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType( Object.class );
+
+    private static final ClassValue<ModelClassAccessors> ACCESSORS = new ClassValue<ModelClassAccessors>() {
+        @Override
+        protected ModelClassAccessors computeValue( Class<?> type ) {
+            return new ModelClassAccessors( type );
+        }
+    };
+
+    private final Class<?> type;
+    private final Map<String, ModelPropertyAccessor> properties;
+    private final MethodHandle constructor;
+
+    public static ModelClassAccessors get( Class<?> type ) {
+        return ACCESSORS.get( type );
+    }
+
+    private ModelClassAccessors( Class<?> type ) {
+        this.type = type;
+        Map<String, ModelPropertyAccessor> properties = new HashMap<>();
+        for ( PropertyDescriptor descriptor : PropertyUtils.getPropertyDescriptors( type ) ) {
+            properties.put( descriptor.getName(), new ModelPropertyAccessor( descriptor ) );
+        }
+        this.properties = Collections.unmodifiableMap( properties );
+        this.constructor = lookupConstructor( type );
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the accessor for the given property, or null if the class has no such property.
+     */
+    public ModelPropertyAccessor getProperty( String name ) {
+        return properties.get( name );
+    }
+
+    public Object newInstance() throws Exception {
+        if ( constructor == null ) {
+            throw new NoSuchMethodException( "No accessible default constructor on class '" + type.getName() + "'" );
+        }
+        try {
+            return (Object) constructor.invokeExact();
+        } catch ( Exception | Error e ) {
+            throw e;
+        } catch ( Throwable t ) {
+            throw new IllegalStateException( t );
+        }
+    }
+
+    private static MethodHandle lookupConstructor( Class<?> type ) {
+        if ( !Modifier.isPublic( type.getModifiers() ) || Modifier.isAbstract( type.getModifiers() ) ) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getConstructor();
+            return MethodHandles.publicLookup().unreflectConstructor( constructor ).asType( CONSTRUCTOR_TYPE );
+        } catch ( NoSuchMethodException | IllegalAccessException e ) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl.fieldProcessors;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import org.apache.commons.beanutils.BeanUtils;
+import org.apache.commons.beanutils.MethodUtils;
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Reads and writes a single model property using method handles resolved once from its property descriptor.
+ * <p>
+ * Values that are not assignable to the property type are still written through <code>BeanUtils</code>, so
+ * the same type conversions are applied as before.
+ */
+public class ModelPropertyAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType( Object.class, Object.class );
+    private static final MethodType SETTER_TYPE = MethodType.methodType( void.class, Object.class, Object.class );
+
+    private final String name;
+    private final Class<?> type;
+    private final Class<?> wrapperType;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    ModelPropertyAccessor( PropertyDescriptor descriptor ) {
+        this.name = descriptor.getName();
+        this.type = descriptor.getPropertyType();
+        this.wrapperType = type != null ? ClassUtils.primitiveToWrapper( type ) : null;
+        this.getter = unreflect( descriptor.getReadMethod(), GETTER_TYPE );
+        this.setter = unreflect( descriptor.getWriteMethod(), SETTER_TYPE );
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public boolean isReadable() {
+        return getter != null;
+    }
+
+    public Object read( Object model ) throws Exception {
+        if ( getter == null ) {
+            throw new NoSuchMethodException( "Property '" + name + "' has no getter method on class '" + model.getClass().getName() + "'" );
+        }
+        try {
+            return (Object) getter.invokeExact( model );
+        } catch ( Exception | Error e ) {
+            throw e;
+        } catch ( Throwable t ) {
+            throw new IllegalStateException( t );
+        }
+    }
+
+    public void write( Object model,
+                       Object value ) throws Exception {
+        if ( setter == null || wrapperType == null || !wrapperType.isInstance( value ) ) {
+            // Read only properties, nulls and values that need conversion are handled by BeanUtils
+            BeanUtils.setProperty( model, name, value );
+            return;
+        }
+        try {
+            setter.invokeExact( model, value );
+        } catch ( Exception | Error e ) {
+            throw e;
+        } catch ( Throwable t ) {
+            throw new IllegalStateException( t );
+        }
+    }
+
+    private static MethodHandle unreflect( Method method,
+                                           MethodType methodType ) {
+        Method accessibleMethod = method != null ? MethodUtils.getAccessibleMethod( method ) : null;
+        if ( accessibleMethod == null ) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect( accessibleMethod ).asType( methodType );
+        } catch ( IllegalAccessException e ) {
+            return null;
+        }
+    }
+}
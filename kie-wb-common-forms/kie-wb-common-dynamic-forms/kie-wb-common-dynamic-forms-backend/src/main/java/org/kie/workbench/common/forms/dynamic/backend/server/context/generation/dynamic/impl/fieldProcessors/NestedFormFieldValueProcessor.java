@@ -18,7 +18,7 @@ package org.kie.workbench.common.forms.dynamic.backend.server.context.generation
 import java.util.Map;
 
 import org.apache.commons.beanutils.BeanUtils;
-import org.apache.commons.beanutils.ConstructorUtils;
+import org.apache.commons.beanutils.DynaBean;
 import org.apache.commons.beanutils.PropertyUtils;
 import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.BackendFormRenderingContext;
 import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.FieldValueProcessor;
@@ -32,6 +32,8 @@ public abstract class NestedFormFieldValueProcessor<F extends FieldDefinition, R
 
     protected FormValuesProcessor processor;
 
+    protected ModelAccessorsRegistry accessorsRegistry = ModelAccessorsRegistry.getInstance();
+
     public abstract Logger getLogger();
 
     public void init( FormValuesProcessor processor ) {
@@ -58,16 +60,11 @@ public abstract class NestedFormFieldValueProcessor<F extends FieldDefinition, R
         } else {
             Class clazz = null;
             try {
-                clazz = context.getClassLoader().loadClass( field.getStandaloneClassName() );
+                clazz = accessorsRegistry.loadClass( context.getClassLoader(), field.getStandaloneClassName() );
             } catch ( ClassNotFoundException e ) {
-                // Maybe the nested class it is not on the classLoader context... let's try on the app classloader
-                try {
-                    clazz = Class.forName( field.getStandaloneClassName() );
-                } catch ( ClassNotFoundException e1 ) {
-                    getLogger().warn( "Unable to find class '{}' on classLoader for field '{}'",
-                                      field.getStandaloneClassName(),
-                                      field.getBinding() );
-                }
+                getLogger().warn( "Unable to find class '{}' on classLoader for field '{}'",
+                                  field.getStandaloneClassName(),
+                                  field.getBinding() );
             }
             if ( clazz != null ) {
                 originalValue = writeValues( formValues, clazz );
@@ -78,7 +75,7 @@ public abstract class NestedFormFieldValueProcessor<F extends FieldDefinition, R
 
     protected Object writeValues( Map<String, Object> values, Class clazz ) {
         try {
-            Object value = ConstructorUtils.invokeConstructor( clazz, null );
+            Object value = accessorsRegistry.getAccessors( clazz ).newInstance();
             writeValues( values, value );
             return value;
         } catch ( Exception e ) {
@@ -91,13 +88,19 @@ public abstract class NestedFormFieldValueProcessor<F extends FieldDefinition, R
         if ( model == null ) {
             return;
         }
+        final ModelClassAccessors accessors = getAccessors( model );
         values.forEach( ( property, value ) -> {
             try {
                 if ( property.equals( MapModelRenderingContext.FORM_ENGINE_OBJECT_IDX ) || property.equals(
                         MapModelRenderingContext.FORM_ENGINE_EDITED_OBJECT ) ) {
                     return;
                 }
-                if ( PropertyUtils.getPropertyDescriptor( model, property ) != null ) {
+                if ( accessors != null && isSimpleProperty( property ) ) {
+                    ModelPropertyAccessor accessor = accessors.getProperty( property );
+                    if ( accessor != null ) {
+                        accessor.write( model, value );
+                    }
+                } else if ( PropertyUtils.getPropertyDescriptor( model, property ) != null ) {
                     BeanUtils.setProperty( model, property, value );
                 }
             } catch ( Exception e ) {
@@ -109,7 +112,13 @@ public abstract class NestedFormFieldValueProcessor<F extends FieldDefinition, R
 
     protected Object readValue( String property, Object model ) {
         try {
-            if ( PropertyUtils.getPropertyDescriptor( model, property ) != null ) {
+            final ModelClassAccessors accessors = getAccessors( model );
+            if ( accessors != null && isSimpleProperty( property ) ) {
+                ModelPropertyAccessor accessor = accessors.getProperty( property );
+                if ( accessor != null ) {
+                    return accessor.read( model );
+                }
+            } else if ( PropertyUtils.getPropertyDescriptor( model, property ) != null ) {
                 return PropertyUtils.getProperty( model, property );
             }
         } catch ( Exception e ) {
@@ -118,4 +127,20 @@ public abstract class NestedFormFieldValueProcessor<F extends FieldDefinition, R
         }
         return null;
     }
+
+    /**
+     * Returns the precomputed accessors for the model class, or null if the model has to be handled by BeanUtils
+     * (null models, maps and dyna beans).
+     */
+    private ModelClassAccessors getAccessors( Object model ) {
+        if ( model == null || model instanceof Map || model instanceof DynaBean ) {
+            return null;
+        }
+        return accessorsRegistry.getAccessors( model.getClass() );
+    }
+
+    // Nested, indexed and mapped property expressions are resolved by BeanUtils.
+    private boolean isSimpleProperty( String property ) {
+        return property.indexOf( '.' ) < 0 && property.indexOf( '[' ) < 0 && property.indexOf( '(' ) < 0;
+    }
 }
@@ -18,7 +18,10 @@ package org.kie.workbench.common.forms.dynamic.backend.server.context.generation
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import javax.enterprise.context.Dependent;
@@ -43,6 +46,7 @@ import org.kie.workbench.common.forms.model.FormDefinition;
 import org.kie.workbench.common.forms.service.FieldManager;
 import org.kie.workbench.common.forms.dynamic.backend.server.context.generation.statik.impl.fieldInitializers.FieldInitializer;
 import org.kie.workbench.common.forms.dynamic.backend.server.context.generation.statik.impl.processors.FieldAnnotationProcessor;
+import org.kie.workbench.common.forms.serialization.FormDefinitionSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,17 +61,34 @@ public class FormRenderingContextGeneratorImpl implements FormRenderingContextGe
 
     private FormLayoutTemplateGenerator layoutGenerator;
 
+    private FormDefinitionSerializer formSerializer;
+
     private List<FieldAnnotationProcessor<? extends FieldDefinition>> processors = new ArrayList<>();
 
     private List<FieldInitializer<? extends FieldDefinition>> fieldInitializers = new ArrayList<>();
 
+    // Processors for each annotation type, in registration order
+    private Map<String, List<FieldAnnotationProcessor>> processorsByAnnotation;
+
+    // Processors that may support annotations of any type
+    private List<FieldAnnotationProcessor> genericProcessors;
+
+    private final ClassValue<GeneratedForms> generatedForms = new ClassValue<GeneratedForms>() {
+        @Override
+        protected GeneratedForms computeValue( Class<?> type ) {
+            return new GeneratedForms();
+        }
+    };
+
     @Inject
     public FormRenderingContextGeneratorImpl( Instance<FieldAnnotationProcessor<? extends FieldDefinition>> installedProcessors,
                                               Instance<FieldInitializer<? extends FieldDefinition>> installedInitializers,
                                               @Dynamic FormLayoutTemplateGenerator layoutGenerator,
-                                              FieldManager fieldManager ) {
+                                              FieldManager fieldManager,
+                                              FormDefinitionSerializer formSerializer ) {
         this.layoutGenerator = layoutGenerator;
         this.fieldManager = fieldManager;
+        this.formSerializer = formSerializer;
 
         for ( FieldAnnotationProcessor processor : installedProcessors ) {
             processors.add( processor );
@@ -79,17 +100,65 @@ public class FormRenderingContextGeneratorImpl implements FormRenderingContextGe
             }
             fieldInitializers.add( initializer );
         }
+
+        buildProcessorsDispatchTable();
+    }
+
+    private void buildProcessorsDispatchTable() {
+        Map<String, List<FieldAnnotationProcessor>> byAnnotation = new HashMap<>();
+        List<FieldAnnotationProcessor> generic = new ArrayList<>();
+
+        for ( FieldAnnotationProcessor processor : processors ) {
+            String annotationType = processor.getSupportedAnnotationType();
+            if ( annotationType == null ) {
+                generic.add( processor );
+                byAnnotation.values().forEach( list -> list.add( processor ) );
+            } else if ( !byAnnotation.containsKey( annotationType ) ) {
+                List<FieldAnnotationProcessor> list = new ArrayList<>( generic );
+                list.add( processor );
+                byAnnotation.put( annotationType, list );
+            } else {
+                byAnnotation.get( annotationType ).add( processor );
+            }
+        }
+
+        byAnnotation.replaceAll( ( annotationType, list ) -> Collections.unmodifiableList( list ) );
+
+        processorsByAnnotation = Collections.unmodifiableMap( byAnnotation );
+        genericProcessors = Collections.unmodifiableList( generic );
+    }
+
+    /**
+     * Returns the processors that may support the given annotation, in the order they were registered. Processors
+     * only declare the annotation they handle, the property type is checked by their field provider when the field is
+     * created, so the lookup doesn't depend on it.
+     */
+    protected List<FieldAnnotationProcessor> getProcessors( Annotation annotation ) {
+        return processorsByAnnotation.getOrDefault( annotation.getQualifiedTypeName(), genericProcessors );
     }
 
     @Override
     public StaticModelFormRenderingContext createContext( Object model ) {
 
+        GeneratedForms forms = model != null ? generatedForms.get( model.getClass() ) : null;
+
+        if ( forms != null ) {
+            StaticModelFormRenderingContext renderingContext = forms.newRenderingContext( formSerializer );
+            if ( renderingContext != null ) {
+                return renderingContext;
+            }
+        }
+
         try {
             DMOBasedTransformerContext context = DMOBasedTransformerContext.getTransformerContextFor( model );
 
             FormDefinition form = generateFormDefinition( context );
             context.getRenderingContext().setRootForm( form );
 
+            if ( forms != null ) {
+                forms.store( context.getRenderingContext(), formSerializer );
+            }
+
             return context.getRenderingContext();
         } catch ( IOException e ) {
             logger.warn( "Error creating context: ", e );
@@ -112,7 +181,7 @@ public class FormRenderingContextGeneratorImpl implements FormRenderingContextGe
             FieldDefinition field = null;
 
             for( Annotation annotation : setting.getAnnotations() ) {
-                for ( FieldAnnotationProcessor processor : processors ) {
+                for ( FieldAnnotationProcessor processor : getProcessors( annotation ) ) {
                     if ( processor.supportsAnnotation( annotation ) ) {
                         field = processor.getFieldDefinition( setting, annotation, context );
                     }
@@ -250,4 +319,39 @@ public class FormRenderingContextGeneratorImpl implements FormRenderingContextGe
     private boolean isCollection( ModelField modelField ) {
         return DataType.TYPE_COLLECTION.equals( modelField.getType() );
     }
+
+    /*
+     * The forms generated for a model class. Generation only depends on the model class, so the forms generated once
+     * are used for all the rendering contexts created for instances of the same class. They are kept serialized and
+     * every context gets its own copies, so changes made to the forms of a context don't leak into the others.
+     */
+    private static class GeneratedForms {
+
+        private volatile String rootFormId;
+
+        private volatile Map<String, String> serializedForms;
+
+        StaticModelFormRenderingContext newRenderingContext( FormDefinitionSerializer serializer ) {
+            Map<String, String> forms = serializedForms;
+
+            if ( forms == null ) {
+                return null;
+            }
+
+            StaticModelFormRenderingContext context = new StaticModelFormRenderingContext();
+            forms.forEach( ( formId, form ) -> context.getAvailableForms().put( formId, serializer.deserialize( form ) ) );
+            context.setRootForm( context.getAvailableForms().get( rootFormId ) );
+
+            return context;
+        }
+
+        void store( StaticModelFormRenderingContext context,
+                    FormDefinitionSerializer serializer ) {
+            Map<String, String> forms = new HashMap<>();
+            context.getAvailableForms().forEach( ( formId, form ) -> forms.put( formId, serializer.serialize( form ) ) );
+
+            rootFormId = context.getRootForm().getId();
+            serializedForms = Collections.unmodifiableMap( forms );
+        }
+    }
 }
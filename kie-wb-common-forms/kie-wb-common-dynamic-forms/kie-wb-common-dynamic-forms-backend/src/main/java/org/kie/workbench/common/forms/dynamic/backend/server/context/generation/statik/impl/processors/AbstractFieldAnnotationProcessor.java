@@ -63,6 +63,11 @@ public abstract class AbstractFieldAnnotationProcessor<T extends FieldDefinition
         return annotation.getQualifiedTypeName().equals( getSupportedAnnotation().getName() );
     }
 
+    @Override
+    public String getSupportedAnnotationType() {
+        return getSupportedAnnotation().getName();
+    }
+
     protected abstract void initField( T field,
                                        Annotation annotation,
                                        FieldSetting fieldSetting,
@@ -25,5 +25,13 @@ public interface FieldAnnotationProcessor<F extends FieldDefinition> {
 
     boolean supportsAnnotation( Annotation annotation );
 
+    /**
+     * Returns the qualified name of the only annotation type this processor supports, or null if it may support
+     * annotations of any type.
+     */
+    default String getSupportedAnnotationType() {
+        return null;
+    }
+
     public F getFieldDefinition( FieldSetting setting, Annotation annotation, TransformerContext context );
 }
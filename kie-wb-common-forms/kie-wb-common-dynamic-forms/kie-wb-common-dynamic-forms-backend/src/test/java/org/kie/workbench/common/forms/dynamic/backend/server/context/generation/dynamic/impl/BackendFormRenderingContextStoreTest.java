@@ -0,0 +1,195 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.validation.impl.ContextModelConstraintsExtractorImpl;
+import org.kie.workbench.common.forms.dynamic.service.context.generation.dynamic.FormValuesProcessor;
+import org.kie.workbench.common.forms.dynamic.service.shared.impl.MapModelRenderingContext;
+import org.kie.workbench.common.forms.model.FormDefinition;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class BackendFormRenderingContextStoreTest {
+
+    private AtomicLong clock = new AtomicLong( 1000 );
+
+    private BackendFormRenderingContextStore store;
+
+    @Before
+    public void setup() {
+        store = new BackendFormRenderingContextStore( 3, 100, clock::get );
+    }
+
+    @Test
+    public void testConcurrentIdsAreUnique() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool( 8 );
+        try {
+            List<Future<List<Long>>> results = new ArrayList<>();
+            for ( int i = 0; i < 8; i++ ) {
+                results.add( executor.submit( () -> {
+                    List<Long> ids = new ArrayList<>();
+                    for ( int j = 0; j < 1000; j++ ) {
+                        ids.add( BackendFormRenderingContextStore.nextId() );
+                    }
+                    return ids;
+                } ) );
+            }
+            Set<Long> ids = new HashSet<>();
+            for ( Future<List<Long>> result : results ) {
+                ids.addAll( result.get() );
+            }
+            assertEquals( 8000, ids.size() );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentRegistration() throws Exception {
+        FormValuesProcessor valuesProcessor = mock( FormValuesProcessor.class );
+        when( valuesProcessor.readFormValues( any(), any(), any() ) ).thenReturn( new HashMap<>() );
+
+        BackendFormRenderingContextManagerImpl contextManager = new BackendFormRenderingContextManagerImpl( valuesProcessor,
+                                                                                                            new ContextModelConstraintsExtractorImpl() );
+        contextManager.contexts = new BackendFormRenderingContextStore( 1000, BackendFormRenderingContextStore.DEFAULT_MAX_IDLE_TIME );
+
+        FormDefinition form = new FormDefinition();
+
+        ExecutorService executor = Executors.newFixedThreadPool( 8 );
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for ( int i = 0; i < 400; i++ ) {
+                results.add( executor.submit( (Callable<Long>) () -> contextManager.registerContext( form,
+                                                                                                      Collections.emptyMap(),
+                                                                                                      getClass().getClassLoader() ).getTimestamp() ) );
+            }
+            Set<Long> ids = new HashSet<>();
+            for ( Future<Long> result : results ) {
+                ids.add( result.get() );
+            }
+            assertEquals( 400, ids.size() );
+            assertEquals( 400, contextManager.getContextStore().size() );
+            for ( Long id : ids ) {
+                assertNotNull( contextManager.getContext( id ) );
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSizeEviction() {
+        BackendFormRenderingContextImpl first = newContext();
+        BackendFormRenderingContextImpl second = newContext();
+        BackendFormRenderingContextImpl third = newContext();
+
+        store.put( first );
+        store.put( second );
+        store.put( third );
+
+        // Using the first context makes the second one the least recently used
+        assertSame( first, store.get( first.getTimestamp() ) );
+
+        BackendFormRenderingContextImpl fourth = newContext();
+        store.put( fourth );
+
+        assertEquals( 3, store.size() );
+        assertEquals( 1, store.getEvictedCount() );
+        assertNull( store.get( second.getTimestamp() ) );
+        assertNull( second.getClassLoader() );
+        assertNull( second.getFormData() );
+        assertNull( second.getRenderingContext().getModel() );
+
+        assertNotNull( first.getClassLoader() );
+        assertSame( first, store.get( first.getTimestamp() ) );
+        assertSame( fourth, store.get( fourth.getTimestamp() ) );
+    }
+
+    @Test
+    public void testIdleEviction() {
+        BackendFormRenderingContextImpl idle = newContext();
+        BackendFormRenderingContextImpl active = newContext();
+
+        store.put( idle );
+        store.put( active );
+
+        clock.addAndGet( 60 );
+        assertSame( active, store.get( active.getTimestamp() ) );
+
+        clock.addAndGet( 60 );
+        assertNull( store.get( idle.getTimestamp() ) );
+        assertNull( idle.getClassLoader() );
+        assertSame( active, store.get( active.getTimestamp() ) );
+        assertNotNull( active.getClassLoader() );
+        assertEquals( 1, store.size() );
+    }
+
+    @Test
+    public void testRemoveDoesNotRelease() {
+        BackendFormRenderingContextImpl context = newContext();
+        store.put( context );
+
+        assertTrue( store.remove( context.getTimestamp() ) );
+        assertFalse( store.remove( context.getTimestamp() ) );
+        assertNotNull( context.getClassLoader() );
+        assertEquals( 0, store.getEvictedCount() );
+    }
+
+    @Test
+    public void testMetrics() {
+        BackendFormRenderingContextStore.StoreMetrics metrics = mock( BackendFormRenderingContextStore.StoreMetrics.class );
+        store.setMetrics( metrics );
+
+        List<BackendFormRenderingContextImpl> contexts = new ArrayList<>();
+        for ( int i = 0; i < 4; i++ ) {
+            BackendFormRenderingContextImpl context = newContext();
+            contexts.add( context );
+            store.put( context );
+        }
+        store.remove( contexts.get( 3 ).getTimestamp() );
+
+        verify( metrics, times( 4 ) ).contextRegistered( anyInt() );
+        verify( metrics ).contextEvicted( 3 );
+        verify( metrics ).contextRemoved( 2 );
+        assertEquals( 4, store.getRegisteredCount() );
+        assertEquals( 1, store.getEvictedCount() );
+    }
+
+    private BackendFormRenderingContextImpl newContext() {
+        MapModelRenderingContext renderingContext = new MapModelRenderingContext();
+        renderingContext.setModel( new HashMap<>() );
+        return new BackendFormRenderingContextImpl( BackendFormRenderingContextStore.nextId(),
+                                                    renderingContext,
+                                                    new HashMap<>(),
+                                                    mock( ClassLoader.class ) );
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.enterprise.inject.Instance;
+
+import org.kie.workbench.common.forms.model.FieldDefinition;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.model.impl.basic.textBox.TextBoxFieldDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Reads and writes the values of a generated form with 500 fields, looking up the fields through the form
+ * definition indexes and using the linear search the form definition did before.
+ * <p>
+ * Run it from the IDE or through the <code>main</code> method using the test classpath.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class FormValuesProcessorBenchmark {
+
+    private static final int FIELDS = 500;
+
+    private FormValuesProcessorImpl processor;
+    private FormDefinition form;
+    private Map<String, Object> values;
+
+    @Setup
+    public void setup() {
+        Instance instance = mock( Instance.class );
+        when( instance.iterator() ).then( invocation -> Collections.emptyIterator() );
+        processor = new FormValuesProcessorImpl( instance );
+
+        form = new FormDefinition();
+        form.setId( "wide-form" );
+        form.setName( "wide-form" );
+        values = new HashMap<>();
+        for ( int i = 0; i < FIELDS; i++ ) {
+            TextBoxFieldDefinition field = new TextBoxFieldDefinition();
+            field.setId( "field" + i );
+            field.setName( "field" + i );
+            field.setBinding( "field" + i );
+            form.getFields().add( field );
+            values.put( "field" + i, "value" + i );
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> readFormValues() {
+        return processor.readFormValues( form, values, null );
+    }
+
+    @Benchmark
+    public Map<String, Object> writeFormValues() {
+        return processor.writeFormValues( form, values, values, null );
+    }
+
+    @Benchmark
+    public Map<String, Object> readFormValuesUsingLinearSearch() {
+        Map<String, Object> result = new HashMap<>();
+        values.forEach( ( key, value ) -> {
+            FieldDefinition field = form.getFields().stream().filter( f -> key.equals( f.getBinding() ) ).findFirst().orElse( null );
+            if ( field != null ) {
+                result.put( key, value );
+            }
+        } );
+        return result;
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        new Runner( new OptionsBuilder()
+                            .include( FormValuesProcessorBenchmark.class.getSimpleName() )
+                            .build() ).run();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl.fieldProcessors;
+
+import java.beans.PropertyDescriptor;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.beanutils.BeanUtils;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl.model.WideModel;
+import org.kie.workbench.common.forms.dynamic.service.shared.impl.MapModelRenderingContext;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class NestedFormFieldValueProcessorTest {
+
+    private SubFormFieldValueProcessor processor;
+
+    @Before
+    public void init() {
+        processor = new SubFormFieldValueProcessor();
+    }
+
+    @Test
+    public void testReadValues() throws Exception {
+        WideModel model = newModel( 1 );
+        for ( PropertyDescriptor descriptor : PropertyUtils.getPropertyDescriptors( WideModel.class ) ) {
+            assertEquals( "Wrong value for property '" + descriptor.getName() + "'",
+                          PropertyUtils.getProperty( model, descriptor.getName() ),
+                          processor.readValue( descriptor.getName(), model ) );
+        }
+        assertNull( processor.readValue( "unexistingProperty", model ) );
+        assertNull( processor.readValue( "field1", null ) );
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        WideModel model = newModel( 7 );
+
+        Map<String, Object> values = new HashMap<>();
+        for ( int i = 1; i <= 20; i++ ) {
+            values.put( "field" + i, processor.readValue( "field" + i, model ) );
+        }
+        values.put( MapModelRenderingContext.FORM_ENGINE_OBJECT_IDX, 0 );
+        values.put( MapModelRenderingContext.FORM_ENGINE_EDITED_OBJECT, Boolean.TRUE );
+
+        Object result = processor.writeValues( values, WideModel.class );
+
+        assertTrue( result instanceof WideModel );
+        assertSameProperties( model, result );
+    }
+
+    @Test
+    public void testWriteValuesWithConversions() throws Exception {
+        Map<String, Object> values = new HashMap<>();
+        values.put( "field1", 12 );
+        values.put( "field2", "42" );
+        values.put( "field3", null );
+        values.put( "field4", 5 );
+        values.put( "field5", "true" );
+        values.put( "field7", "1.5" );
+        values.put( "field10", Boolean.TRUE );
+        values.put( "class", String.class );
+        values.put( "unexistingProperty", "value" );
+
+        WideModel expected = newModel( 3 );
+        for ( Map.Entry<String, Object> entry : values.entrySet() ) {
+            if ( PropertyUtils.getPropertyDescriptor( expected, entry.getKey() ) != null ) {
+                BeanUtils.setProperty( expected, entry.getKey(), entry.getValue() );
+            }
+        }
+
+        WideModel model = newModel( 3 );
+        processor.writeValues( values, model );
+
+        assertSameProperties( expected, model );
+        assertEquals( Integer.valueOf( 42 ), model.getField2() );
+        assertEquals( Long.valueOf( 5 ), model.getField4() );
+    }
+
+    @Test
+    public void testModelClassesAreResolvedOnce() throws Exception {
+        ModelAccessorsRegistry registry = new ModelAccessorsRegistry();
+        ClassLoader classLoader = mock( ClassLoader.class );
+        when( classLoader.loadClass( WideModel.class.getName() ) ).thenReturn( (Class) WideModel.class );
+
+        assertSame( WideModel.class, registry.loadClass( classLoader, WideModel.class.getName() ) );
+        assertSame( WideModel.class, registry.loadClass( classLoader, WideModel.class.getName() ) );
+        verify( classLoader, times( 1 ) ).loadClass( WideModel.class.getName() );
+
+        registry.invalidate( classLoader );
+
+        assertSame( WideModel.class, registry.loadClass( classLoader, WideModel.class.getName() ) );
+        verify( classLoader, times( 2 ) ).loadClass( WideModel.class.getName() );
+
+        ClassLoader otherClassLoader = mock( ClassLoader.class );
+        when( otherClassLoader.loadClass( anyString() ) ).thenThrow( ClassNotFoundException.class );
+
+        // Not available on the class loader, but present on the app class loader
+        assertSame( WideModel.class, registry.loadClass( otherClassLoader, WideModel.class.getName() ) );
+        assertSame( registry.getAccessors( WideModel.class ), registry.getAccessors( WideModel.class ) );
+    }
+
+    private void assertSameProperties( Object expected,
+                                       Object actual ) throws Exception {
+        for ( PropertyDescriptor descriptor : PropertyUtils.getPropertyDescriptors( expected.getClass() ) ) {
+            assertEquals( "Wrong value for property '" + descriptor.getName() + "'",
+                          PropertyUtils.getProperty( expected, descriptor.getName() ),
+                          PropertyUtils.getProperty( actual, descriptor.getName() ) );
+        }
+    }
+
+    static WideModel newModel( int seed ) {
+        WideModel model = new WideModel();
+        model.setField1( "value" + seed );
+        model.setField2( seed );
+        model.setField3( seed * 2 );
+        model.setField4( (long) seed * 3 );
+        model.setField5( seed % 2 == 0 );
+        model.setField6( new Date( 1000L * seed ) );
+        model.setField7( seed / 2d );
+        model.setField8( "other" + seed );
+        model.setField9( seed + 1 );
+        model.setField10( true );
+        model.setField11( "value" + seed * 11 );
+        model.setField12( seed * 12 );
+        model.setField13( seed * 13 );
+        model.setField14( (long) seed * 14 );
+        model.setField15( Boolean.TRUE );
+        model.setField16( new Date( 1600L * seed ) );
+        model.setField17( seed * 1.7 );
+        model.setField18( "other" + seed * 18 );
+        model.setField19( seed * 19 );
+        model.setField20( seed % 3 == 0 );
+        return model;
+    }
+}
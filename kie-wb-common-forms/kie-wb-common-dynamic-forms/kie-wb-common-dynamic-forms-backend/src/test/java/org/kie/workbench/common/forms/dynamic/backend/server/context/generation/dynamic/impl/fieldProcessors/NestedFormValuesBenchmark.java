@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl.fieldProcessors;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.beanutils.BeanUtils;
+import org.apache.commons.beanutils.ConstructorUtils;
+import org.apache.commons.beanutils.PropertyUtils;
+import org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl.model.WideModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Converts a multiple subform value of 1,000 rows of 20 properties each to its flat values and back to model
+ * instances, using the precomputed model accessors and using BeanUtils reflection as the processors did before.
+ * <p>
+ * Run it from the IDE or through the <code>main</code> method using the test classpath.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class NestedFormValuesBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final int FIELDS = 20;
+
+    private MultipleSubFormFieldValueProcessor processor;
+    private List<WideModel> rows;
+    private List<Map<String, Object>> flatRows;
+    private String[] bindings;
+
+    @Setup
+    public void setup() {
+        processor = new MultipleSubFormFieldValueProcessor();
+        bindings = new String[ FIELDS ];
+        for ( int i = 0; i < FIELDS; i++ ) {
+            bindings[ i ] = "field" + ( i + 1 );
+        }
+        rows = new ArrayList<>( ROWS );
+        for ( int i = 0; i < ROWS; i++ ) {
+            rows.add( NestedFormFieldValueProcessorTest.newModel( i ) );
+        }
+        flatRows = toFlatValuesUsingReflection();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> toFlatValuesUsingAccessors() {
+        List<Map<String, Object>> result = new ArrayList<>( ROWS );
+        for ( WideModel row : rows ) {
+            Map<String, Object> values = new HashMap<>();
+            for ( String binding : bindings ) {
+                values.put( binding, processor.readValue( binding, row ) );
+            }
+            result.add( values );
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> toFlatValuesUsingReflection() {
+        List<Map<String, Object>> result = new ArrayList<>( ROWS );
+        for ( WideModel row : rows ) {
+            Map<String, Object> values = new HashMap<>();
+            for ( String binding : bindings ) {
+                try {
+                    if ( PropertyUtils.getPropertyDescriptor( row, binding ) != null ) {
+                        values.put( binding, PropertyUtils.getProperty( row, binding ) );
+                    }
+                } catch ( Exception e ) {
+                    throw new IllegalStateException( e );
+                }
+            }
+            result.add( values );
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Object> toRawValuesUsingAccessors() {
+        List<Object> result = new ArrayList<>( ROWS );
+        for ( Map<String, Object> values : flatRows ) {
+            result.add( processor.writeValues( values, WideModel.class ) );
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Object> toRawValuesUsingReflection() throws Exception {
+        List<Object> result = new ArrayList<>( ROWS );
+        for ( Map<String, Object> values : flatRows ) {
+            Object model = ConstructorUtils.invokeConstructor( WideModel.class, null );
+            for ( Map.Entry<String, Object> entry : values.entrySet() ) {
+                if ( PropertyUtils.getPropertyDescriptor( model, entry.getKey() ) != null ) {
+                    BeanUtils.setProperty( model, entry.getKey(), entry.getValue() );
+                }
+            }
+            result.add( model );
+        }
+        return result;
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        new Runner( new OptionsBuilder()
+                            .include( NestedFormValuesBenchmark.class.getSimpleName() )
+                            .build() ).run();
+    }
+}
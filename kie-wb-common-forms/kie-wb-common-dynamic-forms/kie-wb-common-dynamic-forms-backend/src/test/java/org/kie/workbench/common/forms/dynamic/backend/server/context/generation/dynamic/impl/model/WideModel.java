@@ -0,0 +1,225 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.dynamic.impl.model;
+
+import java.util.Date;
+
+/**
+ * A model with 20 properties of different types.
+ */
+public class WideModel {
+
+    private String field1;
+
+    private Integer field2;
+
+    private int field3;
+
+    private Long field4;
+
+    private Boolean field5;
+
+    private Date field6;
+
+    private Double field7;
+
+    private String field8;
+
+    private Integer field9;
+
+    private boolean field10;
+
+    private String field11;
+
+    private Integer field12;
+
+    private int field13;
+
+    private Long field14;
+
+    private Boolean field15;
+
+    private Date field16;
+
+    private Double field17;
+
+    private String field18;
+
+    private Integer field19;
+
+    private boolean field20;
+
+    public String getField1() {
+        return field1;
+    }
+
+    public void setField1( String field1 ) {
+        this.field1 = field1;
+    }
+
+    public Integer getField2() {
+        return field2;
+    }
+
+    public void setField2( Integer field2 ) {
+        this.field2 = field2;
+    }
+
+    public int getField3() {
+        return field3;
+    }
+
+    public void setField3( int field3 ) {
+        this.field3 = field3;
+    }
+
+    public Long getField4() {
+        return field4;
+    }
+
+    public void setField4( Long field4 ) {
+        this.field4 = field4;
+    }
+
+    public Boolean getField5() {
+        return field5;
+    }
+
+    public void setField5( Boolean field5 ) {
+        this.field5 = field5;
+    }
+
+    public Date getField6() {
+        return field6;
+    }
+
+    public void setField6( Date field6 ) {
+        this.field6 = field6;
+    }
+
+    public Double getField7() {
+        return field7;
+    }
+
+    public void setField7( Double field7 ) {
+        this.field7 = field7;
+    }
+
+    public String getField8() {
+        return field8;
+    }
+
+    public void setField8( String field8 ) {
+        this.field8 = field8;
+    }
+
+    public Integer getField9() {
+        return field9;
+    }
+
+    public void setField9( Integer field9 ) {
+        this.field9 = field9;
+    }
+
+    public boolean isField10() {
+        return field10;
+    }
+
+    public void setField10( boolean field10 ) {
+        this.field10 = field10;
+    }
+
+    public String getField11() {
+        return field11;
+    }
+
+    public void setField11( String field11 ) {
+        this.field11 = field11;
+    }
+
+    public Integer getField12() {
+        return field12;
+    }
+
+    public void setField12( Integer field12 ) {
+        this.field12 = field12;
+    }
+
+    public int getField13() {
+        return field13;
+    }
+
+    public void setField13( int field13 ) {
+        this.field13 = field13;
+    }
+
+    public Long getField14() {
+        return field14;
+    }
+
+    public void setField14( Long field14 ) {
+        this.field14 = field14;
+    }
+
+    public Boolean getField15() {
+        return field15;
+    }
+
+    public void setField15( Boolean field15 ) {
+        this.field15 = field15;
+    }
+
+    public Date getField16() {
+        return field16;
+    }
+
+    public void setField16( Date field16 ) {
+        this.field16 = field16;
+    }
+
+    public Double getField17() {
+        return field17;
+    }
+
+    public void setField17( Double field17 ) {
+        this.field17 = field17;
+    }
+
+    public String getField18() {
+        return field18;
+    }
+
+    public void setField18( String field18 ) {
+        this.field18 = field18;
+    }
+
+    public Integer getField19() {
+        return field19;
+    }
+
+    public void setField19( Integer field19 ) {
+        this.field19 = field19;
+    }
+
+    public boolean isField20() {
+        return field20;
+    }
+
+    public void setField20( boolean field20 ) {
+        this.field20 = field20;
+    }
+}
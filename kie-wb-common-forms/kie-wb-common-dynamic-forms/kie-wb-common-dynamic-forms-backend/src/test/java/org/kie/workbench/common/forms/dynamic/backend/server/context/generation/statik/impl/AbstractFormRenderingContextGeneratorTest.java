@@ -35,6 +35,9 @@ import org.kie.workbench.common.forms.dynamic.backend.server.context.generation.
 import org.kie.workbench.common.forms.dynamic.service.shared.impl.StaticModelFormRenderingContext;
 import org.kie.workbench.common.forms.model.FieldDefinition;
 import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.serialization.impl.FieldSerializer;
+import org.kie.workbench.common.forms.serialization.impl.FormDefinitionSerializerImpl;
+import org.kie.workbench.common.forms.serialization.impl.FormModelSerializer;
 import org.kie.workbench.common.forms.service.impl.fieldProviders.ListBoxFieldProvider;
 import org.kie.workbench.common.forms.service.impl.fieldProviders.RadioGroupFieldProvider;
 import org.kie.workbench.common.forms.service.impl.fieldProviders.SliderFieldProvider;
@@ -95,7 +98,9 @@ public abstract class AbstractFormRenderingContextGeneratorTest<T> {
         service = new FormRenderingContextGeneratorImpl( annotationProcessors,
                                                          fieldInitializers,
                                                          layoutTemplateGenerator,
-                                                         new TestFieldManager() );
+                                                         new TestFieldManager(),
+                                                         new FormDefinitionSerializerImpl( new FieldSerializer(),
+                                                                                           new FormModelSerializer() ) );
     }
 
     public void initTest( T model, int expectedFields ) {
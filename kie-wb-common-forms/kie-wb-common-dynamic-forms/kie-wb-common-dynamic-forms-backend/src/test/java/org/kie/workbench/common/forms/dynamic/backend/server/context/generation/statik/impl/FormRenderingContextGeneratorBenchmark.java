@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.statik.impl;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.workbench.common.forms.dynamic.backend.server.context.generation.statik.impl.model.AnnotatedWideModelGenerator;
+import org.kie.workbench.common.forms.dynamic.service.shared.impl.StaticModelFormRenderingContext;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Renders a model with 100 annotated properties 10,000 times, using the forms cached for the model class and
+ * generating the form definition from the model on every render as the generator did before.
+ * <p>
+ * Run it from the IDE or through the <code>main</code> method using the test classpath.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class FormRenderingContextGeneratorBenchmark extends AbstractFormRenderingContextGeneratorTest<Object> {
+
+    private static final int RENDERS = 10000;
+
+    private Object model;
+
+    @Setup
+    @Override
+    public void init() {
+        super.init();
+        model = AnnotatedWideModelGenerator.newModel();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation( RENDERS )
+    public void createContext( Blackhole blackhole ) {
+        for ( int i = 0; i < RENDERS; i++ ) {
+            StaticModelFormRenderingContext context = service.createContext( model );
+            blackhole.consume( context );
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation( RENDERS )
+    public void generateFormDefinition( Blackhole blackhole ) throws IOException {
+        for ( int i = 0; i < RENDERS; i++ ) {
+            DMOBasedTransformerContext context = DMOBasedTransformerContext.getTransformerContextFor( model );
+            FormDefinition form = service.generateFormDefinition( context );
+            blackhole.consume( form );
+        }
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        new Runner( new OptionsBuilder()
+                            .include( FormRenderingContextGeneratorBenchmark.class.getSimpleName() )
+                            .build() ).run();
+    }
+}
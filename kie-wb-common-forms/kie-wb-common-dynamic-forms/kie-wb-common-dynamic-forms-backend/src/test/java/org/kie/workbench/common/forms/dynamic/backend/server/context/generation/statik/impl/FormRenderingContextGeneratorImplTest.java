@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.statik.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.drools.workbench.models.datamodel.oracle.Annotation;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.forms.dynamic.backend.server.context.generation.statik.impl.model.AnnotatedWideModelGenerator;
+import org.kie.workbench.common.forms.dynamic.backend.server.context.generation.statik.impl.processors.FieldAnnotationProcessor;
+import org.kie.workbench.common.forms.dynamic.service.shared.impl.StaticModelFormRenderingContext;
+import org.kie.workbench.common.forms.dynamic.test.model.Department;
+import org.kie.workbench.common.forms.dynamic.test.model.Person;
+import org.kie.workbench.common.forms.model.FieldDefinition;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FormRenderingContextGeneratorImplTest extends AbstractFormRenderingContextGeneratorTest<Department> {
+
+    @Before
+    @Override
+    public void init() {
+        super.init();
+    }
+
+    @Test
+    public void testProcessorsDispatch() throws Exception {
+        List<FieldAnnotationProcessor> processors = new ArrayList<>();
+        annotationProcessors.iterator().forEachRemaining( processors::add );
+
+        DMOBasedTransformerContext transformerContext = DMOBasedTransformerContext.getTransformerContextFor( AnnotatedWideModelGenerator.newModel() );
+
+        int checked = 0;
+
+        for ( Map<String, Set<Annotation>> fieldsAnnotations : transformerContext.getOracle().getProjectTypeFieldsAnnotations().values() ) {
+            for ( Set<Annotation> annotations : fieldsAnnotations.values() ) {
+                for ( Annotation annotation : annotations ) {
+                    List<FieldAnnotationProcessor> expected = new ArrayList<>();
+                    for ( FieldAnnotationProcessor processor : processors ) {
+                        if ( processor.supportsAnnotation( annotation ) ) {
+                            expected.add( processor );
+                        }
+                    }
+                    List<FieldAnnotationProcessor> supported = new ArrayList<>();
+                    for ( FieldAnnotationProcessor processor : service.getProcessors( annotation ) ) {
+                        if ( processor.supportsAnnotation( annotation ) ) {
+                            supported.add( processor );
+                        }
+                    }
+                    assertEquals( expected, supported );
+                    checked++;
+                }
+            }
+        }
+
+        assertTrue( checked >= AnnotatedWideModelGenerator.PROPERTIES );
+    }
+
+    @Test
+    public void testWideModelGeneration() throws Exception {
+        service.createContext( AnnotatedWideModelGenerator.newModel() );
+
+        StaticModelFormRenderingContext cached = service.createContext( AnnotatedWideModelGenerator.newModel() );
+
+        DMOBasedTransformerContext transformerContext = DMOBasedTransformerContext.getTransformerContextFor( AnnotatedWideModelGenerator.newModel() );
+        FormDefinition generated = service.generateFormDefinition( transformerContext );
+
+        assertEquals( AnnotatedWideModelGenerator.PROPERTIES, cached.getRootForm().getFields().size() );
+        assertEqualForms( generated, cached.getRootForm() );
+    }
+
+    @Test
+    public void testCachedContextMatchesGeneratedForms() throws Exception {
+        StaticModelFormRenderingContext first = service.createContext( new Department() );
+        StaticModelFormRenderingContext second = service.createContext( new Department() );
+
+        assertNotSame( first, second );
+        assertNotSame( first.getRootForm(), second.getRootForm() );
+        assertEqualForms( first.getRootForm(), second.getRootForm() );
+        assertEquals( first.getAvailableForms().keySet(), second.getAvailableForms().keySet() );
+
+        DMOBasedTransformerContext transformerContext = DMOBasedTransformerContext.getTransformerContextFor( new Department() );
+        FormDefinition generated = service.generateFormDefinition( transformerContext );
+        transformerContext.getRenderingContext().setRootForm( generated );
+
+        assertEquals( transformerContext.getRenderingContext().getAvailableForms().keySet(), second.getAvailableForms().keySet() );
+
+        for ( String formId : second.getAvailableForms().keySet() ) {
+            assertEqualForms( transformerContext.getRenderingContext().getAvailableForms().get( formId ),
+                              second.getAvailableForms().get( formId ) );
+        }
+    }
+
+    @Test
+    public void testContextsPerModelClass() {
+        StaticModelFormRenderingContext department = service.createContext( new Department() );
+        StaticModelFormRenderingContext person = service.createContext( new Person() );
+
+        assertEquals( Department.class.getName(), department.getRootForm().getId() );
+        assertEquals( Person.class.getName(), person.getRootForm().getId() );
+        assertEqualForms( person.getRootForm(), service.createContext( new Person() ).getRootForm() );
+    }
+
+    @Test
+    public void testCachedFormsAreCopied() {
+        StaticModelFormRenderingContext first = service.createContext( new Person() );
+
+        FormDefinition form = first.getRootForm();
+        int fields = form.getFields().size();
+        String label = form.getFields().get( 0 ).getLabel();
+
+        form.getFields().get( 0 ).setLabel( "Changed" );
+        form.getFields().remove( form.getFields().size() - 1 );
+        first.getAvailableForms().clear();
+
+        StaticModelFormRenderingContext second = service.createContext( new Person() );
+
+        assertEquals( Person.class.getName(), second.getRootForm().getId() );
+        assertEquals( fields, second.getRootForm().getFields().size() );
+        assertEquals( label, second.getRootForm().getFields().get( 0 ).getLabel() );
+        assertNotSame( second.getRootForm(), service.createContext( new Person() ).getRootForm() );
+    }
+
+    private void assertEqualForms( FormDefinition expected,
+                                   FormDefinition form ) {
+        assertEquals( expected.getId(), form.getId() );
+        assertEquals( expected.getFields().size(), form.getFields().size() );
+
+        for ( int i = 0; i < expected.getFields().size(); i++ ) {
+            FieldDefinition expectedField = expected.getFields().get( i );
+            FieldDefinition field = form.getFields().get( i );
+
+            assertEquals( expectedField.getClass(), field.getClass() );
+            assertEquals( expectedField.getId(), field.getId() );
+            assertEquals( expectedField.getName(), field.getName() );
+            assertEquals( expectedField.getLabel(), field.getLabel() );
+            assertEquals( expectedField.getBinding(), field.getBinding() );
+            assertEquals( expectedField.getStandaloneClassName(), field.getStandaloneClassName() );
+        }
+
+        assertEquals( expected.getLayoutTemplate().getRows().size(), form.getLayoutTemplate().getRows().size() );
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.dynamic.backend.server.context.generation.statik.impl.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.kie.workbench.common.forms.metaModel.FieldDef;
+import org.kie.workbench.common.forms.metaModel.Slider;
+import org.kie.workbench.common.forms.metaModel.TextArea;
+
+/**
+ * Generates and compiles a model with {@link #PROPERTIES} annotated properties the first time it is used. All the
+ * properties have a {@link FieldDef}, every tenth one starting at the fifth has a {@link Slider} and every tenth one a
+ * {@link TextArea}.
+ */
+public class AnnotatedWideModelGenerator {
+
+    public static final int PROPERTIES = 100;
+
+    private static final String PACKAGE_NAME = AnnotatedWideModelGenerator.class.getPackage().getName();
+
+    private static final String CLASS_NAME = "AnnotatedWideModel";
+
+    private static final String[] TYPES = {"String", "Integer", "Long", "Boolean", "Double"};
+
+    private static Class<?> modelClass;
+
+    public static synchronized Class<?> getModelClass() {
+        if ( modelClass == null ) {
+            modelClass = compile( generateSource() );
+        }
+        return modelClass;
+    }
+
+    public static Object newModel() {
+        try {
+            return getModelClass().getDeclaredConstructor().newInstance();
+        } catch ( ReflectiveOperationException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    private static String generateSource() {
+        StringBuilder fields = new StringBuilder();
+        StringBuilder accessors = new StringBuilder();
+
+        for ( int i = 1; i <= PROPERTIES; i++ ) {
+            String name = "field" + i;
+            String type = i % 10 == 0 ? "String" : TYPES[ ( i - 1 ) % TYPES.length ];
+
+            fields.append( "    @" ).append( FieldDef.class.getName() )
+                    .append( "( label = \"Field " ).append( i ).append( "\", position = " ).append( i - 1 ).append( " )\n" );
+            if ( i % 10 == 5 ) {
+                fields.append( "    @" ).append( Slider.class.getName() ).append( "( min = 0, max = 100 )\n" );
+            } else if ( i % 10 == 0 ) {
+                fields.append( "    @" ).append( TextArea.class.getName() ).append( "( placeHolder = \"Field " ).append( i ).append( "\" )\n" );
+            }
+            fields.append( "    private " ).append( type ).append( " " ).append( name ).append( ";\n\n" );
+
+            accessors.append( "    public " ).append( type ).append( " getField" ).append( i ).append( "() {\n" )
+                    .append( "        return " ).append( name ).append( ";\n" )
+                    .append( "    }\n\n" )
+                    .append( "    public void setField" ).append( i ).append( "( " ).append( type ).append( " " ).append( name ).append( " ) {\n" )
+                    .append( "        this." ).append( name ).append( " = " ).append( name ).append( ";\n" )
+                    .append( "    }\n\n" );
+        }
+
+        return "package " + PACKAGE_NAME + ";\n\n" +
+                "public class " + CLASS_NAME + " {\n\n" +
+                fields +
+                accessors +
+                "}\n";
+    }
+
+    private static Class<?> compile( String source ) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if ( compiler == null ) {
+            throw new IllegalStateException( "The model can only be generated when running on a JDK" );
+        }
+
+        JavaFileObject sourceFile = new SimpleJavaFileObject( URI.create( "string:///" + PACKAGE_NAME.replace( '.', '/' ) + "/" + CLASS_NAME + JavaFileObject.Kind.SOURCE.extension ),
+                                                              JavaFileObject.Kind.SOURCE ) {
+            @Override
+            public CharSequence getCharContent( boolean ignoreEncodingErrors ) {
+                return source;
+            }
+        };
+
+        Path output = null;
+        try {
+            output = Files.createTempDirectory( "annotated-wide-model" );
+
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+            boolean compiled = compiler.getTask( null,
+                                                 null,
+                                                 diagnostics,
+                                                 Arrays.asList( "-classpath", System.getProperty( "java.class.path" ),
+                                                                "-d", output.toString() ),
+                                                 null,
+                                                 Collections.singletonList( sourceFile ) ).call();
+            if ( !compiled ) {
+                throw new IllegalStateException( "Unable to compile the model: " + diagnostics.getDiagnostics() );
+            }
+
+            URLClassLoader classLoader = new URLClassLoader( new URL[]{output.toUri().toURL()},
+                                                             AnnotatedWideModelGenerator.class.getClassLoader() );
+            return classLoader.loadClass( PACKAGE_NAME + "." + CLASS_NAME );
+        } catch ( IOException | ClassNotFoundException e ) {
+            throw new IllegalStateException( "Unable to load the model", e );
+        } finally {
+            if ( output != null ) {
+                delete( output );
+            }
+        }
+    }
+
+    private static void delete( Path directory ) {
+        try {
+            Files.walk( directory )
+                    .sorted( Comparator.reverseOrder() )
+                    .map( Path::toFile )
+                    .forEach( File::delete );
+        } catch ( IOException e ) {
+            directory.toFile().deleteOnExit();
+        }
+    }
+}
@@ -48,6 +48,12 @@ public abstract class FieldDefinition {
 
     protected String standaloneClassName;
 
+    /*
+     * The form containing the field, notified when the field id, name or binding is modified so it can invalidate
+     * its field lookup index.
+     */
+    private transient FormDefinition form;
+
     protected FieldDefinition( String code ) {
         id = ID_PREFFIX + IDGenerator.generateRandomId();
         this.code = code;
@@ -59,6 +65,7 @@ public abstract class FieldDefinition {
 
     public void setId(String id) {
         this.id = id;
+        keysChanged();
     }
 
     public String getCode() {
@@ -71,6 +78,7 @@ public abstract class FieldDefinition {
 
     public void setName( String name ) {
         this.name = name;
+        keysChanged();
     }
 
     public String getLabel() {
@@ -111,6 +119,22 @@ public abstract class FieldDefinition {
 
     public void setBinding( String binding ) {
         this.binding = binding;
+        keysChanged();
+    }
+
+    FormDefinition getForm() {
+        return form;
+    }
+
+    void setForm( FormDefinition form ) {
+        this.form = form;
+    }
+
+    private void keysChanged() {
+        FormDefinition current = form;
+        if ( current != null ) {
+            current.fieldsChanged();
+        }
     }
 
     public String getStandaloneClassName() {
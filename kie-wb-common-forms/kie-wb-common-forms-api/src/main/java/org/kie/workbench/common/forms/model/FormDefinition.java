@@ -16,9 +16,13 @@
 
 package org.kie.workbench.common.forms.model;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 import org.jboss.errai.common.client.api.annotations.MapsTo;
@@ -35,6 +39,12 @@ public class FormDefinition {
 
     private LayoutTemplate layoutTemplate;
 
+    private transient FieldList fieldList;
+
+    private final transient AtomicInteger fieldsVersion = new AtomicInteger();
+
+    private transient FieldIndex fieldIndex;
+
     public FormDefinition() {
     }
 
@@ -59,7 +69,10 @@ public class FormDefinition {
     }
 
     public List<FieldDefinition> getFields() {
-        return fields;
+        if ( fieldList == null ) {
+            fieldList = new FieldList();
+        }
+        return fieldList;
     }
 
     public LayoutTemplate getLayoutTemplate() {
@@ -79,15 +92,40 @@ public class FormDefinition {
     }
 
     public FieldDefinition getFieldByBinding( final String binding ) {
-        return getFieldBy( field -> field.getBinding() != null && field.getBinding().equals( binding ) );
+        return getFieldIndex().byBinding.get( binding );
     }
 
     public FieldDefinition getFieldByName( final String name ) {
-        return getFieldBy( field -> field.getName().equals( name ) );
+        return getFieldIndex().byName.get( name );
     }
 
     public FieldDefinition getFieldById( final String fieldId ) {
-        return getFieldBy( field -> field.getId().equals( fieldId ) );
+        return getFieldIndex().byId.get( fieldId );
+    }
+
+    /*
+     * Called when the fields list or the id, name or binding of any of the form fields is modified.
+     */
+    void fieldsChanged() {
+        fieldsVersion.incrementAndGet();
+    }
+
+    int getFieldsVersion() {
+        return fieldsVersion.get();
+    }
+
+    /*
+     * Returns the field lookup index, building it again if the fields list or any field id, name or binding
+     * has been modified since it was built.
+     */
+    private FieldIndex getFieldIndex() {
+        FieldIndex index = fieldIndex;
+        int version = fieldsVersion.get();
+        if ( index == null || index.fields != fields || index.size != fields.size() || index.fieldsVersion != version ) {
+            index = new FieldIndex( this, fields, version );
+            fieldIndex = index;
+        }
+        return index;
     }
 
     protected FieldDefinition getFieldBy( Predicate<FieldDefinition> predicate ) {
@@ -106,4 +144,94 @@ public class FormDefinition {
         result = ~~result;
         return result;
     }
+
+    /*
+     * The fields list exposed by the form, it keeps track of the modifications so the field lookup index can
+     * be invalidated.
+     */
+    private class FieldList extends AbstractList<FieldDefinition> {
+
+        @Override
+        public FieldDefinition get( int index ) {
+            return fields.get( index );
+        }
+
+        @Override
+        public int size() {
+            return fields.size();
+        }
+
+        @Override
+        public FieldDefinition set( int index, FieldDefinition element ) {
+            FieldDefinition previous = fields.set( index, element );
+            release( previous );
+            adopt( element );
+            fieldsChanged();
+            return previous;
+        }
+
+        @Override
+        public void add( int index, FieldDefinition element ) {
+            fields.add( index, element );
+            adopt( element );
+            modCount++;
+            fieldsChanged();
+        }
+
+        @Override
+        public FieldDefinition remove( int index ) {
+            FieldDefinition removed = fields.remove( index );
+            release( removed );
+            modCount++;
+            fieldsChanged();
+            return removed;
+        }
+
+        private void adopt( FieldDefinition field ) {
+            if ( field != null ) {
+                field.setForm( FormDefinition.this );
+            }
+        }
+
+        private void release( FieldDefinition field ) {
+            if ( field != null && field.getForm() == FormDefinition.this ) {
+                field.setForm( null );
+            }
+        }
+    }
+
+    /*
+     * Fields by binding, name and id. When more than one field has the same key the first one is kept, as the
+     * lookups used to return the first matching field. Fields not added through the form fields list, as the
+     * deserialized ones, are attached to the form here so their key changes invalidate the index.
+     */
+    private static class FieldIndex {
+
+        private final List<FieldDefinition> fields;
+        private final int size;
+        private final int fieldsVersion;
+        private final Map<String, FieldDefinition> byBinding = new HashMap<>();
+        private final Map<String, FieldDefinition> byName = new HashMap<>();
+        private final Map<String, FieldDefinition> byId = new HashMap<>();
+
+        FieldIndex( FormDefinition form, List<FieldDefinition> fields, int fieldsVersion ) {
+            this.fields = fields;
+            this.size = fields.size();
+            this.fieldsVersion = fieldsVersion;
+            for ( FieldDefinition field : fields ) {
+                if ( field.getForm() == null ) {
+                    field.setForm( form );
+                }
+                put( byBinding, field.getBinding(), field );
+                put( byName, field.getName(), field );
+                put( byId, field.getId(), field );
+            }
+        }
+
+        private static void put( Map<String, FieldDefinition> map, String key, FieldDefinition field ) {
+            if ( key != null && !map.containsKey( key ) ) {
+                map.put( key, field );
+            }
+        }
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.model;
+
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.forms.model.impl.basic.textBox.TextBoxFieldDefinition;
+
+import static org.junit.Assert.*;
+
+public class FormDefinitionTest {
+
+    private FormDefinition form;
+
+    @Before
+    public void setup() {
+        form = new FormDefinition();
+        for ( int i = 0; i < 5; i++ ) {
+            form.getFields().add( newField( "field" + i ) );
+        }
+    }
+
+    @Test
+    public void testLookups() {
+        FieldDefinition field = form.getFields().get( 2 );
+        assertSame( field, form.getFieldByBinding( "field2" ) );
+        assertSame( field, form.getFieldByName( "field2" ) );
+        assertSame( field, form.getFieldById( "field2" ) );
+        assertNull( form.getFieldByBinding( "unknown" ) );
+        assertNull( form.getFieldByName( null ) );
+    }
+
+    @Test
+    public void testFirstFieldWins() {
+        FieldDefinition duplicate = newField( "field1" );
+        form.getFields().add( duplicate );
+        assertSame( form.getFields().get( 1 ), form.getFieldByBinding( "field1" ) );
+        assertNotSame( duplicate, form.getFieldByBinding( "field1" ) );
+    }
+
+    @Test
+    public void testAddAndRemoveFields() {
+        assertNull( form.getFieldByBinding( "field5" ) );
+
+        FieldDefinition field = newField( "field5" );
+        form.getFields().add( field );
+        assertSame( field, form.getFieldByBinding( "field5" ) );
+
+        form.getFields().remove( field );
+        assertNull( form.getFieldByBinding( "field5" ) );
+
+        form.getFields().add( 0, field );
+        assertSame( field, form.getFieldById( "field5" ) );
+
+        form.getFields().clear();
+        assertNull( form.getFieldById( "field5" ) );
+        assertNull( form.getFieldByName( "field0" ) );
+    }
+
+    @Test
+    public void testSetAndIteratorRemove() {
+        FieldDefinition field = newField( "replacement" );
+        FieldDefinition replaced = form.getFields().set( 3, field );
+        assertNull( form.getFieldByBinding( "field3" ) );
+        assertSame( field, form.getFieldByBinding( "replacement" ) );
+
+        Iterator<FieldDefinition> it = form.getFields().iterator();
+        while ( it.hasNext() ) {
+            if ( it.next().getName().equals( "field0" ) ) {
+                it.remove();
+            }
+        }
+        assertNull( form.getFieldByName( "field0" ) );
+        assertEquals( 4, form.getFields().size() );
+        assertFalse( form.getFields().contains( replaced ) );
+    }
+
+    @Test
+    public void testFieldKeysChanges() {
+        FieldDefinition field = form.getFieldByBinding( "field4" );
+        field.setBinding( "renamed" );
+        assertNull( form.getFieldByBinding( "field4" ) );
+        assertSame( field, form.getFieldByBinding( "renamed" ) );
+
+        field.setName( "newName" );
+        assertSame( field, form.getFieldByName( "newName" ) );
+
+        field.setId( "newId" );
+        assertSame( field, form.getFieldById( "newId" ) );
+        assertNull( form.getFieldById( "field4" ) );
+    }
+
+    @Test
+    public void testFieldKeysChangesOnlyInvalidateTheirForm() {
+        FormDefinition otherForm = new FormDefinition();
+        FieldDefinition otherField = newField( "other" );
+        otherForm.getFields().add( otherField );
+        assertSame( otherField, otherForm.getFieldByBinding( "other" ) );
+
+        int version = form.getFieldsVersion();
+        int otherVersion = otherForm.getFieldsVersion();
+
+        form.getFieldByBinding( "field1" ).setBinding( "renamed" );
+        assertEquals( version + 1, form.getFieldsVersion() );
+        assertEquals( otherVersion, otherForm.getFieldsVersion() );
+
+        otherField.setName( "renamed" );
+        assertEquals( version + 1, form.getFieldsVersion() );
+        assertEquals( otherVersion + 1, otherForm.getFieldsVersion() );
+        assertSame( otherField, otherForm.getFieldByName( "renamed" ) );
+    }
+
+    @Test
+    public void testRemovedFieldsDoNotInvalidateTheForm() {
+        FieldDefinition field = form.getFields().remove( 0 );
+        int version = form.getFieldsVersion();
+
+        field.setBinding( "renamed" );
+        assertEquals( version, form.getFieldsVersion() );
+        assertNull( form.getFieldByBinding( "renamed" ) );
+    }
+
+    private FieldDefinition newField( String key ) {
+        TextBoxFieldDefinition field = new TextBoxFieldDefinition();
+        field.setId( key );
+        field.setName( key );
+        field.setBinding( key );
+        return field;
+    }
+}
@@ -0,0 +1,483 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.editor.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.model.Project;
+import org.guvnor.structure.repositories.RepositoryRemovedEvent;
+import org.kie.workbench.common.forms.editor.type.FormResourceTypeDefinition;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.model.JavaModel;
+import org.kie.workbench.common.forms.serialization.FormDefinitionSerializer;
+import org.kie.workbench.common.services.datamodeller.util.FileUtils;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.kie.workbench.common.services.shared.vfs.FileSystemURI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Keeps, for each project, the id, model type and last modification time of every form definition in it, so the
+ * form finders only have to deserialize the forms they are going to return instead of every form in the project.
+ * <p>
+ * The catalog of a project is built on first use and then kept up to date from the resource events; lookups for
+ * forms, or model types, that are not in the catalog scan the project again, once, and the ids and types still not
+ * found are remembered until a form of the project changes.
+ */
+@ApplicationScoped
+public class FormDefinitionsCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger( FormDefinitionsCatalog.class );
+
+    private static final String FORM_SUFFIX = "." + FormResourceTypeDefinition.EXTENSION;
+
+    private IOService ioService;
+
+    private KieProjectService projectService;
+
+    private FormDefinitionSerializer serializer;
+
+    private final ConcurrentMap<String, ProjectForms> projects = new ConcurrentHashMap<>();
+
+    public FormDefinitionsCatalog() {
+    }
+
+    @Inject
+    public FormDefinitionsCatalog( @Named("ioStrategy") IOService ioService,
+                                   KieProjectService projectService,
+                                   FormDefinitionSerializer serializer ) {
+        this.ioService = ioService;
+        this.projectService = projectService;
+        this.serializer = serializer;
+    }
+
+    public List<FormDefinition> findAllForms( Project project ) {
+        return getCatalog( project ).scan();
+    }
+
+    public List<FormDefinition> findFormsForType( Project project,
+                                                  String typeName ) {
+        ProjectForms forms = getCatalog( project );
+
+        boolean scanned = forms.scanIfNeeded();
+
+        int scans = forms.getScans();
+        int version = forms.getVersion();
+
+        List<FormDefinition> result = findFormsForType( project, forms, typeName );
+
+        if ( result.isEmpty() && !scanned && !forms.isMissingType( typeName ) ) {
+            // No form for the type in the catalog yet, scanning the project again unless another lookup already did it
+            forms.rescan( scans );
+            version = forms.getVersion();
+            result = findFormsForType( project, forms, typeName );
+        }
+
+        if ( result.isEmpty() ) {
+            forms.addMissingType( typeName, version );
+        }
+
+        return result;
+    }
+
+    public FormDefinition findFormById( Project project,
+                                        String id ) {
+        ProjectForms forms = getCatalog( project );
+
+        boolean scanned = forms.scanIfNeeded();
+
+        int scans = forms.getScans();
+        int version = forms.getVersion();
+
+        FormDefinition form = findFormById( project, forms, id );
+
+        if ( form == null && !scanned && !forms.isMissingId( id ) ) {
+            // Not in the catalog yet, scanning the project again unless another lookup already did it
+            forms.rescan( scans );
+            version = forms.getVersion();
+            form = findFormById( project, forms, id );
+        }
+
+        if ( form == null ) {
+            forms.addMissingId( id, version );
+        }
+
+        return form;
+    }
+
+    public void onResourceAdded( @Observes ResourceAddedEvent event ) {
+        onFormChanged( event.getPath() );
+    }
+
+    public void onResourceUpdated( @Observes ResourceUpdatedEvent event ) {
+        onFormChanged( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes ResourceDeletedEvent event ) {
+        onFormDeleted( event.getPath() );
+    }
+
+    public void onResourceRenamed( @Observes ResourceRenamedEvent event ) {
+        onFormDeleted( event.getPath() );
+        onFormChanged( event.getDestinationPath() );
+    }
+
+    public void onDeleteProject( @Observes DeleteProjectEvent event ) {
+        if ( event.getProject() != null && event.getProject().getRootPath() != null ) {
+            projects.remove( getKey( event.getProject() ) );
+        }
+    }
+
+    public void onRepositoryRemoved( @Observes RepositoryRemovedEvent event ) {
+        if ( event.getRepository() == null ) {
+            return;
+        }
+        String alias = event.getRepository().getAlias();
+        projects.keySet().removeIf( key -> alias == null || alias.equals( FileSystemURI.getFileSystemName( key ) ) );
+    }
+
+    public void onBatchChanges( @Observes ResourceBatchChangesEvent event ) {
+        for ( org.uberfire.backend.vfs.Path path : event.getBatch().keySet() ) {
+            if ( isForm( path ) ) {
+                if ( ioService.exists( Paths.convert( path ) ) ) {
+                    onFormChanged( path );
+                } else {
+                    onFormDeleted( path );
+                }
+            }
+        }
+    }
+
+    protected void onFormChanged( org.uberfire.backend.vfs.Path path ) {
+        if ( !isForm( path ) || projects.isEmpty() ) {
+            return;
+        }
+
+        Project project = projectService.resolveProject( path );
+
+        if ( project == null ) {
+            return;
+        }
+
+        ProjectForms forms = projects.get( getKey( project ) );
+
+        if ( forms != null ) {
+            forms.update( Paths.convert( path ) );
+        }
+    }
+
+    protected void onFormDeleted( org.uberfire.backend.vfs.Path path ) {
+        if ( !isForm( path ) ) {
+            return;
+        }
+
+        String uri = path.toURI();
+
+        for ( ProjectForms forms : projects.values() ) {
+            forms.remove( uri );
+        }
+    }
+
+    private List<FormDefinition> findFormsForType( Project project,
+                                                   ProjectForms forms,
+                                                   String typeName ) {
+        List<FormDefinition> result = new ArrayList<>();
+        for ( FormEntry entry : forms.getEntries() ) {
+            if ( typeName.equals( entry.modelType ) ) {
+                FormDefinition form = readEntry( project, entry );
+                if ( form != null && isForType( form, typeName ) ) {
+                    result.add( form );
+                }
+            }
+        }
+        return result;
+    }
+
+    private FormDefinition findFormById( Project project,
+                                         ProjectForms forms,
+                                         String id ) {
+        for ( FormEntry entry : forms.getEntries() ) {
+            if ( id.equals( entry.id ) ) {
+                FormDefinition form = readEntry( project, entry );
+                if ( form != null && id.equals( form.getId() ) ) {
+                    return form;
+                }
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Reads the form for the given entry, updating the catalog if the form has been modified since the entry
+     * was added.
+     */
+    private FormDefinition readEntry( Project project,
+                                      FormEntry entry ) {
+        if ( entry.lastModified != getLastModified( entry.path ) ) {
+            ProjectForms forms = projects.get( getKey( project ) );
+            if ( forms != null ) {
+                return forms.update( entry.path );
+            }
+        }
+        return readForm( entry.path );
+    }
+
+    /*
+     * Gets the catalog of the project, registering an empty one if the project has none yet. The scan is left to the
+     * caller so it never runs while the map is locked.
+     */
+    private ProjectForms getCatalog( Project project ) {
+        String key = getKey( project );
+
+        ProjectForms forms = projects.get( key );
+
+        if ( forms == null ) {
+            ProjectForms newForms = new ProjectForms( project );
+            forms = projects.putIfAbsent( key, newForms );
+            if ( forms == null ) {
+                forms = newForms;
+            }
+        }
+
+        return forms;
+    }
+
+    private FormDefinition readForm( Path path ) {
+        try {
+            if ( ioService.exists( path ) ) {
+                return serializer.deserialize( ioService.readAllString( path ).trim() );
+            }
+        } catch ( Exception ex ) {
+            logger.warn( "Unable to generate FormDefinition for {}", path, ex );
+        }
+        return null;
+    }
+
+    private long getLastModified( Path path ) {
+        try {
+            return Files.getLastModifiedTime( path ).toMillis();
+        } catch ( Exception ex ) {
+            return -1;
+        }
+    }
+
+    private boolean isForm( org.uberfire.backend.vfs.Path path ) {
+        return path != null && path.getFileName().endsWith( FORM_SUFFIX );
+    }
+
+    private boolean isForType( FormDefinition form,
+                               String typeName ) {
+        return typeName.equals( getModelType( form ) );
+    }
+
+    private static String getModelType( FormDefinition form ) {
+        if ( form.getModel() instanceof JavaModel ) {
+            return ( (JavaModel) form.getModel() ).getType();
+        }
+        return null;
+    }
+
+    private static String getKey( Project project ) {
+        return project.getRootPath().toURI();
+    }
+
+    /*
+     * The catalog of a single project, entries are kept in scan order so lookups return the same form the
+     * project scan would.
+     */
+    private class ProjectForms {
+
+        private final Project project;
+        private final Map<String, FormEntry> entries = new LinkedHashMap<>();
+        // Ids and model types not found by the last scan, forgotten as soon as a form of the project changes.
+        private final Set<String> missingIds = new HashSet<>();
+        private final Set<String> missingTypes = new HashSet<>();
+        private final Object scanLock = new Object();
+        private int scans;
+        private int version;
+
+        ProjectForms( Project project ) {
+            this.project = project;
+        }
+
+        /*
+         * Scans are serialized, so a lookup waiting for a scan in progress can skip its own.
+         */
+        List<FormDefinition> scan() {
+            synchronized ( scanLock ) {
+                List<FormDefinition> result = new ArrayList<>();
+
+                List<Path> nioPaths = new ArrayList<>();
+
+                nioPaths.add( Paths.convert( project.getRootPath() ) );
+
+                Collection<FileUtils.ScanResult> forms = FileUtils.getInstance().scan( ioService, nioPaths, FormResourceTypeDefinition.EXTENSION, true );
+
+                Map<String, FormEntry> scanned = new LinkedHashMap<>();
+
+                for ( FileUtils.ScanResult scanResult : forms ) {
+                    Path formPath = scanResult.getFile();
+                    long lastModified = getLastModified( formPath );
+                    FormDefinition form = readForm( formPath );
+                    if ( form != null ) {
+                        scanned.put( formPath.toUri().toString(), new FormEntry( formPath, form.getId(), getModelType( form ), lastModified ) );
+                        result.add( form );
+                    }
+                }
+
+                synchronized ( this ) {
+                    entries.clear();
+                    entries.putAll( scanned );
+                    missingIds.clear();
+                    missingTypes.clear();
+                    scans++;
+                    version++;
+                }
+
+                return result;
+            }
+        }
+
+        /*
+         * Scans the project if it has never been scanned. Only one lookup scans a new project, the others wait for its
+         * catalog. Returns true if this call did the scan.
+         */
+        boolean scanIfNeeded() {
+            synchronized ( scanLock ) {
+                if ( getScans() == 0 ) {
+                    scan();
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        /*
+         * Scans the project again, unless it has been scanned since the given number of scans was read.
+         */
+        void rescan( int seenScans ) {
+            synchronized ( scanLock ) {
+                if ( getScans() == seenScans ) {
+                    scan();
+                }
+            }
+        }
+
+        FormDefinition update( Path path ) {
+            long lastModified = getLastModified( path );
+            FormDefinition form = readForm( path );
+            String uri = path.toUri().toString();
+
+            synchronized ( this ) {
+                if ( form == null ) {
+                    entries.remove( uri );
+                } else {
+                    entries.put( uri, new FormEntry( path, form.getId(), getModelType( form ), lastModified ) );
+                }
+                missingIds.clear();
+                missingTypes.clear();
+                version++;
+            }
+
+            return form;
+        }
+
+        synchronized void remove( String uri ) {
+            entries.remove( uri );
+        }
+
+        synchronized List<FormEntry> getEntries() {
+            return new ArrayList<>( entries.values() );
+        }
+
+        synchronized boolean isMissingId( String id ) {
+            return missingIds.contains( id );
+        }
+
+        synchronized boolean isMissingType( String typeName ) {
+            return missingTypes.contains( typeName );
+        }
+
+        /*
+         * Remembers a missing id, unless the catalog changed after the given version was read.
+         */
+        synchronized void addMissingId( String id,
+                                        int seenVersion ) {
+            if ( version == seenVersion ) {
+                missingIds.add( id );
+            }
+        }
+
+        /*
+         * Remembers a model type without forms, unless the catalog changed after the given version was read.
+         */
+        synchronized void addMissingType( String typeName,
+                                          int seenVersion ) {
+            if ( version == seenVersion ) {
+                missingTypes.add( typeName );
+            }
+        }
+
+        synchronized int getScans() {
+            return scans;
+        }
+
+        synchronized int getVersion() {
+            return version;
+        }
+    }
+
+    private static class FormEntry {
+
+        private final Path path;
+        private final String id;
+        private final String modelType;
+        private final long lastModified;
+
+        FormEntry( Path path,
+                   String id,
+                   String modelType,
+                   long lastModified ) {
+            this.path = path;
+            this.id = id;
+            this.modelType = modelType;
+            this.lastModified = lastModified;
+        }
+    }
+}
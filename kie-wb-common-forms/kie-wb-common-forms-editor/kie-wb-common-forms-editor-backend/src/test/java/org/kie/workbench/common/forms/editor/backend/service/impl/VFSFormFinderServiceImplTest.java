@@ -0,0 +1,294 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.editor.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.forms.model.FormDefinition;
+import org.kie.workbench.common.forms.model.PortableJavaModel;
+import org.kie.workbench.common.forms.serialization.FormDefinitionSerializer;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class VFSFormFinderServiceImplTest {
+
+    private static final int FORMS = 300;
+
+    private static final int TYPES = 3;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private KieProject project;
+
+    @Mock
+    private SessionInfo sessionInfo;
+
+    private Path root;
+
+    private AtomicInteger deserializations = new AtomicInteger();
+
+    private FormDefinitionsCatalog catalog;
+
+    private VFSFormFinderServiceImpl finderService;
+
+    @Before
+    public void setup() throws Exception {
+        SimpleFileSystemProvider fs = new SimpleFileSystemProvider();
+
+        root = fs.getPath( folder.newFolder( "project" ).toURI() );
+
+        when( ioService.newDirectoryStream( any( Path.class ), any( DirectoryStream.Filter.class ) ) ).then( invocation -> Files.newDirectoryStream( (Path) invocation.getArguments()[ 0 ],
+                                                                                                                                                   (DirectoryStream.Filter<Path>) invocation.getArguments()[ 1 ] ) );
+        when( ioService.exists( any( Path.class ) ) ).then( invocation -> Files.exists( (Path) invocation.getArguments()[ 0 ] ) );
+        when( ioService.readAllString( any( Path.class ) ) ).then( invocation -> new String( Files.readAllBytes( (Path) invocation.getArguments()[ 0 ] ) ) );
+
+        when( project.getRootPath() ).thenReturn( Paths.convert( root ) );
+        when( projectService.resolveProject( any( org.uberfire.backend.vfs.Path.class ) ) ).thenReturn( project );
+
+        FormDefinitionSerializer serializer = new FormDefinitionSerializer() {
+            @Override
+            public String serialize( FormDefinition form ) {
+                return form.getId() + "|" + ( (PortableJavaModel) form.getModel() ).getType();
+            }
+
+            @Override
+            public FormDefinition deserialize( String serializedForm ) {
+                deserializations.incrementAndGet();
+                String[] values = serializedForm.split( "\\|" );
+                FormDefinition form = new FormDefinition();
+                form.setId( values[ 0 ] );
+                form.setName( values[ 0 ] );
+                form.setModel( new PortableJavaModel( values[ 1 ] ) );
+                return form;
+            }
+        };
+
+        for ( int i = 0; i < FORMS; i++ ) {
+            Path dir = root.resolve( "src/main/resources/package" + ( i % 10 ) );
+            Files.createDirectories( dir );
+            writeForm( dir.resolve( "form" + i + ".frm" ), "form" + i, "org.test.Model" + ( i % TYPES ) );
+        }
+
+        catalog = new FormDefinitionsCatalog( ioService, projectService, serializer );
+        finderService = new VFSFormFinderServiceImpl( projectService, catalog );
+    }
+
+    @Test
+    public void testFindFormById() {
+        FormDefinition form = finderService.findFormById( "form10", Paths.convert( root ) );
+        assertNotNull( form );
+        assertEquals( "form10", form.getId() );
+
+        // Building the catalog reads every form, lookups only the form found.
+        for ( int i = 0; i < FORMS; i += 7 ) {
+            deserializations.set( 0 );
+            form = finderService.findFormById( "form" + i, Paths.convert( root ) );
+            assertNotNull( form );
+            assertEquals( "form" + i, form.getId() );
+            assertEquals( 1, deserializations.get() );
+        }
+    }
+
+    @Test
+    public void testFindFormsForType() {
+        finderService.findAllForms( Paths.convert( root ) );
+
+        deserializations.set( 0 );
+
+        List<FormDefinition> forms = finderService.findFormsForType( "org.test.Model1", Paths.convert( root ) );
+
+        assertEquals( FORMS / TYPES, forms.size() );
+        assertEquals( FORMS / TYPES, deserializations.get() );
+        for ( FormDefinition form : forms ) {
+            assertEquals( "org.test.Model1", ( (PortableJavaModel) form.getModel() ).getType() );
+        }
+    }
+
+    @Test
+    public void testFindAllForms() {
+        assertEquals( FORMS, finderService.findAllForms( Paths.convert( root ) ).size() );
+        assertEquals( FORMS, deserializations.get() );
+    }
+
+    @Test
+    public void testResourceEvents() throws Exception {
+        finderService.findAllForms( Paths.convert( root ) );
+
+        Path newForm = root.resolve( "src/main/resources/package0/newForm.frm" );
+        writeForm( newForm, "newForm", "org.test.Model0" );
+        catalog.onResourceAdded( new ResourceAddedEvent( Paths.convert( newForm ), "", sessionInfo ) );
+
+        deserializations.set( 0 );
+        assertNotNull( finderService.findFormById( "newForm", Paths.convert( root ) ) );
+        assertEquals( 1, deserializations.get() );
+
+        writeForm( newForm, "newForm", "org.test.Model2" );
+        catalog.onResourceUpdated( new ResourceUpdatedEvent( Paths.convert( newForm ), "", sessionInfo ) );
+
+        deserializations.set( 0 );
+        assertEquals( FORMS / TYPES + 1, finderService.findFormsForType( "org.test.Model2", Paths.convert( root ) ).size() );
+        assertEquals( FORMS / TYPES + 1, deserializations.get() );
+
+        Path deletedForm = root.resolve( "src/main/resources/package3/form3.frm" );
+        Files.delete( deletedForm );
+        catalog.onResourceDeleted( new ResourceDeletedEvent( Paths.convert( deletedForm ), "", sessionInfo ) );
+
+        deserializations.set( 0 );
+        assertEquals( FORMS / TYPES - 1, finderService.findFormsForType( "org.test.Model0", Paths.convert( root ) ).size() );
+        assertEquals( FORMS / TYPES - 1, deserializations.get() );
+    }
+
+    @Test
+    public void testMissScansProject() throws Exception {
+        finderService.findAllForms( Paths.convert( root ) );
+
+        // Form added without notifying the catalog.
+        writeForm( root.resolve( "src/main/resources/package0/unknown.frm" ), "unknown", "org.test.Model0" );
+
+        deserializations.set( 0 );
+        assertNotNull( finderService.findFormById( "unknown", Paths.convert( root ) ) );
+        assertEquals( FORMS + 2, deserializations.get() );
+
+        deserializations.set( 0 );
+        assertNull( finderService.findFormById( "missing", Paths.convert( root ) ) );
+        assertEquals( FORMS + 1, deserializations.get() );
+
+        // Missing forms are remembered until a form of the project changes.
+        deserializations.set( 0 );
+        assertNull( finderService.findFormById( "missing", Paths.convert( root ) ) );
+        assertEquals( 0, deserializations.get() );
+
+        Path missing = root.resolve( "src/main/resources/package0/missing.frm" );
+        writeForm( missing, "missing", "org.test.Model0" );
+        catalog.onResourceAdded( new ResourceAddedEvent( Paths.convert( missing ), "", sessionInfo ) );
+
+        deserializations.set( 0 );
+        assertNotNull( finderService.findFormById( "missing", Paths.convert( root ) ) );
+        assertEquals( 1, deserializations.get() );
+    }
+
+    @Test
+    public void testTypeMissScansProject() throws Exception {
+        finderService.findAllForms( Paths.convert( root ) );
+
+        // Form added without notifying the catalog.
+        writeForm( root.resolve( "src/main/resources/package0/unknown.frm" ), "unknown", "org.test.NewModel" );
+
+        deserializations.set( 0 );
+        assertEquals( 1, finderService.findFormsForType( "org.test.NewModel", Paths.convert( root ) ).size() );
+        assertEquals( FORMS + 2, deserializations.get() );
+
+        deserializations.set( 0 );
+        assertTrue( finderService.findFormsForType( "org.test.MissingModel", Paths.convert( root ) ).isEmpty() );
+        assertEquals( FORMS + 1, deserializations.get() );
+
+        // Types without forms are remembered until a form of the project changes.
+        deserializations.set( 0 );
+        assertTrue( finderService.findFormsForType( "org.test.MissingModel", Paths.convert( root ) ).isEmpty() );
+        assertEquals( 0, deserializations.get() );
+
+        Path missing = root.resolve( "src/main/resources/package0/missing.frm" );
+        writeForm( missing, "missing", "org.test.MissingModel" );
+        catalog.onResourceAdded( new ResourceAddedEvent( Paths.convert( missing ), "", sessionInfo ) );
+
+        deserializations.set( 0 );
+        assertEquals( 1, finderService.findFormsForType( "org.test.MissingModel", Paths.convert( root ) ).size() );
+        assertEquals( 1, deserializations.get() );
+    }
+
+    @Test
+    public void testMissOnNewProjectScansOnce() throws Exception {
+        assertNull( finderService.findFormById( "missing", Paths.convert( root ) ) );
+        assertEquals( FORMS, deserializations.get() );
+
+        assertNull( finderService.findFormById( "missing", Paths.convert( root ) ) );
+        assertEquals( FORMS, deserializations.get() );
+    }
+
+    @Test
+    public void testConcurrentLookupsScanNewProjectOnce() throws Exception {
+        int lookups = 4;
+        ExecutorService executor = Executors.newFixedThreadPool( lookups );
+        try {
+            List<Future<FormDefinition>> results = new ArrayList<>();
+            for ( int i = 0; i < lookups; i++ ) {
+                results.add( executor.submit( () -> finderService.findFormById( "form10", Paths.convert( root ) ) ) );
+            }
+            for ( Future<FormDefinition> result : results ) {
+                assertEquals( "form10", result.get().getId() );
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // One scan, then every lookup reads the form found.
+        assertEquals( FORMS + lookups, deserializations.get() );
+    }
+
+    @Test
+    public void testDeletedProjectIsEvicted() throws Exception {
+        finderService.findAllForms( Paths.convert( root ) );
+
+        catalog.onDeleteProject( new DeleteProjectEvent( project ) );
+
+        deserializations.set( 0 );
+        assertNotNull( finderService.findFormById( "form10", Paths.convert( root ) ) );
+        assertEquals( FORMS + 1, deserializations.get() );
+    }
+
+    private void writeForm( Path path,
+                            String id,
+                            String type ) {
+        Files.write( path, ( id + "|" + type ).getBytes() );
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.jbpm.server.service.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.eclipse.bpmn2.Bpmn2Package;
+import org.eclipse.bpmn2.Definitions;
+import org.eclipse.bpmn2.DocumentRoot;
+import org.eclipse.bpmn2.util.Bpmn2ResourceFactoryImpl;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.jboss.drools.DroolsPackage;
+import org.jboss.drools.util.DroolsResourceFactoryImpl;
+import org.kie.workbench.common.forms.jbpm.model.authoring.JBPMProcessModel;
+import org.kie.workbench.common.forms.jbpm.model.authoring.process.BusinessProcessFormModel;
+import org.kie.workbench.common.forms.jbpm.model.authoring.task.TaskFormModel;
+import org.kie.workbench.common.forms.jbpm.server.service.BPMNFormModelGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.async.SimpleAsyncExecutorService;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributeView;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Keeps the process and task form models extracted from each process file, keyed by the file path, so process files
+ * are only parsed again when they change. A file is only read again when its last modification time or size change,
+ * and only parsed again when the hash of its content changes too.
+ */
+@ApplicationScoped
+public class ProcessFormModelsCache {
+
+    private static final Logger logger = LoggerFactory.getLogger( ProcessFormModelsCache.class );
+
+    private static final int MAX_PARSER_THREADS = 4;
+
+    private IOService ioService;
+
+    private BPMNFormModelGenerator bpmnFormModelGenerator;
+
+    private final ConcurrentMap<String, CachedProcessModel> models = new ConcurrentHashMap<>();
+
+    public ProcessFormModelsCache() {
+    }
+
+    @Inject
+    public ProcessFormModelsCache( @Named( "ioStrategy" ) IOService ioService,
+                                   BPMNFormModelGenerator bpmnFormModelGenerator ) {
+        this.ioService = ioService;
+        this.bpmnFormModelGenerator = bpmnFormModelGenerator;
+    }
+
+    /**
+     * Returns the process models for the given process files, in the same order. Files that haven't been parsed
+     * yet or that have changed since they were parsed are parsed in parallel.
+     */
+    public List<JBPMProcessModel> getProcessModels( List<Path> processPaths ) {
+        List<JBPMProcessModel> result = new ArrayList<>( processPaths.size() );
+        Map<Integer, ProcessFile> misses = new HashMap<>();
+
+        for ( Path processPath : processPaths ) {
+            String key = processPath.toUri().toString();
+            FileVersion version = getFileVersion( processPath );
+            CachedProcessModel cached = models.get( key );
+
+            JBPMProcessModel model = null;
+
+            if ( cached != null && version != null && version.equals( cached.version ) ) {
+                model = cached.model;
+            } else {
+                ProcessFile processFile = readProcessFile( key, processPath, version );
+                if ( processFile != null ) {
+                    if ( cached != null && cached.hash.equals( processFile.hash ) ) {
+                        // Same content, only the file attributes changed
+                        models.replace( key, cached, new CachedProcessModel( version, cached.hash, cached.model ) );
+                        model = cached.model;
+                    } else {
+                        misses.put( result.size(), processFile );
+                    }
+                }
+            }
+
+            result.add( model );
+        }
+
+        if ( !misses.isEmpty() ) {
+            parse( misses ).forEach( result::set );
+        }
+
+        result.removeIf( model -> model == null );
+
+        return result;
+    }
+
+    public void onResourceUpdated( @Observes ResourceUpdatedEvent event ) {
+        evict( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes ResourceDeletedEvent event ) {
+        evict( event.getPath() );
+    }
+
+    public void onResourceRenamed( @Observes ResourceRenamedEvent event ) {
+        evict( event.getPath() );
+    }
+
+    public void onBatchChanges( @Observes ResourceBatchChangesEvent event ) {
+        event.getBatch().keySet().forEach( this::evict );
+    }
+
+    protected void evict( org.uberfire.backend.vfs.Path path ) {
+        if ( path != null ) {
+            models.remove( path.toURI() );
+        }
+    }
+
+    /**
+     * The executor the process files are parsed in, the container managed one by default.
+     */
+    protected Executor getParserExecutor() {
+        return SimpleAsyncExecutorService.getDefaultInstance();
+    }
+
+    /**
+     * The maximum number of process files parsed at the same time.
+     */
+    protected int getMaxParserThreads() {
+        return Math.min( MAX_PARSER_THREADS, Runtime.getRuntime().availableProcessors() );
+    }
+
+    private Map<Integer, JBPMProcessModel> parse( Map<Integer, ProcessFile> processFiles ) {
+        Map<Integer, JBPMProcessModel> result = new HashMap<>();
+
+        int workers = Math.min( processFiles.size(), getMaxParserThreads() );
+        if ( workers <= 1 ) {
+            processFiles.forEach( ( index, processFile ) -> result.put( index, parse( processFile ) ) );
+            return result;
+        }
+
+        // Each worker parses the next pending file, so no more than the given number of threads are used
+        Executor executor = getParserExecutor();
+        List<Map.Entry<Integer, ProcessFile>> pending = new ArrayList<>( processFiles.entrySet() );
+        AtomicReferenceArray<JBPMProcessModel> parsed = new AtomicReferenceArray<>( pending.size() );
+        AtomicInteger next = new AtomicInteger();
+        List<FutureTask<Void>> tasks = new ArrayList<>( workers );
+        try {
+            for ( int i = 0; i < workers; i++ ) {
+                FutureTask<Void> task = new FutureTask<>( () -> {
+                    for ( int index = next.getAndIncrement(); index < pending.size(); index = next.getAndIncrement() ) {
+                        parsed.set( index, parse( pending.get( index ).getValue() ) );
+                    }
+                    return null;
+                } );
+                tasks.add( task );
+                executor.execute( task );
+            }
+            for ( FutureTask<Void> task : tasks ) {
+                task.get();
+            }
+            for ( int i = 0; i < pending.size(); i++ ) {
+                result.put( pending.get( i ).getKey(), parsed.get( i ) );
+            }
+            return result;
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException( "Interrupted while parsing processes.", e );
+        } catch ( ExecutionException e ) {
+            Throwable cause = e.getCause();
+            if ( cause instanceof RuntimeException ) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException( cause );
+        } finally {
+            // Nothing left to do when all of them completed, otherwise do not keep parsing for a failed lookup
+            next.set( pending.size() );
+            tasks.forEach( task -> task.cancel( true ) );
+        }
+    }
+
+    private JBPMProcessModel parse( ProcessFile processFile ) {
+        try {
+            ResourceSet resourceSet = new ResourceSetImpl();
+
+            resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put
+                    ( Resource.Factory.Registry.DEFAULT_EXTENSION,
+                      new DroolsResourceFactoryImpl() );
+            resourceSet.getPackageRegistry().put
+                    ( DroolsPackage.eNS_URI,
+                      DroolsPackage.eINSTANCE );
+            resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap()
+                    .put( Resource.Factory.Registry.DEFAULT_EXTENSION, new Bpmn2ResourceFactoryImpl() );
+            resourceSet.getPackageRegistry().put( "http://www.omg.org/spec/BPMN/20100524/MODEL",
+                                                  Bpmn2Package.eINSTANCE );
+
+            XMLResource outResource = (XMLResource) resourceSet.createResource( URI.createURI(
+                    "inputStream://dummyUriWithValidSuffix.xml" ) );
+            outResource.getDefaultLoadOptions().put( XMLResource.OPTION_ENCODING, "UTF-8" );
+            outResource.setEncoding( "UTF-8" );
+
+            Map<String, Object> options = new HashMap<String, Object>();
+            options.put( XMLResource.OPTION_ENCODING, "UTF-8" );
+            outResource.load( new ByteArrayInputStream( processFile.content ), options );
+
+            DocumentRoot root = (DocumentRoot) outResource.getContents().get( 0 );
+
+            Definitions definitions = root.getDefinitions();
+
+            BusinessProcessFormModel processFormModel = bpmnFormModelGenerator.generateProcessFormModel( definitions );
+            List<TaskFormModel> taskModels = bpmnFormModelGenerator.generateTaskFormModels( definitions );
+
+            JBPMProcessModel model = new JBPMProcessModel( processFormModel, taskModels );
+
+            models.put( processFile.key, new CachedProcessModel( processFile.version, processFile.hash, model ) );
+
+            return model;
+        } catch ( IOException e ) {
+            logger.warn( "Unable to read process models for {}", processFile.key, e );
+            return null;
+        }
+    }
+
+    private ProcessFile readProcessFile( String key,
+                                         Path processPath,
+                                         FileVersion version ) {
+        try {
+            byte[] content = ioService.readAllBytes( processPath );
+            return new ProcessFile( key, version, content, hash( content ) );
+        } catch ( org.uberfire.java.nio.IOException e ) {
+            logger.warn( "Unable to read process {}", processPath, e );
+            return null;
+        }
+    }
+
+    private FileVersion getFileVersion( Path processPath ) {
+        // Without attributes the file is read and hashed on every lookup
+        BasicFileAttributeView view = ioService.getFileAttributeView( processPath, BasicFileAttributeView.class );
+        if ( view == null ) {
+            return null;
+        }
+        try {
+            BasicFileAttributes attributes = view.readAttributes();
+            return new FileVersion( attributes.lastModifiedTime().toMillis(), attributes.size() );
+        } catch ( org.uberfire.java.nio.IOException e ) {
+            logger.debug( "Unable to read attributes of process {}", processPath, e );
+            return null;
+        }
+    }
+
+    private static String hash( byte[] content ) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance( "SHA-1" ).digest( content );
+        } catch ( NoSuchAlgorithmException e ) {
+            // Every Java platform is required to support SHA-1
+            throw new IllegalStateException( e );
+        }
+        StringBuilder builder = new StringBuilder( digest.length * 2 );
+        for ( byte b : digest ) {
+            builder.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) );
+            builder.append( Character.forDigit( b & 0xF, 16 ) );
+        }
+        return builder.toString();
+    }
+
+    private static class ProcessFile {
+
+        private final String key;
+        private final FileVersion version;
+        private final byte[] content;
+        private final String hash;
+
+        ProcessFile( String key,
+                     FileVersion version,
+                     byte[] content,
+                     String hash ) {
+            this.key = key;
+            this.version = version;
+            this.content = content;
+            this.hash = hash;
+        }
+    }
+
+    private static class FileVersion {
+
+        private final long lastModified;
+        private final long size;
+
+        FileVersion( long lastModified,
+                     long size ) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if ( this == o ) {
+                return true;
+            }
+            if ( !( o instanceof FileVersion ) ) {
+                return false;
+            }
+            FileVersion that = (FileVersion) o;
+            return lastModified == that.lastModified && size == that.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode( lastModified ) + Long.hashCode( size );
+        }
+    }
+
+    private static class CachedProcessModel {
+
+        private final FileVersion version;
+        private final String hash;
+        private final JBPMProcessModel model;
+
+        CachedProcessModel( FileVersion version,
+                            String hash,
+                            JBPMProcessModel model ) {
+            this.version = version;
+            this.hash = hash;
+            this.model = model;
+        }
+    }
+}
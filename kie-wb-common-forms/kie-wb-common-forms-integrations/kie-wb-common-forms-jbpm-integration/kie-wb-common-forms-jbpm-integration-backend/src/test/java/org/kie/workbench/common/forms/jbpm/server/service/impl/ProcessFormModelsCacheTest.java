@@ -0,0 +1,242 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.forms.jbpm.server.service.impl;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.bpmn2.Definitions;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.forms.jbpm.model.authoring.JBPMProcessModel;
+import org.kie.workbench.common.forms.jbpm.model.authoring.process.BusinessProcessFormModel;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributeView;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+import org.uberfire.java.nio.file.attribute.FileTime;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProcessFormModelsCacheTest {
+
+    private static final int PROCESSES = 200;
+
+    private static final String ROOT = "default://master@repo/project/src/main/resources/";
+
+    @Mock
+    private IOService ioService;
+
+    private Map<Path, byte[]> contents = new ConcurrentHashMap<>();
+
+    private Map<Path, Long> lastModified = new ConcurrentHashMap<>();
+
+    private List<Path> processPaths = new ArrayList<>();
+
+    private AtomicInteger parses = new AtomicInteger();
+
+    private ProcessFormModelsCache cache;
+
+    @Before
+    public void setup() {
+        for ( int i = 0; i < PROCESSES; i++ ) {
+            Path path = mock( Path.class );
+            when( path.toUri() ).thenReturn( URI.create( ROOT + "process" + i + ".bpmn2" ) );
+            contents.put( path, generateProcess( "process" + i, "Process " + i ) );
+            processPaths.add( path );
+        }
+
+        when( ioService.readAllBytes( any( Path.class ) ) ).then( invocation -> contents.get( invocation.getArguments()[ 0 ] ) );
+
+        cache = new ProcessFormModelsCache( ioService, new BPMNFormModelGeneratorImpl() {
+            @Override
+            public BusinessProcessFormModel generateProcessFormModel( Definitions source ) {
+                parses.incrementAndGet();
+                return super.generateProcessFormModel( source );
+            }
+        } );
+    }
+
+    @Test
+    public void testSecondLookupIsCached() {
+        List<JBPMProcessModel> models = cache.getProcessModels( processPaths );
+
+        assertEquals( PROCESSES, parses.get() );
+        assertModels( models );
+
+        parses.set( 0 );
+
+        List<JBPMProcessModel> cached = cache.getProcessModels( processPaths );
+
+        assertEquals( 0, parses.get() );
+        assertModels( cached );
+        for ( int i = 0; i < PROCESSES; i++ ) {
+            assertSame( models.get( i ), cached.get( i ) );
+        }
+    }
+
+    @Test
+    public void testEditedProcessIsParsedAgain() {
+        cache.getProcessModels( processPaths );
+
+        parses.set( 0 );
+
+        contents.put( processPaths.get( 42 ), generateProcess( "process42", "Edited process" ) );
+
+        List<JBPMProcessModel> models = cache.getProcessModels( processPaths );
+
+        assertEquals( 1, parses.get() );
+        assertEquals( "Edited process", models.get( 42 ).getProcessFormModel().getProcessName() );
+    }
+
+    @Test
+    public void testEvictedProcessIsParsedAgain() {
+        cache.getProcessModels( processPaths );
+
+        parses.set( 0 );
+
+        org.uberfire.backend.vfs.Path deleted = PathFactory.newPath( "process7.bpmn2", ROOT + "process7.bpmn2" );
+        cache.onResourceDeleted( new ResourceDeletedEvent( deleted, "", null ) );
+
+        cache.getProcessModels( processPaths );
+
+        assertEquals( 1, parses.get() );
+    }
+
+    @Test
+    public void testUnchangedAttributesSkipReading() {
+        enableFileAttributes();
+
+        cache.getProcessModels( processPaths );
+
+        verify( ioService, times( PROCESSES ) ).readAllBytes( any( Path.class ) );
+
+        parses.set( 0 );
+
+        cache.getProcessModels( processPaths );
+
+        assertEquals( 0, parses.get() );
+        verify( ioService, times( PROCESSES ) ).readAllBytes( any( Path.class ) );
+    }
+
+    @Test
+    public void testChangedAttributesCheckContent() {
+        enableFileAttributes();
+
+        cache.getProcessModels( processPaths );
+
+        parses.set( 0 );
+
+        // Touched without changes: read and hashed again, but not parsed
+        lastModified.put( processPaths.get( 5 ), 2000L );
+        cache.getProcessModels( processPaths );
+        cache.getProcessModels( processPaths );
+
+        assertEquals( 0, parses.get() );
+        verify( ioService, times( PROCESSES + 1 ) ).readAllBytes( any( Path.class ) );
+
+        // Edited: parsed again
+        contents.put( processPaths.get( 5 ), generateProcess( "process5", "Edited process" ) );
+        lastModified.put( processPaths.get( 5 ), 3000L );
+        List<JBPMProcessModel> models = cache.getProcessModels( processPaths );
+
+        assertEquals( 1, parses.get() );
+        assertEquals( "Edited process", models.get( 5 ).getProcessFormModel().getProcessName() );
+    }
+
+    @Test
+    public void testParsingIsBoundedToMaxParserThreads() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        AtomicInteger executions = new AtomicInteger();
+        try {
+            cache = new ProcessFormModelsCache( ioService, new BPMNFormModelGeneratorImpl() ) {
+                @Override
+                protected Executor getParserExecutor() {
+                    return command -> {
+                        executions.incrementAndGet();
+                        executor.execute( command );
+                    };
+                }
+
+                @Override
+                protected int getMaxParserThreads() {
+                    return 2;
+                }
+            };
+
+            assertModels( cache.getProcessModels( processPaths ) );
+            assertEquals( 2, executions.get() );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvalidProcessIsSkipped() {
+        contents.put( processPaths.get( 3 ), "not a process".getBytes() );
+
+        List<JBPMProcessModel> models = cache.getProcessModels( processPaths );
+
+        assertEquals( PROCESSES - 1, models.size() );
+    }
+
+    private void enableFileAttributes() {
+        for ( Path path : processPaths ) {
+            lastModified.put( path, 1000L );
+
+            BasicFileAttributeView view = mock( BasicFileAttributeView.class );
+            BasicFileAttributes attributes = mock( BasicFileAttributes.class );
+            FileTime time = mock( FileTime.class );
+
+            when( ioService.getFileAttributeView( path, BasicFileAttributeView.class ) ).thenReturn( view );
+            when( view.readAttributes() ).thenReturn( attributes );
+            when( attributes.lastModifiedTime() ).thenReturn( time );
+            when( attributes.size() ).then( invocation -> (long) contents.get( path ).length );
+            when( time.toMillis() ).then( invocation -> lastModified.get( path ) );
+        }
+    }
+
+    private void assertModels( List<JBPMProcessModel> models ) {
+        assertEquals( PROCESSES, models.size() );
+        for ( int i = 0; i < PROCESSES; i++ ) {
+            assertEquals( "process" + i, models.get( i ).getProcessFormModel().getProcessId() );
+        }
+    }
+
+    private byte[] generateProcess( String id,
+                                    String name ) {
+        return ( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<bpmn2:definitions xmlns:bpmn2=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" id=\"_" + id + "\" " +
+                "targetNamespace=\"http://www.omg.org/bpmn20\">\n" +
+                "  <bpmn2:process id=\"" + id + "\" name=\"" + name + "\" isExecutable=\"true\"/>\n" +
+                "</bpmn2:definitions>" ).getBytes();
+    }
+}
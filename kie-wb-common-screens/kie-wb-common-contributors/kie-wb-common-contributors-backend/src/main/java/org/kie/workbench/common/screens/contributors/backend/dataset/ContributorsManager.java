@@ -17,11 +17,16 @@ package org.kie.workbench.common.screens.contributors.backend.dataset;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
@@ -44,6 +49,8 @@ import org.guvnor.structure.organizationalunit.RepoAddedToOrganizationalUnitEven
 import org.guvnor.structure.organizationalunit.RepoRemovedFromOrganizationalUnitEvent;
 import org.guvnor.structure.repositories.Repository;
 import org.guvnor.structure.repositories.RepositoryService;
+import org.kie.workbench.common.services.shared.vfs.FileSystemURI;
+import org.uberfire.backend.vfs.Path;
 import org.uberfire.commons.services.cdi.Startup;
 import org.uberfire.java.nio.base.version.VersionRecord;
 import org.uberfire.workbench.events.ResourceAddedEvent;
@@ -60,6 +67,10 @@ import static org.uberfire.commons.validation.PortablePreconditions.*;
 /**
  * This class is in charge of the initialization of a data set holding all the
  * contributions made to any of the GIT managed repositories.
+ * <p>
+ * The commits read from every repository are kept, along with the id of the last ingested commit. When the data set
+ * is rebuilt only the repositories changed since the last build are checked for new commits, and only the commits
+ * newer than the last ingested one are read. The full history is only read for new repositories.
  */
 @Startup
 @ApplicationScoped
@@ -77,6 +88,29 @@ public class ContributorsManager implements DataSetGenerator {
     @Inject
     protected Event<DataSetStaleEvent> dataSetStaleEvent;
 
+    /**
+     * Number of commits read at once when looking for the new commits of a repository
+     */
+    protected static final int HISTORY_PAGE_SIZE = 20;
+
+    /**
+     * The commits ingested so far, by repository alias
+     */
+    protected final Map<String, RepositoryContributions> contributions = new HashMap<String, RepositoryContributions>();
+
+    /**
+     * Aliases of the repositories changed since the data set was built
+     */
+    protected final Set<String> changedRepositories = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Aliases of the repositories added to or removed from an organizational unit since the data set was built. Their
+     * ingested commits are dropped and their history is read again.
+     */
+    protected final Set<String> resetRepositories = ConcurrentHashMap.newKeySet();
+
+    protected volatile boolean allRepositoriesChanged = false;
+
     /**
      * Map holding alias to author name mappings
      */
@@ -112,13 +146,23 @@ public class ContributorsManager implements DataSetGenerator {
     }
 
     @Override
-    public DataSet buildDataSet(Map<String, String> params) {
+    public synchronized DataSet buildDataSet(Map<String, String> params) {
 
         DataSetBuilder dsBuilder = DataSetFactory.newDataSetBuilder();
         for (DataColumnDef columnDef : dataSetdef.getColumns()) {
             dsBuilder.column(columnDef.getId(), columnDef.getColumnType());
         }
 
+        boolean checkAll = allRepositoriesChanged;
+        allRepositoriesChanged = false;
+        Set<String> changed = new HashSet<String>(changedRepositories);
+        changedRepositories.removeAll(changed);
+        Set<String> reset = new HashSet<String>(resetRepositories);
+        resetRepositories.removeAll(reset);
+        contributions.keySet().removeAll(reset);
+
+        Set<String> repositories = new HashSet<String>();
+
         Collection<OrganizationalUnit> orgUnitList = organizationalUnitService.getOrganizationalUnits();
         for (OrganizationalUnit orgUnit : orgUnitList) {
             String org = orgUnit.getName();
@@ -129,7 +173,8 @@ public class ContributorsManager implements DataSetGenerator {
             } else {
                 for (Repository repo : repoList) {
                     String repoAlias = repo.getAlias();
-                    List<VersionRecord> recordList = repositoryService.getRepositoryHistoryAll(repoAlias);
+                    repositories.add(repoAlias);
+                    List<VersionRecord> recordList = getContributions(repoAlias, checkAll || changed.contains(repoAlias));
 
                     if (recordList.isEmpty()) {
                         dsBuilder.row(org, repoAlias, null, "Empty repository", null);
@@ -147,25 +192,108 @@ public class ContributorsManager implements DataSetGenerator {
             }
         }
 
+        // Forget the repositories no longer available
+        contributions.keySet().retainAll(repositories);
+
         DataSet dataSet = dsBuilder.buildDataSet();
         dataSet.setUUID(GIT_CONTRIB);
         return dataSet;
     }
 
+    /**
+     * Returns all the commits of the given repository, reading the full history for the repositories not ingested
+     * yet and only the commits newer than the last ingested one for the changed repositories.
+     */
+    protected List<VersionRecord> getContributions(String repoAlias, boolean changed) {
+        RepositoryContributions repoContributions = contributions.get(repoAlias);
+
+        if (repoContributions == null) {
+            repoContributions = new RepositoryContributions(repositoryService.getRepositoryHistoryAll(repoAlias));
+            contributions.put(repoAlias, repoContributions);
+        } else if (changed) {
+            List<VersionRecord> newRecords = getNewRecords(repoAlias, repoContributions.lastCommitId);
+            if (newRecords == null) {
+                // The last ingested commit is no longer in the history, read it again
+                repoContributions = new RepositoryContributions(repositoryService.getRepositoryHistoryAll(repoAlias));
+                contributions.put(repoAlias, repoContributions);
+            } else {
+                repoContributions.append(newRecords);
+            }
+        }
+        return repoContributions.records;
+    }
+
+    /**
+     * Reads the repository history, most recent commits first, until the given commit is found.
+     * @return The commits newer than the given one from the oldest to the most recent one, or null if the
+     * given commit is not part of the history
+     */
+    protected List<VersionRecord> getNewRecords(String repoAlias, String lastCommitId) {
+        List<VersionRecord> newRecords = new ArrayList<VersionRecord>();
+        Set<String> seen = new HashSet<String>();
+        int start = 0;
+        while (true) {
+            List<VersionRecord> page = repositoryService.getRepositoryHistory(repoAlias, start, start + HISTORY_PAGE_SIZE);
+            for (VersionRecord record : page) {
+                if (lastCommitId != null && lastCommitId.equals(record.id())) {
+                    List<VersionRecord> result = new ArrayList<VersionRecord>(newRecords.size());
+                    for (int i = newRecords.size() - 1; i >= 0; i--) {
+                        result.add(newRecords.get(i));
+                    }
+                    return result;
+                }
+                if (seen.add(record.id())) {
+                    newRecords.add(record);
+                }
+            }
+            if (page.size() < HISTORY_PAGE_SIZE) {
+                return null;
+            }
+            start += HISTORY_PAGE_SIZE;
+        }
+    }
+
     protected void invalidateDataSet() {
         dataSetStaleEvent.fire(new DataSetStaleEvent(dataSetdef));
     }
 
+    protected void invalidateDataSet(Path path) {
+        String repoAlias = getRepositoryAlias(path);
+        if (repoAlias == null) {
+            allRepositoriesChanged = true;
+        } else {
+            changedRepositories.add(repoAlias);
+        }
+        invalidateDataSet();
+    }
+
+    /**
+     * Extracts the repository alias from a path like <code>default://master@repository/...</code>
+     */
+    protected String getRepositoryAlias(Path path) {
+        return FileSystemURI.getFileSystemName(path);
+    }
+
     // Keep synced the contributions data set with the changes made into the org>repos>commits hierarchy
 
+    protected void resetRepository(Repository repository) {
+        if (repository == null || repository.getAlias() == null) {
+            allRepositoriesChanged = true;
+        } else {
+            resetRepositories.add(repository.getAlias());
+            changedRepositories.add(repository.getAlias());
+        }
+        invalidateDataSet();
+    }
+
     public void onRepoAddedToOrgUnit(@Observes final RepoAddedToOrganizationalUnitEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        resetRepository(event.getRepository());
     }
 
     public void onRepoRemovedFromOrgUnit(@Observes final RepoRemovedFromOrganizationalUnitEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        resetRepository(event.getRepository());
     }
 
     public void onOrganizationUnitAdded(@Observes final NewOrganizationalUnitEvent event) {
@@ -180,31 +308,79 @@ public class ContributorsManager implements DataSetGenerator {
 
     public void processResourceAdd(@Observes final ResourceAddedEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        invalidateDataSet(event.getPath());
     }
 
     public void processResourceDelete(@Observes final ResourceDeletedEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        invalidateDataSet(event.getPath());
     }
 
     public void processResourceUpdate(@Observes final ResourceUpdatedEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        invalidateDataSet(event.getPath());
     }
 
     public void processResourceCopied(@Observes final ResourceCopiedEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        invalidateDataSet(event.getPath());
     }
 
     public void processResourceRenamed(@Observes final ResourceRenamedEvent event) {
         checkNotNull("event", event);
-        invalidateDataSet();
+        invalidateDataSet(event.getPath());
     }
 
     public void processBatchChanges(@Observes final ResourceBatchChangesEvent event) {
         checkNotNull("event", event);
+        if (event.getBatch() == null || event.getBatch().isEmpty()) {
+            allRepositoriesChanged = true;
+        } else {
+            for (Path path : event.getBatch().keySet()) {
+                String repoAlias = getRepositoryAlias(path);
+                if (repoAlias == null) {
+                    allRepositoriesChanged = true;
+                } else {
+                    changedRepositories.add(repoAlias);
+                }
+            }
+        }
         invalidateDataSet();
     }
+
+    /**
+     * The commits ingested from a repository
+     */
+    protected static class RepositoryContributions {
+
+        protected final List<VersionRecord> records;
+
+        protected final Set<String> commitIds = new HashSet<String>();
+
+        /**
+         * The most recent commit ingested
+         */
+        protected String lastCommitId;
+
+        public RepositoryContributions(List<VersionRecord> records) {
+            this.records = new ArrayList<VersionRecord>(records);
+            VersionRecord last = null;
+            for (VersionRecord record : records) {
+                commitIds.add(record.id());
+                if (last == null || (record.date() != null && last.date() != null && record.date().after(last.date()))) {
+                    last = record;
+                }
+            }
+            this.lastCommitId = last != null ? last.id() : null;
+        }
+
+        public void append(List<VersionRecord> newRecords) {
+            for (VersionRecord record : newRecords) {
+                if (commitIds.add(record.id())) {
+                    records.add(record);
+                }
+                lastCommitId = record.id();
+            }
+        }
+    }
 }
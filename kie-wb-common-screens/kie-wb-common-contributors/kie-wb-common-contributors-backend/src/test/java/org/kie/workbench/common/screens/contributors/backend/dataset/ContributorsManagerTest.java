@@ -0,0 +1,258 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.screens.contributors.backend.dataset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import javax.enterprise.event.Event;
+
+import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.events.DataSetStaleEvent;
+import org.guvnor.structure.organizationalunit.OrganizationalUnit;
+import org.guvnor.structure.organizationalunit.OrganizationalUnitService;
+import org.guvnor.structure.organizationalunit.RepoAddedToOrganizationalUnitEvent;
+import org.guvnor.structure.organizationalunit.RepoRemovedFromOrganizationalUnitEvent;
+import org.guvnor.structure.repositories.Repository;
+import org.guvnor.structure.repositories.RepositoryService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.base.options.CommentedOption;
+import org.uberfire.java.nio.base.version.VersionAttributeView;
+import org.uberfire.java.nio.base.version.VersionRecord;
+import org.uberfire.java.nio.file.FileSystem;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.mocks.FileSystemTestingUtils;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ContributorsManagerTest {
+
+    private static final String GIT_REPO = "git-repo";
+    private static final String OTHER_REPO = "other-repo";
+
+    private FileSystemTestingUtils fileSystemTestingUtils = new FileSystemTestingUtils();
+
+    @Mock
+    private OrganizationalUnitService organizationalUnitService;
+
+    @Mock
+    private RepositoryService repositoryService;
+
+    @Mock
+    private Event<DataSetStaleEvent> dataSetStaleEvent;
+
+    @Mock
+    private OrganizationalUnit orgUnit;
+
+    private List<Repository> repositories = new ArrayList<Repository>();
+
+    private List<VersionRecord> otherRepoHistory = new ArrayList<VersionRecord>();
+
+    private ContributorsManager contributorsManager;
+
+    @Before
+    public void setup() throws Exception {
+        fileSystemTestingUtils.setup();
+
+        commit("file0.txt", "Initial content");
+
+        repositories.add(mockRepository(GIT_REPO));
+        repositories.add(mockRepository(OTHER_REPO));
+        for (int i = 0; i < 5; i++) {
+            otherRepoHistory.add(0, mockRecord("other" + i, "Other commit " + i));
+        }
+
+        when(orgUnit.getName()).thenReturn("org");
+        when(orgUnit.getRepositories()).thenReturn(repositories);
+        when(organizationalUnitService.getOrganizationalUnits()).thenReturn(Collections.singletonList(orgUnit));
+
+        // Same contract as the git based repository service, the history is returned from the most recent commit
+        when(repositoryService.getRepositoryHistoryAll(anyString())).then(invocation -> getHistory((String) invocation.getArguments()[0]));
+        when(repositoryService.getRepositoryHistory(anyString(), anyInt(), anyInt())).then(invocation -> {
+            List<VersionRecord> history = getHistory((String) invocation.getArguments()[0]);
+            int start = Math.min((Integer) invocation.getArguments()[1], history.size());
+            int end = Math.min((Integer) invocation.getArguments()[2], history.size());
+            return new ArrayList<VersionRecord>(history.subList(start, end));
+        });
+
+        contributorsManager = new ContributorsManager();
+        contributorsManager.organizationalUnitService = organizationalUnitService;
+        contributorsManager.repositoryService = repositoryService;
+        contributorsManager.dataSetStaleEvent = dataSetStaleEvent;
+    }
+
+    @After
+    public void cleanup() {
+        fileSystemTestingUtils.cleanup();
+    }
+
+    @Test
+    public void testNewCommitIsAppended() throws Exception {
+        DataSet dataSet = contributorsManager.buildDataSet(null);
+        int gitCommits = getHistory(GIT_REPO).size();
+        assertEquals(gitCommits + otherRepoHistory.size(), dataSet.getRowCount());
+
+        commit("file1.txt", "New commit");
+        contributorsManager.processResourceUpdate(new ResourceUpdatedEvent(PathFactory.newPath("file1.txt", "default://master@" + GIT_REPO + "/file1.txt"), "", null));
+        verify(dataSetStaleEvent).fire(any(DataSetStaleEvent.class));
+
+        DataSet updated = contributorsManager.buildDataSet(null);
+
+        assertEquals(dataSet.getRowCount() + 1, updated.getRowCount());
+        assertEquals("New commit", updated.getValueAt(gitCommits, 3));
+        for (int i = 0; i < dataSet.getRowCount(); i++) {
+            int row = i < gitCommits ? i : i + 1;
+            assertEquals(dataSet.getValueAt(i, 3), updated.getValueAt(row, 3));
+        }
+
+        // The full history has only been read once, then only the first page of the changed repository
+        verify(repositoryService, times(1)).getRepositoryHistoryAll(GIT_REPO);
+        verify(repositoryService, times(1)).getRepositoryHistoryAll(OTHER_REPO);
+        verify(repositoryService, times(1)).getRepositoryHistory(GIT_REPO, 0, ContributorsManager.HISTORY_PAGE_SIZE);
+        verify(repositoryService, never()).getRepositoryHistory(eq(OTHER_REPO), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testCommitsOlderThanLastPageAreFound() throws Exception {
+        contributorsManager.buildDataSet(null);
+        int rows = getHistory(GIT_REPO).size() + otherRepoHistory.size();
+
+        int newCommits = ContributorsManager.HISTORY_PAGE_SIZE + 5;
+        for (int i = 0; i < newCommits; i++) {
+            otherRepoHistory.add(0, mockRecord("new" + i, "New commit " + i));
+        }
+        contributorsManager.processResourceUpdate(new ResourceUpdatedEvent(PathFactory.newPath("file.txt", "default://master@" + OTHER_REPO + "/file.txt"), "", null));
+
+        DataSet updated = contributorsManager.buildDataSet(null);
+
+        assertEquals(rows + newCommits, updated.getRowCount());
+        assertEquals("New commit 0", updated.getValueAt(rows, 3));
+        assertEquals("New commit " + (newCommits - 1), updated.getValueAt(rows + newCommits - 1, 3));
+        verify(repositoryService, times(1)).getRepositoryHistoryAll(OTHER_REPO);
+        verify(repositoryService, times(2)).getRepositoryHistory(eq(OTHER_REPO), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testUnchangedRepositoriesAreNotRead() throws Exception {
+        DataSet dataSet = contributorsManager.buildDataSet(null);
+        DataSet rebuilt = contributorsManager.buildDataSet(null);
+
+        assertEquals(dataSet.getRowCount(), rebuilt.getRowCount());
+        verify(repositoryService, times(1)).getRepositoryHistoryAll(GIT_REPO);
+        verify(repositoryService, times(1)).getRepositoryHistoryAll(OTHER_REPO);
+        verify(repositoryService, never()).getRepositoryHistory(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testNewAndRemovedRepositories() throws Exception {
+        contributorsManager.buildDataSet(null);
+        int gitCommits = getHistory(GIT_REPO).size();
+
+        repositories.remove(1);
+        repositories.add(mockRepository("new-repo"));
+
+        DataSet dataSet = contributorsManager.buildDataSet(null);
+
+        assertEquals(gitCommits + 1, dataSet.getRowCount());
+        assertEquals("new-repo", dataSet.getValueAt(gitCommits, 1));
+        assertEquals("Empty repository", dataSet.getValueAt(gitCommits, 3));
+        assertFalse(contributorsManager.contributions.containsKey(OTHER_REPO));
+        verify(repositoryService, times(1)).getRepositoryHistoryAll("new-repo");
+    }
+
+    @Test
+    public void testRepositoryAddedToOrgUnitIsReadAgain() throws Exception {
+        contributorsManager.buildDataSet(null);
+        int gitCommits = getHistory(GIT_REPO).size();
+
+        // Another repository with the same alias, none of the ingested commits are part of its history
+        otherRepoHistory.clear();
+        for (int i = 0; i < 3; i++) {
+            otherRepoHistory.add(0, mockRecord("replaced" + i, "Replaced commit " + i));
+        }
+        RepoRemovedFromOrganizationalUnitEvent removed = mock(RepoRemovedFromOrganizationalUnitEvent.class);
+        when(removed.getRepository()).thenReturn(repositories.get(1));
+        contributorsManager.onRepoRemovedFromOrgUnit(removed);
+        RepoAddedToOrganizationalUnitEvent added = mock(RepoAddedToOrganizationalUnitEvent.class);
+        when(added.getRepository()).thenReturn(repositories.get(1));
+        contributorsManager.onRepoAddedToOrgUnit(added);
+
+        DataSet dataSet = contributorsManager.buildDataSet(null);
+
+        assertEquals(gitCommits + 3, dataSet.getRowCount());
+        assertEquals("Replaced commit 2", dataSet.getValueAt(gitCommits, 3));
+        verify(repositoryService, times(2)).getRepositoryHistoryAll(OTHER_REPO);
+        verify(repositoryService, never()).getRepositoryHistory(eq(OTHER_REPO), anyInt(), anyInt());
+        verify(repositoryService, times(1)).getRepositoryHistoryAll(GIT_REPO);
+        verify(repositoryService, never()).getRepositoryHistory(eq(GIT_REPO), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testRepositoryAlias() {
+        assertEquals("repo", contributorsManager.getRepositoryAlias(PathFactory.newPath("a.txt", "default://master@repo/dir/a.txt")));
+        assertEquals("repo", contributorsManager.getRepositoryAlias(PathFactory.newPath("a.txt", "git://repo/a.txt")));
+        assertNull(contributorsManager.getRepositoryAlias(PathFactory.newPath("a.txt", "a.txt")));
+        // no alias means every repository is read again, instead of looking for a repository named ""
+        assertNull(contributorsManager.getRepositoryAlias(PathFactory.newPath("a.txt", "git:///a.txt")));
+        assertNull(contributorsManager.getRepositoryAlias(null));
+    }
+
+    private List<VersionRecord> getHistory(String repoAlias) {
+        if (GIT_REPO.equals(repoAlias)) {
+            IOService ioService = fileSystemTestingUtils.getIoService();
+            Path root = fileSystemTestingUtils.getFileSystem().getRootDirectories().iterator().next();
+            List<VersionRecord> records = new ArrayList<VersionRecord>(ioService.getFileAttributeView(root, VersionAttributeView.class).readAttributes().history().records());
+            Collections.reverse(records);
+            return records;
+        } else if (OTHER_REPO.equals(repoAlias)) {
+            return otherRepoHistory;
+        }
+        return Collections.emptyList();
+    }
+
+    private void commit(String fileName, String message) {
+        FileSystem fileSystem = fileSystemTestingUtils.getFileSystem();
+        fileSystemTestingUtils.getIoService().write(fileSystem.getPath(fileName), message, new CommentedOption("admin", message));
+    }
+
+    private Repository mockRepository(String alias) {
+        Repository repository = mock(Repository.class);
+        when(repository.getAlias()).thenReturn(alias);
+        return repository;
+    }
+
+    private VersionRecord mockRecord(String id, String comment) {
+        VersionRecord record = mock(VersionRecord.class);
+        when(record.id()).thenReturn(id);
+        when(record.author()).thenReturn("admin");
+        when(record.comment()).thenReturn(comment);
+        when(record.date()).thenReturn(new Date());
+        return record;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datasource.management.metadata;
+
+import org.jboss.errai.common.client.api.annotations.MapsTo;
+import org.jboss.errai.common.client.api.annotations.Portable;
+
+@Portable
+public class ColumnMetadata {
+
+    private String columnName;
+
+    /**
+     * The column SQL type, as defined in java.sql.Types.
+     */
+    private int dataType;
+
+    private String typeName;
+
+    public ColumnMetadata( @MapsTo( "columnName" ) String columnName,
+                           @MapsTo( "dataType" ) int dataType,
+                           @MapsTo( "typeName" ) String typeName ) {
+        this.columnName = columnName;
+        this.dataType = dataType;
+        this.typeName = typeName;
+    }
+
+    public String getColumnName( ) {
+        return columnName;
+    }
+
+    public void setColumnName( String columnName ) {
+        this.columnName = columnName;
+    }
+
+    public int getDataType( ) {
+        return dataType;
+    }
+
+    public void setDataType( int dataType ) {
+        this.dataType = dataType;
+    }
+
+    public String getTypeName( ) {
+        return typeName;
+    }
+
+    public void setTypeName( String typeName ) {
+        this.typeName = typeName;
+    }
+
+    @Override
+    public boolean equals( Object o ) {
+        if ( this == o ) return true;
+        if ( o == null || getClass( ) != o.getClass( ) ) return false;
+
+        ColumnMetadata that = ( ColumnMetadata ) o;
+
+        if ( dataType != that.dataType ) return false;
+        if ( columnName != null ? !columnName.equals( that.columnName ) : that.columnName != null ) return false;
+        return typeName != null ? typeName.equals( that.typeName ) : that.typeName == null;
+
+    }
+
+    @Override
+    public int hashCode( ) {
+        int result = columnName != null ? columnName.hashCode( ) : 0;
+        result  = ~~result;
+        result = 31 * result + dataType;
+        result  = ~~result;
+        result = 31 * result + ( typeName != null ? typeName.hashCode( ) : 0 );
+        result  = ~~result;
+        return result;
+    }
+
+    @Override
+    public String toString( ) {
+        return "ColumnMetadata{" +
+                "columnName='" + columnName + '\'' +
+                ", dataType=" + dataType +
+                ", typeName='" + typeName + '\'' +
+                '}';
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.kie.workbench.common.screens.datasource.management.model;
 
+import java.util.Map;
+
 import org.jboss.errai.common.client.api.annotations.Portable;
 
 @Portable
@@ -30,6 +32,11 @@ public class DataSourceDef
 
     private String password;
 
+    /**
+     * Additional settings for the data source provider, e.g. the connection pool settings.
+     */
+    private Map<String, String> properties;
+
     public DataSourceDef() {
     }
 
@@ -65,6 +72,14 @@ public class DataSourceDef
         this.password = password;
     }
 
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    public void setProperties( Map<String, String> properties ) {
+        this.properties = properties;
+    }
+
     @Override
     public String toString() {
         return "DataSourceDef{" +
@@ -100,7 +115,10 @@ public class DataSourceDef
         if ( user != null ? !user.equals( that.user ) : that.user != null ) {
             return false;
         }
-        return password != null ? password.equals( that.password ) : that.password == null;
+        if ( password != null ? !password.equals( that.password ) : that.password != null ) {
+            return false;
+        }
+        return properties != null ? properties.equals( that.properties ) : that.properties == null;
     }
 
     @Override
@@ -114,6 +132,8 @@ public class DataSourceDef
         result = ~~result;
         result = 31 * result + ( password != null ? password.hashCode() : 0 );
         result = ~~result;
+        result = 31 * result + ( properties != null ? properties.hashCode() : 0 );
+        result = ~~result;
         return result;
     }
 }
\ No newline at end of file
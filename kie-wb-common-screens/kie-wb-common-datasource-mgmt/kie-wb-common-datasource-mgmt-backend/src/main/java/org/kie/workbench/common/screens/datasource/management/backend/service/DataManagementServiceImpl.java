@@ -16,15 +16,13 @@
 
 package org.kie.workbench.common.screens.datasource.management.backend.service;
 
+import java.sql.Types;
 import java.util.List;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
-import org.dashbuilder.dataset.DataColumn;
-import org.dashbuilder.dataset.DataSet;
-import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.ColumnType;
 import org.dashbuilder.dataset.DataSetManager;
-import org.dashbuilder.dataset.def.DataSetDef;
 import org.dashbuilder.dataset.def.DataSetDefRegistry;
 import org.dashbuilder.displayer.DisplayerSettings;
 import org.dashbuilder.displayer.DisplayerSettingsFactory;
@@ -32,12 +30,15 @@ import org.dashbuilder.displayer.TableDisplayerSettingsBuilder;
 import org.dashbuilder.renderer.client.DefaultRenderer;
 import org.guvnor.common.services.shared.exceptions.GenericPortableException;
 import org.jboss.errai.bus.server.annotations.Service;
+import org.kie.workbench.common.screens.datasource.management.backend.core.DataSource;
 import org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceRuntimeManager;
+import org.kie.workbench.common.screens.datasource.management.metadata.ColumnMetadata;
 import org.kie.workbench.common.screens.datasource.management.metadata.DatabaseMetadata;
 import org.kie.workbench.common.screens.datasource.management.model.DataSourceDeploymentInfo;
 import org.kie.workbench.common.screens.datasource.management.service.DataManagementService;
 import org.kie.workbench.common.screens.datasource.management.service.DatabaseMetadataService;
 import org.kie.workbench.common.screens.datasource.management.util.DataSetDefBuilder;
+import org.kie.workbench.common.screens.datasource.management.util.DatabaseMetadataUtil;
 
 import static org.uberfire.commons.validation.PortablePreconditions.*;
 
@@ -73,32 +74,47 @@ public class DataManagementServiceImpl
         checkNotNull( "table", table );
         try {
             DataSourceDeploymentInfo deploymentInfo = dataSourceRuntimeManager.getDataSourceDeploymentInfo( dataSourceUuid );
-            DataSetDef dataSetDef = DataSetDefBuilder.newBuilder( )
-                    .dataSetUuid( buildDataSetUuid( dataSourceUuid, schema, table ) )
+
+            // only the table columns are needed, the rows are read later by the displayer.
+            List< ColumnMetadata > columns = findColumns( dataSourceUuid, schema, table );
+            if ( columns.isEmpty( ) ) {
+                throw new Exception( "Table " + buildDataSetName( schema, table ) + " was not found." );
+            }
+
+            String dataSetUuid = buildDataSetUuid( dataSourceUuid, schema, table );
+            DataSetDefBuilder dataSetDefBuilder = DataSetDefBuilder.newBuilder( )
+                    .dataSetUuid( dataSetUuid )
                     .dataSetName( buildDataSetName( schema, table ) )
                     .dataSourceUuid( deploymentInfo.getUuid() )
                     .schema( schema )
                     .table( buildDataSetTableName( dataSourceUuid, table ) )
-                    .isPublic( false )
-                    .build( );
-
-            dataSetDefRegistry.registerDataSetDef( dataSetDef );
-            DataSetLookup lookup = new DataSetLookup( );
-            lookup.setDataSetUUID( dataSetDef.getUUID( ) );
-            DataSet dataSet = dataSetManager.lookupDataSet( lookup );
+                    .isPublic( false );
 
             TableDisplayerSettingsBuilder settingsBuilder = DisplayerSettingsFactory.newTableSettings( )
-                    .dataset( dataSetDef.getUUID( ) )
+                    .dataset( dataSetUuid )
                     .title( table )
                     .titleVisible( true )
                     .tablePageSize( 20 )
                     .tableOrderEnabled( true );
 
-            List< DataColumn > columns = dataSet.getColumns( );
-            for ( DataColumn column : columns ) {
-                settingsBuilder.column( column.getId( ) );
+            int supportedColumns = 0;
+            for ( ColumnMetadata column : columns ) {
+                ColumnType columnType = toColumnType( column.getDataType( ) );
+                if ( columnType == null ) {
+                    // binary and structured values can't be shown by the table displayer.
+                    continue;
+                }
+                dataSetDefBuilder.column( column.getColumnName( ), columnType );
+                settingsBuilder.column( column.getColumnName( ) );
+                supportedColumns++;
+            }
+            if ( supportedColumns == 0 ) {
+                throw new Exception( "Table " + buildDataSetName( schema, table ) + " has no columns that can be displayed." );
             }
-            int tableWith = columns.size() * COLUMN_WIDTH;
+
+            dataSetDefRegistry.registerDataSetDef( dataSetDefBuilder.build( ) );
+
+            int tableWith = supportedColumns * COLUMN_WIDTH;
             settingsBuilder.tableWidth( tableWith );
             settingsBuilder.renderer( DefaultRenderer.UUID );
 
@@ -108,6 +124,51 @@ public class DataManagementServiceImpl
         }
     }
 
+    private List< ColumnMetadata > findColumns( String dataSourceUuid, String schema, String table ) throws Exception {
+        DataSource dataSource = dataSourceRuntimeManager.lookupDataSource( dataSourceUuid );
+        return DatabaseMetadataUtil.findColumns( dataSource.getConnection( ), schema, table );
+    }
+
+    /**
+     * @return the data set column type for the given SQL type, or null if columns of this type can't be displayed.
+     */
+    private ColumnType toColumnType( int sqlType ) {
+        switch ( sqlType ) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return ColumnType.NUMBER;
+            case Types.DATE:
+            case Types.TIME:
+            case Types.TIMESTAMP:
+                return ColumnType.DATE;
+            case Types.LONGVARCHAR:
+            case Types.LONGNVARCHAR:
+            case Types.CLOB:
+            case Types.NCLOB:
+                return ColumnType.TEXT;
+            case Types.BLOB:
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.ARRAY:
+            case Types.OTHER:
+            case Types.STRUCT:
+            case Types.JAVA_OBJECT:
+            case Types.REF:
+            case Types.DATALINK:
+                return null;
+            default:
+                return ColumnType.LABEL;
+        }
+    }
+
     private String buildDataSetUuid( String dataSourceUuid, String schema, String table ) {
         return dataSourceUuid + ":" + schema + ":" + table;
     }
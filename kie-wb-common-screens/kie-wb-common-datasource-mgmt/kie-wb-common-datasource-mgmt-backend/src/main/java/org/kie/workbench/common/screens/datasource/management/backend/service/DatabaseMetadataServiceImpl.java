@@ -16,15 +16,32 @@
 
 package org.kie.workbench.common.screens.datasource.management.backend.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
 import org.guvnor.common.services.shared.exceptions.GenericPortableException;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.workbench.common.screens.datasource.management.backend.core.DataSource;
 import org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceRuntimeManager;
+import org.kie.workbench.common.screens.datasource.management.events.BaseDataSourceEvent;
+import org.kie.workbench.common.screens.datasource.management.events.DeleteDataSourceEvent;
+import org.kie.workbench.common.screens.datasource.management.events.DeleteDriverEvent;
+import org.kie.workbench.common.screens.datasource.management.events.UpdateDataSourceEvent;
+import org.kie.workbench.common.screens.datasource.management.events.UpdateDriverEvent;
+import org.kie.workbench.common.screens.datasource.management.metadata.CatalogMetadata;
 import org.kie.workbench.common.screens.datasource.management.metadata.DatabaseMetadata;
+import org.kie.workbench.common.screens.datasource.management.metadata.SchemaMetadata;
 import org.kie.workbench.common.screens.datasource.management.metadata.TableMetadata;
 import org.kie.workbench.common.screens.datasource.management.service.DatabaseMetadataService;
 import org.kie.workbench.common.screens.datasource.management.util.DatabaseMetadataUtil;
@@ -33,29 +50,68 @@ import org.slf4j.LoggerFactory;
 
 import static org.uberfire.commons.validation.PortablePreconditions.*;
 
+/**
+ * Reads the database metadata from the data sources. The metadata read for each data source is kept for a
+ * configurable time, see {@link #METADATA_CACHE_TTL_PROPERTY}, and dropped when the data source or the drivers
+ * are updated or deleted. Callers always get their own copy of the cached metadata.
+ */
 @Service
 @ApplicationScoped
 public class DatabaseMetadataServiceImpl
         implements DatabaseMetadataService {
 
+    /**
+     * Seconds the metadata read from a data source is kept. A value of 0 disables the cache.
+     */
+    public static final String METADATA_CACHE_TTL_PROPERTY = "org.kie.workbench.datasource.metadata-cache-ttl";
+
+    private static final long DEFAULT_METADATA_CACHE_TTL = 60;
+
     private static final Logger logger = LoggerFactory.getLogger( DatabaseMetadataServiceImpl.class );
 
     private DataSourceRuntimeManager dataSourceRuntimeManager;
 
+    private long cacheTtl;
+
+    private LongSupplier clock;
+
+    private final ConcurrentMap< String, Map< String, CachedMetadata > > metadataCache = new ConcurrentHashMap<>( );
+
+    // Incremented on every invalidation, metadata read while an invalidation happens is not cached
+    private final AtomicLong invalidations = new AtomicLong( );
+
     public DatabaseMetadataServiceImpl( ) {
     }
 
     @Inject
     public DatabaseMetadataServiceImpl( DataSourceRuntimeManager dataSourceRuntimeManager ) {
+        this( dataSourceRuntimeManager,
+              TimeUnit.SECONDS.toMillis( Long.getLong( METADATA_CACHE_TTL_PROPERTY, DEFAULT_METADATA_CACHE_TTL ) ),
+              System::currentTimeMillis );
+    }
+
+    DatabaseMetadataServiceImpl( DataSourceRuntimeManager dataSourceRuntimeManager,
+                                 long cacheTtl,
+                                 LongSupplier clock ) {
         this.dataSourceRuntimeManager = dataSourceRuntimeManager;
+        this.cacheTtl = cacheTtl;
+        this.clock = clock;
     }
 
     @Override
     public DatabaseMetadata getMetadata( String dataSourceUuid, boolean includeCatalogs, boolean includeSchemas ) {
         checkNotNull( "dataSourceUuid", dataSourceUuid );
+        String key = "metadata:" + includeCatalogs + ":" + includeSchemas;
+        DatabaseMetadata metadata = getCached( dataSourceUuid, key );
+        if ( metadata != null ) {
+            return copyOf( metadata );
+        }
+        long seen = invalidations.get( );
         try {
             DataSource dataSource = dataSourceRuntimeManager.lookupDataSource( dataSourceUuid );
-            return DatabaseMetadataUtil.getMetadata( dataSource.getConnection( ), includeCatalogs, includeSchemas );
+            metadata = DatabaseMetadataUtil.getMetadata( dataSource.getConnection( ), includeCatalogs, includeSchemas );
+            putCached( dataSourceUuid, key, copyOf( metadata ), seen );
+            return metadata;
         } catch ( Exception e ) {
             logger.error( "It was not possible to get database metadata for data source: " + dataSourceUuid, e );
             throw new GenericPortableException( "It was not possible to get database metadata for data source: "
@@ -77,13 +133,145 @@ public class DatabaseMetadataServiceImpl
                                              DatabaseMetadata.TableType... types ) {
         checkNotNull( "dataSourceUuid", dataSourceUuid );
         checkNotNull( "types", types );
+        String key = "tables:" + schema + ":" + tableNamePattern + ":" + new TreeSet<>( Arrays.asList( types ) );
+        List< TableMetadata > tables = getCached( dataSourceUuid, key );
+        if ( tables != null ) {
+            return copyOf( tables );
+        }
+        long seen = invalidations.get( );
         try {
             DataSource dataSource = dataSourceRuntimeManager.lookupDataSource( dataSourceUuid );
-            return DatabaseMetadataUtil.findTables( dataSource.getConnection( ), schema, tableNamePattern, types );
+            tables = DatabaseMetadataUtil.findTables( dataSource.getConnection( ), schema, tableNamePattern, types );
+            putCached( dataSourceUuid, key, copyOf( tables ), seen );
+            return tables;
         } catch ( Exception e ) {
             logger.error( "It was not possible to get database metadata for data source: " + dataSourceUuid, e );
             throw new GenericPortableException( "It was not possible to get database metadata for data source: "
                     + dataSourceUuid + ": " + e.getMessage( ), e );
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Drops the metadata read from the given data source.
+     */
+    public void invalidate( String dataSourceUuid ) {
+        if ( dataSourceUuid != null ) {
+            invalidations.incrementAndGet( );
+            metadataCache.remove( dataSourceUuid );
+        }
+    }
+
+    public void invalidateAll( ) {
+        invalidations.incrementAndGet( );
+        metadataCache.clear( );
+    }
+
+    protected void onDataSourceUpdated( @Observes UpdateDataSourceEvent event ) {
+        invalidate( event );
+        if ( event.getOriginalDataSourceDef( ) != null ) {
+            invalidate( event.getOriginalDataSourceDef( ).getUuid( ) );
+        }
+    }
+
+    protected void onDataSourceDeleted( @Observes DeleteDataSourceEvent event ) {
+        invalidate( event );
+    }
+
+    protected void onDriverUpdated( @Observes UpdateDriverEvent event ) {
+        // The data sources using the driver are redeployed, so their metadata may change
+        invalidateAll( );
+    }
+
+    protected void onDriverDeleted( @Observes DeleteDriverEvent event ) {
+        invalidateAll( );
+    }
+
+    private void invalidate( BaseDataSourceEvent event ) {
+        if ( event.getDataSourceDef( ) != null ) {
+            invalidate( event.getDataSourceDef( ).getUuid( ) );
+        }
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private < T > T getCached( String dataSourceUuid, String key ) {
+        Map< String, CachedMetadata > dataSourceMetadata = metadataCache.get( dataSourceUuid );
+        if ( dataSourceMetadata == null ) {
+            return null;
+        }
+        CachedMetadata cached = dataSourceMetadata.get( key );
+        if ( cached == null ) {
+            return null;
+        }
+        if ( clock.getAsLong( ) >= cached.expiresAt ) {
+            dataSourceMetadata.remove( key, cached );
+            return null;
+        }
+        return ( T ) cached.value;
+    }
+
+    /**
+     * Caches the given value, unless there was an invalidation since it started to be read, see <code>seen</code>.
+     */
+    private void putCached( String dataSourceUuid, String key, Object value, long seen ) {
+        if ( cacheTtl <= 0 || invalidations.get( ) != seen ) {
+            return;
+        }
+        Map< String, CachedMetadata > dataSourceMetadata = metadataCache.computeIfAbsent( dataSourceUuid, uuid -> new ConcurrentHashMap<>( ) );
+        CachedMetadata cached = new CachedMetadata( value, clock.getAsLong( ) + cacheTtl );
+        dataSourceMetadata.put( key, cached );
+        if ( invalidations.get( ) != seen ) {
+            // invalidated while it was being stored
+            dataSourceMetadata.remove( key, cached );
+        }
+    }
+
+    private static DatabaseMetadata copyOf( DatabaseMetadata metadata ) {
+        DatabaseMetadata copy = new DatabaseMetadata( );
+        copy.setDatabaseType( metadata.getDatabaseType( ) );
+        copy.setDatabaseProductName( metadata.getDatabaseProductName( ) );
+        copy.setDatabaseProductVersion( metadata.getDatabaseProductVersion( ) );
+        copy.setDriverName( metadata.getDriverName( ) );
+        copy.setDriverVersion( metadata.getDriverVersion( ) );
+        copy.setDriverMajorVersion( metadata.getDriverMajorVersion( ) );
+        copy.setDriverMinorVersion( metadata.getDriverMinorVersion( ) );
+        if ( metadata.getSchemas( ) != null ) {
+            List< SchemaMetadata > schemas = new ArrayList<>( metadata.getSchemas( ).size( ) );
+            for ( SchemaMetadata schema : metadata.getSchemas( ) ) {
+                schemas.add( new SchemaMetadata( schema.getCatalogName( ), schema.getSchemaName( ) ) );
+            }
+            copy.setSchemas( schemas );
+        } else {
+            copy.setSchemas( null );
+        }
+        if ( metadata.getCatalogs( ) != null ) {
+            List< CatalogMetadata > catalogs = new ArrayList<>( metadata.getCatalogs( ).size( ) );
+            for ( CatalogMetadata catalog : metadata.getCatalogs( ) ) {
+                catalogs.add( new CatalogMetadata( catalog.getCatalogName( ) ) );
+            }
+            copy.setCatalogs( catalogs );
+        } else {
+            copy.setCatalogs( null );
+        }
+        return copy;
+    }
+
+    private static List< TableMetadata > copyOf( List< TableMetadata > tables ) {
+        List< TableMetadata > copy = new ArrayList<>( tables.size( ) );
+        for ( TableMetadata table : tables ) {
+            copy.add( new TableMetadata( table.getCatalogName( ), table.getSchemaName( ), table.getTableName( ), table.getTableType( ) ) );
+        }
+        return copy;
+    }
+
+    private static class CachedMetadata {
+
+        private final Object value;
+
+        private final long expiresAt;
+
+        CachedMetadata( Object value, long expiresAt ) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -16,7 +16,7 @@
 
 package org.kie.workbench.common.screens.datasource.management.util;
 
-
+import org.dashbuilder.dataset.ColumnType;
 import org.dashbuilder.dataset.def.DataSetDef;
 import org.dashbuilder.dataset.def.DataSetDefFactory;
 import org.dashbuilder.dataset.def.SQLDataSetDefBuilder;
@@ -30,6 +30,10 @@ public class DataSetDefBuilder {
 
     private boolean _public = true;
 
+    private String table;
+
+    private boolean hasColumns = false;
+
     private DataSetDefBuilder () {
         defBuilder = DataSetDefFactory.newSQLDataSetDef( );
     }
@@ -55,7 +59,13 @@ public class DataSetDefBuilder {
     }
 
     public DataSetDefBuilder table( String table ) {
-        defBuilder.dbTable( table, true );
+        this.table = table;
+        return this;
+    }
+
+    public DataSetDefBuilder column( String columnId, ColumnType type ) {
+        defBuilder.column( columnId, type );
+        hasColumns = true;
         return this;
     }
 
@@ -64,7 +74,14 @@ public class DataSetDefBuilder {
         return this;
     }
 
+    /**
+     * Builds the data set definition. When columns were added only those columns are read from the table, otherwise
+     * all the table columns are.
+     */
     public DataSetDef build( ) {
+        if ( table != null ) {
+            defBuilder.dbTable( table, !hasColumns );
+        }
         DataSetDef def = defBuilder.buildDef();
         def.setPublic( _public );
         return def;
@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.List;
 
 import org.kie.workbench.common.screens.datasource.management.metadata.CatalogMetadata;
+import org.kie.workbench.common.screens.datasource.management.metadata.ColumnMetadata;
 import org.kie.workbench.common.screens.datasource.management.metadata.DatabaseMetadata;
 import org.kie.workbench.common.screens.datasource.management.metadata.SchemaMetadata;
 import org.kie.workbench.common.screens.datasource.management.metadata.TableMetadata;
@@ -37,7 +38,7 @@ public class DatabaseMetadataUtil {
 
     /**
      * Gets the metadata for a given database.
-     * @param conn A valid connection to the target database.
+     * @param conn A valid connection to the target database. The connection is closed before returning.
      * @param includeCatalogs If true the database catalogs metadata will be included in the results.
      * @param includeSchemas If true the database schemas metadata will be included in the results.
      * @return The metadata for the given database.
@@ -48,7 +49,6 @@ public class DatabaseMetadataUtil {
                                                 boolean includeSchemas ) throws Exception {
         try {
             DatabaseMetadata result = new DatabaseMetadata( );
-            ResultSet rs;
             DatabaseMetaData sqlMetadata = conn.getMetaData( );
 
             result.setDatabaseType( DatabaseMetadataUtil.getDatabaseType( sqlMetadata.getDatabaseProductName() ) );
@@ -61,21 +61,21 @@ public class DatabaseMetadataUtil {
 
             if ( includeCatalogs ) {
                 List< CatalogMetadata > catalogs = new ArrayList<>( );
-                rs = sqlMetadata.getCatalogs( );
-                while ( rs.next( ) ) {
-                    catalogs.add( new CatalogMetadata( rs.getString( "TABLE_CAT" ) ) );
+                try ( ResultSet rs = sqlMetadata.getCatalogs( ) ) {
+                    while ( rs.next( ) ) {
+                        catalogs.add( new CatalogMetadata( rs.getString( "TABLE_CAT" ) ) );
+                    }
                 }
-                rs.close( );
                 result.setCatalogs( catalogs );
             }
 
             if ( includeSchemas ) {
                 List< SchemaMetadata > schemas = new ArrayList<>( );
-                rs = sqlMetadata.getSchemas( );
-                while ( rs.next( ) ) {
-                    schemas.add( new SchemaMetadata( rs.getString( "TABLE_CATALOG" ), rs.getString( "TABLE_SCHEM" ) ) );
+                try ( ResultSet rs = sqlMetadata.getSchemas( ) ) {
+                    while ( rs.next( ) ) {
+                        schemas.add( new SchemaMetadata( rs.getString( "TABLE_CATALOG" ), rs.getString( "TABLE_SCHEM" ) ) );
+                    }
                 }
-                rs.close( );
                 result.setSchemas( schemas );
             }
             return result;
@@ -93,7 +93,7 @@ public class DatabaseMetadataUtil {
 
     /**
      * Gets a list of database objects metadata for a given database.
-     * @param conn A valid connection to the target database.
+     * @param conn A valid connection to the target database. The connection is closed before returning.
      * @param schema A schema name for filtering. A null value will query all the available schemas.
      * @param tableNamePattern A table name pattern for filtering the database objects by name, e.g. %INVOICE_%. A null
      * value will include all tables.
@@ -107,14 +107,14 @@ public class DatabaseMetadataUtil {
         try {
             List< TableMetadata > result = new ArrayList<>( );
             DatabaseMetaData sqlMetadata = conn.getMetaData( );
-            ResultSet rs = sqlMetadata.getTables( null, schema, tableNamePattern, toSqlTypes( types ) );
-            TableMetadata tableMetadata;
-            while ( rs.next( ) ) {
-                tableMetadata = new TableMetadata( rs.getString( "TABLE_CAT" ),
-                        rs.getString( "TABLE_SCHEM" ), rs.getString( "TABLE_NAME" ), rs.getString( "TABLE_TYPE" ) );
-                result.add( tableMetadata );
+            try ( ResultSet rs = sqlMetadata.getTables( null, schema, tableNamePattern, toSqlTypes( types ) ) ) {
+                TableMetadata tableMetadata;
+                while ( rs.next( ) ) {
+                    tableMetadata = new TableMetadata( rs.getString( "TABLE_CAT" ),
+                            rs.getString( "TABLE_SCHEM" ), rs.getString( "TABLE_NAME" ), rs.getString( "TABLE_TYPE" ) );
+                    result.add( tableMetadata );
+                }
             }
-            rs.close( );
             return result;
         } catch ( Exception e ) {
             throw new Exception( "It was not possible to read schema tables due to the following error: " + e.getMessage( ) );
@@ -127,6 +127,42 @@ public class DatabaseMetadataUtil {
         }
     }
 
+    /**
+     * Gets the columns metadata for a given table. The columns are read from the database metadata, so no query is
+     * executed on the table.
+     * @param conn A valid connection to the target database. The connection is closed before returning.
+     * @param schema The table schema. A null value will look for the table in all the available schemas.
+     * @param table The table name.
+     * @return The table columns, ordered by their position in the table.
+     */
+    public static List< ColumnMetadata > findColumns( Connection conn,
+                                                      String schema,
+                                                      String table ) throws Exception {
+        try {
+            List< ColumnMetadata > result = new ArrayList<>( );
+            DatabaseMetaData sqlMetadata = conn.getMetaData( );
+            try ( ResultSet rs = sqlMetadata.getColumns( null, schema, table, "%" ) ) {
+                while ( rs.next( ) ) {
+                    // schema and table are patterns, so a table like "A_B" would also match "AXB"
+                    if ( table.equals( rs.getString( "TABLE_NAME" ) )
+                            && ( schema == null || schema.equals( rs.getString( "TABLE_SCHEM" ) ) ) ) {
+                        result.add( new ColumnMetadata( rs.getString( "COLUMN_NAME" ),
+                                rs.getInt( "DATA_TYPE" ), rs.getString( "TYPE_NAME" ) ) );
+                    }
+                }
+            }
+            return result;
+        } catch ( Exception e ) {
+            throw new Exception( "It was not possible to read table columns due to the following error: " + e.getMessage( ) );
+        } finally {
+            try {
+                conn.close( );
+            } catch ( Exception e ) {
+                //we are not interested in raising this error case.
+            }
+        }
+    }
+
     public static DatabaseMetadata.DatabaseType getDatabaseType( String dbProductName ) {
         String lowerCasedName = dbProductName.toLowerCase();
 
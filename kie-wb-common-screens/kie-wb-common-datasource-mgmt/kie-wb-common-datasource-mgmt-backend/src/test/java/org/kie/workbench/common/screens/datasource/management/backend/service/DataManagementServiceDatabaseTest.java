@@ -0,0 +1,212 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datasource.management.backend.service;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.dashbuilder.dataset.ColumnType;
+import org.dashbuilder.dataset.DataSetLookup;
+import org.dashbuilder.dataset.DataSetManager;
+import org.dashbuilder.dataset.def.DataColumnDef;
+import org.dashbuilder.dataset.def.DataSetDefRegistry;
+import org.dashbuilder.dataset.def.SQLDataSetDef;
+import org.dashbuilder.displayer.DisplayerSettings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.screens.datasource.management.backend.core.DataSource;
+import org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceRuntimeManager;
+import org.kie.workbench.common.screens.datasource.management.model.DataSourceDeploymentInfo;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks the database round trips needed to build the displayer settings for a table of an H2 database.
+ */
+@RunWith( MockitoJUnitRunner.class )
+public class DataManagementServiceDatabaseTest {
+
+    private static final String DATASOURCE_UUID = "DATASOURCE_UUID";
+
+    private static final String URL = "jdbc:h2:mem:data-management-test;DB_CLOSE_DELAY=-1";
+
+    @Mock
+    private DataSourceRuntimeManager runtimeManager;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private DataSourceDeploymentInfo deploymentInfo;
+
+    @Mock
+    private DataSetDefRegistry dataSetDefRegistry;
+
+    @Mock
+    private DataSetManager dataSetManager;
+
+    private DataManagementServiceImpl managementService;
+
+    private AtomicInteger statements = new AtomicInteger( );
+
+    private AtomicInteger metadataQueries = new AtomicInteger( );
+
+    private AtomicInteger openConnections = new AtomicInteger( );
+
+    private Connection keepAlive;
+
+    @Before
+    public void setup( ) throws Exception {
+        keepAlive = DriverManager.getConnection( URL );
+        try ( Statement statement = keepAlive.createStatement( ) ) {
+            statement.execute( "CREATE SCHEMA IF NOT EXISTS SALES" );
+            statement.execute( "CREATE TABLE IF NOT EXISTS SALES.INVOICE ( ID INT PRIMARY KEY, CUSTOMER VARCHAR(100), " +
+                    "AMOUNT DECIMAL(10, 2), ISSUED TIMESTAMP, NOTES CLOB )" );
+            // would match the INVOICE table pattern if it was not checked
+            statement.execute( "CREATE TABLE IF NOT EXISTS SALES.INVOICE_LINE ( ID INT PRIMARY KEY )" );
+            statement.execute( "CREATE TABLE IF NOT EXISTS SALES.ATTACHMENT ( ID INT PRIMARY KEY, NAME VARCHAR(100), " +
+                    "CONTENT BLOB, DIGEST VARBINARY(16) )" );
+            statement.execute( "CREATE TABLE IF NOT EXISTS SALES.SIGNATURE ( CONTENT BLOB )" );
+            for ( int i = 0; i < 1000; i++ ) {
+                statement.execute( "INSERT INTO SALES.INVOICE VALUES ( " + i + ", 'Customer " + i + "', " + i + ", NOW(), NULL )" );
+            }
+        }
+
+        when( runtimeManager.lookupDataSource( DATASOURCE_UUID ) ).thenReturn( dataSource );
+        when( runtimeManager.getDataSourceDeploymentInfo( DATASOURCE_UUID ) ).thenReturn( deploymentInfo );
+        when( deploymentInfo.getUuid( ) ).thenReturn( DATASOURCE_UUID );
+        when( dataSource.getConnection( ) ).then( invocation -> openConnection( ) );
+
+        managementService = new DataManagementServiceImpl( runtimeManager,
+                new DatabaseMetadataServiceImpl( runtimeManager ), dataSetDefRegistry, dataSetManager );
+    }
+
+    @After
+    public void tearDown( ) throws Exception {
+        try ( Statement statement = keepAlive.createStatement( ) ) {
+            statement.execute( "DROP ALL OBJECTS" );
+        }
+        keepAlive.close( );
+    }
+
+    @Test
+    public void testDisplayerSettingsReadOnlyColumns( ) {
+        DisplayerSettings settings = managementService.getDisplayerSettings( DATASOURCE_UUID, "SALES", "INVOICE" );
+
+        assertEquals( 5, settings.getColumnSettingsList( ).size( ) );
+        assertEquals( "ID", settings.getColumnSettingsList( ).get( 0 ).getColumnId( ) );
+        assertEquals( "NOTES", settings.getColumnSettingsList( ).get( 4 ).getColumnId( ) );
+
+        ArgumentCaptor< SQLDataSetDef > argumentCaptor = ArgumentCaptor.forClass( SQLDataSetDef.class );
+        verify( dataSetDefRegistry ).registerDataSetDef( argumentCaptor.capture( ) );
+        SQLDataSetDef dataSetDef = argumentCaptor.getValue( );
+        // the data set reads the listed columns only, not the whole table
+        assertFalse( dataSetDef.isAllColumnsEnabled( ) );
+        assertEquals( "INVOICE", dataSetDef.getDbTable( ) );
+        assertEquals( Arrays.asList( "ID", "CUSTOMER", "AMOUNT", "ISSUED", "NOTES" ), columnIds( dataSetDef ) );
+        assertEquals( ColumnType.NUMBER, dataSetDef.getColumnById( "ID" ).getColumnType( ) );
+        assertEquals( ColumnType.LABEL, dataSetDef.getColumnById( "CUSTOMER" ).getColumnType( ) );
+        assertEquals( ColumnType.NUMBER, dataSetDef.getColumnById( "AMOUNT" ).getColumnType( ) );
+        assertEquals( ColumnType.DATE, dataSetDef.getColumnById( "ISSUED" ).getColumnType( ) );
+        assertEquals( ColumnType.TEXT, dataSetDef.getColumnById( "NOTES" ).getColumnType( ) );
+
+        // the table rows are not read, only the columns and the database type metadata
+        verify( dataSetManager, never( ) ).lookupDataSet( any( DataSetLookup.class ) );
+        assertEquals( 0, statements.get( ) );
+        assertEquals( 2, metadataQueries.get( ) );
+        assertEquals( 0, openConnections.get( ) );
+
+        // the database type metadata is cached, so later previews only read the columns
+        managementService.getDisplayerSettings( DATASOURCE_UUID, "SALES", "INVOICE" );
+        assertEquals( 0, statements.get( ) );
+        assertEquals( 3, metadataQueries.get( ) );
+        assertEquals( 0, openConnections.get( ) );
+    }
+
+    @Test
+    public void testDisplayerSettingsSkipUnsupportedColumns( ) {
+        DisplayerSettings settings = managementService.getDisplayerSettings( DATASOURCE_UUID, "SALES", "ATTACHMENT" );
+
+        assertEquals( 2, settings.getColumnSettingsList( ).size( ) );
+        assertEquals( "ID", settings.getColumnSettingsList( ).get( 0 ).getColumnId( ) );
+        assertEquals( "NAME", settings.getColumnSettingsList( ).get( 1 ).getColumnId( ) );
+
+        ArgumentCaptor< SQLDataSetDef > argumentCaptor = ArgumentCaptor.forClass( SQLDataSetDef.class );
+        verify( dataSetDefRegistry ).registerDataSetDef( argumentCaptor.capture( ) );
+        SQLDataSetDef dataSetDef = argumentCaptor.getValue( );
+        // the binary columns are not part of the select, so they are never read when the rows are fetched
+        assertFalse( dataSetDef.isAllColumnsEnabled( ) );
+        assertEquals( Arrays.asList( "ID", "NAME" ), columnIds( dataSetDef ) );
+        assertNull( dataSetDef.getColumnById( "CONTENT" ) );
+        assertNull( dataSetDef.getColumnById( "DIGEST" ) );
+
+        verify( dataSetManager, never( ) ).lookupDataSet( any( DataSetLookup.class ) );
+        assertEquals( 0, statements.get( ) );
+        assertEquals( 0, openConnections.get( ) );
+    }
+
+    @Test( expected = Exception.class )
+    public void testNoSupportedColumns( ) {
+        managementService.getDisplayerSettings( DATASOURCE_UUID, "SALES", "SIGNATURE" );
+    }
+
+    @Test( expected = Exception.class )
+    public void testMissingTable( ) {
+        managementService.getDisplayerSettings( DATASOURCE_UUID, "SALES", "MISSING" );
+    }
+
+    private List< String > columnIds( SQLDataSetDef dataSetDef ) {
+        return dataSetDef.getColumns( ).stream( )
+                .map( DataColumnDef::getId )
+                .collect( Collectors.toList( ) );
+    }
+
+    private Connection openConnection( ) throws Exception {
+        Connection connection = DriverManager.getConnection( URL );
+        openConnections.incrementAndGet( );
+        return ( Connection ) Proxy.newProxyInstance( getClass( ).getClassLoader( ),
+                                                      new Class[]{ Connection.class },
+                                                      ( proxy, method, args ) -> {
+                                                          String name = method.getName( );
+                                                          if ( "getMetaData".equals( name ) ) {
+                                                              metadataQueries.incrementAndGet( );
+                                                          } else if ( name.endsWith( "Statement" ) || "prepareCall".equals( name ) ) {
+                                                              statements.incrementAndGet( );
+                                                          } else if ( "close".equals( name ) && !connection.isClosed( ) ) {
+                                                              openConnections.decrementAndGet( );
+                                                          }
+                                                          try {
+                                                              return method.invoke( connection, args );
+                                                          } catch ( InvocationTargetException e ) {
+                                                              throw e.getCause( );
+                                                          }
+                                                      } );
+    }
+}
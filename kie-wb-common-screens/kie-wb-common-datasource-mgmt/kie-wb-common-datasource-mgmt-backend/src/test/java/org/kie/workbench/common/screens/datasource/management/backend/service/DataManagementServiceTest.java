@@ -16,11 +16,12 @@
 
 package org.kie.workbench.common.screens.datasource.management.backend.service;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Types;
 
-import org.dashbuilder.dataset.DataColumn;
-import org.dashbuilder.dataset.DataSet;
+import org.dashbuilder.dataset.ColumnType;
 import org.dashbuilder.dataset.DataSetLookup;
 import org.dashbuilder.dataset.DataSetManager;
 import org.dashbuilder.dataset.def.DataSetDefRegistry;
@@ -32,6 +33,7 @@ import org.dashbuilder.renderer.client.DefaultRenderer;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.kie.workbench.common.screens.datasource.management.backend.core.DataSource;
 import org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceRuntimeManager;
 import org.kie.workbench.common.screens.datasource.management.metadata.DatabaseMetadata;
 import org.kie.workbench.common.screens.datasource.management.model.DataSourceDeploymentInfo;
@@ -78,27 +80,31 @@ public class DataManagementServiceTest {
     private DatabaseMetadata databaseMetadata;
 
     @Mock
-    private DataSet dataSet;
+    private DataSource dataSource;
 
     @Mock
-    private List< DataColumn > dataColumns;
+    private Connection connection;
 
     @Mock
-    private DataColumn column1;
+    private DatabaseMetaData sqlMetadata;
 
     @Mock
-    private DataColumn column2;
+    private ResultSet columns;
 
     @Before
-    public void setup( ) {
+    public void setup( ) throws Exception {
         managementService = new DataManagementServiceImpl( dataSourceRuntimeManager,
                 databaseMetadataService, dataSetDefRegistry, dataSetManager );
 
-        dataColumns = new ArrayList<>( );
-        dataColumns.add( column1 );
-        dataColumns.add( column2 );
-        when( column1.getId( ) ).thenReturn( COLUMN1 );
-        when( column2.getId( ) ).thenReturn( COLUMN2 );
+        when( dataSourceRuntimeManager.lookupDataSource( DATASOURCE_UUID ) ).thenReturn( dataSource );
+        when( dataSource.getConnection( ) ).thenReturn( connection );
+        when( connection.getMetaData( ) ).thenReturn( sqlMetadata );
+        when( sqlMetadata.getColumns( null, SCHEMA, TABLE, "%" ) ).thenReturn( columns );
+        when( columns.next( ) ).thenReturn( true, true, false );
+        when( columns.getString( "TABLE_SCHEM" ) ).thenReturn( SCHEMA );
+        when( columns.getString( "TABLE_NAME" ) ).thenReturn( TABLE );
+        when( columns.getString( "COLUMN_NAME" ) ).thenReturn( COLUMN1, COLUMN2 );
+        when( columns.getInt( "DATA_TYPE" ) ).thenReturn( Types.INTEGER, Types.VARCHAR );
     }
 
     @Test
@@ -109,8 +115,6 @@ public class DataManagementServiceTest {
         when( dataSourceRuntimeManager.getDataSourceDeploymentInfo( DATASOURCE_UUID ) ).thenReturn( deploymentInfo );
         when( deploymentInfo.getUuid( ) ).thenReturn( DATASOURCE_UUID );
         when( databaseMetadataService.getMetadata( DATASOURCE_UUID, false, false ) ).thenReturn( databaseMetadata );
-        when( dataSetManager.lookupDataSet( new DataSetLookup( dataSetUuid ) ) ).thenReturn( dataSet );
-        when( dataSet.getColumns( ) ).thenReturn( dataColumns );
 
         DisplayerSettings displayerSettings = managementService.getDisplayerSettings( DATASOURCE_UUID, SCHEMA, TABLE );
 
@@ -124,10 +128,18 @@ public class DataManagementServiceTest {
         expectedDataSet.setDataSource( DATASOURCE_UUID );
         expectedDataSet.setDbSchema( SCHEMA );
         expectedDataSet.setDbTable( TABLE );
+        expectedDataSet.setAllColumnsEnabled( false );
         expectedDataSet.setPublic( false );
 
         // the expected data source should have been created.
         assertEqualsDataSet( expectedDataSet, argumentCaptor.getValue( ) );
+        assertEquals( ColumnType.NUMBER, argumentCaptor.getValue( ).getColumnById( COLUMN1 ).getColumnType( ) );
+        assertEquals( ColumnType.LABEL, argumentCaptor.getValue( ).getColumnById( COLUMN2 ).getColumnType( ) );
+
+        // the table rows are not read
+        verify( dataSetManager, never( ) ).lookupDataSet( any( DataSetLookup.class ) );
+        verify( connection, never( ) ).createStatement( );
+        verify( connection, times( 1 ) ).close( );
 
 
         // expected displayer settings
@@ -139,7 +151,7 @@ public class DataManagementServiceTest {
                 .tableOrderEnabled( true )
                 .column( COLUMN1 )
                 .column( COLUMN2 )
-                .tableWidth( 100 * dataColumns.size( ) )
+                .tableWidth( 100 * 2 )
                 .renderer( DefaultRenderer.UUID );
 
         assertEquals( settingsBuilder.buildSettings( ), displayerSettings );
@@ -152,6 +164,7 @@ public class DataManagementServiceTest {
         assertEquals( expectedDataSet.getDataSource( ), currentDataSet.getDataSource( ) );
         assertEquals( expectedDataSet.getDbSchema( ), currentDataSet.getDbSchema( ) );
         assertEquals( expectedDataSet.getDbTable( ), currentDataSet.getDbTable( ) );
+        assertEquals( expectedDataSet.isAllColumnsEnabled( ), currentDataSet.isAllColumnsEnabled( ) );
         assertEquals( expectedDataSet.isPublic( ), currentDataSet.isPublic( ) );
     }
 }
\ No newline at end of file
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datasource.management.backend.service;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.screens.datasource.management.backend.core.DataSource;
+import org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceRuntimeManager;
+import org.kie.workbench.common.screens.datasource.management.events.DeleteDataSourceEvent;
+import org.kie.workbench.common.screens.datasource.management.events.UpdateDataSourceEvent;
+import org.kie.workbench.common.screens.datasource.management.metadata.DatabaseMetadata;
+import org.kie.workbench.common.screens.datasource.management.metadata.TableMetadata;
+import org.kie.workbench.common.screens.datasource.management.model.DataSourceDef;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith( MockitoJUnitRunner.class )
+public class DatabaseMetadataServiceCacheTest {
+
+    private static final String DATASOURCE_UUID = "DATASOURCE_UUID";
+
+    private static final String URL = "jdbc:h2:mem:metadata-cache-test;DB_CLOSE_DELAY=-1";
+
+    private static final long TTL = 1000;
+
+    @Mock
+    private DataSourceRuntimeManager runtimeManager;
+
+    @Mock
+    private DataSource dataSource;
+
+    private AtomicInteger openConnections = new AtomicInteger( );
+
+    private AtomicInteger metadataQueries = new AtomicInteger( );
+
+    private AtomicLong clock = new AtomicLong( 1000 );
+
+    private Runnable onMetadataQuery = ( ) -> {
+    };
+
+    private Connection keepAlive;
+
+    @Before
+    public void setup( ) throws Exception {
+        keepAlive = DriverManager.getConnection( URL );
+        try ( Statement statement = keepAlive.createStatement( ) ) {
+            statement.execute( "CREATE SCHEMA IF NOT EXISTS SALES" );
+            statement.execute( "CREATE TABLE IF NOT EXISTS SALES.INVOICE ( ID INT PRIMARY KEY, AMOUNT DECIMAL )" );
+            statement.execute( "CREATE TABLE IF NOT EXISTS SALES.CUSTOMER ( ID INT PRIMARY KEY, NAME VARCHAR(100) )" );
+        }
+
+        when( runtimeManager.lookupDataSource( DATASOURCE_UUID ) ).thenReturn( dataSource );
+        when( dataSource.getConnection( ) ).then( invocation -> openConnection( ) );
+    }
+
+    @After
+    public void tearDown( ) throws Exception {
+        try ( Statement statement = keepAlive.createStatement( ) ) {
+            statement.execute( "DROP ALL OBJECTS" );
+        }
+        keepAlive.close( );
+    }
+
+    @Test
+    public void testNoLeakedConnections( ) {
+        DatabaseMetadataServiceImpl metadataService = new DatabaseMetadataServiceImpl( runtimeManager, 0, clock::get );
+
+        for ( int i = 0; i < 1000; i++ ) {
+            if ( i % 2 == 0 ) {
+                metadataService.getMetadata( DATASOURCE_UUID, true, true );
+            } else {
+                metadataService.findTables( DATASOURCE_UUID, "SALES", DatabaseMetadata.TableType.TABLE );
+            }
+        }
+
+        assertEquals( 1000, metadataQueries.get( ) );
+        assertEquals( 0, openConnections.get( ) );
+    }
+
+    @Test
+    public void testCachedLookups( ) {
+        DatabaseMetadataServiceImpl metadataService = new DatabaseMetadataServiceImpl( runtimeManager, TTL, clock::get );
+
+        DatabaseMetadata metadata = metadataService.getMetadata( DATASOURCE_UUID, true, true );
+        List< TableMetadata > tables = metadataService.findTables( DATASOURCE_UUID, "SALES", DatabaseMetadata.TableType.TABLE );
+
+        assertEquals( DatabaseMetadata.DatabaseType.H2, metadata.getDatabaseType( ) );
+        assertEquals( 2, tables.size( ) );
+        assertEquals( 2, metadataQueries.get( ) );
+
+        for ( int i = 0; i < 1000; i++ ) {
+            DatabaseMetadata cached = metadataService.getMetadata( DATASOURCE_UUID, true, true );
+            assertNotSame( metadata, cached );
+            assertEquals( metadata, cached );
+            assertEquals( tables, metadataService.findTables( DATASOURCE_UUID, "SALES", DatabaseMetadata.TableType.TABLE ) );
+        }
+
+        assertEquals( 2, metadataQueries.get( ) );
+        assertEquals( 0, openConnections.get( ) );
+
+        // a different filter is a different lookup
+        assertEquals( 1, metadataService.findTables( DATASOURCE_UUID, "SALES", "INV%", DatabaseMetadata.TableType.TABLE ).size( ) );
+        assertEquals( 3, metadataQueries.get( ) );
+    }
+
+    @Test
+    public void testCachedLookupsAreCopied( ) {
+        DatabaseMetadataServiceImpl metadataService = new DatabaseMetadataServiceImpl( runtimeManager, TTL, clock::get );
+
+        DatabaseMetadata metadata = metadataService.getMetadata( DATASOURCE_UUID, true, true );
+        int schemas = metadata.getSchemas( ).size( );
+        metadata.setDatabaseProductName( "changed" );
+        metadata.getSchemas( ).get( 0 ).setSchemaName( "changed" );
+        metadata.getSchemas( ).clear( );
+
+        List< TableMetadata > tables = metadataService.findTables( DATASOURCE_UUID, "SALES", DatabaseMetadata.TableType.TABLE );
+        tables.get( 0 ).setTableName( "changed" );
+        tables.clear( );
+
+        DatabaseMetadata cached = metadataService.getMetadata( DATASOURCE_UUID, true, true );
+        assertNotEquals( "changed", cached.getDatabaseProductName( ) );
+        assertEquals( schemas, cached.getSchemas( ).size( ) );
+        assertTrue( cached.getSchemas( ).stream( ).noneMatch( schema -> "changed".equals( schema.getSchemaName( ) ) ) );
+
+        List< TableMetadata > cachedTables = metadataService.findTables( DATASOURCE_UUID, "SALES", DatabaseMetadata.TableType.TABLE );
+        assertEquals( 2, cachedTables.size( ) );
+        assertTrue( cachedTables.stream( ).noneMatch( table -> "changed".equals( table.getTableName( ) ) ) );
+        assertEquals( 2, metadataQueries.get( ) );
+    }
+
+    @Test
+    public void testLookupRacingWithInvalidationIsNotCached( ) {
+        DatabaseMetadataServiceImpl metadataService = new DatabaseMetadataServiceImpl( runtimeManager, TTL, clock::get );
+
+        // the data source changes while its metadata is being read
+        onMetadataQuery = ( ) -> metadataService.invalidate( DATASOURCE_UUID );
+        metadataService.getMetadata( DATASOURCE_UUID, true, true );
+        metadataService.findTables( DATASOURCE_UUID, "SALES", DatabaseMetadata.TableType.TABLE );
+
+        onMetadataQuery = ( ) -> {
+        };
+        metadataService.getMetadata( DATASOURCE_UUID, true, true );
+        metadataService.findTables( DATASOURCE_UUID, "SALES", DatabaseMetadata.TableType.TABLE );
+        assertEquals( 4, metadataQueries.get( ) );
+
+        metadataService.getMetadata( DATASOURCE_UUID, true, true );
+        metadataService.findTables( DATASOURCE_UUID, "SALES", DatabaseMetadata.TableType.TABLE );
+        assertEquals( 4, metadataQueries.get( ) );
+    }
+
+    @Test
+    public void testExpiredLookups( ) {
+        DatabaseMetadataServiceImpl metadataService = new DatabaseMetadataServiceImpl( runtimeManager, TTL, clock::get );
+
+        metadataService.getMetadata( DATASOURCE_UUID, true, true );
+        clock.addAndGet( TTL - 1 );
+        metadataService.getMetadata( DATASOURCE_UUID, true, true );
+        assertEquals( 1, metadataQueries.get( ) );
+
+        clock.addAndGet( 1 );
+        metadataService.getMetadata( DATASOURCE_UUID, true, true );
+        assertEquals( 2, metadataQueries.get( ) );
+    }
+
+    @Test
+    public void testInvalidationOnDataSourceChanges( ) {
+        DatabaseMetadataServiceImpl metadataService = new DatabaseMetadataServiceImpl( runtimeManager, TTL, clock::get );
+
+        DataSourceDef dataSourceDef = new DataSourceDef( );
+        dataSourceDef.setUuid( DATASOURCE_UUID );
+
+        metadataService.getMetadata( DATASOURCE_UUID, true, true );
+        metadataService.onDataSourceUpdated( new UpdateDataSourceEvent( dataSourceDef, "sessionId", "identity" ) );
+        metadataService.getMetadata( DATASOURCE_UUID, true, true );
+        assertEquals( 2, metadataQueries.get( ) );
+
+        metadataService.onDataSourceDeleted( new DeleteDataSourceEvent( dataSourceDef, "sessionId", "identity" ) );
+        metadataService.getMetadata( DATASOURCE_UUID, true, true );
+        assertEquals( 3, metadataQueries.get( ) );
+    }
+
+    private Connection openConnection( ) throws Exception {
+        Connection connection = DriverManager.getConnection( URL );
+        openConnections.incrementAndGet( );
+        return ( Connection ) Proxy.newProxyInstance( getClass( ).getClassLoader( ),
+                                                      new Class[]{ Connection.class },
+                                                      ( proxy, method, args ) -> {
+                                                          if ( "getMetaData".equals( method.getName( ) ) ) {
+                                                              metadataQueries.incrementAndGet( );
+                                                              onMetadataQuery.run( );
+                                                          } else if ( "close".equals( method.getName( ) ) && !connection.isClosed( ) ) {
+                                                              openConnections.decrementAndGet( );
+                                                          }
+                                                          try {
+                                                              return method.invoke( connection, args );
+                                                          } catch ( InvocationTargetException e ) {
+                                                              throw e.getCause( );
+                                                          }
+                                                      } );
+    }
+}
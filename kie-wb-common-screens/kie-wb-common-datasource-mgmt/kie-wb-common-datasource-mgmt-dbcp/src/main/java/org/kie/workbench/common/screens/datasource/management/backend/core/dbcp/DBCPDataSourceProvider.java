@@ -32,7 +32,6 @@ import org.apache.commons.dbcp2.ConnectionFactory;
 import org.apache.commons.dbcp2.PoolableConnection;
 import org.apache.commons.dbcp2.PoolableConnectionFactory;
 import org.apache.commons.dbcp2.PoolingDataSource;
-import org.apache.commons.pool2.ObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.kie.workbench.common.screens.datasource.management.backend.core.DataSource;
 import org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceProvider;
@@ -66,6 +65,8 @@ public class DBCPDataSourceProvider
 
     private Map<String, DataSourceDef> deployedDataSources = new HashMap<>(  );
 
+    private Properties config = new Properties(  );
+
     public DBCPDataSourceProvider( ) {
     }
 
@@ -78,13 +79,7 @@ public class DBCPDataSourceProvider
     @Override
     public DataSourceDeploymentInfo deploy( DataSourceDef dataSourceDef ) throws Exception {
 
-        DriverDef driverDef = null;
-        for ( DriverDef _driverDef : driverProvider.getDeployments() ) {
-            if ( _driverDef.getUuid().equals( dataSourceDef.getDriverUuid() ) ) {
-                driverDef = _driverDef;
-                break;
-            }
-        }
+        DriverDef driverDef = driverProvider.getDeployment( dataSourceDef.getDriverUuid() );
 
         if ( driverDef == null ) {
             throw new Exception( "Required driver: " + dataSourceDef.getDriverUuid() + " is not deployed" );
@@ -109,7 +104,8 @@ public class DBCPDataSourceProvider
         PoolableConnectionFactory poolableConnectionFactory = new PoolableConnectionFactory( connectionFactory, null );
 
         //The pool to be used by the ConnectionFactory
-        ObjectPool<PoolableConnection> connectionPool = new GenericObjectPool<>( poolableConnectionFactory );
+        GenericObjectPool<PoolableConnection> connectionPool = new GenericObjectPool<>( poolableConnectionFactory );
+        DBCPPoolSettings.read( config, dataSourceDef.getProperties() ).applyTo( connectionPool, poolableConnectionFactory );
 
         //Set the factory's pool property to the owning pool
         poolableConnectionFactory.setPool( connectionPool );
@@ -120,7 +116,7 @@ public class DBCPDataSourceProvider
         DataSourceDeploymentInfo deploymentInfo = new DataSourceDeploymentInfo( dataSourceDef.getUuid(),
                 true, dataSourceDef.getUuid(), false );
 
-        deploymentRegistry.put( deploymentInfo.getDeploymentId(), new DBCPDataSource( dataSource ) );
+        deploymentRegistry.put( deploymentInfo.getDeploymentId(), new DBCPDataSource( dataSource, connectionPool ) );
         deploymentInfos.put( deploymentInfo.getDeploymentId(), deploymentInfo );
         deployedDataSources.put( deploymentInfo.getDeploymentId(), dataSourceDef );
 
@@ -176,6 +172,19 @@ public class DBCPDataSourceProvider
 
     @Override
     public void loadConfig( Properties properties ) {
+        config = properties != null ? properties : new Properties(  );
+    }
+
+    /**
+     * Gets the connection pool usage of a deployed data source.
+     *
+     * @param deploymentId the data source deployment identifier.
+     *
+     * @return the pool statistics or null if the data source is not deployed.
+     */
+    public DBCPPoolStatistics getPoolStatistics( String deploymentId ) {
+        DBCPDataSource dataSource = deploymentRegistry.get( deploymentId );
+        return dataSource != null ? DBCPPoolStatistics.of( dataSource.connectionPool ) : null;
     }
 
     @Override
@@ -225,8 +234,11 @@ public class DBCPDataSourceProvider
 
     private class DBCPDataSource extends AbstractDataSource {
 
-        public DBCPDataSource( PoolingDataSource dataSource ) {
+        private GenericObjectPool<PoolableConnection> connectionPool;
+
+        public DBCPDataSource( PoolingDataSource dataSource, GenericObjectPool<PoolableConnection> connectionPool ) {
             this.dataSource = dataSource;
+            this.connectionPool = connectionPool;
         }
 
         @Override
@@ -98,6 +98,17 @@ public class DBCPDriverProvider
         return result;
     }
 
+    /**
+     * Gets the definition of a deployed driver.
+     *
+     * @param uuid the driver identifier.
+     *
+     * @return the driver definition or null if the driver is not deployed.
+     */
+    public DriverDef getDeployment( String uuid ) {
+        return deployedDrivers.get( uuid );
+    }
+
     public List<DriverDef> getDeployments() {
         List<DriverDef> results = new ArrayList<>(  );
         results.addAll( deployedDrivers.values() );
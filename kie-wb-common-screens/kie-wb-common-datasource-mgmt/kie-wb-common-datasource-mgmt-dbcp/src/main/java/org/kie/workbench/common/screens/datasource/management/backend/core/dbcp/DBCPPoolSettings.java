@@ -0,0 +1,214 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datasource.management.backend.core.dbcp;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.commons.dbcp2.PoolableConnection;
+import org.apache.commons.dbcp2.PoolableConnectionFactory;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.kie.workbench.common.screens.datasource.management.backend.core.DataSourceSettings.*;
+import static org.kie.workbench.common.screens.datasource.management.util.ServiceUtil.*;
+
+/**
+ * Connection pool settings for a DBCP data source. The settings are read from the data source definition
+ * properties, e.g. "maxTotal", and the ones not present are read from the data source management configuration
+ * with the "datasource.management.dbcp." prefix, e.g. "datasource.management.dbcp.maxTotal".
+ */
+public class DBCPPoolSettings {
+
+    private static final Logger logger = LoggerFactory.getLogger( DBCPPoolSettings.class );
+
+    public static final String CONFIG_PREFIX = DATASOURCE_MANAGEMENT_PREFIX + ".dbcp.";
+
+    public static final String MAX_TOTAL = "maxTotal";
+
+    public static final String MAX_IDLE = "maxIdle";
+
+    public static final String MIN_IDLE = "minIdle";
+
+    public static final String MAX_WAIT_MILLIS = "maxWaitMillis";
+
+    public static final String VALIDATION_QUERY = "validationQuery";
+
+    public static final String VALIDATION_QUERY_TIMEOUT = "validationQueryTimeout";
+
+    public static final String TEST_ON_BORROW = "testOnBorrow";
+
+    public static final String TEST_WHILE_IDLE = "testWhileIdle";
+
+    public static final String TIME_BETWEEN_EVICTION_RUNS_MILLIS = "timeBetweenEvictionRunsMillis";
+
+    public static final String MIN_EVICTABLE_IDLE_TIME_MILLIS = "minEvictableIdleTimeMillis";
+
+    private int maxTotal = 20;
+
+    private int maxIdle = 8;
+
+    private int minIdle = 0;
+
+    private long maxWaitMillis = 30000;
+
+    private String validationQuery;
+
+    private int validationQueryTimeout = -1;
+
+    private boolean testOnBorrow = false;
+
+    private boolean testWhileIdle = true;
+
+    private long timeBetweenEvictionRunsMillis = 60000;
+
+    private long minEvictableIdleTimeMillis = 300000;
+
+    public DBCPPoolSettings() {
+    }
+
+    /**
+     * Reads the pool settings for a data source.
+     * @param config The data source management configuration.
+     * @param properties The data source definition properties, may be null.
+     */
+    public static DBCPPoolSettings read( Properties config,
+                                         Map<String, String> properties ) {
+        DBCPPoolSettings settings = new DBCPPoolSettings();
+        Reader reader = new Reader( config, properties );
+
+        settings.maxTotal = reader.getInt( MAX_TOTAL, settings.maxTotal );
+        settings.maxIdle = reader.getInt( MAX_IDLE, settings.maxIdle );
+        settings.minIdle = reader.getInt( MIN_IDLE, settings.minIdle );
+        settings.maxWaitMillis = reader.getLong( MAX_WAIT_MILLIS, settings.maxWaitMillis );
+        settings.validationQuery = reader.get( VALIDATION_QUERY, settings.validationQuery );
+        settings.validationQueryTimeout = reader.getInt( VALIDATION_QUERY_TIMEOUT, settings.validationQueryTimeout );
+        settings.testOnBorrow = reader.getBoolean( TEST_ON_BORROW, settings.testOnBorrow );
+        settings.testWhileIdle = reader.getBoolean( TEST_WHILE_IDLE, settings.testWhileIdle );
+        settings.timeBetweenEvictionRunsMillis = reader.getLong( TIME_BETWEEN_EVICTION_RUNS_MILLIS,
+                settings.timeBetweenEvictionRunsMillis );
+        settings.minEvictableIdleTimeMillis = reader.getLong( MIN_EVICTABLE_IDLE_TIME_MILLIS,
+                settings.minEvictableIdleTimeMillis );
+        return settings;
+    }
+
+    public void applyTo( GenericObjectPool<PoolableConnection> pool,
+                         PoolableConnectionFactory connectionFactory ) {
+        pool.setMaxTotal( maxTotal );
+        pool.setMaxIdle( maxIdle );
+        pool.setMinIdle( minIdle );
+        pool.setMaxWaitMillis( maxWaitMillis );
+        pool.setTestOnBorrow( testOnBorrow );
+        pool.setTestWhileIdle( testWhileIdle );
+        pool.setTimeBetweenEvictionRunsMillis( timeBetweenEvictionRunsMillis );
+        pool.setMinEvictableIdleTimeMillis( minEvictableIdleTimeMillis );
+
+        connectionFactory.setValidationQuery( validationQuery );
+        connectionFactory.setValidationQueryTimeout( validationQueryTimeout );
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    public String getValidationQuery() {
+        return validationQuery;
+    }
+
+    public int getValidationQueryTimeout() {
+        return validationQueryTimeout;
+    }
+
+    public boolean isTestOnBorrow() {
+        return testOnBorrow;
+    }
+
+    public boolean isTestWhileIdle() {
+        return testWhileIdle;
+    }
+
+    public long getTimeBetweenEvictionRunsMillis() {
+        return timeBetweenEvictionRunsMillis;
+    }
+
+    public long getMinEvictableIdleTimeMillis() {
+        return minEvictableIdleTimeMillis;
+    }
+
+    private static class Reader {
+
+        private Properties config;
+
+        private Map<String, String> properties;
+
+        Reader( Properties config,
+                Map<String, String> properties ) {
+            this.config = config != null ? config : new Properties();
+            this.properties = properties;
+        }
+
+        String get( String name,
+                    String defaultValue ) {
+            String value = properties != null ? properties.get( name ) : null;
+            if ( isEmpty( value ) ) {
+                value = getManagedProperty( config, CONFIG_PREFIX + name );
+            }
+            return isEmpty( value ) ? defaultValue : value.trim();
+        }
+
+        int getInt( String name,
+                    int defaultValue ) {
+            String value = get( name, null );
+            try {
+                return value != null ? Integer.parseInt( value ) : defaultValue;
+            } catch ( NumberFormatException e ) {
+                logger.warn( "Invalid value: " + value + " for pool setting: " + name + ", using: " + defaultValue );
+                return defaultValue;
+            }
+        }
+
+        long getLong( String name,
+                      long defaultValue ) {
+            String value = get( name, null );
+            try {
+                return value != null ? Long.parseLong( value ) : defaultValue;
+            } catch ( NumberFormatException e ) {
+                logger.warn( "Invalid value: " + value + " for pool setting: " + name + ", using: " + defaultValue );
+                return defaultValue;
+            }
+        }
+
+        boolean getBoolean( String name,
+                            boolean defaultValue ) {
+            String value = get( name, null );
+            return value != null ? Boolean.parseBoolean( value ) : defaultValue;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datasource.management.backend.core.dbcp;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+
+/**
+ * Snapshot of the connection pool usage of a DBCP data source.
+ */
+public class DBCPPoolStatistics {
+
+    private final int maxTotal;
+
+    private final int numActive;
+
+    private final int numIdle;
+
+    private final int numWaiters;
+
+    private final long borrowedCount;
+
+    private final long createdCount;
+
+    private final long meanBorrowWaitTimeMillis;
+
+    private final long maxBorrowWaitTimeMillis;
+
+    public DBCPPoolStatistics( int maxTotal,
+                               int numActive,
+                               int numIdle,
+                               int numWaiters,
+                               long borrowedCount,
+                               long createdCount,
+                               long meanBorrowWaitTimeMillis,
+                               long maxBorrowWaitTimeMillis ) {
+        this.maxTotal = maxTotal;
+        this.numActive = numActive;
+        this.numIdle = numIdle;
+        this.numWaiters = numWaiters;
+        this.borrowedCount = borrowedCount;
+        this.createdCount = createdCount;
+        this.meanBorrowWaitTimeMillis = meanBorrowWaitTimeMillis;
+        this.maxBorrowWaitTimeMillis = maxBorrowWaitTimeMillis;
+    }
+
+    public static DBCPPoolStatistics of( GenericObjectPool<?> pool ) {
+        return new DBCPPoolStatistics( pool.getMaxTotal(),
+                pool.getNumActive(),
+                pool.getNumIdle(),
+                pool.getNumWaiters(),
+                pool.getBorrowedCount(),
+                pool.getCreatedCount(),
+                pool.getMeanBorrowWaitTimeMillis(),
+                pool.getMaxBorrowWaitTimeMillis() );
+    }
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * @return the number of connections currently in use.
+     */
+    public int getNumActive() {
+        return numActive;
+    }
+
+    /**
+     * @return the number of open connections waiting in the pool.
+     */
+    public int getNumIdle() {
+        return numIdle;
+    }
+
+    /**
+     * @return the number of threads currently waiting for a connection.
+     */
+    public int getNumWaiters() {
+        return numWaiters;
+    }
+
+    public long getBorrowedCount() {
+        return borrowedCount;
+    }
+
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    public long getMeanBorrowWaitTimeMillis() {
+        return meanBorrowWaitTimeMillis;
+    }
+
+    public long getMaxBorrowWaitTimeMillis() {
+        return maxBorrowWaitTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "DBCPPoolStatistics{" +
+                "maxTotal=" + maxTotal +
+                ", numActive=" + numActive +
+                ", numIdle=" + numIdle +
+                ", numWaiters=" + numWaiters +
+                ", borrowedCount=" + borrowedCount +
+                ", createdCount=" + createdCount +
+                ", meanBorrowWaitTimeMillis=" + meanBorrowWaitTimeMillis +
+                ", maxBorrowWaitTimeMillis=" + maxBorrowWaitTimeMillis +
+                '}';
+    }
+}
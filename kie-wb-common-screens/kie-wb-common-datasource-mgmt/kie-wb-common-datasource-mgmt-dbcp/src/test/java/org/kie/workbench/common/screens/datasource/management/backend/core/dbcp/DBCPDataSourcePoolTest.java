@@ -0,0 +1,200 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.datasource.management.backend.core.dbcp;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.screens.datasource.management.backend.core.DataSource;
+import org.kie.workbench.common.screens.datasource.management.model.DataSourceDef;
+import org.kie.workbench.common.screens.datasource.management.model.DataSourceDeploymentInfo;
+import org.kie.workbench.common.screens.datasource.management.model.DriverDef;
+import org.kie.workbench.common.screens.datasource.management.util.MavenArtifactResolver;
+import org.kie.workbench.common.screens.datasource.management.util.URLConnectionFactory;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Saturates the connection pool of a data source deployed on an H2 database.
+ */
+@RunWith( MockitoJUnitRunner.class )
+public class DBCPDataSourcePoolTest {
+
+    private static final String URL = "jdbc:h2:mem:dbcp-pool-test;DB_CLOSE_DELAY=-1";
+
+    private static final String DATASOURCE_UUID = "h2DataSource";
+
+    private static final String DRIVER_UUID = "h2Driver";
+
+    @Mock
+    private DBCPDriverProvider driverProvider;
+
+    @Mock
+    private MavenArtifactResolver artifactResolver;
+
+    @Mock
+    private URLConnectionFactory urlConnectionFactory;
+
+    private DBCPDataSourceProvider dataSourceProvider;
+
+    private DataSourceDef dataSourceDef;
+
+    private List< Connection > borrowed = new ArrayList<>( );
+
+    @Before
+    public void setup( ) throws Exception {
+        DriverDef driverDef = new DriverDef( );
+        driverDef.setUuid( DRIVER_UUID );
+        driverDef.setDriverClass( "org.h2.Driver" );
+        driverDef.setGroupId( "com.h2database" );
+        driverDef.setArtifactId( "h2" );
+        driverDef.setVersion( "1.0" );
+
+        when( driverProvider.getDeployment( DRIVER_UUID ) ).thenReturn( driverDef );
+        when( artifactResolver.resolve( anyString( ), anyString( ), anyString( ) ) ).thenReturn( new URI( "file:///h2.jar" ) );
+        when( urlConnectionFactory.createConnection( ) ).then( invocation -> DriverManager.getConnection( URL ) );
+
+        dataSourceProvider = new DBCPDataSourceProvider( driverProvider, artifactResolver ) {
+            @Override
+            protected URLConnectionFactory buildConnectionFactory( URI uri, String driverClass,
+                                                                   String connectionURL,
+                                                                   Properties connectionProperties ) throws Exception {
+                return urlConnectionFactory;
+            }
+        };
+
+        dataSourceDef = new DataSourceDef( );
+        dataSourceDef.setUuid( DATASOURCE_UUID );
+        dataSourceDef.setName( DATASOURCE_UUID );
+        dataSourceDef.setDriverUuid( DRIVER_UUID );
+        dataSourceDef.setConnectionURL( URL );
+        dataSourceDef.setUser( "sa" );
+        dataSourceDef.setPassword( "" );
+    }
+
+    @After
+    public void tearDown( ) throws Exception {
+        for ( Connection connection : borrowed ) {
+            connection.close( );
+        }
+        DataSourceDeploymentInfo deploymentInfo = dataSourceProvider.getDeploymentInfo( DATASOURCE_UUID );
+        if ( deploymentInfo != null ) {
+            dataSourceProvider.undeploy( deploymentInfo );
+        }
+    }
+
+    @Test
+    public void testSaturatedPool( ) throws Exception {
+        Map< String, String > properties = new HashMap<>( );
+        properties.put( DBCPPoolSettings.MAX_TOTAL, "3" );
+        properties.put( DBCPPoolSettings.MAX_WAIT_MILLIS, "200" );
+        properties.put( DBCPPoolSettings.VALIDATION_QUERY, "SELECT 1" );
+        properties.put( DBCPPoolSettings.TEST_ON_BORROW, "true" );
+        dataSourceDef.setProperties( properties );
+
+        DataSource dataSource = deploy( );
+
+        for ( int i = 0; i < 3; i++ ) {
+            borrowed.add( dataSource.getConnection( ) );
+        }
+
+        DBCPPoolStatistics statistics = dataSourceProvider.getPoolStatistics( DATASOURCE_UUID );
+        assertEquals( 3, statistics.getMaxTotal( ) );
+        assertEquals( 3, statistics.getNumActive( ) );
+        assertEquals( 0, statistics.getNumIdle( ) );
+
+        long start = System.currentTimeMillis( );
+        try {
+            dataSource.getConnection( );
+            fail( "The pool should be exhausted" );
+        } catch ( SQLException e ) {
+            // the pool waits up to the configured time before failing
+            assertTrue( System.currentTimeMillis( ) - start >= 200 );
+        }
+
+        borrowed.remove( 0 ).close( );
+
+        statistics = dataSourceProvider.getPoolStatistics( DATASOURCE_UUID );
+        assertEquals( 2, statistics.getNumActive( ) );
+        assertEquals( 1, statistics.getNumIdle( ) );
+        assertEquals( 3, statistics.getBorrowedCount( ) );
+        assertEquals( 3, statistics.getCreatedCount( ) );
+
+        // the idle connection is validated and reused
+        borrowed.add( dataSource.getConnection( ) );
+        statistics = dataSourceProvider.getPoolStatistics( DATASOURCE_UUID );
+        assertEquals( 3, statistics.getNumActive( ) );
+        assertEquals( 4, statistics.getBorrowedCount( ) );
+        assertEquals( 3, statistics.getCreatedCount( ) );
+    }
+
+    @Test
+    public void testConfigDefaults( ) throws Exception {
+        Properties config = new Properties( );
+        config.setProperty( DBCPPoolSettings.CONFIG_PREFIX + DBCPPoolSettings.MAX_TOTAL, "5" );
+        config.setProperty( DBCPPoolSettings.CONFIG_PREFIX + DBCPPoolSettings.MAX_WAIT_MILLIS, "100" );
+        dataSourceProvider.loadConfig( config );
+
+        Map< String, String > properties = new HashMap<>( );
+        properties.put( DBCPPoolSettings.MAX_TOTAL, "2" );
+
+        DBCPPoolSettings settings = DBCPPoolSettings.read( config, properties );
+        // the data source definition properties have precedence over the configuration
+        assertEquals( 2, settings.getMaxTotal( ) );
+        assertEquals( 100, settings.getMaxWaitMillis( ) );
+
+        DataSource dataSource = deploy( );
+        for ( int i = 0; i < 5; i++ ) {
+            borrowed.add( dataSource.getConnection( ) );
+        }
+        assertEquals( 5, dataSourceProvider.getPoolStatistics( DATASOURCE_UUID ).getMaxTotal( ) );
+        assertEquals( 5, dataSourceProvider.getPoolStatistics( DATASOURCE_UUID ).getNumActive( ) );
+    }
+
+    @Test
+    public void testInvalidSettingsUseDefaults( ) {
+        Map< String, String > properties = new HashMap<>( );
+        properties.put( DBCPPoolSettings.MAX_TOTAL, "many" );
+
+        DBCPPoolSettings settings = DBCPPoolSettings.read( new Properties( ), properties );
+        assertEquals( new DBCPPoolSettings( ).getMaxTotal( ), settings.getMaxTotal( ) );
+    }
+
+    @Test
+    public void testStatisticsForNotDeployed( ) {
+        assertNull( dataSourceProvider.getPoolStatistics( "notDeployed" ) );
+    }
+
+    private DataSource deploy( ) throws Exception {
+        DataSourceDeploymentInfo deploymentInfo = dataSourceProvider.deploy( dataSourceDef );
+        return dataSourceProvider.lookupDataSource( deploymentInfo );
+    }
+}
@@ -87,6 +87,7 @@ public class DBCPDataSourceProviderTest
     @Override
     protected void setupDrivers( ) {
         when( dbcpDriverProvider.getDeployments( ) ).thenReturn( dbcpDrivers );
+        when( dbcpDriverProvider.getDeployment( DRIVER1_UUID ) ).thenReturn( driverDef1 );
     }
 
     @Override
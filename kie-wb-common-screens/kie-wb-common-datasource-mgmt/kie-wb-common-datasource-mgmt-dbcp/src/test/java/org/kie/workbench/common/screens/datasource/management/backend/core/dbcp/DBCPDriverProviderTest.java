@@ -44,6 +44,7 @@ public class DBCPDriverProviderTest
         DriverDeploymentInfo expectedDeploymentInfo = new DriverDeploymentInfo( DRIVER1_UUID,
                 DRIVER1_UUID, true, DRIVER1_UUID, DRIVER1_CLASS );
         assertEquals( expectedDeploymentInfo, deploymentInfo );
+        assertEquals( driverDef1, ( ( DBCPDriverProvider ) driverProvider ).getDeployment( DRIVER1_UUID ) );
     }
 
     @Override
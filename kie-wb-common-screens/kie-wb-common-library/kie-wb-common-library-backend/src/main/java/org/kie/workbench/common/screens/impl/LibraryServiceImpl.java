@@ -20,10 +20,15 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.events.NewProjectEvent;
 import org.guvnor.common.services.project.model.GAV;
 import org.guvnor.common.services.project.model.POM;
 import org.guvnor.common.services.project.model.Package;
@@ -31,8 +36,12 @@ import org.guvnor.common.services.project.model.Project;
 import org.guvnor.common.services.project.service.DeploymentMode;
 import org.guvnor.structure.organizationalunit.OrganizationalUnit;
 import org.guvnor.structure.organizationalunit.OrganizationalUnitService;
+import org.guvnor.structure.repositories.NewBranchEvent;
+import org.guvnor.structure.repositories.NewRepositoryEvent;
 import org.guvnor.structure.repositories.Repository;
 import org.guvnor.structure.repositories.RepositoryEnvironmentConfigurations;
+import org.guvnor.structure.repositories.RepositoryEnvironmentUpdatedEvent;
+import org.guvnor.structure.repositories.RepositoryRemovedEvent;
 import org.guvnor.structure.repositories.RepositoryService;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.workbench.common.screens.explorer.backend.server.ExplorerServiceHelper;
@@ -44,10 +53,14 @@ import org.kie.workbench.common.screens.library.api.LibraryPreferences;
 import org.kie.workbench.common.screens.library.api.LibraryService;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.kie.workbench.common.services.shared.vfs.FileSystemURI;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 import org.uberfire.rpc.SessionInfo;
 import org.uberfire.security.authz.AuthorizationManager;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
 
 import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull;
 
@@ -73,6 +86,14 @@ public class LibraryServiceImpl implements LibraryService {
 
     private IOService ioService;
 
+    private static final String POM_FILE_NAME = "pom.xml";
+
+    /**
+     * Number of projects per repository alias and branch, counted the first time a branch is checked and kept up to
+     * date from the project, repository and pom.xml change events afterwards.
+     */
+    private final ConcurrentMap<String, ConcurrentMap<String, Integer>> projectCounts = new ConcurrentHashMap<>();
+
     public LibraryServiceImpl() {
     }
 
@@ -181,9 +202,140 @@ public class LibraryServiceImpl implements LibraryService {
         return getOrganizationalUnits().stream()
                 .flatMap( organizationalUnit -> organizationalUnit.getRepositories().stream()
                         .filter( repository -> authorizationManager.authorize( repository, sessionInfo.getIdentity() ) ) )
-                .flatMap( repository -> repository.getBranches().stream()
-                        .map( branch -> kieProjectService.getProjects( repository, branch ) ) )
-                .anyMatch( projects -> projects != null && !projects.isEmpty() );
+                .anyMatch( repository -> repository.getBranches().stream()
+                        .anyMatch( branch -> getProjectCount( repository, branch ) > 0 ) );
+    }
+
+    int getProjectCount( final Repository repository,
+                         final String branch ) {
+        final ConcurrentMap<String, Integer> branches = getBranchCounts( repository.getAlias() );
+        final Integer count = branches.get( branch );
+        if ( count != null ) {
+            return count;
+        }
+
+        // the projects are listed outside the map, a concurrent count of the same branch wins
+        final Set<Project> projects = kieProjectService.getProjects( repository, branch );
+        final int newCount = projects == null ? 0 : projects.size();
+        final Integer previous = branches.putIfAbsent( branch, newCount );
+        return previous == null ? newCount : previous;
+    }
+
+    private ConcurrentMap<String, Integer> getBranchCounts( final String alias ) {
+        final ConcurrentMap<String, Integer> branches = projectCounts.get( alias );
+        if ( branches != null ) {
+            return branches;
+        }
+        final ConcurrentMap<String, Integer> newBranches = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, Integer> previous = projectCounts.putIfAbsent( alias, newBranches );
+        return previous == null ? newBranches : previous;
+    }
+
+    public void onNewProject( @Observes final NewProjectEvent event ) {
+        final String[] location = getProjectLocation( event.getProject() );
+        if ( location == null ) {
+            projectCounts.clear();
+            return;
+        }
+        final ConcurrentMap<String, Integer> branches = projectCounts.get( location[ 0 ] );
+        if ( branches != null ) {
+            branches.computeIfPresent( location[ 1 ], ( branch, count ) -> count + 1 );
+        }
+    }
+
+    public void onDeleteProject( @Observes final DeleteProjectEvent event ) {
+        final String[] location = getProjectLocation( event.getProject() );
+        if ( location == null ) {
+            projectCounts.clear();
+            return;
+        }
+        final ConcurrentMap<String, Integer> branches = projectCounts.get( location[ 0 ] );
+        if ( branches != null ) {
+            // deletions are rare, the branch is counted again instead of risking a count that never drops to zero
+            branches.remove( location[ 1 ] );
+        }
+    }
+
+    public void onNewRepository( @Observes final NewRepositoryEvent event ) {
+        if ( event.getNewRepository() != null ) {
+            projectCounts.remove( event.getNewRepository().getAlias() );
+        }
+    }
+
+    public void onRepositoryRemoved( @Observes final RepositoryRemovedEvent event ) {
+        if ( event.getRepository() != null ) {
+            projectCounts.remove( event.getRepository().getAlias() );
+        }
+    }
+
+    public void onNewBranch( @Observes final NewBranchEvent event ) {
+        if ( event.getRepositoryAlias() != null ) {
+            projectCounts.remove( event.getRepositoryAlias() );
+        }
+    }
+
+    public void onRepositoryUpdated( @Observes final RepositoryEnvironmentUpdatedEvent event ) {
+        if ( event.getUpdatedRepository() != null ) {
+            projectCounts.remove( event.getUpdatedRepository().getAlias() );
+        }
+    }
+
+    // Projects pushed, cloned or imported into a branch only show up as new pom.xml files
+    public void onResourceAdded( @Observes final ResourceAddedEvent event ) {
+        if ( isPOM( event.getPath() ) ) {
+            invalidateProjectCount( event.getPath() );
+        }
+    }
+
+    public void onResourceDeleted( @Observes final ResourceDeletedEvent event ) {
+        if ( isPOM( event.getPath() ) ) {
+            invalidateProjectCount( event.getPath() );
+        }
+    }
+
+    public void onBatchResourceChanges( @Observes final ResourceBatchChangesEvent event ) {
+        if ( event.getBatch() == null ) {
+            return;
+        }
+        for ( Path path : event.getBatch().keySet() ) {
+            if ( isPOM( path ) ) {
+                invalidateProjectCount( path );
+            }
+        }
+    }
+
+    private boolean isPOM( final Path path ) {
+        return path != null && POM_FILE_NAME.equals( path.getFileName() );
+    }
+
+    private void invalidateProjectCount( final Path path ) {
+        final String alias = FileSystemURI.getFileSystemName( path );
+        final String branch = FileSystemURI.getBranch( path );
+        if ( alias == null ) {
+            projectCounts.clear();
+        } else if ( branch == null ) {
+            projectCounts.remove( alias );
+        } else {
+            final ConcurrentMap<String, Integer> branches = projectCounts.get( alias );
+            if ( branches != null ) {
+                branches.remove( branch );
+            }
+        }
+    }
+
+    /**
+     * Extracts the repository alias and branch from a project root like <code>default://branch@repository/project</code>
+     */
+    String[] getProjectLocation( final Project project ) {
+        if ( project == null ) {
+            return null;
+        }
+        final String alias = FileSystemURI.getFileSystemName( project.getRootPath() );
+        final String branch = FileSystemURI.getBranch( project.getRootPath() );
+        if ( alias == null || branch == null ) {
+            return null;
+        }
+        return new String[]{ alias, branch };
     }
 
     @Override
@@ -15,6 +15,8 @@
  */
 package org.kie.workbench.common.screens.impl;
 
+import org.guvnor.common.services.project.events.DeleteProjectEvent;
+import org.guvnor.common.services.project.events.NewProjectEvent;
 import org.guvnor.common.services.project.model.GAV;
 import org.guvnor.common.services.project.model.POM;
 import org.guvnor.common.services.project.model.Package;
@@ -22,8 +24,12 @@ import org.guvnor.common.services.project.model.Project;
 import org.guvnor.structure.organizationalunit.OrganizationalUnit;
 import org.guvnor.structure.organizationalunit.OrganizationalUnitService;
 import org.guvnor.structure.repositories.EnvironmentParameters;
+import org.guvnor.structure.repositories.NewBranchEvent;
+import org.guvnor.structure.repositories.NewRepositoryEvent;
 import org.guvnor.structure.repositories.Repository;
 import org.guvnor.structure.repositories.RepositoryEnvironmentConfigurations;
+import org.guvnor.structure.repositories.RepositoryEnvironmentUpdatedEvent;
+import org.guvnor.structure.repositories.RepositoryRemovedEvent;
 import org.guvnor.structure.repositories.RepositoryService;
 import org.jboss.errai.security.shared.api.identity.User;
 import org.junit.Before;
@@ -37,14 +43,25 @@ import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
 import org.uberfire.io.IOService;
 import org.uberfire.rpc.SessionInfo;
 import org.uberfire.security.authz.AuthorizationManager;
+import org.uberfire.workbench.events.ResourceAdded;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.jgroups.util.Util.assertEquals;
@@ -330,6 +347,136 @@ public class LibraryServiceImplTest {
         verify( kieProjectService ).getProjects( repo2Default, "repo2-branch1" );
     }
 
+    @Test
+    public void thereIsAProjectInTheWorkbenchIsCachedTest() {
+        final List<Repository> repositories = mockEmptyRepositories( 200 );
+        when( ou1.getRepositories() ).thenReturn( repositories );
+
+        assertFalse( libraryService.thereIsAProjectInTheWorkbench() );
+        verify( kieProjectService, times( 201 ) ).getProjects( any( Repository.class ), anyString() );
+
+        for ( int i = 0; i < 10; i++ ) {
+            assertFalse( libraryService.thereIsAProjectInTheWorkbench() );
+        }
+        verify( kieProjectService, times( 201 ) ).getProjects( any( Repository.class ), anyString() );
+    }
+
+    @Test
+    public void thereIsAProjectInTheWorkbenchAfterNewProjectTest() {
+        final List<Repository> repositories = mockEmptyRepositories( 200 );
+        when( ou1.getRepositories() ).thenReturn( repositories );
+
+        assertFalse( libraryService.thereIsAProjectInTheWorkbench() );
+
+        final Project project = mockProject( "default://master@repo-150/project" );
+        libraryService.onNewProject( new NewProjectEvent( project,
+                                                          "sessionId",
+                                                          "user" ) );
+        assertTrue( libraryService.thereIsAProjectInTheWorkbench() );
+
+        libraryService.onDeleteProject( new DeleteProjectEvent( project ) );
+        assertFalse( libraryService.thereIsAProjectInTheWorkbench() );
+
+        // only the branch of the deleted project is counted again
+        verify( kieProjectService, times( 202 ) ).getProjects( any( Repository.class ), anyString() );
+        verify( kieProjectService, times( 2 ) ).getProjects( repositories.get( 150 ), "master" );
+    }
+
+    @Test
+    public void thereIsAProjectInTheWorkbenchAfterRepositoryEventsTest() {
+        final List<Repository> repositories = mockEmptyRepositories( 10 );
+        when( ou1.getRepositories() ).thenReturn( repositories );
+
+        assertFalse( libraryService.thereIsAProjectInTheWorkbench() );
+
+        final Set<Project> projects = Collections.singleton( mock( Project.class ) );
+        doReturn( projects ).when( kieProjectService ).getProjects( repositories.get( 5 ), "master" );
+        libraryService.onNewRepository( new NewRepositoryEvent( repositories.get( 5 ) ) );
+        assertTrue( libraryService.thereIsAProjectInTheWorkbench() );
+
+        when( ou1.getRepositories() ).thenReturn( repositories.subList( 0, 5 ) );
+        libraryService.onRepositoryRemoved( new RepositoryRemovedEvent( repositories.get( 5 ) ) );
+        assertFalse( libraryService.thereIsAProjectInTheWorkbench() );
+
+        // the other repositories are not counted again
+        verify( kieProjectService, times( 1 ) ).getProjects( repositories.get( 0 ), "master" );
+        verify( kieProjectService, times( 2 ) ).getProjects( repositories.get( 5 ), "master" );
+    }
+
+    @Test
+    public void thereIsAProjectInTheWorkbenchAfterPushTest() {
+        final List<Repository> repositories = mockEmptyRepositories( 10 );
+        when( ou1.getRepositories() ).thenReturn( repositories );
+
+        assertFalse( libraryService.thereIsAProjectInTheWorkbench() );
+
+        // other files do not change the project count
+        final Set<Project> projects = Collections.singleton( mock( Project.class ) );
+        doReturn( projects ).when( kieProjectService ).getProjects( repositories.get( 5 ), "master" );
+        libraryService.onResourceAdded( new ResourceAddedEvent( PathFactory.newPath( "rule.drl",
+                                                                                     "default://master@repo-5/project/src/main/resources/rule.drl" ),
+                                                                "",
+                                                                sessionInfo ) );
+        assertFalse( libraryService.thereIsAProjectInTheWorkbench() );
+
+        final Map<Path, Collection<ResourceChange>> batch = new HashMap<>();
+        batch.put( PathFactory.newPath( "pom.xml",
+                                        "default://master@repo-5/project/pom.xml" ),
+                   Collections.<ResourceChange>singletonList( new ResourceAdded( "" ) ) );
+        libraryService.onBatchResourceChanges( new ResourceBatchChangesEvent( batch,
+                                                                              "",
+                                                                              sessionInfo ) );
+        assertTrue( libraryService.thereIsAProjectInTheWorkbench() );
+
+        doReturn( Collections.emptySet() ).when( kieProjectService ).getProjects( repositories.get( 5 ), "master" );
+        libraryService.onResourceDeleted( new ResourceDeletedEvent( PathFactory.newPath( "pom.xml",
+                                                                                         "default://master@repo-5/project/pom.xml" ),
+                                                                    "",
+                                                                    sessionInfo ) );
+        assertFalse( libraryService.thereIsAProjectInTheWorkbench() );
+
+        // only the branch holding the pom.xml is counted again
+        verify( kieProjectService, times( 1 ) ).getProjects( repositories.get( 0 ), "master" );
+        verify( kieProjectService, times( 3 ) ).getProjects( repositories.get( 5 ), "master" );
+    }
+
+    @Test
+    public void thereIsAProjectInTheWorkbenchAfterBranchEventsTest() {
+        final List<Repository> repositories = mockEmptyRepositories( 10 );
+        when( ou1.getRepositories() ).thenReturn( repositories );
+
+        assertFalse( libraryService.thereIsAProjectInTheWorkbench() );
+
+        final Set<Project> projects = Collections.singleton( mock( Project.class ) );
+        when( repositories.get( 5 ).getBranches() ).thenReturn( Arrays.asList( "master", "imported" ) );
+        doReturn( projects ).when( kieProjectService ).getProjects( repositories.get( 5 ), "imported" );
+        final NewBranchEvent newBranchEvent = mock( NewBranchEvent.class );
+        when( newBranchEvent.getRepositoryAlias() ).thenReturn( "repo-5" );
+        libraryService.onNewBranch( newBranchEvent );
+        assertTrue( libraryService.thereIsAProjectInTheWorkbench() );
+
+        doReturn( Collections.emptySet() ).when( kieProjectService ).getProjects( repositories.get( 5 ), "imported" );
+        final RepositoryEnvironmentUpdatedEvent updatedEvent = mock( RepositoryEnvironmentUpdatedEvent.class );
+        when( updatedEvent.getUpdatedRepository() ).thenReturn( repositories.get( 5 ) );
+        libraryService.onRepositoryUpdated( updatedEvent );
+        assertFalse( libraryService.thereIsAProjectInTheWorkbench() );
+
+        verify( kieProjectService, times( 1 ) ).getProjects( repositories.get( 0 ), "master" );
+        verify( kieProjectService, times( 3 ) ).getProjects( repositories.get( 5 ), "master" );
+        verify( kieProjectService, times( 2 ) ).getProjects( repositories.get( 5 ), "imported" );
+    }
+
+    @Test
+    public void getProjectLocationTest() {
+        assertArrayEquals( new String[]{ "repo", "master" },
+                           libraryService.getProjectLocation( mockProject( "default://master@repo/project" ) ) );
+        assertArrayEquals( new String[]{ "repo", "dev" },
+                           libraryService.getProjectLocation( mockProject( "default://dev@repo" ) ) );
+        assertNull( libraryService.getProjectLocation( mockProject( "git://repo/project" ) ) );
+        assertNull( libraryService.getProjectLocation( mockProject( "project" ) ) );
+        assertNull( libraryService.getProjectLocation( null ) );
+    }
+
     @Test( expected = IllegalArgumentException.class )
     public void getNullProjectAssetsTest() {
         libraryService.getProjectAssets( null );
@@ -342,4 +489,23 @@ public class LibraryServiceImplTest {
         verify( projectService ).resolveDefaultPackage( any( Project.class ) );
         verify( explorerServiceHelper ).getAssetsRecursively( any( Package.class ), any( ActiveOptions.class ) );
     }
+
+    private List<Repository> mockEmptyRepositories( final int count ) {
+        final List<Repository> repositories = new ArrayList<>();
+        for ( int i = 0; i < count; i++ ) {
+            final Repository repository = mock( Repository.class );
+            when( repository.getAlias() ).thenReturn( "repo-" + i );
+            when( repository.getBranches() ).thenReturn( Collections.singletonList( "master" ) );
+            repositories.add( repository );
+        }
+        return repositories;
+    }
+
+    private Project mockProject( final String rootUri ) {
+        final Path rootPath = mock( Path.class );
+        when( rootPath.toURI() ).thenReturn( rootUri );
+        final Project project = mock( Project.class );
+        when( project.getRootPath() ).thenReturn( rootPath );
+        return project;
+    }
 }
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
 import javax.inject.Inject;
@@ -39,7 +40,6 @@ import org.kie.workbench.common.screens.server.management.model.ContainerRuntime
 import org.kie.workbench.common.screens.server.management.model.ContainerRuntimeState;
 import org.kie.workbench.common.screens.server.management.model.ContainerUpdateEvent;
 import org.uberfire.commons.async.DisposableExecutor;
-import org.uberfire.commons.async.SimpleAsyncExecutorService;
 
 import static org.kie.workbench.common.screens.server.management.model.ContainerRuntimeOperation.*;
 
@@ -65,14 +65,19 @@ public class AsyncKieServerInstanceManager extends KieServerInstanceManager {
 
     @PostConstruct
     public void configure() {
-        executor = SimpleAsyncExecutorService.getDefaultInstance();
+        executor = new KieServerOperationExecutor();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.dispose();
     }
 
     @Override
     public List<Container> startScanner( final ServerTemplate serverTemplate,
                                          final ContainerSpec containerSpec,
                                          final long interval ) {
-        executor.execute( new Runnable() {
+        executeOperation( serverTemplate, containerSpec, new Runnable() {
             @Override
             public void run() {
                 List<Container> containers = AsyncKieServerInstanceManager.super.startScanner( serverTemplate, containerSpec, interval );
@@ -88,7 +93,7 @@ public class AsyncKieServerInstanceManager extends KieServerInstanceManager {
     @Override
     public List<Container> stopScanner( final ServerTemplate serverTemplate,
                                         final ContainerSpec containerSpec ) {
-        executor.execute( new Runnable() {
+        executeOperation( serverTemplate, containerSpec, new Runnable() {
             @Override
             public void run() {
                 List<Container> containers = AsyncKieServerInstanceManager.super.stopScanner( serverTemplate, containerSpec );
@@ -103,7 +108,7 @@ public class AsyncKieServerInstanceManager extends KieServerInstanceManager {
     @Override
     public List<Container> scanNow( final ServerTemplate serverTemplate,
                                     final ContainerSpec containerSpec ) {
-        executor.execute( new Runnable() {
+        executeOperation( serverTemplate, containerSpec, new Runnable() {
             @Override
             public void run() {
                 List<Container> containers = AsyncKieServerInstanceManager.super.scanNow( serverTemplate, containerSpec );
@@ -118,7 +123,7 @@ public class AsyncKieServerInstanceManager extends KieServerInstanceManager {
     @Override
     public List<Container> startContainer( final ServerTemplate serverTemplate,
                                            final ContainerSpec containerSpec ) {
-        executor.execute( new Runnable() {
+        executeOperation( serverTemplate, containerSpec, new Runnable() {
             @Override
             public void run() {
                 List<Container> containers = AsyncKieServerInstanceManager.super.startContainer( serverTemplate, containerSpec );
@@ -133,7 +138,7 @@ public class AsyncKieServerInstanceManager extends KieServerInstanceManager {
     @Override
     public List<Container> stopContainer( final ServerTemplate serverTemplate,
                                           final ContainerSpec containerSpec ) {
-        executor.execute( new Runnable() {
+        executeOperation( serverTemplate, containerSpec, new Runnable() {
             @Override
             public void run() {
                 List<Container> containers = AsyncKieServerInstanceManager.super.stopContainer( serverTemplate, containerSpec );
@@ -148,7 +153,7 @@ public class AsyncKieServerInstanceManager extends KieServerInstanceManager {
     @Override
     public List<Container> upgradeContainer( final ServerTemplate serverTemplate,
                                              final ContainerSpec containerSpec ) {
-        executor.execute( new Runnable() {
+        executeOperation( serverTemplate, containerSpec, new Runnable() {
             @Override
             public void run() {
                 List<Container> containers = AsyncKieServerInstanceManager.super.upgradeContainer( serverTemplate, containerSpec );
@@ -162,7 +167,7 @@ public class AsyncKieServerInstanceManager extends KieServerInstanceManager {
 
     @Override
     public List<Container> getContainers( final ServerInstanceKey serverInstanceKey ) {
-        executor.execute( new Runnable() {
+        executeOperation( serverInstanceKey.getServerTemplateId() + "/" + serverInstanceKey.getServerInstanceId(), new Runnable() {
             @Override
             public void run() {
                 List<Container> containers = AsyncKieServerInstanceManager.super.getContainers( serverInstanceKey );
@@ -183,7 +188,7 @@ public class AsyncKieServerInstanceManager extends KieServerInstanceManager {
 
     @Override
     public List<Container> getContainers(final ServerTemplate serverTemplate, final ContainerSpec containerSpec) {
-        executor.execute( new Runnable() {
+        executeOperation( serverTemplate, containerSpec, new Runnable() {
             @Override
             public void run() {
                 List<Container> containers = AsyncKieServerInstanceManager.super.getContainers(serverTemplate, containerSpec);
@@ -194,6 +199,21 @@ public class AsyncKieServerInstanceManager extends KieServerInstanceManager {
         return Collections.emptyList();
     }
 
+    /*
+     * Operations on the same container are executed in order when using the dedicated executor
+     */
+    protected void executeOperation( final ServerTemplate serverTemplate, final ContainerSpec containerSpec, final Runnable operation ) {
+        executeOperation( serverTemplate.getId() + "/" + containerSpec.getId(), operation );
+    }
+
+    protected void executeOperation( final String key, final Runnable operation ) {
+        if ( executor instanceof KieServerOperationExecutor ) {
+            ( (KieServerOperationExecutor) executor ).execute( key, operation );
+        } else {
+            executor.execute( operation );
+        }
+    }
+
     protected void produceContainerUpdateEvent(ServerTemplate serverTemplate, ContainerSpec containerSpec, List<Container> containers, ContainerRuntimeOperation containerRuntimeOperation) {
         List<ServerInstanceKey> failedServerInstances = new ArrayList<ServerInstanceKey>();
         for (Container container : containers) {
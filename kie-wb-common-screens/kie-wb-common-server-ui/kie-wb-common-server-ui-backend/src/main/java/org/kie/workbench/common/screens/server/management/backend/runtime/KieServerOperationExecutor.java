@@ -0,0 +1,328 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.server.management.backend.runtime;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.async.DisposableExecutor;
+import org.uberfire.commons.async.SimpleAsyncExecutorService;
+
+/**
+ * Executes the remote kie server operations on the container managed executor, using at most <code>threads</code> of
+ * its threads, plus one to interrupt the timed out operations while any is running. Operations submitted with the same key (usually a server template and container pair) are executed one
+ * at a time and in submission order, while operations with different keys run in parallel, so a slow or unreachable
+ * kie server only delays the operations on its own containers.
+ * <p>
+ * At most <code>maxPending</code> operations may be waiting to be executed, further operations are rejected. Operations
+ * running for longer than <code>timeout</code> milliseconds are interrupted.
+ */
+public class KieServerOperationExecutor implements DisposableExecutor {
+
+    public static final String THREADS_PROPERTY = "org.kie.workbench.controller.operations.threads";
+
+    public static final String MAX_PENDING_PROPERTY = "org.kie.workbench.controller.operations.max-pending";
+
+    public static final String TIMEOUT_PROPERTY = "org.kie.workbench.controller.operations.timeout";
+
+    public static final int DEFAULT_THREADS = 4;
+
+    public static final int DEFAULT_MAX_PENDING = 1000;
+
+    public static final long DEFAULT_TIMEOUT = TimeUnit.MINUTES.toMillis( 2 );
+
+    private static final String DEFAULT_KEY = "";
+
+    private static final Logger logger = LoggerFactory.getLogger( KieServerOperationExecutor.class );
+
+    private final DisposableExecutor executor;
+
+    private final int threads;
+
+    private final int maxPending;
+
+    private final long timeout;
+
+    // guarded by this
+    private final Map<String, SerialQueue> queues = new HashMap<>();
+
+    // queues with operations waiting for a worker, guarded by this
+    private final Queue<SerialQueue> ready = new ArrayDeque<>();
+
+    // guarded by this
+    private final Set<RunningOperation> running = new HashSet<>();
+
+    // guarded by this
+    private int pending = 0;
+
+    // guarded by this
+    private int workers = 0;
+
+    // guarded by this
+    private boolean watching = false;
+
+    // guarded by this
+    private boolean disposed = false;
+
+    private final AtomicLong executedCount = new AtomicLong();
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private final AtomicLong timedOutCount = new AtomicLong();
+
+    public KieServerOperationExecutor() {
+        this( SimpleAsyncExecutorService.getDefaultInstance(),
+              Integer.getInteger( THREADS_PROPERTY, DEFAULT_THREADS ),
+              Integer.getInteger( MAX_PENDING_PROPERTY, DEFAULT_MAX_PENDING ),
+              Long.getLong( TIMEOUT_PROPERTY, DEFAULT_TIMEOUT ) );
+    }
+
+    public KieServerOperationExecutor( DisposableExecutor executor,
+                                       int threads,
+                                       int maxPending,
+                                       long timeout ) {
+        if ( threads < 1 ) {
+            throw new IllegalArgumentException( "Number of threads must be greater than 0" );
+        }
+        this.executor = executor;
+        this.threads = threads;
+        this.maxPending = maxPending;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void execute( Runnable operation ) {
+        execute( DEFAULT_KEY, operation );
+    }
+
+    /**
+     * Queues the given operation after the ones already submitted with the same key.
+     * @throws RejectedExecutionException if there are already <code>maxPending</code> operations waiting, the
+     * executor has been disposed or the underlying executor doesn't accept more work.
+     */
+    public void execute( String key,
+                         Runnable operation ) {
+        SerialQueue queue;
+        synchronized ( this ) {
+            if ( disposed || pending >= maxPending ) {
+                rejectedCount.incrementAndGet();
+                logger.warn( "Kie server operation for {} rejected, {} operations are already pending", key, pending );
+                throw new RejectedExecutionException( "Too many pending kie server operations" );
+            }
+            queue = queues.computeIfAbsent( key, SerialQueue::new );
+            queue.operations.add( operation );
+            pending++;
+            if ( queue.scheduled ) {
+                return;
+            }
+            queue.scheduled = true;
+            ready.add( queue );
+            if ( workers >= threads ) {
+                // taken by one of the workers as soon as it is done with its current operation
+                return;
+            }
+            workers++;
+        }
+        try {
+            executor.execute( this::work );
+        } catch ( RejectedExecutionException e ) {
+            synchronized ( this ) {
+                workers--;
+                if ( !queue.operations.removeLastOccurrence( operation ) ) {
+                    // already taken by a running worker
+                    return;
+                }
+                pending--;
+                if ( queue.operations.isEmpty() ) {
+                    queue.scheduled = false;
+                    ready.remove( queue );
+                    queues.remove( key );
+                }
+            }
+            rejectedCount.incrementAndGet();
+            logger.warn( "Kie server operation for {} rejected by the underlying executor", key );
+            throw e;
+        }
+    }
+
+    /**
+     * Discards the pending operations and interrupts the running ones. The underlying executor is shared, so it is
+     * left running.
+     */
+    @Override
+    public synchronized void dispose() {
+        disposed = true;
+        queues.clear();
+        ready.clear();
+        pending = 0;
+        running.forEach( operation -> operation.thread.interrupt() );
+        notifyAll();
+    }
+
+    public synchronized int getPendingCount() {
+        return pending;
+    }
+
+    public long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getTimedOutCount() {
+        return timedOutCount.get();
+    }
+
+    private void work() {
+        while ( true ) {
+            SerialQueue queue;
+            Runnable operation;
+            synchronized ( this ) {
+                queue = disposed ? null : ready.poll();
+                if ( queue == null ) {
+                    workers--;
+                    return;
+                }
+                operation = queue.operations.poll();
+                pending--;
+            }
+
+            run( queue.key, operation );
+
+            synchronized ( this ) {
+                if ( queue.operations.isEmpty() ) {
+                    queue.scheduled = false;
+                    queues.remove( queue.key );
+                } else {
+                    // goes back to the end so busy keys don't starve the others
+                    ready.add( queue );
+                }
+            }
+        }
+    }
+
+    private void run( String key,
+                      Runnable operation ) {
+        RunningOperation runningOperation = new RunningOperation( key, Thread.currentThread(), System.currentTimeMillis() + timeout );
+        boolean watch;
+        synchronized ( this ) {
+            running.add( runningOperation );
+            watch = timeout > 0 && !watching;
+            watching = watching || watch;
+        }
+        if ( watch ) {
+            startWatching();
+        }
+        try {
+            operation.run();
+        } catch ( Exception e ) {
+            logger.error( "Error while executing kie server operation for {}", key, e );
+        } finally {
+            synchronized ( this ) {
+                running.remove( runningOperation );
+                if ( running.isEmpty() ) {
+                    notifyAll();
+                }
+            }
+            // clears the interrupt flag in case the operation timed out, the thread is reused for other work
+            Thread.interrupted();
+            executedCount.incrementAndGet();
+        }
+    }
+
+    private void startWatching() {
+        try {
+            executor.execute( this::watch );
+        } catch ( RejectedExecutionException e ) {
+            synchronized ( this ) {
+                watching = false;
+            }
+            logger.debug( "Unable to watch the kie server operations for timeouts", e );
+        }
+    }
+
+    /**
+     * Interrupts the operations running for longer than the timeout, as long as there are operations running.
+     */
+    private synchronized void watch() {
+        try {
+            while ( !disposed && !running.isEmpty() ) {
+                long now = System.currentTimeMillis();
+                long next = now + timeout;
+                for ( RunningOperation operation : running ) {
+                    if ( operation.deadline > now ) {
+                        next = Math.min( next, operation.deadline );
+                    } else if ( !operation.timedOut ) {
+                        operation.timedOut = true;
+                        timedOutCount.incrementAndGet();
+                        logger.warn( "Kie server operation for {} didn't finish after {} ms, interrupting it", operation.key, timeout );
+                        operation.thread.interrupt();
+                    }
+                }
+                wait( next - now );
+            }
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+        } finally {
+            watching = false;
+        }
+    }
+
+    private static class RunningOperation {
+
+        private final String key;
+
+        private final Thread thread;
+
+        private final long deadline;
+
+        private boolean timedOut = false;
+
+        RunningOperation( String key,
+                          Thread thread,
+                          long deadline ) {
+            this.key = key;
+            this.thread = thread;
+            this.deadline = deadline;
+        }
+    }
+
+    private static class SerialQueue {
+
+        private final String key;
+
+        private final Deque<Runnable> operations = new ArrayDeque<>();
+
+        private boolean scheduled = false;
+
+        SerialQueue( String key ) {
+            this.key = key;
+        }
+    }
+}
@@ -19,7 +19,12 @@ package org.kie.workbench.common.screens.server.management.backend.storage;
 import java.math.BigInteger;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -37,6 +42,12 @@ import org.uberfire.java.nio.file.FileSystem;
 import org.uberfire.java.nio.file.NotDirectoryException;
 import org.uberfire.java.nio.file.Path;
 
+/**
+ * Stores server templates as XML files on VFS, which remains the source of truth. To avoid reading every template
+ * file, the keys of the stored templates are kept in a small index file next to the templates directory and the
+ * serialized templates are cached in memory. Both are updated on every store, update and delete; templates are
+ * always deserialized again from the cached XML, so callers are free to modify the returned instances.
+ */
 @ApplicationScoped
 public class ServerTemplateVFSStorage implements KieServerTemplateStorage {
 
@@ -47,6 +58,12 @@ public class ServerTemplateVFSStorage implements KieServerTemplateStorage {
 
     private final XStream xs = new XStream();
 
+    // serialized server templates by file name
+    private final ConcurrentMap<String, String> templates = new ConcurrentHashMap<String, String>();
+
+    // server template keys by file name, null until the index file has been read
+    private Map<String, ServerTemplateKey> keyIndex;
+
     //enable proxy
     public ServerTemplateVFSStorage() {
     }
@@ -63,17 +80,20 @@ public class ServerTemplateVFSStorage implements KieServerTemplateStorage {
     }
 
     @Override
-    public ServerTemplate store( final ServerTemplate serverTemplate ) {
+    public synchronized ServerTemplate store( final ServerTemplate serverTemplate ) {
         logger.debug("About to store server template {}", serverTemplate);
         final Path path = buildPath( serverTemplate.getId() );
-        if (!ioService.exists(path)) {
+        if (!exists(serverTemplate.getId())) {
+            final String content = xs.toXML(serverTemplate);
             try {
                 ioService.startBatch(path.getFileSystem());
-                ioService.write(path, xs.toXML(serverTemplate));
+                ioService.write(path, content);
+                indexKey(path, serverTemplate);
             } finally {
                 ioService.endBatch();
             }
-            logger.debug("Server template {} stored successfully");
+            templates.put(fileName(path), content);
+            logger.debug("Server template {} stored successfully", serverTemplate);
             return serverTemplate;
         } else {
             throw new IllegalArgumentException("Server template with id " + serverTemplate.getId() + " is already stored");
@@ -81,21 +101,36 @@ public class ServerTemplateVFSStorage implements KieServerTemplateStorage {
     }
 
     @Override
-    public List<ServerTemplateKey> loadKeys() {
+    public synchronized List<ServerTemplateKey> loadKeys() {
         logger.debug("About to load all available server templates (as keys only)...");
         final List<ServerTemplateKey> result = new ArrayList<ServerTemplateKey>();
         final Path dir = buildPath( null );
 
+        final Map<String, ServerTemplateKey> index = getKeyIndex();
+        final Map<String, ServerTemplateKey> found = new LinkedHashMap<String, ServerTemplateKey>();
         try {
             ioService.startBatch( dir.getFileSystem() );
             for ( final Path registeredServer : ioService.newDirectoryStream( dir ) ) {
-                try {
-                    ServerTemplate serverTemplate = readServerTemplate(registeredServer);
-                    logger.debug("Found server template {}, taking its short key version...");
-                    result.add( new ServerTemplateKey(serverTemplate.getId(), serverTemplate.getName()) );
-                } catch ( final Exception ignore ) {
-                    ioService.delete( registeredServer );
+                final String fileName = fileName( registeredServer );
+                ServerTemplateKey templateKey = index.get( fileName );
+                if ( templateKey == null ) {
+                    // not indexed yet, e.g. written before the index existed
+                    try {
+                        ServerTemplate serverTemplate = readServerTemplate(registeredServer);
+                        logger.debug("Found server template {}, taking its short key version...", serverTemplate);
+                        templateKey = new ServerTemplateKey(serverTemplate.getId(), serverTemplate.getName());
+                    } catch ( final Exception ignore ) {
+                        ioService.delete( registeredServer );
+                        continue;
+                    }
                 }
+                found.put( fileName, templateKey );
+                result.add( templateKey );
+            }
+            if ( !sameKeys( found, index ) ) {
+                index.clear();
+                index.putAll( found );
+                writeKeyIndex();
             }
             logger.debug("All found server template keys {}", result);
             return result;
@@ -117,7 +152,7 @@ public class ServerTemplateVFSStorage implements KieServerTemplateStorage {
             ioService.startBatch( dir.getFileSystem() );
             for ( final Path registeredServer : ioService.newDirectoryStream( dir ) ) {
                 try {
-                    ServerTemplate serverTemplate = readServerTemplate(registeredServer);
+                    ServerTemplate serverTemplate = readCachedServerTemplate(registeredServer);
                     logger.debug("Found server template {}", serverTemplate);
                     result.add( serverTemplate );
                 } catch ( final Exception ignore ) {
@@ -139,7 +174,20 @@ public class ServerTemplateVFSStorage implements KieServerTemplateStorage {
         logger.debug("About to load server template for {}", identifier);
         final Path path = buildPath( identifier );
 
-        ServerTemplate serverTemplate = readServerTemplate(path);
+        final String content = templates.get( fileName( path ) );
+
+        ServerTemplate serverTemplate;
+        if ( content != null ) {
+            serverTemplate = (ServerTemplate) xs.fromXML( content );
+        } else {
+            // read it while no writes can happen so a stale version is never cached
+            synchronized ( this ) {
+                serverTemplate = readServerTemplate( path );
+                if ( serverTemplate != null ) {
+                    templates.put( fileName( path ), xs.toXML( serverTemplate ) );
+                }
+            }
+        }
         logger.debug("Server template loaded {}", serverTemplate);
         return serverTemplate;
     }
@@ -147,35 +195,44 @@ public class ServerTemplateVFSStorage implements KieServerTemplateStorage {
     @Override
     public boolean exists( final String identifier ) {
 
-        boolean serverTemplateExists = ioService.exists( buildPath( identifier));
+        final Path path = buildPath( identifier );
+        boolean serverTemplateExists = templates.containsKey( fileName( path ) ) || ioService.exists( path );
         logger.debug("Server with id {} exists = {}", identifier, serverTemplateExists);
         return serverTemplateExists;
     }
 
     @Override
-    public ServerTemplate update( final ServerTemplate serverTemplate ) {
+    public synchronized ServerTemplate update( final ServerTemplate serverTemplate ) {
         logger.debug("About to update server template {}", serverTemplate);
         final Path path = buildPath( serverTemplate.getId() );
+        final String content = xs.toXML(serverTemplate);
+        templates.remove(fileName(path));
         try {
             ioService.startBatch(path.getFileSystem());
-            ioService.write(path, xs.toXML(serverTemplate));
+            ioService.write(path, content);
+            indexKey(path, serverTemplate);
         } finally {
             ioService.endBatch();
         }
+        templates.put(fileName(path), content);
         logger.debug("Server template {} updated successfully", serverTemplate);
         return serverTemplate;
     }
 
     @Override
-    public ServerTemplate delete( final String identifier ) {
+    public synchronized ServerTemplate delete( final String identifier ) {
         logger.debug("About to remove server template with id {}", identifier);
         final Path path = buildPath( identifier );
 
         ServerTemplate serverTemplate = null;
+        templates.remove( fileName( path ) );
         try {
             ioService.startBatch( path.getFileSystem() );
             serverTemplate = readServerTemplate(path);
             ioService.delete( path );
+            if ( getKeyIndex().remove( fileName( path ) ) != null ) {
+                writeKeyIndex();
+            }
         } finally {
             ioService.endBatch();
         }
@@ -199,6 +256,74 @@ public class ServerTemplateVFSStorage implements KieServerTemplateStorage {
         return null;
     }
 
+    protected ServerTemplate readCachedServerTemplate(final Path registeredServer) {
+        final String fileName = fileName(registeredServer);
+        final String content = templates.get(fileName);
+        if (content != null) {
+            return (ServerTemplate) xs.fromXML(content);
+        }
+        return readServerTemplate(registeredServer);
+    }
+
+    protected synchronized Map<String, ServerTemplateKey> getKeyIndex() {
+        if (keyIndex == null) {
+            keyIndex = new LinkedHashMap<String, ServerTemplateKey>();
+            final Path indexPath = buildIndexPath();
+            try {
+                if (ioService.exists(indexPath)) {
+                    @SuppressWarnings("unchecked")
+                    final List<ServerTemplateKey> keys = (List<ServerTemplateKey>) xs.fromXML(ioService.readAllString(indexPath));
+                    for (ServerTemplateKey key : keys) {
+                        keyIndex.put(fileName(buildPath(key.getId())), key);
+                    }
+                }
+            } catch (Exception ex) {
+                logger.warn("Unable to read server template index {}, it will be rebuilt", indexPath, ex);
+                keyIndex.clear();
+            }
+        }
+        return keyIndex;
+    }
+
+    // must be called within a batch
+    protected synchronized void indexKey(final Path path, final ServerTemplate serverTemplate) {
+        final ServerTemplateKey templateKey = new ServerTemplateKey(serverTemplate.getId(), serverTemplate.getName());
+        final ServerTemplateKey indexed = getKeyIndex().put(fileName(path), templateKey);
+        if (indexed == null || !sameKey(templateKey, indexed)) {
+            writeKeyIndex();
+        }
+    }
+
+    // must be called within a batch
+    protected synchronized void writeKeyIndex() {
+        ioService.write(buildIndexPath(), xs.toXML(new ArrayList<ServerTemplateKey>(getKeyIndex().values())));
+    }
+
+    protected Path buildIndexPath() {
+        // kept outside of the templates directory so it is never listed as a server template
+        return fileSystem.getPath( "servers", "remote-template-keys.xml" );
+    }
+
+    private static String fileName(final Path path) {
+        return path.getFileName().toString();
+    }
+
+    private static boolean sameKeys(final Map<String, ServerTemplateKey> one, final Map<String, ServerTemplateKey> other) {
+        if (!one.keySet().equals(other.keySet())) {
+            return false;
+        }
+        for (Map.Entry<String, ServerTemplateKey> entry : one.entrySet()) {
+            if (!sameKey(entry.getValue(), other.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameKey(final ServerTemplateKey one, final ServerTemplateKey other) {
+        return Objects.equals(one.getId(), other.getId()) && Objects.equals(one.getName(), other.getName());
+    }
+
     protected Path buildPath( final String identifier ) {
         if ( identifier != null ) {
             return fileSystem.getPath( "servers", "remote", toHex( identifier ) + "-template.xml" );
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.server.management.backend.runtime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.server.api.model.KieContainerStatus;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.client.KieServicesClient;
+import org.kie.server.controller.api.model.runtime.Container;
+import org.kie.server.controller.api.model.spec.Capability;
+import org.kie.server.controller.api.model.spec.ContainerConfig;
+import org.kie.server.controller.api.model.spec.ContainerSpec;
+import org.kie.server.controller.api.model.spec.ServerTemplate;
+import org.kie.server.controller.api.model.spec.ServerTemplateKey;
+import org.kie.server.controller.api.service.NotificationService;
+import org.kie.workbench.common.screens.server.management.model.ContainerRuntimeOperation;
+import org.kie.workbench.common.screens.server.management.model.ContainerUpdateEvent;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.commons.async.DisposableExecutor;
+import org.uberfire.mocks.EventSourceMock;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KieServerOperationExecutorTest {
+
+    private static final String SLOW_CONTAINER = "slow";
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private KieServicesClient kieServicesClient;
+
+    private ServerTemplate serverTemplate;
+
+    private final CountDownLatch slowServerReleased = new CountDownLatch( 1 );
+
+    private final List<ContainerUpdateEvent> receivedEvents = Collections.synchronizedList( new ArrayList<ContainerUpdateEvent>() );
+
+    // stands for the container managed executor
+    private final ExecutorService managedExecutor = Executors.newCachedThreadPool();
+
+    private boolean managedExecutorRejects = false;
+
+    private final DisposableExecutor managedDisposableExecutor = new DisposableExecutor() {
+        @Override
+        public void execute( Runnable command ) {
+            if ( managedExecutorRejects ) {
+                throw new RejectedExecutionException();
+            }
+            managedExecutor.execute( command );
+        }
+
+        @Override
+        public void dispose() {
+            managedExecutor.shutdownNow();
+        }
+    };
+
+    private KieServerOperationExecutor executor;
+
+    private AsyncKieServerInstanceManager kieServerInstanceManager;
+
+    @Before
+    public void prepare() {
+        serverTemplate = new ServerTemplate();
+        serverTemplate.setId( "template" );
+        serverTemplate.setName( "test server" );
+
+        // the kie server hosting the slow container doesn't answer until it is released
+        when( kieServicesClient.getContainerInfo( anyString() ) ).then( invocation -> {
+            if ( SLOW_CONTAINER.equals( invocation.getArguments()[ 0 ] ) ) {
+                slowServerReleased.await();
+            }
+            return null;
+        } );
+
+        executor = new KieServerOperationExecutor( managedDisposableExecutor, 2, 100, TimeUnit.MINUTES.toMillis( 1 ) );
+
+        kieServerInstanceManager = new AsyncKieServerInstanceManager( notificationService, new EventSourceMock<ContainerUpdateEvent>() {
+            @Override
+            public void fire( ContainerUpdateEvent event ) {
+                receivedEvents.add( event );
+            }
+        } ) {
+            @Override
+            protected List<Container> callRemoteKieServerOperation( ServerTemplate serverTemplate,
+                                                                    ContainerSpec containerSpec,
+                                                                    RemoteKieServerOperation operation ) {
+                kieServicesClient.getContainerInfo( containerSpec.getId() );
+                return new ArrayList<Container>();
+            }
+        };
+        kieServerInstanceManager.setExecutor( executor );
+    }
+
+    @After
+    public void cleanup() {
+        slowServerReleased.countDown();
+        executor.dispose();
+        managedDisposableExecutor.dispose();
+    }
+
+    @Test
+    public void testOperationsOnSameContainerRunInOrder() throws Exception {
+        ContainerSpec containerSpec = newContainerSpec( SLOW_CONTAINER );
+
+        kieServerInstanceManager.stopContainer( serverTemplate, containerSpec );
+        kieServerInstanceManager.upgradeContainer( serverTemplate, containerSpec );
+        kieServerInstanceManager.startContainer( serverTemplate, containerSpec );
+        kieServerInstanceManager.scanNow( serverTemplate, containerSpec );
+
+        // only the first operation is running, the others wait for it even if there are idle threads
+        Thread.sleep( 200 );
+        verify( kieServicesClient, times( 1 ) ).getContainerInfo( SLOW_CONTAINER );
+        assertEquals( 3, executor.getPendingCount() );
+
+        slowServerReleased.countDown();
+        waitForEvents( 4 );
+
+        assertOperations( ContainerRuntimeOperation.STOP_CONTAINER,
+                          ContainerRuntimeOperation.UPGRADE_CONTAINER,
+                          ContainerRuntimeOperation.START_CONTAINER,
+                          ContainerRuntimeOperation.SCAN );
+    }
+
+    @Test
+    public void testBlockedContainerDoesNotBlockOthers() throws Exception {
+        ContainerSpec slowContainer = newContainerSpec( SLOW_CONTAINER );
+
+        kieServerInstanceManager.startContainer( serverTemplate, slowContainer );
+        kieServerInstanceManager.stopContainer( serverTemplate, slowContainer );
+
+        for ( int i = 0; i < 10; i++ ) {
+            kieServerInstanceManager.startContainer( serverTemplate, newContainerSpec( "container-" + i ) );
+        }
+
+        waitForEvents( 10 );
+        for ( ContainerUpdateEvent event : receivedEvents ) {
+            assertNotEquals( SLOW_CONTAINER, event.getContainerSpec().getId() );
+        }
+
+        slowServerReleased.countDown();
+        waitForEvents( 12 );
+
+        assertEquals( ContainerRuntimeOperation.START_CONTAINER, receivedEvents.get( 10 ).getContainerRuntimeOperation() );
+        assertEquals( ContainerRuntimeOperation.STOP_CONTAINER, receivedEvents.get( 11 ).getContainerRuntimeOperation() );
+    }
+
+    @Test
+    public void testTooManyPendingOperationsAreRejected() throws Exception {
+        executor.dispose();
+        executor = new KieServerOperationExecutor( managedDisposableExecutor, 1, 2, TimeUnit.MINUTES.toMillis( 1 ) );
+        kieServerInstanceManager.setExecutor( executor );
+
+        ContainerSpec containerSpec = newContainerSpec( SLOW_CONTAINER );
+
+        kieServerInstanceManager.startContainer( serverTemplate, containerSpec );
+        Thread.sleep( 100 );
+        kieServerInstanceManager.stopContainer( serverTemplate, containerSpec );
+        kieServerInstanceManager.startContainer( serverTemplate, containerSpec );
+
+        try {
+            kieServerInstanceManager.stopContainer( serverTemplate, containerSpec );
+            fail( "Operation should have been rejected" );
+        } catch ( RejectedExecutionException e ) {
+            assertEquals( 1, executor.getRejectedCount() );
+        }
+
+        slowServerReleased.countDown();
+        waitForEvents( 3 );
+        assertEquals( 0, executor.getPendingCount() );
+    }
+
+    @Test
+    public void testTimedOutOperationIsInterrupted() throws Exception {
+        executor.dispose();
+        executor = new KieServerOperationExecutor( managedDisposableExecutor, 1, 100, 100 );
+        kieServerInstanceManager.setExecutor( executor );
+
+        CountDownLatch interrupted = new CountDownLatch( 1 );
+        executor.execute( "key", () -> {
+            try {
+                new CountDownLatch( 1 ).await();
+            } catch ( InterruptedException e ) {
+                interrupted.countDown();
+            }
+        } );
+        kieServerInstanceManager.startContainer( serverTemplate, newContainerSpec( "container" ) );
+
+        assertTrue( interrupted.await( 5, TimeUnit.SECONDS ) );
+        waitForEvents( 1 );
+        assertEquals( 1, executor.getTimedOutCount() );
+    }
+
+    @Test
+    public void testDisposeKeepsTheManagedExecutor() throws Exception {
+        executor.dispose();
+
+        try {
+            executor.execute( "key", () -> {
+            } );
+            fail( "Operation should have been rejected" );
+        } catch ( RejectedExecutionException e ) {
+            assertEquals( 1, executor.getRejectedCount() );
+        }
+        assertFalse( managedExecutor.isShutdown() );
+    }
+
+    @Test
+    public void testOperationRejectedByTheManagedExecutorIsDiscarded() throws Exception {
+        ContainerSpec containerSpec = newContainerSpec( "container" );
+
+        managedExecutorRejects = true;
+        try {
+            kieServerInstanceManager.startContainer( serverTemplate, containerSpec );
+            fail( "Operation should have been rejected" );
+        } catch ( RejectedExecutionException e ) {
+            assertEquals( 1, executor.getRejectedCount() );
+            assertEquals( 0, executor.getPendingCount() );
+        }
+
+        // the container queue isn't left scheduled without a worker
+        managedExecutorRejects = false;
+        kieServerInstanceManager.stopContainer( serverTemplate, containerSpec );
+
+        waitForEvents( 1 );
+        assertOperations( ContainerRuntimeOperation.STOP_CONTAINER );
+    }
+
+    private void assertOperations( ContainerRuntimeOperation... operations ) {
+        assertEquals( operations.length, receivedEvents.size() );
+        for ( int i = 0; i < operations.length; i++ ) {
+            assertEquals( operations[ i ], receivedEvents.get( i ).getContainerRuntimeOperation() );
+        }
+    }
+
+    private void waitForEvents( int count ) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis( 10 );
+        while ( receivedEvents.size() < count && System.currentTimeMillis() < deadline ) {
+            Thread.sleep( 10 );
+        }
+        assertEquals( count, receivedEvents.size() );
+    }
+
+    private ContainerSpec newContainerSpec( String id ) {
+        ContainerSpec containerSpec = new ContainerSpec();
+        containerSpec.setId( id );
+        containerSpec.setServerTemplateKey( new ServerTemplateKey( serverTemplate.getId(), serverTemplate.getName() ) );
+        containerSpec.setReleasedId( new ReleaseId( "org.kie", "kie-server-kjar", "1.0" ) );
+        containerSpec.setStatus( KieContainerStatus.STOPPED );
+        containerSpec.setConfigs( new HashMap<Capability, ContainerConfig>() );
+        return containerSpec;
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.server.management.backend.storage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.kie.server.api.model.KieContainerStatus;
+import org.kie.server.api.model.ReleaseId;
+import org.kie.server.controller.api.model.spec.ContainerSpec;
+import org.kie.server.controller.api.model.spec.ServerTemplate;
+import org.kie.server.controller.api.model.spec.ServerTemplateKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.mocks.FileSystemTestingUtils;
+
+import static org.junit.Assert.*;
+
+public class ServerTemplateVFSStorageCacheTest {
+
+    private static final Logger logger = LoggerFactory.getLogger( ServerTemplateVFSStorageCacheTest.class );
+
+    private static final int TEMPLATES = 500;
+
+    private static final int CONTAINERS = 50;
+
+    private static FileSystemTestingUtils fileSystemTestingUtils = new FileSystemTestingUtils();
+
+    private static CountingStorage templateStorage;
+
+    @BeforeClass
+    public static void setup() throws Exception {
+        fileSystemTestingUtils.setup();
+
+        templateStorage = newStorage();
+        for ( int i = 0; i < TEMPLATES; i++ ) {
+            templateStorage.store( newServerTemplate( "template-" + i, "Template " + i ) );
+        }
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        fileSystemTestingUtils.cleanup();
+    }
+
+    @Test
+    public void testLoadKeysUsesIndex() {
+        CountingStorage storage = newStorage();
+
+        long start = System.nanoTime();
+        List<ServerTemplateKey> keys = storage.loadKeys();
+        long indexed = System.nanoTime() - start;
+
+        assertEquals( TEMPLATES, keys.size() );
+        assertEquals( 0, storage.reads.get() );
+
+        start = System.nanoTime();
+        List<ServerTemplate> templates = newStorage().load();
+        long full = System.nanoTime() - start;
+
+        logger.info( "Loaded {} server template keys in {} ms, full templates in {} ms",
+                     TEMPLATES,
+                     TimeUnit.NANOSECONDS.toMillis( indexed ),
+                     TimeUnit.NANOSECONDS.toMillis( full ) );
+
+        assertKeys( templates, keys );
+    }
+
+    @Test
+    public void testLoadKeysRebuildsIndex() {
+        fileSystemTestingUtils.getIoService().deleteIfExists( templateStorage.buildIndexPath() );
+
+        CountingStorage storage = newStorage();
+        assertEquals( TEMPLATES, storage.loadKeys().size() );
+        assertEquals( TEMPLATES, storage.reads.get() );
+        assertTrue( fileSystemTestingUtils.getIoService().exists( templateStorage.buildIndexPath() ) );
+
+        storage = newStorage();
+        assertEquals( TEMPLATES, storage.loadKeys().size() );
+        assertEquals( 0, storage.reads.get() );
+    }
+
+    @Test
+    public void testLoadIsServedFromCache() {
+        templateStorage.reads.set( 0 );
+
+        for ( int i = 0; i < TEMPLATES; i++ ) {
+            assertTrue( templateStorage.exists( "template-" + i ) );
+            ServerTemplate template = templateStorage.load( "template-" + i );
+            assertEquals( CONTAINERS, template.getContainersSpec().size() );
+        }
+
+        assertEquals( 0, templateStorage.reads.get() );
+
+        // returned templates are not shared
+        ServerTemplate template = templateStorage.load( "template-0" );
+        template.getContainersSpec().clear();
+        assertEquals( CONTAINERS, templateStorage.load( "template-0" ).getContainersSpec().size() );
+    }
+
+    @Test
+    public void testStoreAndDeleteUpdateIndex() {
+        templateStorage.store( newServerTemplate( "extra", "Extra template" ) );
+
+        List<ServerTemplateKey> keys = newStorage().loadKeys();
+        assertEquals( TEMPLATES + 1, keys.size() );
+
+        ServerTemplate deleted = templateStorage.delete( "extra" );
+        assertNotNull( deleted );
+        assertEquals( "Extra template", deleted.getName() );
+        assertFalse( templateStorage.exists( "extra" ) );
+        assertNull( templateStorage.load( "extra" ) );
+
+        CountingStorage storage = newStorage();
+        assertEquals( TEMPLATES, storage.loadKeys().size() );
+        assertEquals( 0, storage.reads.get() );
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        final int threads = 8;
+        final int updates = 100;
+
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for ( int t = 0; t < threads; t++ ) {
+                final int thread = t;
+                results.add( executor.submit( () -> {
+                    for ( int i = thread; i < updates; i += threads ) {
+                        ServerTemplate template = templateStorage.load( "template-" + i );
+                        template.setName( "Updated " + i );
+                        template.addContainerSpec( newContainerSpec( template, "added-" + i ) );
+                        templateStorage.update( template );
+                        templateStorage.loadKeys();
+                    }
+                } ) );
+            }
+            for ( Future<?> result : results ) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // the cached and indexed versions must match what is stored on VFS
+        CountingStorage storage = newStorage();
+        for ( int i = 0; i < updates; i++ ) {
+            ServerTemplate cached = templateStorage.load( "template-" + i );
+            ServerTemplate stored = storage.readServerTemplate( storage.buildPath( "template-" + i ) );
+
+            assertEquals( "Updated " + i, cached.getName() );
+            assertEquals( stored.getName(), cached.getName() );
+            assertEquals( CONTAINERS + 1, stored.getContainersSpec().size() );
+            assertEquals( stored.getContainersSpec().size(), cached.getContainersSpec().size() );
+        }
+
+        assertKeys( storage.load(), templateStorage.loadKeys() );
+        assertKeys( storage.load(), newStorage().loadKeys() );
+    }
+
+    private static void assertKeys( List<ServerTemplate> templates,
+                                    List<ServerTemplateKey> keys ) {
+        Map<String, String> names = new HashMap<>();
+        for ( ServerTemplate template : templates ) {
+            names.put( template.getId(), template.getName() );
+        }
+        assertEquals( names.size(), keys.size() );
+        for ( ServerTemplateKey key : keys ) {
+            assertTrue( names.containsKey( key.getId() ) );
+            assertEquals( names.get( key.getId() ), key.getName() );
+        }
+    }
+
+    private static CountingStorage newStorage() {
+        return new CountingStorage();
+    }
+
+    private static ServerTemplate newServerTemplate( String id,
+                                                     String name ) {
+        ServerTemplate serverTemplate = new ServerTemplate();
+        serverTemplate.setId( id );
+        serverTemplate.setName( name );
+
+        for ( int i = 0; i < CONTAINERS; i++ ) {
+            serverTemplate.addContainerSpec( newContainerSpec( serverTemplate, "container-" + i ) );
+        }
+        return serverTemplate;
+    }
+
+    private static ContainerSpec newContainerSpec( ServerTemplate serverTemplate,
+                                                   String id ) {
+        ContainerSpec containerSpec = new ContainerSpec();
+        containerSpec.setId( id );
+        containerSpec.setServerTemplateKey( new ServerTemplateKey( serverTemplate.getId(), serverTemplate.getName() ) );
+        containerSpec.setReleasedId( new ReleaseId( "org.kie", "kie-server-kjar-" + id, "1.0" ) );
+        containerSpec.setStatus( KieContainerStatus.STARTED );
+        return containerSpec;
+    }
+
+    private static class CountingStorage extends ServerTemplateVFSStorage {
+
+        private final AtomicInteger reads = new AtomicInteger();
+
+        CountingStorage() {
+            super( fileSystemTestingUtils.getIoService(), fileSystemTestingUtils.getFileSystem() );
+        }
+
+        @Override
+        protected ServerTemplate readServerTemplate( Path registeredServer ) {
+            reads.incrementAndGet();
+            return super.readServerTemplate( registeredServer );
+        }
+    }
+}
@@ -17,24 +17,47 @@ package org.kie.workbench.common.screens.social.hp.security;
 
 import org.guvnor.common.services.project.social.ProjectEventType;
 import org.guvnor.structure.backend.repositories.ConfiguredRepositories;
-import org.guvnor.structure.backend.repositories.RepositoryServiceImpl;
+import org.guvnor.structure.config.SystemRepositoryChangedEvent;
+import org.guvnor.structure.organizationalunit.NewOrganizationalUnitEvent;
 import org.guvnor.structure.organizationalunit.OrganizationalUnit;
 import org.guvnor.structure.organizationalunit.OrganizationalUnitService;
+import org.guvnor.structure.organizationalunit.RemoveOrganizationalUnitEvent;
+import org.guvnor.structure.organizationalunit.RepoAddedToOrganizationalUnitEvent;
+import org.guvnor.structure.organizationalunit.RepoRemovedFromOrganizationalUnitEvent;
+import org.guvnor.structure.repositories.NewRepositoryEvent;
 import org.guvnor.structure.repositories.Repository;
+import org.guvnor.structure.repositories.RepositoryRemovedEvent;
+import org.jboss.errai.security.shared.api.Group;
+import org.jboss.errai.security.shared.api.Role;
+import org.jboss.errai.security.shared.api.identity.User;
 import org.kie.uberfire.social.activities.model.SocialActivitiesEvent;
 import org.kie.uberfire.social.activities.service.SocialSecurityConstraint;
+import org.kie.workbench.common.services.shared.vfs.FileSystemURI;
+import org.uberfire.backend.events.AuthorizationPolicySavedEvent;
 import org.uberfire.java.nio.file.FileSystem;
 import org.uberfire.java.nio.file.Path;
 import org.uberfire.java.nio.file.Paths;
 import org.uberfire.security.authz.AuthorizationManager;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
-
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A Social Events Constraint to restrict access to Social Events relating to Repositories the User is not authorized
+ * to access. The authorized repositories are computed once per User, roles and groups and kept until a repository,
+ * organizational unit or authorization policy change.
+ */
 @ApplicationScoped
 public class SocialEventRepositoryConstraint implements SocialSecurityConstraint {
 
@@ -46,7 +69,9 @@ public class SocialEventRepositoryConstraint implements SocialSecurityConstraint
 
     protected AuthorizationManager authorizationManager;
 
-    protected Set<Repository> authorizedRepos = new HashSet<Repository>();
+    protected ConcurrentMap<String, Set<Repository>> authorizedReposByUser = new ConcurrentHashMap<String, Set<Repository>>();
+
+    private volatile Map<String, Repository> repositoriesByFileSystem;
 
     public SocialEventRepositoryConstraint() {
         //Zero argument constructor for CDI proxies
@@ -67,7 +92,7 @@ public class SocialEventRepositoryConstraint implements SocialSecurityConstraint
     @Override
     public void init() {
         if ( userCDIContextHelper.thereIsALoggedUserInScope() ) {
-            authorizedRepos = getAuthorizedRepositories();
+            getUserAuthorizedRepositories();
         }
     }
 
@@ -78,7 +103,7 @@ public class SocialEventRepositoryConstraint implements SocialSecurityConstraint
 
         if ( event.isVFSLink() || isAProjectEvent( event ) ) {
             Repository repository = getEventRepository( event );
-            final boolean userHasAccessToRepo = authorizedRepos.contains( repository );
+            final boolean userHasAccessToRepo = getUserAuthorizedRepositories().contains( repository );
             return !userHasAccessToRepo;
         } else {
             return false;
@@ -86,11 +111,115 @@ public class SocialEventRepositoryConstraint implements SocialSecurityConstraint
     }
 
     Repository getEventRepository( SocialActivitiesEvent event ) {
+        final String fileSystemName = FileSystemURI.getFileSystemName( event.getLinkTarget() );
+        if ( fileSystemName != null ) {
+            final Repository repository = getRepositoriesByFileSystem().get( fileSystemName );
+            if ( repository != null ) {
+                return repository;
+            }
+        }
         final Path path = Paths.get( event.getLinkTarget() );
         final FileSystem fileSystem = path.getFileSystem();
         return configuredRepositories.getRepositoryByRepositoryFileSystem( fileSystem );
     }
 
+    private Map<String, Repository> getRepositoriesByFileSystem() {
+        Map<String, Repository> repositories = repositoriesByFileSystem;
+        if ( repositories == null ) {
+            repositories = new HashMap<String, Repository>();
+            for ( OrganizationalUnit ou : organizationalUnitService.getOrganizationalUnits() ) {
+                for ( Repository repository : ou.getRepositories() ) {
+                    final String fileSystemName = FileSystemURI.getFileSystemName( repository.getRoot() );
+                    repositories.put( fileSystemName != null ? fileSystemName : repository.getAlias(),
+                                      repository );
+                }
+            }
+            repositoriesByFileSystem = repositories;
+        }
+        return repositories;
+    }
+
+    /**
+     * Returns the repositories the logged user is authorized to access, computing them only the first time for the
+     * same user, roles and groups.
+     */
+    Set<Repository> getUserAuthorizedRepositories() {
+        if ( !userCDIContextHelper.thereIsALoggedUserInScope() ) {
+            return Collections.emptySet();
+        }
+        final User user = userCDIContextHelper.getUser();
+        if ( user.getIdentifier() == null ) {
+            return getAuthorizedRepositories();
+        }
+        final String key = getCacheKey( user );
+        final Set<Repository> repositories = authorizedReposByUser.get( key );
+        if ( repositories != null ) {
+            return repositories;
+        }
+        // computed while holding the lock so a concurrent invalidation can't be overwritten by a stale result
+        synchronized ( this ) {
+            return authorizedReposByUser.computeIfAbsent( key,
+                                                          k -> Collections.unmodifiableSet( getAuthorizedRepositories() ) );
+        }
+    }
+
+    /**
+     * The authorizations depend on the user roles and groups as well, which may change between sessions of the same
+     * user.
+     */
+    String getCacheKey( final User user ) {
+        final Set<String> roles = new TreeSet<String>();
+        if ( user.getRoles() != null ) {
+            for ( Role role : user.getRoles() ) {
+                roles.add( role.getName() );
+            }
+        }
+        final Set<String> groups = new TreeSet<String>();
+        if ( user.getGroups() != null ) {
+            for ( Group group : user.getGroups() ) {
+                groups.add( group.getName() );
+            }
+        }
+        return user.getIdentifier() + "|" + roles + "|" + groups;
+    }
+
+    public synchronized void invalidate() {
+        authorizedReposByUser.clear();
+        repositoriesByFileSystem = null;
+    }
+
+    public void onNewRepository( @Observes final NewRepositoryEvent event ) {
+        invalidate();
+    }
+
+    public void onRepositoryRemoved( @Observes final RepositoryRemovedEvent event ) {
+        invalidate();
+    }
+
+    public void onRepoAddedToOrganizationalUnit( @Observes final RepoAddedToOrganizationalUnitEvent event ) {
+        invalidate();
+    }
+
+    public void onRepoRemovedFromOrganizationalUnit( @Observes final RepoRemovedFromOrganizationalUnitEvent event ) {
+        invalidate();
+    }
+
+    public void onNewOrganizationalUnit( @Observes final NewOrganizationalUnitEvent event ) {
+        invalidate();
+    }
+
+    public void onOrganizationalUnitRemoved( @Observes final RemoveOrganizationalUnitEvent event ) {
+        invalidate();
+    }
+
+    public void onSystemRepositoryChanged( @Observes final SystemRepositoryChangedEvent event ) {
+        invalidate();
+    }
+
+    public void onAuthorizationPolicySaved( @Observes final AuthorizationPolicySavedEvent event ) {
+        invalidate();
+    }
+
     private boolean isAProjectEvent( SocialActivitiesEvent event ) {
         return event.getLinkType().equals( SocialActivitiesEvent.LINK_TYPE.CUSTOM )
                 && event.getType().equals( ProjectEventType.NEW_PROJECT.name() );
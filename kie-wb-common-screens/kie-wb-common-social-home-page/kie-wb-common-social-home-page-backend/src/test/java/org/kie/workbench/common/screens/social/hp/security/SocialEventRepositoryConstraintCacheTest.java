@@ -0,0 +1,206 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.screens.social.hp.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.guvnor.structure.backend.repositories.ConfiguredRepositories;
+import org.guvnor.structure.organizationalunit.OrganizationalUnit;
+import org.guvnor.structure.organizationalunit.OrganizationalUnitService;
+import org.guvnor.structure.repositories.NewRepositoryEvent;
+import org.guvnor.structure.repositories.Repository;
+import org.guvnor.structure.repositories.impl.git.GitRepository;
+import org.jboss.errai.security.shared.api.GroupImpl;
+import org.jboss.errai.security.shared.api.RoleImpl;
+import org.jboss.errai.security.shared.api.identity.User;
+import org.jboss.errai.security.shared.api.identity.UserImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.uberfire.social.activities.model.SocialActivitiesEvent;
+import org.kie.uberfire.social.activities.model.SocialUser;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.security.Resource;
+import org.uberfire.security.authz.AuthorizationManager;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith( MockitoJUnitRunner.class )
+public class SocialEventRepositoryConstraintCacheTest {
+
+    private static final int OUS = 10;
+    private static final int REPOSITORIES_PER_OU = 30;
+    private static final int EVENTS = 5000;
+
+    @Mock
+    private OrganizationalUnitService organizationalUnitService;
+
+    @Mock
+    private AuthorizationManager authorizationManager;
+
+    @Mock
+    private UserCDIContextHelper userCDIContextHelper;
+
+    @Mock
+    private ConfiguredRepositories configuredRepositories;
+
+    private User user = new UserImpl( "bento" );
+
+    private List<SocialActivitiesEvent> events = new ArrayList<SocialActivitiesEvent>();
+
+    private SocialEventRepositoryConstraint constraint;
+
+    @Before
+    public void setUp() {
+        final Collection<OrganizationalUnit> ous = new ArrayList<OrganizationalUnit>();
+        for ( int i = 0; i < OUS; i++ ) {
+            final OrganizationalUnit ou = mock( OrganizationalUnit.class );
+            final Collection<Repository> repositories = new ArrayList<Repository>();
+            for ( int j = 0; j < REPOSITORIES_PER_OU; j++ ) {
+                repositories.add( new GitRepository( "repo" + ( i * REPOSITORIES_PER_OU + j ) ) );
+            }
+            when( ou.getName() ).thenReturn( "ou" + i );
+            when( ou.getRepositories() ).thenReturn( repositories );
+            ous.add( ou );
+        }
+        when( organizationalUnitService.getOrganizationalUnits() ).thenReturn( ous );
+
+        // the user can access every organizational unit but only the even repositories
+        when( authorizationManager.authorize( any( Resource.class ), any( User.class ) ) ).then( invocation -> {
+            final Object resource = invocation.getArguments()[ 0 ];
+            if ( resource instanceof Repository ) {
+                return Integer.parseInt( ( (Repository) resource ).getAlias().substring( 4 ) ) % 2 == 0;
+            }
+            return true;
+        } );
+
+        when( userCDIContextHelper.getUser() ).thenReturn( user );
+        when( userCDIContextHelper.thereIsALoggedUserInScope() ).thenReturn( true );
+
+        final SocialUser socialUser = new SocialUser( "dora" );
+        final int repositories = OUS * REPOSITORIES_PER_OU;
+        for ( int i = 0; i < EVENTS; i++ ) {
+            final String target = "default://master@repo" + ( i % repositories ) + "/src/main/resources/file" + i + ".drl";
+            events.add( new SocialActivitiesEvent( socialUser, "type", new Date() )
+                                .withLink( "file" + i, target, SocialActivitiesEvent.LINK_TYPE.VFS ) );
+        }
+
+        constraint = new SocialEventRepositoryConstraint( organizationalUnitService,
+                                                          authorizationManager,
+                                                          configuredRepositories,
+                                                          userCDIContextHelper );
+    }
+
+    @Test
+    public void testAuthorizationIsComputedOncePerUser() {
+        assertEquals( EVENTS / 2, renderTimeline() );
+        verify( authorizationManager, times( OUS + OUS * REPOSITORIES_PER_OU ) ).authorize( any( Resource.class ), eq( user ) );
+
+        assertEquals( EVENTS / 2, renderTimeline() );
+        verify( authorizationManager, times( OUS + OUS * REPOSITORIES_PER_OU ) ).authorize( any( Resource.class ), eq( user ) );
+
+        // event repositories are resolved by their file system name
+        verifyZeroInteractions( configuredRepositories );
+    }
+
+    @Test
+    public void testAuthorizationIsComputedForEachUser() {
+        renderTimeline();
+
+        final User other = new UserImpl( "other" );
+        when( userCDIContextHelper.getUser() ).thenReturn( other );
+
+        renderTimeline();
+        renderTimeline();
+
+        verify( authorizationManager, times( OUS + OUS * REPOSITORIES_PER_OU ) ).authorize( any( Resource.class ), eq( user ) );
+        verify( authorizationManager, times( OUS + OUS * REPOSITORIES_PER_OU ) ).authorize( any( Resource.class ), eq( other ) );
+    }
+
+    @Test
+    public void testAuthorizationIsComputedForEachRolesAndGroups() {
+        final User admin = new UserImpl( "bento",
+                                         Collections.singletonList( new RoleImpl( "admin" ) ) );
+        final User analyst = new UserImpl( "bento",
+                                           Collections.singletonList( new RoleImpl( "admin" ) ),
+                                           Collections.singletonList( new GroupImpl( "analysts" ) ) );
+
+        renderTimeline();
+        when( userCDIContextHelper.getUser() ).thenReturn( admin );
+        renderTimeline();
+        renderTimeline();
+        when( userCDIContextHelper.getUser() ).thenReturn( analyst );
+        renderTimeline();
+
+        verify( authorizationManager, times( OUS + OUS * REPOSITORIES_PER_OU ) ).authorize( any( Resource.class ), same( user ) );
+        verify( authorizationManager, times( OUS + OUS * REPOSITORIES_PER_OU ) ).authorize( any( Resource.class ), same( admin ) );
+        verify( authorizationManager, times( OUS + OUS * REPOSITORIES_PER_OU ) ).authorize( any( Resource.class ), same( analyst ) );
+    }
+
+    @Test
+    public void testNoLoggedUser() {
+        when( userCDIContextHelper.thereIsALoggedUserInScope() ).thenReturn( false );
+        when( userCDIContextHelper.getUser() ).thenThrow( new IllegalStateException( "No active request context" ) );
+
+        assertEquals( 0, renderTimeline() );
+        assertTrue( constraint.getUserAuthorizedRepositories().isEmpty() );
+        verifyZeroInteractions( authorizationManager );
+    }
+
+    @Test
+    public void testRepositoryChangesInvalidateAuthorizations() {
+        renderTimeline();
+
+        constraint.onNewRepository( new NewRepositoryEvent( new GitRepository( "new" ) ) );
+
+        renderTimeline();
+
+        verify( authorizationManager, times( 2 * ( OUS + OUS * REPOSITORIES_PER_OU ) ) ).authorize( any( Resource.class ), eq( user ) );
+    }
+
+    @Test
+    public void testFileSystemName() {
+        final SocialUser socialUser = new SocialUser( "dora" );
+
+        final Repository branchRepository = constraint.getEventRepository( new SocialActivitiesEvent( socialUser, "type", new Date() )
+                                                                                   .withLink( "file.drl", "default://master@repo7/src/file.drl", SocialActivitiesEvent.LINK_TYPE.VFS ) );
+        assertEquals( "repo7", branchRepository.getAlias() );
+
+        final Repository rootRepository = constraint.getEventRepository( new SocialActivitiesEvent( socialUser, "type", new Date() )
+                                                                                 .withLink( "repo8", "git://repo8", SocialActivitiesEvent.LINK_TYPE.VFS ) );
+        assertEquals( "repo8", rootRepository.getAlias() );
+
+        // both are resolved from the file system name, without looking the file system up
+        verifyZeroInteractions( configuredRepositories );
+    }
+
+    private int renderTimeline() {
+        constraint.init();
+        int restricted = 0;
+        for ( SocialActivitiesEvent event : events ) {
+            if ( constraint.hasRestrictions( event ) ) {
+                restricted++;
+            }
+        }
+        return restricted;
+    }
+}
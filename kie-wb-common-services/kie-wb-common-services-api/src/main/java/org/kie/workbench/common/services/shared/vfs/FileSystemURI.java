@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.shared.vfs;
+
+import org.uberfire.backend.vfs.Path;
+
+/**
+ * Reads the file system name (the repository alias) and the branch from VFS URIs like
+ * <code>default://master@repository/some/path</code>, without resolving the URI against the file systems.
+ */
+public final class FileSystemURI {
+
+    private FileSystemURI() {
+    }
+
+    /**
+     * @return The file system name, <code>repository</code> for <code>default://master@repository/some/path</code>
+     * or <code>git://repository</code>, or null if the URI has no scheme or file system name
+     */
+    public static String getFileSystemName( final String uri ) {
+        final String authority = getAuthority( uri );
+        if ( authority == null ) {
+            return null;
+        }
+        final int at = authority.indexOf( '@' );
+        final String name = at >= 0 ? authority.substring( at + 1 ) : authority;
+        return name.isEmpty() ? null : name;
+    }
+
+    public static String getFileSystemName( final Path path ) {
+        return path == null ? null : getFileSystemName( path.toURI() );
+    }
+
+    /**
+     * @return The branch, <code>master</code> for <code>default://master@repository/some/path</code>, or null if the
+     * URI does not name a branch
+     */
+    public static String getBranch( final String uri ) {
+        final String authority = getAuthority( uri );
+        if ( authority == null ) {
+            return null;
+        }
+        final int at = authority.indexOf( '@' );
+        return at > 0 ? authority.substring( 0, at ) : null;
+    }
+
+    public static String getBranch( final Path path ) {
+        return path == null ? null : getBranch( path.toURI() );
+    }
+
+    private static String getAuthority( final String uri ) {
+        if ( uri == null ) {
+            return null;
+        }
+        final int schemeEnd = uri.indexOf( "://" );
+        if ( schemeEnd < 0 ) {
+            return null;
+        }
+        final String authority = uri.substring( schemeEnd + 3 );
+        final int slash = authority.indexOf( '/' );
+        return slash >= 0 ? authority.substring( 0, slash ) : authority;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.shared.vfs;
+
+import org.junit.Test;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+
+import static org.junit.Assert.*;
+
+public class FileSystemURITest {
+
+    @Test
+    public void testFileSystemName() {
+        assertEquals( "repo",
+                      FileSystemURI.getFileSystemName( "default://master@repo/src/file.drl" ) );
+        assertEquals( "repo",
+                      FileSystemURI.getFileSystemName( "default://master@repo" ) );
+        assertEquals( "repo",
+                      FileSystemURI.getFileSystemName( "git://repo" ) );
+        assertEquals( "repo",
+                      FileSystemURI.getFileSystemName( "git://repo/" ) );
+        assertNull( FileSystemURI.getFileSystemName( "default://master@/file.drl" ) );
+        assertNull( FileSystemURI.getFileSystemName( "repo" ) );
+        assertNull( FileSystemURI.getFileSystemName( ( String ) null ) );
+    }
+
+    @Test
+    public void testBranch() {
+        assertEquals( "master",
+                      FileSystemURI.getBranch( "default://master@repo/src/file.drl" ) );
+        assertEquals( "dev",
+                      FileSystemURI.getBranch( "default://dev@repo" ) );
+        assertNull( FileSystemURI.getBranch( "git://repo" ) );
+        assertNull( FileSystemURI.getBranch( "default://@repo/file.drl" ) );
+        assertNull( FileSystemURI.getBranch( "default://repo/dir@file.drl" ) );
+        assertNull( FileSystemURI.getBranch( "repo" ) );
+        assertNull( FileSystemURI.getBranch( ( String ) null ) );
+    }
+
+    @Test
+    public void testPath() {
+        final Path path = PathFactory.newPath( "file.drl",
+                                               "default://dev@repo/src/file.drl" );
+
+        assertEquals( "repo",
+                      FileSystemURI.getFileSystemName( path ) );
+        assertEquals( "dev",
+                      FileSystemURI.getBranch( path ) );
+        assertNull( FileSystemURI.getFileSystemName( ( Path ) null ) );
+        assertNull( FileSystemURI.getBranch( ( Path ) null ) );
+    }
+}
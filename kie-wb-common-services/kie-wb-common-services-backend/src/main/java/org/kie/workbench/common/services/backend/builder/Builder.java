@@ -117,6 +117,9 @@ public class Builder implements Serializable {
 
     private final Predicate<String> classFilter;
 
+    //Unmodified copy of the KieFileSystem shared by the copy-on-write clones, discarded when a resource changes
+    private transient KieFileSystemImpl snapshot;
+
     public Builder( final Project project,
                     final IOService ioService,
                     final KieProjectService projectService,
@@ -188,6 +191,56 @@ public class Builder implements Serializable {
                             kieFileSystemClone );
     }
 
+    /**
+     * Creates a Builder with the current state of this one that keeps its own changes in a copy-on-write
+     * KieFileSystem. Unlike {@link #clone()} the project is not read again and the resources are not copied, the
+     * clone reads through to a snapshot of this Builder's resources that is taken once for all the clones until
+     * one of its resources changes.
+     */
+    public Builder copyOnWriteClone() {
+        synchronized ( kieFileSystem ) {
+            final KieFileSystem kieFileSystemOverlay = new KieFileSystemImpl( new OverlayMemoryFileSystem( snapshot().getMfs() ) );
+            final KieBuilderImpl kieBuilder = kieBuilderClone( kieFileSystemOverlay );
+
+            return new Builder( this,
+                                kieBuilder,
+                                kieFileSystemOverlay );
+        }
+    }
+
+    private Builder( final Builder builder,
+                     final KieBuilder kieBuilder,
+                     final KieFileSystem kieFileSystem ) {
+        this.project = builder.project;
+        this.ioService = builder.ioService;
+        this.projectService = builder.projectService;
+        this.importsService = builder.importsService;
+        this.buildValidationHelpers = builder.buildValidationHelpers;
+        this.packageNameWhiteListService = builder.packageNameWhiteListService;
+        this.classFilter = builder.classFilter;
+
+        this.projectGAV = builder.projectGAV;
+        this.projectRoot = builder.projectRoot;
+        this.projectPrefix = builder.projectPrefix;
+        this.kieServices = builder.kieServices;
+        this.kieBuilder = kieBuilder;
+        this.kieFileSystem = kieFileSystem;
+        this.dependenciesClassLoaderCache = builder.dependenciesClassLoaderCache;
+        this.pomModelCache = builder.pomModelCache;
+
+        this.handles.putAll( builder.handles );
+        this.javaResources.addAll( builder.javaResources );
+        this.nonKieResourceValidationHelpers.putAll( builder.nonKieResourceValidationHelpers );
+        this.nonKieResourceValidationHelperMessages.putAll( builder.nonKieResourceValidationHelperMessages );
+    }
+
+    private KieFileSystemImpl snapshot() {
+        if ( snapshot == null ) {
+            snapshot = ( (KieFileSystemImpl) kieFileSystem ).clone();
+        }
+        return snapshot;
+    }
+
     private KieFileSystem kieFileSystemClone() {
         return ( (KieFileSystemImpl) this.kieFileSystem ).clone();
     }
@@ -285,7 +338,7 @@ public class Builder implements Serializable {
             final String destinationPath = destinationPath( resource );
             final Resource inputStreamResource = KieServices.Factory.get().getResources().newInputStreamResource( new BufferedInputStream( inputStream ) );
 
-            kieFileSystem.write( destinationPath, inputStreamResource );
+            writeToKieFileSystem( destinationPath, inputStreamResource );
 
             return build();
         }
@@ -347,7 +400,7 @@ public class Builder implements Serializable {
     }
 
     private void removeResource( final Path resource ) {
-        kieFileSystem.delete( destinationPath( resource ) );
+        deleteFromKieFileSystem( destinationPath( resource ) );
         removeJavaClass( resource );
     }
 
@@ -391,11 +444,22 @@ public class Builder implements Serializable {
         final String destinationPath = destinationPath( path );
         final Resource inputStreamResource = KieServices.Factory.get().getResources().newInputStreamResource( new BufferedInputStream( inputStream ) );
 
-        kieFileSystem.write( destinationPath, inputStreamResource );
+        writeToKieFileSystem( destinationPath, inputStreamResource );
         handles.put( getBaseFileName( destinationPath ), Paths.convert( path ) );
         addJavaClass( path );
     }
 
+    private void writeToKieFileSystem( final String destinationPath,
+                                       final Resource resource ) {
+        kieFileSystem.write( destinationPath, resource );
+        snapshot = null;
+    }
+
+    private void deleteFromKieFileSystem( final String destinationPath ) {
+        kieFileSystem.delete( destinationPath );
+        snapshot = null;
+    }
+
     private String destinationPath( final Path resource ) {
         return resource.toUri().toString().substring( projectPrefix.length() + 1 );
     }
@@ -492,7 +556,7 @@ public class Builder implements Serializable {
         }
 
         //The file has already been deleted so we can't check if the Path is a file or folder :(
-        kieFileSystem.delete( destinationPath );
+        deleteFromKieFileSystem( destinationPath );
         removeJavaClass( resource );
     }
 
@@ -526,8 +590,8 @@ public class Builder implements Serializable {
         //Add new resource
         final InputStream is = ioService.newInputStream( resource );
         final BufferedInputStream bis = new BufferedInputStream( is );
-        kieFileSystem.write( destinationPath,
-                             KieServices.Factory.get().getResources().newInputStreamResource( bis ) );
+        writeToKieFileSystem( destinationPath,
+                              KieServices.Factory.get().getResources().newInputStreamResource( bis ) );
         addJavaClass( resource );
         handles.put( getBaseFileName( destinationPath ),
                      Paths.convert( resource ) );
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
+
+/**
+ * A {@link MemoryFileSystem} that reads through to a base file system and keeps only its own changes. Files written to
+ * the overlay are stored in it, files removed from it are hidden, everything else is read from the base.
+ * <p>
+ * The base file system is never modified, so it must not change while the overlay is in use: {@link Builder} only
+ * creates overlays on top of a snapshot that is discarded, rather than updated, when its own resources change.
+ * Only the file level operations used to build a KieModule are overlaid, the folder view inherited from
+ * {@link MemoryFileSystem} is empty.
+ */
+class OverlayMemoryFileSystem extends MemoryFileSystem {
+
+    private final MemoryFileSystem base;
+
+    private final Map<String, byte[]> written = new HashMap<String, byte[]>();
+
+    private final Set<String> removed = new HashSet<String>();
+
+    private Set<String> modifiedSinceLastMark;
+
+    OverlayMemoryFileSystem( final MemoryFileSystem base ) {
+        this.base = base;
+    }
+
+    @Override
+    public boolean existsFile( final String path ) {
+        if ( written.containsKey( path ) ) {
+            return true;
+        }
+        return !removed.contains( path ) && base.isAvailable( path );
+    }
+
+    @Override
+    public boolean isAvailable( final String pResourceName ) {
+        return existsFile( pResourceName );
+    }
+
+    @Override
+    public byte[] getBytes( final String pResourceName ) {
+        final byte[] bytes = written.get( pResourceName );
+        if ( bytes != null ) {
+            return bytes;
+        }
+        return removed.contains( pResourceName ) ? null : base.getBytes( pResourceName );
+    }
+
+    @Override
+    public byte[] read( final String pResourceName ) {
+        return getBytes( pResourceName );
+    }
+
+    @Override
+    public void write( final String pResourceName,
+                       final byte[] pResourceData ) {
+        write( pResourceName,
+               pResourceData,
+               false );
+    }
+
+    @Override
+    public void write( final String pResourceName,
+                       final byte[] pResourceData,
+                       final boolean createFolder ) {
+        removed.remove( pResourceName );
+        written.put( pResourceName,
+                     pResourceData );
+        modified( pResourceName );
+    }
+
+    @Override
+    public void remove( final String pResourceName ) {
+        written.remove( pResourceName );
+        if ( base.isAvailable( pResourceName ) ) {
+            removed.add( pResourceName );
+        }
+        modified( pResourceName );
+    }
+
+    @Override
+    public Collection<String> getFileNames() {
+        final Set<String> fileNames = new LinkedHashSet<String>();
+        for ( String fileName : base.getFileNames() ) {
+            if ( !removed.contains( fileName ) ) {
+                fileNames.add( fileName );
+            }
+        }
+        fileNames.addAll( written.keySet() );
+        return fileNames;
+    }
+
+    @Override
+    public void mark() {
+        modifiedSinceLastMark = new HashSet<String>();
+    }
+
+    @Override
+    public Collection<String> getModifiedResourcesSinceLastMark() {
+        return modifiedSinceLastMark;
+    }
+
+    /**
+     * Copies the overlaid content into a plain {@link MemoryFileSystem}.
+     */
+    @Override
+    public MemoryFileSystem clone() {
+        final MemoryFileSystem clone = new MemoryFileSystem();
+        for ( String fileName : getFileNames() ) {
+            clone.write( fileName,
+                         getBytes( fileName ),
+                         true );
+        }
+        return clone;
+    }
+
+    private void modified( final String pResourceName ) {
+        if ( modifiedSinceLastMark != null ) {
+            modifiedSinceLastMark.add( pResourceName );
+        }
+    }
+}
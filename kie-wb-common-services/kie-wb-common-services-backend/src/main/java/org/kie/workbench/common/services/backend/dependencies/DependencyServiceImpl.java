@@ -18,10 +18,19 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import javax.enterprise.context.ApplicationScoped;
@@ -37,6 +46,7 @@ import org.kie.workbench.common.services.shared.dependencies.DependencyService;
 import org.kie.workbench.common.services.shared.dependencies.EnhancedDependencies;
 import org.kie.workbench.common.services.shared.dependencies.NormalEnhancedDependency;
 import org.kie.workbench.common.services.shared.dependencies.TransitiveEnhancedDependency;
+import org.uberfire.commons.async.SimpleAsyncExecutorService;
 
 import static org.kie.workbench.common.services.backend.dependencies.DependencyTestUtils.*;
 
@@ -45,6 +55,19 @@ import static org.kie.workbench.common.services.backend.dependencies.DependencyT
 public class DependencyServiceImpl
         implements DependencyService {
 
+    private static final int MAX_SCANNER_THREADS = 4;
+
+    //Package names of the scanned jars, keyed by absolute file path. The least recently used jars are discarded first
+    private final Map<String, JarPackageNames> jarPackageNames =
+            Collections.synchronizedMap( new LinkedHashMap<String, JarPackageNames>( 16,
+                                                                                     0.75f,
+                                                                                     true ) {
+                @Override
+                protected boolean removeEldestEntry( final Map.Entry<String, JarPackageNames> eldest ) {
+                    return size() > getMaxCachedJars();
+                }
+            } );
+
     public DependencyServiceImpl() {
     }
 
@@ -69,7 +92,7 @@ public class DependencyServiceImpl
         final Artifact artifact = getMavenRepository().resolveArtifact( gav.toString() );
 
         if ( artifact != null ) {
-            return stripPackageNamesFromJar( artifact.getFile() );
+            return getPackageNames( artifact.getFile() );
         } else {
             return new HashSet<>();
         }
@@ -77,28 +100,171 @@ public class DependencyServiceImpl
 
     @Override
     public EnhancedDependencies loadEnhancedDependencies( final Collection<Dependency> dependencies) {
-        EnhancedDependencies result = new EnhancedDependencies();
+        //Transitive dependencies shared by several dependencies are resolved and scanned only once
+        final Map<String, Collection<Dependency>> transitiveDependencies = new LinkedHashMap<String, Collection<Dependency>>();
+        final Map<String, File> artifactFiles = new HashMap<String, File>();
 
         for ( final Dependency dependency : dependencies ) {
-            result.add( getEnhancedDependency( dependency ) );
+            final Collection<Dependency> dependencyTransitiveDependencies = transitiveDependencies.computeIfAbsent( dependency.toString(),
+                                                                                                                   key -> loadDependencies( dependency ) );
+
+            resolveArtifactFile( dependency,
+                                 artifactFiles );
+            for ( Dependency transitiveDependency : dependencyTransitiveDependencies ) {
+                resolveArtifactFile( transitiveDependency,
+                                     artifactFiles );
+            }
+        }
+
+        final Map<String, Set<String>> packageNames = loadPackageNames( artifactFiles );
+
+        final EnhancedDependencies result = new EnhancedDependencies();
+        for ( final Dependency dependency : dependencies ) {
+            final NormalEnhancedDependency enhancedDependency = new NormalEnhancedDependency( dependency,
+                                                                                              new HashSet<String>( packageNames.get( dependency.toString() ) ) );
+
+            for ( Dependency transitiveDependency : transitiveDependencies.get( dependency.toString() ) ) {
+                enhancedDependency.addTransitiveDependency( new TransitiveEnhancedDependency( transitiveDependency,
+                                                                                              new HashSet<String>( packageNames.get( transitiveDependency.toString() ) ) ) );
+            }
+
+            result.add( enhancedDependency );
         }
 
         return result;
     }
 
-    private NormalEnhancedDependency getEnhancedDependency( final Dependency dependency ) {
-        final NormalEnhancedDependency enhancedDependency = new NormalEnhancedDependency( dependency,
-                                                                                          loadPackageNames( dependency ) );
+    private void resolveArtifactFile( final GAV gav,
+                                      final Map<String, File> artifactFiles ) {
+        final String key = gav.toString();
+        if ( !artifactFiles.containsKey( key ) ) {
+            final Artifact artifact = getMavenRepository().resolveArtifact( key );
+            artifactFiles.put( key,
+                               artifact != null ? artifact.getFile() : null );
+        }
+    }
+
+    /**
+     * Jars not scanned yet, or changed since, are scanned in parallel.
+     */
+    private Map<String, Set<String>> loadPackageNames( final Map<String, File> artifactFiles ) {
+        final Map<String, Set<String>> packageNames = new HashMap<String, Set<String>>();
+        final Map<String, File> misses = new HashMap<String, File>();
+
+        for ( Map.Entry<String, File> artifactFile : artifactFiles.entrySet() ) {
+            final File file = artifactFile.getValue();
+            final Set<String> cached = file != null ? getCachedPackageNames( file ) : Collections.<String>emptySet();
+            if ( cached != null ) {
+                packageNames.put( artifactFile.getKey(),
+                                  cached );
+            } else {
+                misses.put( artifactFile.getKey(),
+                            file );
+            }
+        }
+
+        final int workers = Math.min( misses.size(),
+                                      getMaxScannerThreads() );
+        if ( workers <= 1 ) {
+            misses.forEach( ( key, file ) -> packageNames.put( key,
+                                                               getPackageNames( file ) ) );
+            return packageNames;
+        }
+
+        //Each worker scans the next pending jar, so no more than the given number of threads are used
+        final Executor executor = getScannerExecutor();
+        final List<Map.Entry<String, File>> pending = new ArrayList<Map.Entry<String, File>>( misses.entrySet() );
+        final AtomicReferenceArray<Set<String>> scanned = new AtomicReferenceArray<Set<String>>( pending.size() );
+        final AtomicInteger next = new AtomicInteger();
+        final List<FutureTask<Void>> tasks = new ArrayList<FutureTask<Void>>( workers );
+        try {
+            for ( int i = 0; i < workers; i++ ) {
+                final FutureTask<Void> task = new FutureTask<Void>( () -> {
+                    for ( int index = next.getAndIncrement(); index < pending.size(); index = next.getAndIncrement() ) {
+                        scanned.set( index,
+                                     getPackageNames( pending.get( index ).getValue() ) );
+                    }
+                    return null;
+                } );
+                tasks.add( task );
+                executor.execute( task );
+            }
+            for ( final FutureTask<Void> task : tasks ) {
+                task.get();
+            }
+            for ( int i = 0; i < pending.size(); i++ ) {
+                packageNames.put( pending.get( i ).getKey(),
+                                  scanned.get( i ) );
+            }
+            return packageNames;
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw ExceptionUtilities.handleException( e );
+        } catch ( ExecutionException e ) {
+            throw ExceptionUtilities.handleException( e.getCause() instanceof Exception ? (Exception) e.getCause() : e );
+        } finally {
+            //Nothing left to do when all of them completed, otherwise do not keep scanning for a failed call
+            next.set( pending.size() );
+            tasks.forEach( task -> task.cancel( true ) );
+        }
+    }
+
+    /**
+     * The executor the jars are scanned in, the container managed one by default.
+     */
+    protected Executor getScannerExecutor() {
+        return SimpleAsyncExecutorService.getDefaultInstance();
+    }
+
+    /**
+     * The maximum number of jars scanned at the same time.
+     */
+    protected int getMaxScannerThreads() {
+        return Math.min( MAX_SCANNER_THREADS,
+                         Runtime.getRuntime().availableProcessors() );
+    }
+
+    /**
+     * The maximum number of jars whose package names are cached.
+     */
+    protected int getMaxCachedJars() {
+        return 500;
+    }
+
+    private Set<String> getCachedPackageNames( final File file ) {
+        final JarPackageNames cached = jarPackageNames.get( file.getAbsolutePath() );
+        return cached != null && cached.isFor( file.length(),
+                                               file.lastModified() ) ? new HashSet<String>( cached.packageNames ) : null;
+    }
+
+    private Set<String> getPackageNames( final File file ) {
+        final String path = file.getAbsolutePath();
+        final long length = file.length();
+        final long lastModified = file.lastModified();
 
-        for ( Dependency transitiveDependency : loadDependencies( dependency ) ) {
-            enhancedDependency.addTransitiveDependency( new TransitiveEnhancedDependency( transitiveDependency,
-                                                                                          loadPackageNames( transitiveDependency ) ) );
+        final JarPackageNames cached = jarPackageNames.get( path );
+        if ( cached != null && cached.isFor( length,
+                                             lastModified ) ) {
+            return new HashSet<String>( cached.packageNames );
         }
 
-        return enhancedDependency;
+        //Scanned outside the map, so a slow jar does not block the other entries
+        final JarPackageNames scanned = new JarPackageNames( length,
+                                                             lastModified,
+                                                             stripPackageNamesFromJar( file ) );
+        if ( cached == null ) {
+            jarPackageNames.putIfAbsent( path,
+                                         scanned );
+        } else {
+            jarPackageNames.replace( path,
+                                     cached,
+                                     scanned );
+        }
+
+        return new HashSet<String>( scanned.packageNames );
     }
 
-    private Set<String> stripPackageNamesFromJar( final File file ) {
+    protected Set<String> stripPackageNamesFromJar( final File file ) {
         final Set<String> packageNames = new HashSet<String>();
         ZipFile zipFile = null;
         try {
@@ -130,4 +296,26 @@ public class DependencyServiceImpl
         return MavenRepository.getMavenRepository();
     }
 
+    private static class JarPackageNames {
+
+        private final long length;
+
+        private final long lastModified;
+
+        private final Set<String> packageNames;
+
+        JarPackageNames( final long length,
+                         final long lastModified,
+                         final Set<String> packageNames ) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.packageNames = packageNames;
+        }
+
+        boolean isFor( final long length,
+                       final long lastModified ) {
+            return this.length == length && this.lastModified == lastModified;
+        }
+    }
+
 }
@@ -17,24 +17,35 @@
 package org.kie.workbench.common.services.backend.enums;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
 import org.drools.core.util.MVELSafeHelper;
 import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.guvnor.common.services.project.model.GAV;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.api.builder.KieModule;
-import org.kie.scanner.KieModuleMetaData;
 import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
+import org.kie.workbench.common.services.backend.project.ProjectClassLoaderHelper;
 import org.kie.workbench.common.services.shared.enums.EnumDropdownService;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.mvel2.MVEL;
 import org.mvel2.ParserConfiguration;
 import org.mvel2.ParserContext;
+import org.mvel2.templates.CompiledTemplate;
+import org.mvel2.templates.TemplateCompiler;
 import org.mvel2.templates.TemplateRuntime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,12 +57,32 @@ public class EnumDropdownServiceImpl implements EnumDropdownService {
 
     private static final Logger logger = LoggerFactory.getLogger( EnumDropdownServiceImpl.class );
 
-    @Inject
+    //Maximum number of compiled expressions kept per Project, and of compiled templates
+    static final int MAX_COMPILED_EXPRESSIONS = 500;
+
     private LRUBuilderCache builderCache;
 
-    @Inject
     private KieProjectService projectService;
 
+    private ProjectClassLoaderHelper classLoaderHelper;
+
+    //Project class loader and compiled expressions, keyed by Project root path URI
+    private final ConcurrentMap<String, ProjectExpressions> projectExpressions = new ConcurrentHashMap<String, ProjectExpressions>();
+
+    private final Map<String, CompiledTemplate> templates = Collections.synchronizedMap( new BoundedMap<String, CompiledTemplate>() );
+
+    public EnumDropdownServiceImpl() {
+    }
+
+    @Inject
+    public EnumDropdownServiceImpl( final LRUBuilderCache builderCache,
+                                    final KieProjectService projectService,
+                                    final ProjectClassLoaderHelper classLoaderHelper ) {
+        this.builderCache = builderCache;
+        this.projectService = projectService;
+        this.classLoaderHelper = classLoaderHelper;
+    }
+
     @Override
     public String[] loadDropDownExpression( final Path resource,
                                             final String[] valuePairs,
@@ -68,31 +99,96 @@ public class EnumDropdownServiceImpl implements EnumDropdownService {
             logger.error( "A KieModule could not be resolved for path '" + resource.toURI() + "'. No enums will be returned." );
             return null;
         }
-        final ClassLoader classLoader = KieModuleMetaData.Factory.newKieModuleMetaData( module ).getClassLoader();
 
-        return loadDropDownExpression( classLoader,
+        return loadDropDownExpression( getProjectExpressions( project,
+                                                              module ),
                                        valuePairs,
                                        expression );
     }
 
+    public void onBuild( @Observes final BuildResults results ) {
+        invalidate( results.getGAV() );
+    }
+
+    public void onIncrementalBuild( @Observes final IncrementalBuildResults results ) {
+        invalidate( results.getGAV() );
+    }
+
+    public void onInvalidateProjectCache( @Observes final InvalidateDMOProjectCacheEvent event ) {
+        if ( event.getProject() != null && event.getProject().getRootPath() != null ) {
+            projectExpressions.remove( event.getProject().getRootPath().toURI() );
+        }
+    }
+
+    /**
+     * Build results only identify the Project by its GAV, so the Projects with that GAV are dropped, or all of them
+     * when the GAV is not known.
+     */
+    private void invalidate( final GAV gav ) {
+        if ( gav == null ) {
+            projectExpressions.clear();
+        } else {
+            projectExpressions.values().removeIf( expressions -> gav.equals( expressions.gav ) );
+        }
+    }
+
+    /**
+     * The Project class loader is reused, and expressions compiled against it kept, until the Project is built again.
+     */
+    private ProjectExpressions getProjectExpressions( final KieProject project,
+                                                      final KieModule module ) {
+        final String key = project.getRootPath().toURI();
+        ProjectExpressions expressions = projectExpressions.get( key );
+        if ( expressions == null || expressions.module != module ) {
+            expressions = new ProjectExpressions( project.getPom() != null ? project.getPom().getGav() : null,
+                                                  module,
+                                                  classLoaderHelper.getProjectClassLoader( project ) );
+            projectExpressions.put( key,
+                                    expressions );
+        }
+        return expressions;
+    }
+
+    private String[] loadDropDownExpression( final ProjectExpressions expressions,
+                                             final String[] valuePairs,
+                                             final String expression ) {
+        try {
+            final Map<String, String> context = makeContext( valuePairs );
+            if ( context == null ) {
+                return new String[ 0 ];
+            }
+
+            // first interpolate the pairs
+            final String interpolated = (String) TemplateRuntime.execute( getTemplate( expression ),
+                                                                          context );
+
+            // now we can eval it for real...
+            Serializable compiled;
+            synchronized ( expressions ) {
+                compiled = expressions.compiled.get( interpolated );
+                if ( compiled == null ) {
+                    compiled = compileExpression( interpolated,
+                                                  expressions.classLoader );
+                    expressions.compiled.put( interpolated,
+                                              compiled );
+                }
+            }
+
+            return toStrings( MVELSafeHelper.getEvaluator().executeExpression( compiled,
+                                                                                new HashMap<String, Object>() ) );
+
+        } catch ( Exception e ) {
+            throw ExceptionUtilities.handleException( e );
+        }
+    }
+
     protected String[] loadDropDownExpression( final ClassLoader classLoader,
                                                final String[] valuePairs,
                                                String expression ) {
         try {
-            final Map<String, String> context = new HashMap<String, String>();
-            for ( final String valuePair : valuePairs ) {
-                if ( valuePair == null ) {
-                    return new String[ 0 ];
-                }
-                String[] pair = valuePair.split( "=" );
-                if ( pair.length == 1 ) {
-                    String[] swap = new String[ 2 ];
-                    swap[ 0 ] = pair[ 0 ];
-                    swap[ 1 ] = "";
-                    pair = swap;
-                }
-                context.put( pair[ 0 ],
-                             pair[ 1 ] );
+            final Map<String, String> context = makeContext( valuePairs );
+            if ( context == null ) {
+                return new String[ 0 ];
             }
 
             // first interpolate the pairs
@@ -100,33 +196,106 @@ public class EnumDropdownServiceImpl implements EnumDropdownService {
                                                         context );
 
             // now we can eval it for real...
-            final ParserConfiguration pconf = new ParserConfiguration();
-            final ParserContext pctx = new ParserContext( pconf );
-            pconf.setClassLoader( classLoader );
-
-            final Serializable compiled = MVEL.compileExpression( expression,
-                                                                  pctx );
+            final Serializable compiled = compileExpression( expression,
+                                                             classLoader );
             Object result = MVELSafeHelper.getEvaluator().executeExpression( compiled,
                                                                              new HashMap<String, Object>() );
 
-            //Handle result of evaluation
-            if ( result instanceof String[] ) {
-                return (String[]) result;
-            } else if ( result instanceof List ) {
-                List l = (List) result;
-                String[] xs = new String[ l.size() ];
-                for ( int i = 0; i < xs.length; i++ ) {
-                    Object el = l.get( i );
-                    xs[ i ] = el.toString();
-                }
-                return xs;
-            } else {
-                return null;
-            }
+            return toStrings( result );
 
         } catch ( Exception e ) {
             throw ExceptionUtilities.handleException( e );
         }
     }
 
+    protected Serializable compileExpression( final String expression,
+                                              final ClassLoader classLoader ) {
+        final ParserConfiguration pconf = new ParserConfiguration();
+        final ParserContext pctx = new ParserContext( pconf );
+        pconf.setClassLoader( classLoader );
+
+        return MVEL.compileExpression( expression,
+                                       pctx );
+    }
+
+    private CompiledTemplate getTemplate( final String expression ) {
+        CompiledTemplate template = templates.get( expression );
+        if ( template == null ) {
+            template = TemplateCompiler.compileTemplate( expression );
+            templates.put( expression,
+                           template );
+        }
+        return template;
+    }
+
+    //Returns null if any of the pairs is null
+    private Map<String, String> makeContext( final String[] valuePairs ) {
+        final Map<String, String> context = new HashMap<String, String>();
+        for ( final String valuePair : valuePairs ) {
+            if ( valuePair == null ) {
+                return null;
+            }
+            String[] pair = valuePair.split( "=" );
+            if ( pair.length == 1 ) {
+                String[] swap = new String[ 2 ];
+                swap[ 0 ] = pair[ 0 ];
+                swap[ 1 ] = "";
+                pair = swap;
+            }
+            context.put( pair[ 0 ],
+                         pair[ 1 ] );
+        }
+        return context;
+    }
+
+    //Handle result of evaluation
+    private String[] toStrings( final Object result ) {
+        if ( result instanceof String[] ) {
+            return (String[]) result;
+        } else if ( result instanceof List ) {
+            List l = (List) result;
+            String[] xs = new String[ l.size() ];
+            for ( int i = 0; i < xs.length; i++ ) {
+                Object el = l.get( i );
+                xs[ i ] = el.toString();
+            }
+            return xs;
+        } else {
+            return null;
+        }
+    }
+
+    private static class ProjectExpressions {
+
+        private final GAV gav;
+
+        private final KieModule module;
+
+        private final ClassLoader classLoader;
+
+        private final Map<String, Serializable> compiled = new BoundedMap<String, Serializable>();
+
+        ProjectExpressions( final GAV gav,
+                            final KieModule module,
+                            final ClassLoader classLoader ) {
+            this.gav = gav;
+            this.module = module;
+            this.classLoader = classLoader;
+        }
+    }
+
+    private static class BoundedMap<K, V> extends LinkedHashMap<K, V> {
+
+        BoundedMap() {
+            super( 16,
+                   0.75f,
+                   true );
+        }
+
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<K, V> eldest ) {
+            return size() > MAX_COMPILED_EXPRESSIONS;
+        }
+    }
+
 }
@@ -22,6 +22,10 @@ import java.io.InputStream;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -47,6 +51,9 @@ public class ValidatorBuildService {
     private LRUBuilderCache builderCache;
     private KieProjectService projectService;
 
+    //Full build of each cached Builder, shared by the validations waiting for it
+    private final Map<Builder, CompletableFuture<Void>> builds = new WeakHashMap<>();
+
     public ValidatorBuildService() {
         //CDI proxies
     }
@@ -120,10 +127,8 @@ public class ValidatorBuildService {
         //Incremental Build does not support Java classes
         if ( isIncrementalBuildPossible( resourcePath ) ) {
             //Build the Builder from the cache so it's "built" state can be preserved for re-use
-            if ( !builder.isBuilt() ) {
-                builder.build();
-            }
-            final Builder clone = builder.clone();
+            assertBuilt( builder );
+            final Builder clone = builder.copyOnWriteClone();
             //First delete resource otherwise if the resource already had errors following builder.build()
             //the incremental compilation will not report any additional errors and the resource will be
             //considered valid.
@@ -134,7 +139,7 @@ public class ValidatorBuildService {
             resultBuilder.add( incrementalBuildResults.getAddedMessages() );
 
         } else {
-            final Builder clone = builder.clone();
+            final Builder clone = builder.copyOnWriteClone();
             resultBuilder.add( clone.build( nioResourcePath,
                                             inputStream ).getMessages() );
         }
@@ -142,6 +147,47 @@ public class ValidatorBuildService {
         return resultBuilder.results();
     }
 
+    /**
+     * Performs the full build of the cached Builder once. Validations arriving while it runs wait for the same build
+     * instead of queueing on the Builder to check whether it has been built.
+     */
+    private void assertBuilt( final Builder builder ) {
+        final CompletableFuture<Void> build;
+        final boolean owner;
+        synchronized ( builds ) {
+            final CompletableFuture<Void> running = builds.get( builder );
+            owner = running == null;
+            build = owner ? new CompletableFuture<>() : running;
+            if ( owner ) {
+                builds.put( builder,
+                            build );
+            }
+        }
+
+        if ( !owner ) {
+            try {
+                build.join();
+                return;
+            } catch ( CompletionException e ) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        try {
+            if ( !builder.isBuilt() ) {
+                builder.build();
+            }
+            build.complete( null );
+        } catch ( RuntimeException | Error e ) {
+            //Let the next validation try again
+            synchronized ( builds ) {
+                builds.remove( builder );
+            }
+            build.completeExceptionally( e );
+            throw e;
+        }
+    }
+
     private boolean isIncrementalBuildPossible( final Path resourcePath ) throws NoProjectException {
         final boolean isResource = getDestinationPath( resourcePath ).startsWith( "src/main/resources/" );
         return isResource;
@@ -16,42 +16,33 @@
 package org.kie.workbench.common.services.backend.whitelist;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
 
-import org.kie.workbench.common.services.backend.file.AntPathMatcher;
 import org.kie.workbench.common.services.shared.whitelist.WhiteList;
 
 import static org.uberfire.commons.validation.PortablePreconditions.*;
 
 public class PackageNameWhiteListFilter {
 
-    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
-
     private final Collection<String> packageNames;
-    private final Set<String> patterns;
+    private final PackageNameWhiteListMatcher matcher;
 
     public PackageNameWhiteListFilter( final Collection<String> packageNames,
                                        final WhiteList whiteList ) {
-
-
-        this.packageNames = checkNotNull( "packageNames", packageNames );
-        checkNotNull( "whitelist", whiteList );
-        this.patterns = makePatterns( whiteList );
+        this( packageNames,
+              new PackageNameWhiteListMatcher( checkNotNull( "whitelist",
+                                                             whiteList ) ) );
     }
 
-    private Set<String> makePatterns( final WhiteList whiteList ) {
-        Set<String> patterns = new HashSet<String>();
-
-        //Convert to Paths as we're delegating to an Ant-style pattern matcher.
-        //Convert once outside of the nested loops for performance reasons.
-        for ( String packageName : whiteList ) {
-            patterns.add( packageName.replaceAll( "\\.",
-                                                  AntPathMatcher.DEFAULT_PATH_SEPARATOR ) );
-        }
-        return patterns;
+    /**
+     * @param packageNames Package names to filter
+     * @param matcher White List patterns, compiled once to filter several collections of Package names
+     */
+    public PackageNameWhiteListFilter( final Collection<String> packageNames,
+                                       final PackageNameWhiteListMatcher matcher ) {
+        this.packageNames = checkNotNull( "packageNames",
+                                          packageNames );
+        this.matcher = checkNotNull( "matcher",
+                                     matcher );
     }
 
     /**
@@ -60,32 +51,14 @@ public class PackageNameWhiteListFilter {
     public WhiteList getFilteredPackageNames() {
         final WhiteList whiteList = new WhiteList();
 
-        final Map<String, String> packageNamePatterns = getPatterns();
-
-        for (String pattern : patterns) {
-            for ( Map.Entry<String, String> packageNamePath : packageNamePatterns.entrySet() ) {
-                if ( ANT_PATH_MATCHER.match( pattern,
-                                             packageNamePath.getValue() ) ) {
-                    whiteList.add( packageNamePath.getKey() );
-                }
+        //All patterns are matched in a single walk of the compiled White List
+        for ( String packageName : packageNames ) {
+            if ( matcher.matches( packageName ) ) {
+                whiteList.add( packageName );
             }
         }
 
         return whiteList;
     }
 
-    /**
-     * Fetching the paths to a map to avoid loops inside loops
-     * @return
-     */
-    private HashMap<String, String> getPatterns() {
-        final HashMap<String, String> packageNamePaths = new HashMap<String, String>();
-        for ( String packageName : packageNames ) {
-            packageNamePaths.put( packageName,
-                                  packageName.replaceAll( "\\.",
-                                                          AntPathMatcher.DEFAULT_PATH_SEPARATOR ) );
-        }
-        return packageNamePaths;
-    }
-
 }
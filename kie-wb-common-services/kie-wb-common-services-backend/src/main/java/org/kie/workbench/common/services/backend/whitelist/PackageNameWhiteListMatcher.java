@@ -0,0 +1,255 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.whitelist;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * White List patterns compiled into a trie of package name segments, so a package name is matched against all the
+ * patterns in a single walk instead of once per pattern.
+ * <p>
+ * A package name matches the same patterns as with the {@link org.kie.workbench.common.services.backend.file.AntPathMatcher}
+ * applied to the package name and pattern with dots replaced by slashes: '**' matches any number of segments, '*' any
+ * characters and '?' one character inside a segment. Without '**' a pattern only matches names with the same
+ * trailing separator, a pattern ending with a '*' segment also matching the parent name followed by a separator.
+ */
+public class PackageNameWhiteListMatcher {
+
+    private static final String DOUBLE_STAR = "**";
+
+    private static final String STAR = "*";
+
+    private final Node root = new Node();
+
+    private final Node separatorRoot = new Node();
+
+    public PackageNameWhiteListMatcher( final Iterable<String> patterns ) {
+        for ( String pattern : patterns ) {
+            add( pattern );
+        }
+    }
+
+    /**
+     * @return true if the package name matches any of the patterns
+     */
+    public boolean matches( final String packageName ) {
+        final String[] segments = tokenize( packageName );
+        final boolean trailingSeparator = endsWithSeparator( packageName );
+
+        Set<Node> current = new LinkedHashSet<Node>();
+        addWithDoubleStars( current,
+                            startsWithSeparator( packageName ) ? separatorRoot : root );
+
+        for ( String segment : segments ) {
+            final Set<Node> next = new LinkedHashSet<Node>();
+            for ( Node node : current ) {
+                node.step( segment,
+                           next );
+            }
+            if ( next.isEmpty() ) {
+                return false;
+            }
+            current = next;
+        }
+
+        for ( Node node : current ) {
+            if ( node.accepts( trailingSeparator ) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add( final String pattern ) {
+        final String[] segments = tokenize( pattern );
+        final boolean trailingSeparator = endsWithSeparator( pattern );
+
+        boolean hasDoubleStar = false;
+        for ( String segment : segments ) {
+            hasDoubleStar |= DOUBLE_STAR.equals( segment );
+        }
+
+        Node parent = null;
+        Node node = startsWithSeparator( pattern ) ? separatorRoot : root;
+        for ( String segment : segments ) {
+            parent = node;
+            node = node.child( segment );
+        }
+
+        if ( hasDoubleStar ) {
+            node.terminal = true;
+        } else if ( trailingSeparator ) {
+            node.terminalWithSeparator = true;
+        } else {
+            node.terminalWithoutSeparator = true;
+        }
+
+        if ( !hasDoubleStar && parent != null && STAR.equals( segments[ segments.length - 1 ] ) ) {
+            parent.terminalBeforeStar = true;
+        }
+    }
+
+    private static void addWithDoubleStars( final Set<Node> nodes,
+                                            final Node node ) {
+        //'**' may match no segment at all
+        if ( nodes.add( node ) && node.doubleStar != null ) {
+            addWithDoubleStars( nodes,
+                                node.doubleStar );
+        }
+    }
+
+    private static boolean isSeparator( final char c ) {
+        return c == '.' || c == '/';
+    }
+
+    private static boolean startsWithSeparator( final String value ) {
+        return !value.isEmpty() && isSeparator( value.charAt( 0 ) );
+    }
+
+    private static boolean endsWithSeparator( final String value ) {
+        return !value.isEmpty() && isSeparator( value.charAt( value.length() - 1 ) );
+    }
+
+    /**
+     * Splits on separators, trimming the segments and skipping the empty ones.
+     */
+    static String[] tokenize( final String value ) {
+        final List<String> segments = new ArrayList<String>();
+        int start = 0;
+        for ( int i = 0; i <= value.length(); i++ ) {
+            if ( i == value.length() || isSeparator( value.charAt( i ) ) ) {
+                final String segment = value.substring( start,
+                                                        i ).trim();
+                if ( !segment.isEmpty() ) {
+                    segments.add( segment );
+                }
+                start = i + 1;
+            }
+        }
+        return segments.toArray( new String[ segments.size() ] );
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> literals = new HashMap<String, Node>();
+
+        private final Map<String, WildcardEdge> wildcards = new HashMap<String, WildcardEdge>();
+
+        private Node doubleStar;
+
+        //Reached through a '**' segment, that consumes any further segment
+        private boolean selfLoop;
+
+        //A pattern containing '**' ends here
+        private boolean terminal;
+
+        //A pattern without '**' ends here, with or without trailing separator
+        private boolean terminalWithSeparator;
+
+        private boolean terminalWithoutSeparator;
+
+        //A pattern without '**' ends with a '*' segment after this node
+        private boolean terminalBeforeStar;
+
+        Node child( final String segment ) {
+            if ( DOUBLE_STAR.equals( segment ) ) {
+                if ( doubleStar == null ) {
+                    doubleStar = new Node();
+                    doubleStar.selfLoop = true;
+                }
+                return doubleStar;
+            }
+            if ( segment.indexOf( '*' ) < 0 && segment.indexOf( '?' ) < 0 ) {
+                return literals.computeIfAbsent( segment,
+                                                 s -> new Node() );
+            }
+            return wildcards.computeIfAbsent( segment,
+                                              WildcardEdge::new ).node;
+        }
+
+        void step( final String segment,
+                   final Set<Node> next ) {
+            if ( selfLoop ) {
+                addWithDoubleStars( next,
+                                    this );
+            }
+            final Node literal = literals.get( segment );
+            if ( literal != null ) {
+                addWithDoubleStars( next,
+                                    literal );
+            }
+            for ( WildcardEdge wildcard : wildcards.values() ) {
+                if ( wildcard.matches( segment ) ) {
+                    addWithDoubleStars( next,
+                                        wildcard.node );
+                }
+            }
+        }
+
+        boolean accepts( final boolean trailingSeparator ) {
+            if ( terminal ) {
+                return true;
+            }
+            if ( trailingSeparator ) {
+                return terminalWithSeparator || terminalBeforeStar;
+            }
+            return terminalWithoutSeparator;
+        }
+    }
+
+    private static class WildcardEdge {
+
+        private final Pattern pattern;
+
+        private final Node node = new Node();
+
+        WildcardEdge( final String segment ) {
+            this.pattern = STAR.equals( segment ) ? null : Pattern.compile( toRegex( segment ),
+                                                                              Pattern.DOTALL );
+        }
+
+        boolean matches( final String segment ) {
+            return pattern == null || pattern.matcher( segment ).matches();
+        }
+
+        private static String toRegex( final String segment ) {
+            final StringBuilder regex = new StringBuilder();
+            final StringBuilder literal = new StringBuilder();
+            for ( char c : segment.toCharArray() ) {
+                if ( c == '*' || c == '?' ) {
+                    if ( literal.length() > 0 ) {
+                        regex.append( Pattern.quote( literal.toString() ) );
+                        literal.setLength( 0 );
+                    }
+                    regex.append( c == '*' ? ".*" : "." );
+                } else {
+                    literal.append( c );
+                }
+            }
+            if ( literal.length() > 0 ) {
+                regex.append( Pattern.quote( literal.toString() ) );
+            }
+            return regex.toString();
+        }
+    }
+}
@@ -16,14 +16,22 @@
 package org.kie.workbench.common.services.backend.whitelist;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.events.NewPackageEvent;
 import org.guvnor.common.services.project.model.Package;
 import org.guvnor.common.services.project.model.Project;
 import org.guvnor.common.services.shared.metadata.model.Metadata;
 import org.jboss.errai.bus.server.annotations.Service;
+import org.kie.workbench.common.services.backend.builder.ObservablePackageNamesWhiteListFile;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
@@ -32,6 +40,12 @@ import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.FileAlreadyExistsException;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
 
 /**
  * Represents a "white list" of permitted package names for use with authoring
@@ -46,6 +60,14 @@ public class PackageNameWhiteListServiceImpl
     private PackageNameWhiteListLoader loader;
     private PackageNameWhiteListSaver saver;
 
+    private final ObservablePackageNamesWhiteListFile observablePackageNamesWhiteListFile = new ObservablePackageNamesWhiteListFile();
+
+    //White Lists compiled with the Project's packages, keyed by Project root path URI
+    private final ConcurrentMap<String, ProjectWhiteList> projectWhiteLists = new ConcurrentHashMap<String, ProjectWhiteList>();
+
+    //Incremented by every invalidation, so a White List loaded before an invalidation is not cached after it
+    private final AtomicLong invalidations = new AtomicLong();
+
     public PackageNameWhiteListServiceImpl() {
     }
 
@@ -67,6 +89,7 @@ public class PackageNameWhiteListServiceImpl
         } else {
             ioService.write( Paths.convert( packageNamesWhiteListPath ),
                              "" );
+            invalidate( packageNamesWhiteListPath );
         }
     }
 
@@ -83,23 +106,128 @@ public class PackageNameWhiteListServiceImpl
             return new WhiteList();
         } else if ( project instanceof KieProject ) {
 
-            final WhiteList whiteList = load( ( (KieProject) project ).getPackageNamesWhiteListPath() );
+            final ProjectWhiteList whiteList = getProjectWhiteList( (KieProject) project );
 
             if ( whiteList.isEmpty() ) {
                 return new WhiteList( packageNames );
             } else {
-                for ( Package aPackage : projectService.resolvePackages( project ) ) {
-                    whiteList.add( aPackage.getPackageName() );
-                }
-
                 return new PackageNameWhiteListFilter( packageNames,
-                                                       whiteList ).getFilteredPackageNames();
+                                                       whiteList.matcher ).getFilteredPackageNames();
             }
         } else {
             return new WhiteList( packageNames );
         }
     }
 
+    private ProjectWhiteList getProjectWhiteList( final KieProject project ) {
+        final Path rootPath = project.getRootPath();
+        if ( rootPath == null ) {
+            return loadProjectWhiteList( project );
+        }
+        final String uri = rootPath.toURI();
+        final ProjectWhiteList cached = projectWhiteLists.get( uri );
+        if ( cached != null ) {
+            return cached;
+        }
+
+        //Loaded outside the map, so reading the file and resolving the packages does not block other projects
+        final long seenInvalidations = invalidations.get();
+        final ProjectWhiteList whiteList = loadProjectWhiteList( project );
+        if ( invalidations.get() != seenInvalidations ) {
+            return whiteList;
+        }
+        final ProjectWhiteList previous = projectWhiteLists.putIfAbsent( uri,
+                                                                         whiteList );
+        if ( previous != null ) {
+            return previous;
+        }
+        //An invalidation between the check and the store may have missed the new entry
+        if ( invalidations.get() != seenInvalidations ) {
+            projectWhiteLists.remove( uri,
+                                      whiteList );
+        }
+        return whiteList;
+    }
+
+    private ProjectWhiteList loadProjectWhiteList( final KieProject project ) {
+        final WhiteList whiteList = load( project.getPackageNamesWhiteListPath() );
+
+        if ( whiteList.isEmpty() ) {
+            return new ProjectWhiteList( null );
+        }
+        for ( Package aPackage : projectService.resolvePackages( project ) ) {
+            whiteList.add( aPackage.getPackageName() );
+        }
+        return new ProjectWhiteList( new PackageNameWhiteListMatcher( whiteList ) );
+    }
+
+    public void onWhiteListChanged( @Observes final InvalidateDMOProjectCacheEvent event ) {
+        if ( event.getResourcePath() != null
+                && event.getProject() != null
+                && event.getProject().getRootPath() != null
+                && observablePackageNamesWhiteListFile.accept( event.getResourcePath().getFileName() ) ) {
+            invalidations.incrementAndGet();
+            projectWhiteLists.remove( event.getProject().getRootPath().toURI() );
+        }
+    }
+
+    public void onPackageAdded( @Observes final NewPackageEvent event ) {
+        if ( event.getPackage() != null ) {
+            invalidate( event.getPackage().getProjectRootPath() );
+        }
+    }
+
+    //Packages are deleted, renamed or created as folders along with their resources
+    public void onResourceAdded( @Observes final ResourceAddedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceDeleted( @Observes final ResourceDeletedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onResourceRenamed( @Observes final ResourceRenamedEvent event ) {
+        invalidate( event.getPath() );
+    }
+
+    public void onBatchResourceChanges( @Observes final ResourceBatchChangesEvent event ) {
+        for ( Map.Entry<Path, Collection<ResourceChange>> entry : event.getBatch().entrySet() ) {
+            if ( observablePackageNamesWhiteListFile.accept( entry.getKey().getFileName() ) || !isUpdate( entry.getValue() ) ) {
+                invalidate( entry.getKey() );
+            }
+        }
+    }
+
+    private boolean isUpdate( final Collection<ResourceChange> changes ) {
+        for ( ResourceChange change : changes ) {
+            if ( change.getType() != ResourceChangeType.UPDATE ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Discards the White List of the Project containing the path, if any.
+     */
+    private void invalidate( final Path path ) {
+        if ( path == null ) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        if ( projectWhiteLists.isEmpty() ) {
+            return;
+        }
+        final String uri = path.toURI();
+        projectWhiteLists.keySet().removeIf( rootUri -> isWithin( uri,
+                                                                  rootUri ) );
+    }
+
+    private static boolean isWithin( final String uri,
+                                     final String rootUri ) {
+        return uri.equals( rootUri ) || uri.startsWith( rootUri.endsWith( "/" ) ? rootUri : rootUri + "/" );
+    }
+
     @Override
     public WhiteList load( final Path packageNamesWhiteListPath ) {
         return loader.load( packageNamesWhiteListPath );
@@ -110,10 +238,28 @@ public class PackageNameWhiteListServiceImpl
                       final WhiteList content,
                       final Metadata metadata,
                       final String comment ) {
-        return saver.save( path,
-                           content,
-                           metadata,
-                           comment );
+        try {
+            return saver.save( path,
+                               content,
+                               metadata,
+                               comment );
+        } finally {
+            invalidate( path );
+        }
+    }
+
+    private static class ProjectWhiteList {
+
+        //Null when the White List is empty, permitting every package
+        private final PackageNameWhiteListMatcher matcher;
+
+        ProjectWhiteList( final PackageNameWhiteListMatcher matcher ) {
+            this.matcher = matcher;
+        }
+
+        boolean isEmpty() {
+            return matcher == null;
+        }
     }
 }
 
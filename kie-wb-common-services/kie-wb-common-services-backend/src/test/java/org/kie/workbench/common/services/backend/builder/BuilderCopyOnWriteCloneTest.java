@@ -0,0 +1,268 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.guvnor.common.services.project.builder.model.BuildMessage;
+import org.guvnor.common.services.project.model.POM;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameSearchProvider;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListLoader;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListSaver;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListServiceImpl;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.kie.workbench.common.services.shared.project.ProjectImportsService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BuilderCopyOnWriteCloneTest
+        extends BuilderTestBase {
+
+    private static final Logger logger = LoggerFactory.getLogger( BuilderCopyOnWriteCloneTest.class );
+
+    private static final String PACKAGE = "org.kie.workbench.common.services.builder.tests.test1";
+
+    private static final int BENCHMARK_RESOURCES = 5000;
+
+    private final Predicate<String> alwaysTrue = o -> true;
+
+    @Mock
+    private PackageNameSearchProvider packageNameSearchProvider;
+
+    private IOService ioService;
+    private KieProjectService projectService;
+    private ProjectImportsService importsService;
+    private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
+    private LRUPomModelCache pomModelCache;
+
+    private File generatedProject;
+
+    @Before
+    public void setUp() throws Exception {
+        PackageNameSearchProvider.PackageNameSearch nameSearch = mock( PackageNameSearchProvider.PackageNameSearch.class );
+        when( nameSearch.search() ).thenReturn( new HashSet<String>() );
+        when( packageNameSearchProvider.newTopLevelPackageNamesSearch( any( POM.class ) ) ).thenReturn( nameSearch );
+        super.startWeld();
+        setUpGuvnorM2Repo();
+
+        ioService = getReference( IOService.class );
+        projectService = getReference( KieProjectService.class );
+        importsService = getReference( ProjectImportsService.class );
+        dependenciesClassLoaderCache = getReference( LRUProjectDependenciesClassLoaderCache.class );
+        pomModelCache = getReference( LRUPomModelCache.class );
+    }
+
+    @After
+    public void cleanUp() throws Exception {
+        super.stopWeld();
+        if ( generatedProject != null ) {
+            java.nio.file.Files.walk( generatedProject.toPath() )
+                    .sorted( Comparator.reverseOrder() )
+                    .map( java.nio.file.Path::toFile )
+                    .forEach( File::delete );
+        }
+    }
+
+    @Test
+    public void testSameMessagesAsDeepClone() throws Exception {
+        final Path root = resourcePath( "/GuvnorM2RepoDependencyExample1" );
+        final Builder builder = newBuilder( root );
+        builder.build();
+
+        final Path rule = root.resolve( "src/main/resources/rule2.drl" );
+        final Path bean = root.resolve( "src/main/java/org/kie/workbench/common/services/builder/tests/test1/Bean.java" );
+
+        final String[] rules = {
+                "package " + PACKAGE + "\n\nrule R2\nwhen\nBean()\nthen\nend",
+                "package " + PACKAGE + "\n\nrule R2\nwhen\nBan()\nthen\nend",
+                "package " + PACKAGE + "\n\nrule R2\nwhen\nBean(\nthen\nend"
+        };
+        for ( String content : rules ) {
+            assertEquals( validateIncrementally( builder.clone(), rule, content ),
+                          validateIncrementally( builder.copyOnWriteClone(), rule, content ) );
+        }
+
+        final String[] classes = {
+                "package " + PACKAGE + ";\n\npublic class Bean {\n    private final int value;\n\n    public Bean(int value) {\n        this.value = value;\n    }\n\n}",
+                "package " + PACKAGE + ";\n\npublic class Bean {\n    private fnal int value;\n\n}\n"
+        };
+        for ( String content : classes ) {
+            assertEquals( validateFully( builder.clone(), bean, content ),
+                          validateFully( builder.copyOnWriteClone(), bean, content ) );
+        }
+    }
+
+    @Test
+    public void testChangesAreNotVisibleToTheOriginal() throws Exception {
+        final Path root = resourcePath( "/GuvnorM2RepoDependencyExample1" );
+        final Builder builder = newBuilder( root );
+        builder.build();
+
+        final String rule1 = read( builder, "src/main/resources/rule1.drl" );
+        final String rule2 = read( builder, "src/main/resources/rule2.drl" );
+
+        final Builder clone = builder.copyOnWriteClone();
+        clone.deleteResource( root.resolve( "src/main/resources/rule1.drl" ) );
+        validateIncrementally( clone,
+                               root.resolve( "src/main/resources/rule2.drl" ),
+                               "package " + PACKAGE + "\n\nrule R2\nwhen\nthen\nend" );
+
+        assertNull( clone.getKieFileSystem().read( "src/main/resources/rule1.drl" ) );
+        assertEquals( "package " + PACKAGE + "\n\nrule R2\nwhen\nthen\nend", read( clone, "src/main/resources/rule2.drl" ) );
+
+        assertEquals( rule1, read( builder, "src/main/resources/rule1.drl" ) );
+        assertEquals( rule2, read( builder, "src/main/resources/rule2.drl" ) );
+        assertEquals( rule1, read( builder.copyOnWriteClone(), "src/main/resources/rule1.drl" ) );
+    }
+
+    @Test
+    public void testValidateOneResourceInALargeProject() throws Exception {
+        final Path root = generateProject( BENCHMARK_RESOURCES );
+        final Builder builder = newBuilder( root );
+        builder.build();
+
+        final Path rule = root.resolve( "src/main/resources/rule0.drl" );
+        final String content = "package " + PACKAGE + "\n\nrule R0\nwhen\n    String( this == \"updated\" )\nthen\nend";
+
+        long start = System.nanoTime();
+        final List<String> deepCloneMessages = validateIncrementally( builder.clone(), rule, content );
+        final long deepClone = System.nanoTime() - start;
+
+        // the first copy-on-write clone takes the snapshot shared by the next ones
+        validateIncrementally( builder.copyOnWriteClone(), rule, content );
+
+        start = System.nanoTime();
+        final List<String> copyOnWriteMessages = validateIncrementally( builder.copyOnWriteClone(), rule, content );
+        final long copyOnWrite = System.nanoTime() - start;
+
+        logger.info( "Validated one resource of a project with {} resources in {} ms with a deep clone and in {} ms with a copy-on-write clone",
+                     BENCHMARK_RESOURCES,
+                     TimeUnit.NANOSECONDS.toMillis( deepClone ),
+                     TimeUnit.NANOSECONDS.toMillis( copyOnWrite ) );
+
+        assertEquals( deepCloneMessages, copyOnWriteMessages );
+    }
+
+    private List<String> validateIncrementally( final Builder clone,
+                                                final Path resource,
+                                                final String content ) {
+        clone.deleteResource( resource );
+        return toStrings( clone.updateResource( resource,
+                                                new ByteArrayInputStream( content.getBytes( StandardCharsets.UTF_8 ) ) ).getAddedMessages() );
+    }
+
+    private List<String> validateFully( final Builder clone,
+                                        final Path resource,
+                                        final String content ) {
+        return toStrings( clone.build( resource,
+                                       new ByteArrayInputStream( content.getBytes( StandardCharsets.UTF_8 ) ) ).getMessages() );
+    }
+
+    private List<String> toStrings( final List<BuildMessage> messages ) {
+        return messages.stream()
+                .map( message -> message.getLevel() + ":" + message.getLine() + ":" + message.getText() )
+                .collect( Collectors.toList() );
+    }
+
+    private String read( final Builder builder,
+                         final String destinationPath ) {
+        return new String( builder.getKieFileSystem().read( destinationPath ),
+                           StandardCharsets.UTF_8 );
+    }
+
+    private Builder newBuilder( final Path root ) {
+        final Project project = projectService.resolveProject( Paths.convert( root ) );
+
+        return new Builder( project,
+                            ioService,
+                            projectService,
+                            importsService,
+                            new ArrayList<>(),
+                            dependenciesClassLoaderCache,
+                            pomModelCache,
+                            getPackageNameWhiteListService(),
+                            alwaysTrue );
+    }
+
+    private Path resourcePath( final String resourceName ) throws Exception {
+        final URL url = this.getClass().getResource( resourceName );
+        return new SimpleFileSystemProvider().getPath( url.toURI() );
+    }
+
+    private Path generateProject( final int resources ) throws Exception {
+        generatedProject = java.nio.file.Files.createTempDirectory( "large-project" ).toFile();
+        final java.nio.file.Path dir = generatedProject.toPath();
+        final java.nio.file.Path resourcesDir = dir.resolve( "src/main/resources" );
+        java.nio.file.Files.createDirectories( resourcesDir.resolve( "META-INF" ) );
+
+        write( dir.resolve( "pom.xml" ),
+               "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n" +
+                       "  <modelVersion>4.0.0</modelVersion>\n" +
+                       "  <groupId>org.kie.workbench.common.services.builder.tests</groupId>\n" +
+                       "  <artifactId>large-project</artifactId>\n" +
+                       "  <version>1.0</version>\n" +
+                       "</project>" );
+        write( resourcesDir.resolve( "META-INF/kmodule.xml" ),
+               "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<kmodule xmlns=\"http://jboss.org/kie/6.0.0/kmodule\" />" );
+        for ( int i = 0; i < resources; i++ ) {
+            write( resourcesDir.resolve( "rule" + i + ".drl" ),
+                   "package " + PACKAGE + "\n\nrule R" + i + "\nwhen\n    String( this == \"" + i + "\" )\nthen\nend" );
+        }
+
+        return new SimpleFileSystemProvider().getPath( generatedProject.toURI() );
+    }
+
+    private void write( final java.nio.file.Path path,
+                        final String content ) throws Exception {
+        java.nio.file.Files.write( path,
+                                   content.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    private PackageNameWhiteListServiceImpl getPackageNameWhiteListService() {
+        return new PackageNameWhiteListServiceImpl( ioService,
+                                                    mock( KieProjectService.class ),
+                                                    new PackageNameWhiteListLoader( packageNameSearchProvider,
+                                                                                    ioService ),
+                                                    mock( PackageNameWhiteListSaver.class ) );
+    }
+}
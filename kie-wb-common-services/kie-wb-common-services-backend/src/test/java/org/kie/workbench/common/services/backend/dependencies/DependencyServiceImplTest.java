@@ -18,8 +18,15 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.aether.artifact.Artifact;
 import org.guvnor.common.services.project.model.Dependency;
@@ -32,6 +39,9 @@ import org.junit.runner.RunWith;
 import org.kie.api.builder.ReleaseId;
 import org.kie.scanner.DependencyDescriptor;
 import org.kie.scanner.MavenRepository;
+import org.kie.workbench.common.services.shared.dependencies.EnhancedDependencies;
+import org.kie.workbench.common.services.shared.dependencies.EnhancedDependency;
+import org.kie.workbench.common.services.shared.dependencies.NormalEnhancedDependency;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -51,6 +61,21 @@ public class DependencyServiceImplTest {
 
     private DependencyServiceImpl service;
 
+    //Number of times each jar was opened, keyed by jar file name
+    private final Map<String, AtomicInteger> jarScans = new ConcurrentHashMap<String, AtomicInteger>();
+
+    private final Map<String, File> jars = new ConcurrentHashMap<String, File>();
+
+    //Threads the jars were opened in
+    private final Set<Thread> scannerThreads = Collections.newSetFromMap( new ConcurrentHashMap<Thread, Boolean>() );
+
+    private ExecutorService executor;
+
+    //Tasks handed to the scanner executor
+    private final AtomicInteger scannerTasks = new AtomicInteger();
+
+    private int maxCachedJars = 100;
+
     @Before
     public void setUp() throws Exception {
 
@@ -69,6 +94,8 @@ public class DependencyServiceImplTest {
                             result.add( makeDependencyDescriptor( "org.hamcrest", "hamcrest-core", "1.3" ) );
                         } else if ( gavString.equals( "org.guvnor:guvnor-web-app:5.0" ) ) {
                             result.add( makeDependencyDescriptor( "org.drools", "drools-core", "5.0" ) );
+                        } else if ( gavString.equals( "org.mockito:mockito-core:1.10" ) ) {
+                            result.add( makeDependencyDescriptor( "org.hamcrest", "hamcrest-core", "1.3" ) );
                         }
                         return result;
                     }
@@ -85,10 +112,37 @@ public class DependencyServiceImplTest {
                 .addFile( "org/hamcrest/core/SomeClass.class" )
                 .close();
 
+        getJarWriter( "org.mockito:mockito-core:1.10" )
+                .addFile( "org/mockito/SomeClass.class" )
+                .close();
+
+        executor = Executors.newFixedThreadPool( 2 );
+
         service = new DependencyServiceImpl() {
             @Override protected MavenRepository getMavenRepository() {
                 return mavenRepository;
             }
+
+            @Override protected Set<String> stripPackageNamesFromJar( final File file ) {
+                jarScans.computeIfAbsent( file.getName(), name -> new AtomicInteger() ).incrementAndGet();
+                scannerThreads.add( Thread.currentThread() );
+                return super.stripPackageNamesFromJar( file );
+            }
+
+            @Override protected Executor getScannerExecutor() {
+                return command -> {
+                    scannerTasks.incrementAndGet();
+                    executor.execute( command );
+                };
+            }
+
+            @Override protected int getMaxScannerThreads() {
+                return 2;
+            }
+
+            @Override protected int getMaxCachedJars() {
+                return maxCachedJars;
+            }
         };
     }
 
@@ -98,6 +152,8 @@ public class DependencyServiceImplTest {
 
         when( artifact.getFile() ).thenReturn( file );
         when( this.mavenRepository.resolveArtifact( artifactName ) ).thenReturn( artifact );
+        jars.put( artifactName,
+                  file );
 
         return new TestJarWriter( file,
                                   tempFiles );
@@ -105,6 +161,7 @@ public class DependencyServiceImplTest {
 
     @After
     public void tearDown() throws Exception {
+        executor.shutdownNow();
         tempFiles.deleteFiles();
     }
 
@@ -196,6 +253,114 @@ public class DependencyServiceImplTest {
 
     }
 
+    @Test
+    public void testJarIsScannedOncePerChange() throws Exception {
+        final GAV junit = new GAV( "junit",
+                                   "junit",
+                                   "4.11" );
+        for ( int i = 0; i < 10; i++ ) {
+            assertEquals( 2, service.loadPackageNames( junit ).size() );
+        }
+        assertEquals( 1, scans( "junit:junit:4.11" ) );
+
+        //Rewrite the jar, making sure the modification time differs even on coarse grained file systems
+        final File jar = jars.get( "junit:junit:4.11" );
+        final long lastModified = jar.lastModified();
+        new TestJarWriter( jar,
+                           tempFiles )
+                .addFile( "org/junit/runner/SomeClass.class" )
+                .close();
+        assertTrue( jar.setLastModified( lastModified + 2000 ) );
+
+        for ( int i = 0; i < 10; i++ ) {
+            final Set<String> packageNames = service.loadPackageNames( junit );
+            assertEquals( 1, packageNames.size() );
+            assertTrue( packageNames.contains( "org.junit.runner" ) );
+        }
+        assertEquals( 2, scans( "junit:junit:4.11" ) );
+    }
+
+    @Test
+    public void testReturnedPackageNamesDoNotChangeTheCache() throws Exception {
+        final GAV junit = new GAV( "junit",
+                                   "junit",
+                                   "4.11" );
+        service.loadPackageNames( junit ).clear();
+
+        assertEquals( 2, service.loadPackageNames( junit ).size() );
+    }
+
+    @Test
+    public void testSharedTransitiveDependenciesAreScannedOnce() throws Exception {
+        final Collection<Dependency> dependencies = new ArrayList<Dependency>();
+        dependencies.add( new Dependency( new GAV( "junit", "junit", "4.11" ) ) );
+        dependencies.add( new Dependency( new GAV( "org.mockito", "mockito-core", "1.10" ) ) );
+
+        for ( int i = 0; i < 5; i++ ) {
+            final EnhancedDependencies enhancedDependencies = service.loadEnhancedDependencies( dependencies );
+
+            assertEquals( 2, enhancedDependencies.size() );
+            for ( EnhancedDependency enhancedDependency : enhancedDependencies ) {
+                final EnhancedDependencies transitiveDependencies = ( (NormalEnhancedDependency) enhancedDependency ).getTransitiveDependencies();
+                assertEquals( 1, transitiveDependencies.size() );
+
+                final Set<String> packages = transitiveDependencies.iterator().next().getPackages();
+                assertEquals( 2, packages.size() );
+                assertTrue( packages.contains( "org.hamcrest" ) );
+                assertTrue( packages.contains( "org.hamcrest.core" ) );
+            }
+        }
+
+        assertEquals( 1, scans( "junit:junit:4.11" ) );
+        assertEquals( 1, scans( "org.mockito:mockito-core:1.10" ) );
+        assertEquals( 1, scans( "org.hamcrest:hamcrest-core:1.3" ) );
+        verify( mavenRepository,
+                times( 5 ) ).resolveArtifact( "org.hamcrest:hamcrest-core:1.3" );
+    }
+
+    @Test
+    public void testMissesAreScannedInTheScannerExecutor() throws Exception {
+        final Collection<Dependency> dependencies = new ArrayList<Dependency>();
+        dependencies.add( new Dependency( new GAV( "junit", "junit", "4.11" ) ) );
+        dependencies.add( new Dependency( new GAV( "org.mockito", "mockito-core", "1.10" ) ) );
+
+        service.loadEnhancedDependencies( dependencies );
+
+        assertFalse( scannerThreads.isEmpty() );
+        assertFalse( scannerThreads.contains( Thread.currentThread() ) );
+        for ( Thread thread : scannerThreads ) {
+            assertFalse( thread.getName().startsWith( "ForkJoinPool" ) );
+        }
+        //Three jars, but no more tasks than scanner threads
+        assertEquals( 2, scannerTasks.get() );
+    }
+
+    @Test
+    public void testLeastRecentlyUsedJarIsDiscarded() throws Exception {
+        final GAV junit = new GAV( "junit", "junit", "4.11" );
+        final GAV hamcrest = new GAV( "org.hamcrest", "hamcrest-core", "1.3" );
+        final GAV mockito = new GAV( "org.mockito", "mockito-core", "1.10" );
+        maxCachedJars = 2;
+
+        service.loadPackageNames( junit );
+        service.loadPackageNames( hamcrest );
+        service.loadPackageNames( junit );
+        service.loadPackageNames( mockito );
+
+        //junit was used after hamcrest, so hamcrest is the one discarded
+        service.loadPackageNames( junit );
+        service.loadPackageNames( hamcrest );
+
+        assertEquals( 1, scans( "junit:junit:4.11" ) );
+        assertEquals( 2, scans( "org.hamcrest:hamcrest-core:1.3" ) );
+        assertEquals( 1, scans( "org.mockito:mockito-core:1.10" ) );
+    }
+
+    private int scans( final String artifactName ) {
+        final AtomicInteger scans = jarScans.get( jars.get( artifactName ).getName() );
+        return scans == null ? 0 : scans.get();
+    }
+
     private DependencyDescriptor makeDependencyDescriptor( final String groupId,
                                                            final String artifactId,
                                                            final String version ) {
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.enums;
+
+import java.util.concurrent.TimeUnit;
+
+import org.kie.api.builder.KieModule;
+import org.kie.workbench.common.services.backend.builder.Builder;
+import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
+import org.kie.workbench.common.services.backend.project.ProjectClassLoaderHelper;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.uberfire.backend.vfs.Path;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares 1,000 dependent enum lookups, as issued by the guided editors when the selected values change, through the
+ * cached compiled expressions against interpolating and compiling the expression on each lookup. Building the
+ * KieModuleMetaData the lookups did before is left out, so the benchmark understates the difference.
+ * <p>
+ * Run it from the IDE or through the <code>main</code> method using the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EnumDropdownServiceBenchmark {
+
+    private static final int LOOKUPS = 1000;
+
+    private static final int COUNTRIES = 20;
+
+    private static final String EXPRESSION = "['@{country}-north', '@{country}-south', '@{country}-east', '@{country}-west']";
+
+    private EnumDropdownServiceImpl service;
+    private Path resource;
+    private ClassLoader classLoader;
+    private String[][] valuePairs;
+
+    @Setup
+    public void setup() {
+        resource = mock( Path.class );
+        classLoader = getClass().getClassLoader();
+
+        final Path rootPath = mock( Path.class );
+        when( rootPath.toURI() ).thenReturn( "default://master@repo/project" );
+        final KieProject project = mock( KieProject.class );
+        when( project.getRootPath() ).thenReturn( rootPath );
+        final KieProjectService projectService = mock( KieProjectService.class );
+        when( projectService.resolveProject( resource ) ).thenReturn( project );
+        final Builder builder = mock( Builder.class );
+        when( builder.getKieModuleIgnoringErrors() ).thenReturn( mock( KieModule.class ) );
+        final LRUBuilderCache builderCache = mock( LRUBuilderCache.class );
+        when( builderCache.assertBuilder( project ) ).thenReturn( builder );
+        final ProjectClassLoaderHelper classLoaderHelper = mock( ProjectClassLoaderHelper.class );
+        when( classLoaderHelper.getProjectClassLoader( project ) ).thenReturn( classLoader );
+
+        service = new EnumDropdownServiceImpl( builderCache,
+                                               projectService,
+                                               classLoaderHelper );
+
+        valuePairs = new String[ LOOKUPS ][];
+        for ( int i = 0; i < LOOKUPS; i++ ) {
+            valuePairs[ i ] = new String[]{"country=country" + ( i % COUNTRIES )};
+        }
+    }
+
+    @Benchmark
+    public int lookupUsingCompiledExpressions() {
+        int values = 0;
+        for ( String[] pairs : valuePairs ) {
+            values += service.loadDropDownExpression( resource,
+                                                      pairs,
+                                                      EXPRESSION ).length;
+        }
+        return values;
+    }
+
+    @Benchmark
+    public int lookupCompilingEachExpression() {
+        int values = 0;
+        for ( String[] pairs : valuePairs ) {
+            values += service.loadDropDownExpression( classLoader,
+                                                      pairs,
+                                                      EXPRESSION ).length;
+        }
+        return values;
+    }
+
+    public static void main( final String[] args ) throws RunnerException {
+        new Runner( new OptionsBuilder()
+                            .include( EnumDropdownServiceBenchmark.class.getSimpleName() )
+                            .build() ).run();
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.enums;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.POM;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.api.builder.KieModule;
+import org.kie.workbench.common.services.backend.builder.Builder;
+import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
+import org.kie.workbench.common.services.backend.project.ProjectClassLoaderHelper;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.rpc.SessionInfo;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EnumDropdownServiceImplTest {
+
+    private static final GAV GAV = new GAV( "org.kie",
+                                            "project",
+                                            "1.0" );
+
+    private static final String EXPRESSION = "['@{country}-north', '@{country}-south', java.util.Arrays.asList('@{city}').get(0)]";
+
+    @Mock
+    private LRUBuilderCache builderCache;
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private ProjectClassLoaderHelper classLoaderHelper;
+
+    @Mock
+    private KieProject project;
+
+    @Mock
+    private Builder builder;
+
+    @Mock
+    private KieModule module;
+
+    @Mock
+    private Path resource;
+
+    @Mock
+    private Path rootPath;
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+
+    private final AtomicInteger compilations = new AtomicInteger();
+
+    private EnumDropdownServiceImpl service;
+
+    @Before
+    public void setUp() {
+        when( rootPath.toURI() ).thenReturn( "default://master@repo/project" );
+        when( project.getRootPath() ).thenReturn( rootPath );
+        when( project.getPom() ).thenReturn( new POM( GAV ) );
+        when( projectService.resolveProject( resource ) ).thenReturn( project );
+        when( builderCache.assertBuilder( project ) ).thenReturn( builder );
+        when( builder.getKieModuleIgnoringErrors() ).thenReturn( module );
+        when( classLoaderHelper.getProjectClassLoader( project ) ).thenReturn( classLoader );
+
+        service = new EnumDropdownServiceImpl( builderCache,
+                                               projectService,
+                                               classLoaderHelper ) {
+            @Override
+            protected Serializable compileExpression( final String expression,
+                                                      final ClassLoader classLoader ) {
+                compilations.incrementAndGet();
+                return super.compileExpression( expression,
+                                                classLoader );
+            }
+        };
+    }
+
+    @Test
+    public void testSameResultsAsUncachedPath() {
+        final String[][] valuePairs = {
+                {"country=spain", "city=madrid"},
+                {"country=france", "city=paris"},
+                {"country=spain", "city="},
+                {"country", "city=rome"},
+                {"country=spain", "city=madrid"}
+        };
+
+        for ( String[] pairs : valuePairs ) {
+            assertArrayEquals( service.loadDropDownExpression( classLoader,
+                                                               pairs,
+                                                               EXPRESSION ),
+                               service.loadDropDownExpression( resource,
+                                                               pairs,
+                                                               EXPRESSION ) );
+        }
+        assertArrayEquals( new String[]{"spain-north", "spain-south", "madrid"},
+                           service.loadDropDownExpression( resource,
+                                                           new String[]{"country=spain", "city=madrid"},
+                                                           EXPRESSION ) );
+    }
+
+    @Test
+    public void testStringArrayResult() {
+        final String expression = "new String[] { '@{country}' }";
+
+        assertArrayEquals( service.loadDropDownExpression( classLoader,
+                                                           new String[]{"country=spain"},
+                                                           expression ),
+                           service.loadDropDownExpression( resource,
+                                                           new String[]{"country=spain"},
+                                                           expression ) );
+    }
+
+    @Test
+    public void testNullValuePair() {
+        assertEquals( 0,
+                      service.loadDropDownExpression( resource,
+                                                      new String[]{"country=spain", null},
+                                                      EXPRESSION ).length );
+    }
+
+    @Test
+    public void testNoProject() {
+        when( projectService.resolveProject( resource ) ).thenReturn( null );
+        when( resource.toURI() ).thenReturn( "default://master@repo/file.rdrl" );
+
+        assertNull( service.loadDropDownExpression( resource,
+                                                    new String[]{"country=spain"},
+                                                    EXPRESSION ) );
+    }
+
+    @Test
+    public void testExpressionsAreCompiledOncePerProject() {
+        for ( int i = 0; i < 100; i++ ) {
+            service.loadDropDownExpression( resource,
+                                            new String[]{"country=spain", "city=madrid"},
+                                            EXPRESSION );
+            service.loadDropDownExpression( resource,
+                                            new String[]{"country=france", "city=paris"},
+                                            EXPRESSION );
+        }
+
+        assertEquals( 2,
+                      compilations.get() );
+        verify( classLoaderHelper,
+                times( 1 ) ).getProjectClassLoader( project );
+    }
+
+    @Test
+    public void testBuildInvalidatesCompiledExpressions() {
+        lookup();
+        service.onBuild( new BuildResults( GAV ) );
+        lookup();
+        service.onIncrementalBuild( new IncrementalBuildResults( GAV ) );
+        lookup();
+
+        assertEquals( 3,
+                      compilations.get() );
+        verify( classLoaderHelper,
+                times( 3 ) ).getProjectClassLoader( project );
+    }
+
+    @Test
+    public void testOtherProjectBuildKeepsCompiledExpressions() {
+        final GAV otherGAV = new GAV( "org.kie",
+                                      "other",
+                                      "1.0" );
+        lookup();
+        service.onBuild( new BuildResults( otherGAV ) );
+        service.onIncrementalBuild( new IncrementalBuildResults( otherGAV ) );
+        lookup();
+
+        assertEquals( 1,
+                      compilations.get() );
+        verify( classLoaderHelper,
+                times( 1 ) ).getProjectClassLoader( project );
+    }
+
+    @Test
+    public void testBuildWithoutGAVInvalidatesAllCompiledExpressions() {
+        lookup();
+        service.onBuild( new BuildResults() );
+        lookup();
+
+        assertEquals( 2,
+                      compilations.get() );
+    }
+
+    @Test
+    public void testProjectCacheInvalidationInvalidatesCompiledExpressions() {
+        lookup();
+        service.onInvalidateProjectCache( new InvalidateDMOProjectCacheEvent( mock( SessionInfo.class ),
+                                                                              project,
+                                                                              resource ) );
+        lookup();
+
+        assertEquals( 2,
+                      compilations.get() );
+    }
+
+    @Test
+    public void testNewKieModuleInvalidatesCompiledExpressions() {
+        lookup();
+        when( builder.getKieModuleIgnoringErrors() ).thenReturn( mock( KieModule.class ) );
+        lookup();
+        lookup();
+
+        assertEquals( 2,
+                      compilations.get() );
+        verify( classLoaderHelper,
+                times( 2 ) ).getProjectClassLoader( project );
+    }
+
+    @Test
+    public void testCompiledExpressionsAreBounded() {
+        for ( int i = 0; i <= EnumDropdownServiceImpl.MAX_COMPILED_EXPRESSIONS; i++ ) {
+            service.loadDropDownExpression( resource,
+                                            new String[]{"country=country" + i, "city=city"},
+                                            EXPRESSION );
+        }
+
+        //The least recently used expression was discarded
+        service.loadDropDownExpression( resource,
+                                        new String[]{"country=country0", "city=city"},
+                                        EXPRESSION );
+
+        assertEquals( EnumDropdownServiceImpl.MAX_COMPILED_EXPRESSIONS + 2,
+                      compilations.get() );
+    }
+
+    private void lookup() {
+        service.loadDropDownExpression( resource,
+                                        new String[]{"country=spain", "city=madrid"},
+                                        EXPRESSION );
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.validation.asset;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.guvnor.common.services.project.builder.model.BuildMessage;
+import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.guvnor.common.services.shared.message.Level;
+import org.guvnor.common.services.shared.validation.model.ValidationMessage;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.builder.Builder;
+import org.kie.workbench.common.services.backend.builder.LRUBuilderCache;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ValidatorBuildServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    private static final int ASSETS = 200;
+
+    private static final String PROJECT_URI = "file:///validation-project";
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private LRUBuilderCache builderCache;
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private KieProject project;
+
+    @Mock
+    private Builder builder;
+
+    @Mock
+    private Builder clone;
+
+    private final SimpleFileSystemProvider fileSystemProvider = new SimpleFileSystemProvider();
+
+    private final AtomicBoolean built = new AtomicBoolean();
+
+    private final AtomicInteger fullBuilds = new AtomicInteger();
+
+    private ValidatorBuildService validatorBuildService;
+
+    @Before
+    public void setUp() {
+        when( project.getRootPath() ).thenReturn( path( PROJECT_URI ) );
+        when( projectService.resolveProject( any( Path.class ) ) ).thenReturn( project );
+        when( builderCache.assertBuilder( project ) ).thenReturn( builder );
+
+        // the full build of the fresh project takes a while
+        when( builder.isBuilt() ).then( invocation -> built.get() );
+        when( builder.build() ).then( invocation -> {
+            Thread.sleep( 500 );
+            fullBuilds.incrementAndGet();
+            built.set( true );
+            return new BuildResults();
+        } );
+        when( builder.copyOnWriteClone() ).thenReturn( clone );
+
+        // each asset is reported as invalid, with its name as message
+        when( clone.deleteResource( any( org.uberfire.java.nio.file.Path.class ) ) ).thenReturn( new IncrementalBuildResults() );
+        when( clone.updateResource( any( org.uberfire.java.nio.file.Path.class ),
+                                    any( InputStream.class ) ) ).then( invocation -> {
+            final org.uberfire.java.nio.file.Path resource = (org.uberfire.java.nio.file.Path) invocation.getArguments()[ 0 ];
+            final BuildMessage message = new BuildMessage();
+            message.setLevel( Level.ERROR );
+            message.setText( resource.getFileName().toString() );
+
+            final IncrementalBuildResults results = new IncrementalBuildResults();
+            results.addAddedMessage( message );
+            return results;
+        } );
+
+        validatorBuildService = new ValidatorBuildService( ioService,
+                                                           builderCache,
+                                                           projectService );
+    }
+
+    @Test
+    public void testConcurrentValidationsShareOneFullBuild() throws Exception {
+        final List<Path> assets = new ArrayList<>();
+        for ( int i = 0; i < ASSETS; i++ ) {
+            assets.add( path( PROJECT_URI + "/src/main/resources/rule" + i + ".drl" ) );
+        }
+
+        final CountDownLatch start = new CountDownLatch( 1 );
+        final ExecutorService executor = Executors.newFixedThreadPool( THREADS );
+        try {
+            final List<Future<List<ValidationMessage>>> results = new ArrayList<>();
+            for ( Path asset : assets ) {
+                results.add( executor.submit( () -> {
+                    start.await();
+                    return validatorBuildService.validate( asset,
+                                                           "rule content" );
+                } ) );
+            }
+            start.countDown();
+
+            for ( int i = 0; i < ASSETS; i++ ) {
+                final List<ValidationMessage> messages = results.get( i ).get();
+                assertEquals( 1,
+                              messages.size() );
+                assertEquals( "rule" + i + ".drl",
+                              messages.get( 0 ).getText() );
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals( 1,
+                      fullBuilds.get() );
+        verify( builder,
+                times( 1 ) ).build();
+        verify( clone,
+                times( ASSETS ) ).updateResource( any( org.uberfire.java.nio.file.Path.class ),
+                                                  any( InputStream.class ) );
+    }
+
+    @Test
+    public void testFailedBuildIsRetried() throws Exception {
+        doThrow( new IllegalStateException( "Build failed" ) ).doReturn( new BuildResults() ).when( builder ).build();
+
+        final Path asset = path( PROJECT_URI + "/src/main/resources/rule.drl" );
+
+        final List<ValidationMessage> failed = validatorBuildService.validate( asset,
+                                                                               "rule content" );
+        assertEquals( 1,
+                      failed.size() );
+        assertEquals( "Build failed",
+                      failed.get( 0 ).getText() );
+
+        final List<ValidationMessage> retried = validatorBuildService.validate( asset,
+                                                                                "rule content" );
+        assertEquals( "rule.drl",
+                      retried.get( 0 ).getText() );
+        verify( builder,
+                times( 2 ) ).build();
+    }
+
+    private Path path( final String uri ) {
+        return Paths.convert( fileSystemProvider.getPath( URI.create( uri ) ) );
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.whitelist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.workbench.common.services.backend.file.AntPathMatcher;
+import org.kie.workbench.common.services.shared.whitelist.WhiteList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares filtering 20,000 package names by a 2,000 pattern White List through the compiled matcher against the
+ * previous approach, which tried every pattern on every package name with the {@link AntPathMatcher}.
+ * <p>
+ * Run it from the IDE or through the <code>main</code> method using the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PackageNameWhiteListFilterBenchmark {
+
+    private static final int PATTERNS = 2000;
+
+    private static final int PACKAGES = 20000;
+
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    private WhiteList whiteList;
+    private List<String> packageNames;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random( 0 );
+
+        whiteList = new WhiteList();
+        for ( int i = 0; i < PATTERNS; i++ ) {
+            switch ( i % 4 ) {
+                case 0:
+                    whiteList.add( "org.group" + random.nextInt( 200 ) + ".module" + random.nextInt( 50 ) );
+                    break;
+                case 1:
+                    whiteList.add( "org.group" + random.nextInt( 200 ) + ".*" );
+                    break;
+                case 2:
+                    whiteList.add( "org.group" + random.nextInt( 200 ) + ".**" );
+                    break;
+                default:
+                    whiteList.add( "com.vendor" + random.nextInt( 200 ) + ".**.model" );
+            }
+        }
+
+        packageNames = new ArrayList<String>();
+        for ( int i = 0; i < PACKAGES; i++ ) {
+            packageNames.add( ( i % 2 == 0 ? "org.group" : "com.vendor" ) + random.nextInt( 400 )
+                                      + ".module" + random.nextInt( 100 )
+                                      + ( i % 3 == 0 ? ".model" : "" ) );
+        }
+    }
+
+    @Benchmark
+    public WhiteList filterUsingCompiledMatcher() {
+        return new PackageNameWhiteListFilter( packageNames,
+                                               whiteList ).getFilteredPackageNames();
+    }
+
+    @Benchmark
+    public WhiteList filterUsingAntPathMatcher() {
+        final WhiteList filtered = new WhiteList();
+        for ( String pattern : whiteList ) {
+            final String patternPath = pattern.replaceAll( "\\.",
+                                                           AntPathMatcher.DEFAULT_PATH_SEPARATOR );
+            for ( String packageName : packageNames ) {
+                if ( ANT_PATH_MATCHER.match( patternPath,
+                                             packageName.replaceAll( "\\.",
+                                                                     AntPathMatcher.DEFAULT_PATH_SEPARATOR ) ) ) {
+                    filtered.add( packageName );
+                }
+            }
+        }
+        return filtered;
+    }
+
+    public static void main( final String[] args ) throws RunnerException {
+        new Runner( new OptionsBuilder()
+                            .include( PackageNameWhiteListFilterBenchmark.class.getSimpleName() )
+                            .build() ).run();
+    }
+}
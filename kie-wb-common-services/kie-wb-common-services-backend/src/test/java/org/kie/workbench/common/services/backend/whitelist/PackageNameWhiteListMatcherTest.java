@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.whitelist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.file.AntPathMatcher;
+import org.kie.workbench.common.services.shared.whitelist.WhiteList;
+
+import static org.junit.Assert.*;
+
+public class PackageNameWhiteListMatcherTest {
+
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+
+    private static final String[] PATTERN_SEGMENTS = {"org", "kie", "a", "ab", "b", "**", "*", "a*", "*b", "?", "a?", "*a*", "?*"};
+
+    private static final String[] PACKAGE_SEGMENTS = {"org", "kie", "a", "ab", "b", "abb", "ba", "x"};
+
+    private static final int SAMPLES = 20000;
+
+    @Test
+    public void testLiteral() {
+        final PackageNameWhiteListMatcher matcher = matcher( "org.kie" );
+
+        assertTrue( matcher.matches( "org.kie" ) );
+        assertFalse( matcher.matches( "org" ) );
+        assertFalse( matcher.matches( "org.kie.a" ) );
+        assertFalse( matcher.matches( "org.kie." ) );
+        assertFalse( matcher.matches( ".org.kie" ) );
+    }
+
+    @Test
+    public void testStar() {
+        final PackageNameWhiteListMatcher matcher = matcher( "org.*" );
+
+        assertTrue( matcher.matches( "org.kie" ) );
+        assertTrue( matcher.matches( "org." ) );
+        assertFalse( matcher.matches( "org" ) );
+        assertFalse( matcher.matches( "org.kie.a" ) );
+    }
+
+    @Test
+    public void testDoubleStar() {
+        final PackageNameWhiteListMatcher matcher = matcher( "org.**.a" );
+
+        assertTrue( matcher.matches( "org.a" ) );
+        assertTrue( matcher.matches( "org.kie.a" ) );
+        assertTrue( matcher.matches( "org.kie.b.a" ) );
+        assertTrue( matcher.matches( "org.kie.a." ) );
+        assertFalse( matcher.matches( "org.kie.a.b" ) );
+        assertFalse( matcher.matches( "com.kie.a" ) );
+    }
+
+    @Test
+    public void testWildcardsInsideSegments() {
+        final PackageNameWhiteListMatcher matcher = matcher( "org.k?e*.a*b" );
+
+        assertTrue( matcher.matches( "org.kie.ab" ) );
+        assertTrue( matcher.matches( "org.kiemodule.axxb" ) );
+        assertFalse( matcher.matches( "org.ke.ab" ) );
+        assertFalse( matcher.matches( "org.kie.ba" ) );
+    }
+
+    @Test
+    public void testEmptyWhiteList() {
+        assertFalse( new PackageNameWhiteListMatcher( new WhiteList() ).matches( "org.kie" ) );
+    }
+
+    @Test
+    public void testSamePatternAsAntPathMatcher() {
+        final Random random = new Random( 1 );
+        for ( int i = 0; i < SAMPLES; i++ ) {
+            final String pattern = generate( random,
+                                             PATTERN_SEGMENTS );
+            final String packageName = generate( random,
+                                                 PACKAGE_SEGMENTS );
+
+            assertEquals( pattern + " " + packageName,
+                          antPathMatch( Collections.singletonList( pattern ),
+                                        packageName ),
+                          matcher( pattern ).matches( packageName ) );
+        }
+    }
+
+    @Test
+    public void testSamePatternsAsAntPathMatcher() {
+        final Random random = new Random( 2 );
+        for ( int i = 0; i < SAMPLES; i++ ) {
+            final List<String> patterns = new ArrayList<String>();
+            for ( int j = random.nextInt( 8 ); j >= 0; j-- ) {
+                patterns.add( generate( random,
+                                        PATTERN_SEGMENTS ) );
+            }
+            final String packageName = generate( random,
+                                                 PACKAGE_SEGMENTS );
+
+            assertEquals( patterns + " " + packageName,
+                          antPathMatch( patterns,
+                                        packageName ),
+                          new PackageNameWhiteListMatcher( patterns ).matches( packageName ) );
+        }
+    }
+
+    private PackageNameWhiteListMatcher matcher( final String... patterns ) {
+        return new PackageNameWhiteListMatcher( Arrays.asList( patterns ) );
+    }
+
+    //The matching PackageNameWhiteListFilter did before compiling the White List
+    private boolean antPathMatch( final List<String> patterns,
+                                  final String packageName ) {
+        for ( String pattern : patterns ) {
+            if ( ANT_PATH_MATCHER.match( pattern.replaceAll( "\\.",
+                                                             AntPathMatcher.DEFAULT_PATH_SEPARATOR ),
+                                         packageName.replaceAll( "\\.",
+                                                                 AntPathMatcher.DEFAULT_PATH_SEPARATOR ) ) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //Random names of up to four segments, with leading, trailing and repeated separators now and then
+    private String generate( final Random random,
+                             final String[] segments ) {
+        final StringBuilder name = new StringBuilder();
+        if ( random.nextInt( 5 ) == 0 ) {
+            name.append( '.' );
+        }
+        final int length = random.nextInt( 5 );
+        for ( int i = 0; i < length; i++ ) {
+            if ( i > 0 ) {
+                name.append( random.nextInt( 8 ) == 0 ? ".." : "." );
+            }
+            name.append( segments[ random.nextInt( segments.length ) ] );
+        }
+        if ( random.nextInt( 5 ) == 0 ) {
+            name.append( '.' );
+        }
+        return name.toString();
+    }
+}
@@ -16,11 +16,23 @@
 
 package org.kie.workbench.common.services.backend.whitelist;
 
+import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.events.NewPackageEvent;
 import org.guvnor.common.services.project.model.POM;
+import org.guvnor.common.services.project.model.Package;
 import org.guvnor.common.services.shared.metadata.model.Metadata;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -30,10 +42,18 @@ import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListSe
 import org.kie.workbench.common.services.shared.whitelist.WhiteList;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceUpdated;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
 
 /**
@@ -48,15 +68,198 @@ import static org.mockito.Mockito.*;
 @RunWith(MockitoJUnitRunner.class)
 public class PackageNameWhiteListServiceImplTest {
 
+    private static final List<String> PACKAGE_NAMES = Arrays.asList( "org.kie.a",
+                                                                     "org.drools",
+                                                                     "com.acme" );
+
     @Mock
     PackageNameSearchProvider packageNameSearchProvider;
 
     @Mock
     PackageNameWhiteListSaver saver;
 
+    @Mock
+    IOService ioService;
+
+    @Mock
+    KieProjectService projectService;
+
+    @Mock
+    KieProject project;
+
+    @Mock
+    SessionInfo sessionInfo;
+
+    private File projectDirectory;
+
+    private org.uberfire.java.nio.file.Path root;
+
+    private Path projectRootPath;
+
+    private Path whiteListPath;
+
     @Before
     public void setUp() throws Exception {
         when( packageNameSearchProvider.newTopLevelPackageNamesSearch( any( POM.class ) ) ).thenReturn( mock( PackageNameSearchProvider.PackageNameSearch.class ) );
+
+        //The loader only reads the White List from the IOService if the file exists
+        projectDirectory = java.nio.file.Files.createTempDirectory( "white-list-project" ).toFile();
+        java.nio.file.Files.createFile( projectDirectory.toPath().resolve( "package-names-white-list" ) );
+
+        root = new SimpleFileSystemProvider().getPath( projectDirectory.toURI() );
+        projectRootPath = Paths.convert( root );
+        whiteListPath = Paths.convert( root.resolve( "package-names-white-list" ) );
+
+        when( project.getRootPath() ).thenReturn( projectRootPath );
+        when( project.getPackageNamesWhiteListPath() ).thenReturn( whiteListPath );
+
+        final Package projectPackage = mock( Package.class );
+        when( projectPackage.getPackageName() ).thenReturn( "com.acme" );
+        when( projectService.resolvePackages( project ) ).thenReturn( new HashSet<Package>( Collections.singletonList( projectPackage ) ) );
+
+        when( ioService.readAllString( any( org.uberfire.java.nio.file.Path.class ) ) ).thenReturn( "org.kie.**" );
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        java.nio.file.Files.deleteIfExists( projectDirectory.toPath().resolve( "package-names-white-list" ) );
+        java.nio.file.Files.deleteIfExists( projectDirectory.toPath() );
+    }
+
+    @Test
+    public void testWhiteListIsLoadedOncePerProject() {
+        final PackageNameWhiteListServiceImpl service = makeCachingService();
+
+        for ( int i = 0; i < 100; i++ ) {
+            assertEquals( new HashSet<String>( Arrays.asList( "org.kie.a",
+                                                              "com.acme" ) ),
+                          service.filterPackageNames( project,
+                                                      PACKAGE_NAMES ) );
+        }
+
+        verify( ioService,
+                times( 1 ) ).readAllString( any( org.uberfire.java.nio.file.Path.class ) );
+        verify( projectService,
+                times( 1 ) ).resolvePackages( project );
+    }
+
+    @Test
+    public void testSavingTheWhiteListInvalidatesIt() {
+        final PackageNameWhiteListServiceImpl service = makeCachingService();
+        service.filterPackageNames( project,
+                                    PACKAGE_NAMES );
+
+        when( ioService.readAllString( any( org.uberfire.java.nio.file.Path.class ) ) ).thenReturn( "org.drools" );
+        service.save( whiteListPath,
+                      new WhiteList( Collections.singletonList( "org.drools" ) ),
+                      new Metadata(),
+                      "comment" );
+
+        assertEquals( new HashSet<String>( Arrays.asList( "org.drools",
+                                                          "com.acme" ) ),
+                      service.filterPackageNames( project,
+                                                  PACKAGE_NAMES ) );
+        verify( ioService,
+                times( 2 ) ).readAllString( any( org.uberfire.java.nio.file.Path.class ) );
+    }
+
+    @Test
+    public void testWhiteListChangeEventInvalidatesIt() {
+        final PackageNameWhiteListServiceImpl service = makeCachingService();
+        service.filterPackageNames( project,
+                                    PACKAGE_NAMES );
+
+        //Changes to other observed files keep the White List
+        service.onWhiteListChanged( new InvalidateDMOProjectCacheEvent( sessionInfo,
+                                                                        project,
+                                                                        projectFile( "pom.xml" ) ) );
+        service.filterPackageNames( project,
+                                    PACKAGE_NAMES );
+        verify( ioService,
+                times( 1 ) ).readAllString( any( org.uberfire.java.nio.file.Path.class ) );
+
+        when( ioService.readAllString( any( org.uberfire.java.nio.file.Path.class ) ) ).thenReturn( "org.drools" );
+        service.onWhiteListChanged( new InvalidateDMOProjectCacheEvent( sessionInfo,
+                                                                        project,
+                                                                        whiteListPath ) );
+
+        assertEquals( new HashSet<String>( Arrays.asList( "org.drools",
+                                                          "com.acme" ) ),
+                      service.filterPackageNames( project,
+                                                  PACKAGE_NAMES ) );
+        verify( ioService,
+                times( 2 ) ).readAllString( any( org.uberfire.java.nio.file.Path.class ) );
+    }
+
+    @Test
+    public void testPackageChangesInvalidateTheWhiteList() {
+        final PackageNameWhiteListServiceImpl service = makeCachingService();
+        service.filterPackageNames( project,
+                                    PACKAGE_NAMES );
+
+        final Package newPackage = mock( Package.class );
+        when( newPackage.getProjectRootPath() ).thenReturn( projectRootPath );
+        service.onPackageAdded( new NewPackageEvent( newPackage ) );
+        service.filterPackageNames( project,
+                                    PACKAGE_NAMES );
+
+        service.onResourceDeleted( new ResourceDeletedEvent( projectFile( "src/main/resources/org/kie/a" ),
+                                                             "",
+                                                             sessionInfo ) );
+        service.filterPackageNames( project,
+                                    PACKAGE_NAMES );
+
+        verify( projectService,
+                times( 3 ) ).resolvePackages( project );
+    }
+
+    @Test
+    public void testWhiteListLoadedBeforeAnInvalidationIsNotCached() {
+        final PackageNameWhiteListServiceImpl service = makeCachingService();
+
+        //The White List changes while the first load resolves the Project packages
+        final Set<Package> packages = projectService.resolvePackages( project );
+        when( projectService.resolvePackages( project ) ).then( invocation -> {
+            service.onWhiteListChanged( new InvalidateDMOProjectCacheEvent( sessionInfo,
+                                                                            project,
+                                                                            whiteListPath ) );
+            return packages;
+        } ).thenReturn( packages );
+
+        service.filterPackageNames( project,
+                                    PACKAGE_NAMES );
+        service.filterPackageNames( project,
+                                    PACKAGE_NAMES );
+        service.filterPackageNames( project,
+                                    PACKAGE_NAMES );
+
+        verify( ioService,
+                times( 2 ) ).readAllString( any( org.uberfire.java.nio.file.Path.class ) );
+    }
+
+    @Test
+    public void testUpdatesToOtherResourcesKeepTheWhiteList() {
+        final PackageNameWhiteListServiceImpl service = makeCachingService();
+        service.filterPackageNames( project,
+                                    PACKAGE_NAMES );
+
+        service.onResourceDeleted( new ResourceDeletedEvent( Paths.convert( root.getParent().resolve( "other/pom.xml" ) ),
+                                                             "",
+                                                             sessionInfo ) );
+
+        final Map<Path, Collection<ResourceChange>> batch = new HashMap<Path, Collection<ResourceChange>>();
+        batch.put( projectFile( "src/main/resources/rule.drl" ),
+                   Collections.<ResourceChange>singletonList( new ResourceUpdated( "" ) ) );
+        service.onBatchResourceChanges( new ResourceBatchChangesEvent( batch,
+                                                                       "",
+                                                                       sessionInfo ) );
+        service.filterPackageNames( project,
+                                    PACKAGE_NAMES );
+
+        verify( ioService,
+                times( 1 ) ).readAllString( any( org.uberfire.java.nio.file.Path.class ) );
+        verify( projectService,
+                times( 1 ) ).resolvePackages( project );
     }
 
 
@@ -149,6 +352,18 @@ public class PackageNameWhiteListServiceImplTest {
         fail( "Expected pattern '" + expected + "' was not found in actual." );
     }
 
+    private Path projectFile( final String relativePath ) {
+        return Paths.convert( root.resolve( relativePath ) );
+    }
+
+    private PackageNameWhiteListServiceImpl makeCachingService() {
+        return new PackageNameWhiteListServiceImpl( ioService,
+                                                    projectService,
+                                                    new PackageNameWhiteListLoader( packageNameSearchProvider,
+                                                                                    ioService ),
+                                                    saver );
+    }
+
     private PackageNameWhiteListService makeService( final String content ) {
         return new PackageNameWhiteListServiceImpl( mock( IOService.class ),
                                                     mock( KieProjectService.class ),
@@ -18,6 +18,7 @@ package org.kie.workbench.common.stunner.backend.service;
 import org.apache.commons.lang3.StringUtils;
 import org.kie.workbench.common.stunner.core.backend.lookup.impl.AbstractVFSLookupManager;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.lookup.criteria.AbstractCriteriaLookupManager;
 import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramLookupManager;
 import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramLookupRequest;
@@ -34,7 +35,7 @@ import java.util.List;
 import java.util.Map;
 
 public abstract class AbstractDiagramLookupService<D extends Diagram>
-        extends AbstractVFSLookupManager<D, DiagramRepresentation, DiagramLookupRequest>
+        extends AbstractVFSLookupManager<Metadata, DiagramRepresentation, DiagramLookupRequest>
         implements DiagramLookupManager, DiagramLookupService {
 
     private static final Logger LOG =
@@ -53,25 +54,37 @@ public abstract class AbstractDiagramLookupService<D extends Diagram>
         return diagramService.accepts( path );
     }
 
+    /**
+     * Only the diagram's metadata is read, the representations do not need the graph.
+     */
     @Override
-    protected D getItemByPath( Path path ) {
-        return diagramService.getDiagramByPath( path );
+    protected Metadata getItemByPath( Path path ) {
+        return diagramService.getMetadataByPath( path );
     }
 
     @Override
-    protected List<D> getItems( DiagramLookupRequest request ) {
+    protected List<Metadata> getItems( DiagramLookupRequest request ) {
         org.uberfire.java.nio.file.Path root = parseCriteriaPath( request );
         return getItemsByPath( root );
     }
 
     @Override
-    protected boolean matches( String criteria, Diagram item ) {
+    protected boolean matches( String criteria, Metadata item ) {
         return true;
     }
 
     @Override
-    protected DiagramRepresentation buildResult( Diagram item ) {
-        return new DiagramRepresentationImpl.DiagramRepresentationBuilder( item ).build();
+    protected DiagramRepresentation buildResult( Metadata item ) {
+        return new DiagramRepresentationImpl.DiagramRepresentationBuilder( getDiagramName( item ), item ).build();
+    }
+
+    /**
+     * The name of the diagram the given metadata belongs to, its file name without the extension.
+     */
+    protected String getDiagramName( Metadata metadata ) {
+        final String fileName = metadata.getPath().getFileName();
+        final int extension = fileName.lastIndexOf( '.' );
+        return extension > 0 ? fileName.substring( 0, extension ) : fileName;
     }
 
     protected org.uberfire.java.nio.file.Path parseCriteriaPath( DiagramLookupRequest request ) {
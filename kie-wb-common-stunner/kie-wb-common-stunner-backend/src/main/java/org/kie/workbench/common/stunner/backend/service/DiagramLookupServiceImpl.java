@@ -18,6 +18,7 @@ package org.kie.workbench.common.stunner.backend.service;
 import org.apache.commons.lang3.StringUtils;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.lookup.criteria.AbstractCriteriaLookupManager;
 import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramLookupRequest;
 import org.slf4j.Logger;
@@ -57,15 +58,15 @@ public class DiagramLookupServiceImpl
             Map<String, String> criteriaMap = AbstractCriteriaLookupManager.parseCriteria( criteria );
             String name = criteriaMap.get( "name" );
             if ( !StringUtils.isEmpty( name ) ) {
-                Collection<Diagram> diagrams = getItemsByPath( getServiceImpl().getDiagramsPath() );
+                Collection<Metadata> diagrams = getItemsByPath( getServiceImpl().getDiagramsPath() );
                 if ( null != diagrams ) {
-                    final Diagram d = diagrams
+                    final Metadata d = diagrams
                             .stream()
-                            .filter( diagram -> name.equals( diagram.getName() ) )
+                            .filter( metadata -> name.equals( getDiagramName( metadata ) ) )
                             .findFirst()
                             .orElse( null );
                     if ( null != d ) {
-                        return Paths.convert( d.getMetadata().getPath() );
+                        return Paths.convert( d.getPath() );
                     }
                 }
                 LOG.error( "Diagram with name [" + name + "] not found." );
@@ -156,8 +156,13 @@ public class DiagramServiceImpl
         return true;
     }
 
+    @Override
+    protected org.uberfire.java.nio.file.Path getMetadataFilePath( final Path path ) {
+        return getDiagramsPath().resolve( getMetadataFileName( path.getFileName() ) );
+    }
+
     private InputStream doLoadMetadataStreamByDiagramPath( final Path dPath ) {
-        org.uberfire.java.nio.file.Path path = getDiagramsPath().resolve( getMetadataFileName( dPath.getFileName() ) );
+        org.uberfire.java.nio.file.Path path = getMetadataFilePath( dPath );
         if ( null != path ) {
             try {
                 return loadPath( path );
@@ -16,6 +16,7 @@
 package org.kie.workbench.common.stunner.core.service;
 
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.uberfire.backend.vfs.Path;
 
 /**
@@ -31,6 +32,12 @@ public interface BaseDiagramService<D extends Diagram> {
      */
     D getDiagramByPath( Path path );
 
+    /**
+     * Returns the Diagram's metadata by the given path in the service, without loading the Diagram's graph.
+     * Implementations can throw unchecked exceptions.
+     */
+    Metadata getMetadataByPath( Path path );
+
     /**
      * Checks if this service accepts a given Diagram by its path.
      */
@@ -20,6 +20,7 @@ import org.kie.workbench.common.stunner.core.definition.adapter.PriorityAdapter;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 public abstract class AbstractRuntimeAdapter<T> implements PriorityAdapter {
@@ -68,6 +69,14 @@ public abstract class AbstractRuntimeAdapter<T> implements PriorityAdapter {
         return RuntimeAdapterUtils.getFieldAnnotations( type, annotationType );
     }
 
+    protected static <T extends Annotation> List<RuntimeFieldAccessor> getFieldAccessors( Class<?> type, Class<T> annotationType ) {
+        return RuntimeAdapterUtils.getFieldAccessors( type, annotationType );
+    }
+
+    protected static <T extends Annotation> RuntimeFieldAccessor getFieldAccessor( Class<?> type, Class<T> annotationType ) {
+        return RuntimeAdapterUtils.getFieldAccessor( type, annotationType );
+    }
+
     protected String getDefinitionId( final Class<?> type ) {
         return RuntimeAdapterUtils.getDefinitionId( type );
     }
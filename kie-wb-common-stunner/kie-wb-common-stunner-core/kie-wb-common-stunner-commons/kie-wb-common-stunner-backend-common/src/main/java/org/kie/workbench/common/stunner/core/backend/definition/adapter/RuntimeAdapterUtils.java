@@ -22,34 +22,31 @@ import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 
 public class RuntimeAdapterUtils {
 
-    @SuppressWarnings( "unchecked" )
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue( T object,
                                                                          Class<A> annotationType ) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while ( !c.getName().equals( Object.class.getName() ) ) {
-            V result = getAnnotatedFieldValue( object, c, annotationType );
+        for ( RuntimeFieldAccessor accessor : RuntimeClassAccessors.get( object.getClass() ).getFirstAnnotatedPerClass( annotationType ) ) {
+            V result = accessor.getValue( object );
             if ( null != result ) {
                 return result;
             }
-            c = c.getSuperclass();
         }
         return null;
     }
 
     public static <T, V> Set<V> getFieldValues( T object, Set<String> fieldNames ) throws IllegalAccessException {
         Set<V> result = new LinkedHashSet<V>();
+        final RuntimeClassAccessors accessors = RuntimeClassAccessors.get( object.getClass() );
         for ( String fieldName : fieldNames ) {
-            Class<?> c = object.getClass();
-            while ( !c.getName().equals( Object.class.getName() ) ) {
-                V result1 = getFieldValue( object, c, fieldName );
+            for ( RuntimeFieldAccessor accessor : accessors.getNamed( fieldName ) ) {
+                V result1 = accessor.getValue( object );
                 if ( null != result1 ) {
                     result.add( result1 );
                 }
-                c = c.getSuperclass();
             }
 
         }
@@ -57,78 +54,40 @@ public class RuntimeAdapterUtils {
     }
 
     public static <T, V> V getFieldValue( T object, String fieldName ) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while ( !c.getName().equals( Object.class.getName() ) ) {
-            V result = getFieldValue( object, c, fieldName );
+        for ( RuntimeFieldAccessor accessor : RuntimeClassAccessors.get( object.getClass() ).getNamed( fieldName ) ) {
+            V result = accessor.getValue( object );
             if ( null != result ) {
                 return result;
             }
-            c = c.getSuperclass();
         }
         return null;
 
     }
 
-    @SuppressWarnings( "unchecked" )
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue( T object,
                                                                          Class<?> sourceType,
                                                                          Class<A> annotationType ) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if ( null != fields ) {
-            for ( Field field : fields ) {
-                A annotation = field.getAnnotation( annotationType );
-                if ( null != annotation ) {
-                    field.setAccessible( true );
-                    result = ( V ) field.get( object );
-                    break;
-                }
-            }
-        }
-        return result;
+        RuntimeFieldAccessor accessor = RuntimeClassAccessors.get( sourceType ).getDeclaredAnnotated( annotationType );
+        return null != accessor ? accessor.getValue( object ) : null;
     }
 
     public static <T, V> V getFieldValue( T object,
                                           Class<?> sourceType,
                                           String fieldName ) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if ( null != fields ) {
-            for ( Field field : fields ) {
-                if ( field.getName().equals( fieldName ) ) {
-                    field.setAccessible( true );
-                    result = ( V ) field.get( object );
-                    break;
-                }
-            }
-        }
-        return result;
+        RuntimeFieldAccessor accessor = RuntimeClassAccessors.get( sourceType ).getDeclaredNamed( fieldName );
+        return null != accessor ? accessor.getValue( object ) : null;
     }
 
     public static <T> Field getField( T object, String fieldName ) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while ( !c.getName().equals( Object.class.getName() ) ) {
-            Field result = getField( c, fieldName );
-            if ( null != result ) {
-                return result;
-            }
-            c = c.getSuperclass();
-        }
-        return null;
+        List<RuntimeFieldAccessor> accessors = RuntimeClassAccessors.get( object.getClass() ).getNamed( fieldName );
+        return !accessors.isEmpty() ? accessors.get( 0 ).getField() : null;
 
     }
 
     public static Field getField( Class<?> sourceType,
                                   String fieldName ) throws IllegalAccessException {
-        Field[] fields = sourceType.getDeclaredFields();
-        if ( null != fields ) {
-            for ( Field field : fields ) {
-                if ( field.getName().equals( fieldName ) ) {
-                    return field;
-                }
-            }
-        }
-        return null;
+        RuntimeFieldAccessor accessor = RuntimeClassAccessors.get( sourceType ).getDeclaredNamed( fieldName );
+        return null != accessor ? accessor.getField() : null;
     }
 
     public static <T extends Annotation> T getClassAnnotation( Class<?> type, Class<T> annotationType ) {
@@ -147,14 +106,8 @@ public class RuntimeAdapterUtils {
     public static <T extends Annotation> Collection<Field> getFieldAnnotations( Class<?> type, Class<T> annotationType ) {
         if ( null != type && null != annotationType ) {
             Collection<Field> result = new LinkedList<>();
-            Class<?> c = type;
-            while ( !c.getName().equals( Object.class.getName() ) ) {
-                Collection<Field> fields = _getFieldAnnotations( c, annotationType );
-                if ( null != fields && !fields.isEmpty() ) {
-                    result.addAll( fields );
-
-                }
-                c = c.getSuperclass();
+            for ( RuntimeFieldAccessor accessor : getFieldAccessors( type, annotationType ) ) {
+                result.add( accessor.getField() );
             }
             return result;
 
@@ -162,20 +115,21 @@ public class RuntimeAdapterUtils {
         return null;
     }
 
-    private static <T extends Annotation> Collection<Field> _getFieldAnnotations( Class<?> type, Class<T> annotationType ) {
-        Field[] fields = type.getDeclaredFields();
-        if ( null != fields ) {
-            Collection<Field> result = new LinkedList<>();
-            for ( Field field : fields ) {
-                T annotation = field.getAnnotation( annotationType );
-                if ( null != annotation ) {
-                    result.add( field );
+    /**
+     * Returns the accessors for all the fields annotated with the given annotation type, including
+     * the ones declared on super classes. The resulting list is computed once per class and annotation type.
+     */
+    public static <T extends Annotation> List<RuntimeFieldAccessor> getFieldAccessors( Class<?> type, Class<T> annotationType ) {
+        return RuntimeClassAccessors.get( type ).getAnnotated( annotationType );
+    }
 
-                }
-            }
-            return result;
-        }
-        return null;
+    /**
+     * Returns the accessor for the first field annotated with the given annotation type, looking up
+     * from the given class to its super classes, or <code>null</code> if there is no such field.
+     */
+    public static <T extends Annotation> RuntimeFieldAccessor getFieldAccessor( Class<?> type, Class<T> annotationType ) {
+        List<RuntimeFieldAccessor> accessors = RuntimeClassAccessors.get( type ).getAnnotated( annotationType );
+        return !accessors.isEmpty() ? accessors.get( 0 ) : null;
     }
 
     public static String getDefinitionId( final Class<?> type ) {
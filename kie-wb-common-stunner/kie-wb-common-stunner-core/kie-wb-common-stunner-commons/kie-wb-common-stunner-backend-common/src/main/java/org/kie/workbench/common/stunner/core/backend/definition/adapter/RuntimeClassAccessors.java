@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.definition.adapter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The field accessors table for a given class, including the fields declared on its super classes.
+ * <p>
+ * The table is computed once per class and then reused, so the class hierarchy is not introspected
+ * again on each property or definition access. Fields are always kept in the same order
+ * the reflection based lookups used to visit them: declaration order, from the
+ * given class up to (excluding) <code>Object</code>.
+ */
+final class RuntimeClassAccessors {
+
+    private static final ClassValue<RuntimeClassAccessors> ACCESSORS = new ClassValue<RuntimeClassAccessors>() {
+        @Override
+        protected RuntimeClassAccessors computeValue( final Class<?> type ) {
+            return new RuntimeClassAccessors( type );
+        }
+    };
+
+    private final Class<?> type;
+    private final List<Class<?>> hierarchy;
+    private final ConcurrentMap<Field, RuntimeFieldAccessor> accessors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<? extends Annotation>, AnnotatedAccessors> annotated = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<RuntimeFieldAccessor>> named = new ConcurrentHashMap<>();
+
+    static RuntimeClassAccessors get( final Class<?> type ) {
+        return ACCESSORS.get( type );
+    }
+
+    private RuntimeClassAccessors( final Class<?> type ) {
+        this.type = type;
+        final List<Class<?>> classes = new ArrayList<>();
+        Class<?> c = type;
+        while ( null != c && !c.getName().equals( Object.class.getName() ) ) {
+            classes.add( c );
+            c = c.getSuperclass();
+        }
+        this.hierarchy = Collections.unmodifiableList( classes );
+    }
+
+    /**
+     * All fields annotated with the given annotation type, for the whole class hierarchy.
+     */
+    List<RuntimeFieldAccessor> getAnnotated( final Class<? extends Annotation> annotationType ) {
+        return getAnnotatedAccessors( annotationType ).all;
+    }
+
+    /**
+     * The first field annotated with the given annotation type for each class in the hierarchy.
+     */
+    List<RuntimeFieldAccessor> getFirstAnnotatedPerClass( final Class<? extends Annotation> annotationType ) {
+        return getAnnotatedAccessors( annotationType ).firstPerClass;
+    }
+
+    /**
+     * The first field annotated with the given annotation type declared by this class, if any.
+     */
+    RuntimeFieldAccessor getDeclaredAnnotated( final Class<? extends Annotation> annotationType ) {
+        final List<RuntimeFieldAccessor> candidates = getFirstAnnotatedPerClass( annotationType );
+        if ( !candidates.isEmpty() ) {
+            final RuntimeFieldAccessor first = candidates.get( 0 );
+            if ( type.equals( first.getField().getDeclaringClass() ) ) {
+                return first;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The field with the given name for each class in the hierarchy that declares it.
+     */
+    List<RuntimeFieldAccessor> getNamed( final String fieldName ) {
+        return named.computeIfAbsent( fieldName, this::buildNamed );
+    }
+
+    /**
+     * The field with the given name declared by this class, if any.
+     */
+    RuntimeFieldAccessor getDeclaredNamed( final String fieldName ) {
+        final List<RuntimeFieldAccessor> candidates = getNamed( fieldName );
+        if ( !candidates.isEmpty() ) {
+            final RuntimeFieldAccessor first = candidates.get( 0 );
+            if ( type.equals( first.getField().getDeclaringClass() ) ) {
+                return first;
+            }
+        }
+        return null;
+    }
+
+    private AnnotatedAccessors getAnnotatedAccessors( final Class<? extends Annotation> annotationType ) {
+        return annotated.computeIfAbsent( annotationType, this::buildAnnotated );
+    }
+
+    private AnnotatedAccessors buildAnnotated( final Class<? extends Annotation> annotationType ) {
+        final List<RuntimeFieldAccessor> all = new ArrayList<>();
+        final List<RuntimeFieldAccessor> firstPerClass = new ArrayList<>();
+        for ( final Class<?> c : hierarchy ) {
+            boolean first = true;
+            for ( final Field field : c.getDeclaredFields() ) {
+                if ( null != field.getAnnotation( annotationType ) ) {
+                    final RuntimeFieldAccessor accessor = getAccessor( field );
+                    all.add( accessor );
+                    if ( first ) {
+                        firstPerClass.add( accessor );
+                        first = false;
+                    }
+                }
+            }
+        }
+        return new AnnotatedAccessors( all, firstPerClass );
+    }
+
+    private List<RuntimeFieldAccessor> buildNamed( final String fieldName ) {
+        final List<RuntimeFieldAccessor> result = new ArrayList<>();
+        for ( final Class<?> c : hierarchy ) {
+            for ( final Field field : c.getDeclaredFields() ) {
+                if ( field.getName().equals( fieldName ) ) {
+                    result.add( getAccessor( field ) );
+                    break;
+                }
+            }
+        }
+        return Collections.unmodifiableList( result );
+    }
+
+    private RuntimeFieldAccessor getAccessor( final Field field ) {
+        return accessors.computeIfAbsent( field, RuntimeFieldAccessor::new );
+    }
+
+    private static final class AnnotatedAccessors {
+
+        private final List<RuntimeFieldAccessor> all;
+        private final List<RuntimeFieldAccessor> firstPerClass;
+
+        private AnnotatedAccessors( final List<RuntimeFieldAccessor> all,
+                                    final List<RuntimeFieldAccessor> firstPerClass ) {
+            this.all = Collections.unmodifiableList( all );
+            this.firstPerClass = Collections.unmodifiableList( firstPerClass );
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.definition.adapter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Reads and writes the value of a single field using method handles that are resolved only once.
+ * Instances are immutable and can be shared across threads.
+ */
+public final class RuntimeFieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType( Object.class, Object.class );
+    private static final MethodType SETTER_TYPE = MethodType.methodType( void.class, Object.class, Object.class );
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    RuntimeFieldAccessor( final Field field ) {
+        this.field = field;
+        field.setAccessible( true );
+        final boolean isStatic = Modifier.isStatic( field.getModifiers() );
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        this.getter = isStatic ? null : unreflectGetter( lookup, field );
+        this.setter = isStatic ? null : unreflectSetter( lookup, field );
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public String getName() {
+        return field.getName();
+    }
+
+    @SuppressWarnings( "unchecked" )
+    public <V> V getValue( final Object target ) throws IllegalAccessException {
+        if ( null == getter ) {
+            return ( V ) field.get( target );
+        }
+        try {
+            return ( V ) ( Object ) getter.invokeExact( target );
+        } catch ( RuntimeException | Error e ) {
+            throw e;
+        } catch ( Throwable t ) {
+            throw new IllegalStateException( "Error obtaining value for field [" + field + "]", t );
+        }
+    }
+
+    public void setValue( final Object target,
+                          final Object value ) throws IllegalAccessException {
+        if ( null == setter ) {
+            field.set( target, value );
+            return;
+        }
+        try {
+            setter.invokeExact( target, value );
+        } catch ( RuntimeException | Error e ) {
+            throw e;
+        } catch ( Throwable t ) {
+            throw new IllegalStateException( "Error setting value for field [" + field + "]", t );
+        }
+    }
+
+    private static MethodHandle unreflectGetter( final MethodHandles.Lookup lookup,
+                                                 final Field field ) {
+        try {
+            return lookup.unreflectGetter( field ).asType( GETTER_TYPE );
+        } catch ( IllegalAccessException e ) {
+            // Fallback to plain reflection.
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflectSetter( final MethodHandles.Lookup lookup,
+                                                 final Field field ) {
+        try {
+            return lookup.unreflectSetter( field ).asType( SETTER_TYPE );
+        } catch ( IllegalAccessException e ) {
+            // Final fields, for example. Fallback to plain reflection.
+            return null;
+        }
+    }
+}
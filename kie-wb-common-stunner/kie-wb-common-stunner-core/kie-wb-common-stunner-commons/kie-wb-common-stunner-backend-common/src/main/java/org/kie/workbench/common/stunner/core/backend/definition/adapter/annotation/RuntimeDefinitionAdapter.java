@@ -16,6 +16,7 @@
 package org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation;
 
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.AbstractRuntimeAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.RuntimeFieldAccessor;
 import org.kie.workbench.common.stunner.core.definition.adapter.DefinitionAdapter;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.HasInheritance;
 import org.kie.workbench.common.stunner.core.definition.annotation.Definition;
@@ -34,7 +35,6 @@ import org.slf4j.LoggerFactory;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 import java.lang.annotation.Annotation;
-import java.lang.reflect.Field;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -128,22 +128,19 @@ public class RuntimeDefinitionAdapter<T> extends AbstractRuntimeAdapter<T>
 
     @Override
     public Set<?> getPropertySets( final T definition ) {
-        Collection<Field> fields = getFieldAnnotations( definition.getClass(), PropertySet.class );
-        if ( null != fields ) {
-            Set<Object> result = new LinkedHashSet<>();
-            fields.forEach( field -> {
-                try {
-                    Object v = _getValue( field, PropertySet.class, definition );
-                    result.add( v );
+        Collection<RuntimeFieldAccessor> accessors = getFieldAccessors( definition.getClass(), PropertySet.class );
+        Set<Object> result = new LinkedHashSet<>();
+        accessors.forEach( accessor -> {
+            try {
+                Object v = accessor.getValue( definition );
+                result.add( v );
 
-                } catch ( Exception e ) {
-                    LOG.error( "Error obtaining annotated property sets for Definition with id " + getId( definition ) );
+            } catch ( Exception e ) {
+                LOG.error( "Error obtaining annotated property sets for Definition with id " + getId( definition ) );
 
-                }
-            } );
-            return result;
-        }
-        return null;
+            }
+        } );
+        return result;
     }
 
     @Override
@@ -155,27 +152,16 @@ public class RuntimeDefinitionAdapter<T> extends AbstractRuntimeAdapter<T>
             if ( null != propertySetProperties ) {
                 result.addAll( propertySetProperties );
             }
-            Collection<Field> fields = getFieldAnnotations( definition.getClass(), Property.class );
-            if ( null != fields ) {
-                fields.forEach( field -> {
-                    try {
-                        Object v = _getValue( field, Property.class, definition );
-                        result.add( v );
-                    } catch ( Exception e ) {
-                        LOG.error( "Error obtaining annotated properties for Definition with id " + getId( definition ) );
-                    }
-                } );
-                return result;
-            }
-        }
-        return null;
-    }
-
-    @SuppressWarnings( "unchecked" )
-    private <V> V _getValue( Field field, Object annotation, T definition ) throws IllegalAccessException {
-        if ( null != annotation ) {
-            field.setAccessible( true );
-            return ( V ) field.get( definition );
+            Collection<RuntimeFieldAccessor> accessors = getFieldAccessors( definition.getClass(), Property.class );
+            accessors.forEach( accessor -> {
+                try {
+                    Object v = accessor.getValue( definition );
+                    result.add( v );
+                } catch ( Exception e ) {
+                    LOG.error( "Error obtaining annotated properties for Definition with id " + getId( definition ) );
+                }
+            } );
+            return result;
         }
         return null;
     }
@@ -222,15 +208,12 @@ public class RuntimeDefinitionAdapter<T> extends AbstractRuntimeAdapter<T>
         throw new UnsupportedOperationException( "Not implemented yet. Must keep some collection for this. " );
     }
 
+    @SuppressWarnings( "unchecked" )
     private boolean isBaseType( Class<?> type ) {
-        Field[] fields = type.getDeclaredFields();
-        if ( null != fields ) {
-            for ( Field field : fields ) {
-                for ( Class a : DEF_ANNOTATIONS ) {
-                    Annotation annotation = field.getAnnotation( a );
-                    if ( null != annotation ) {
-                        return true;
-                    }
+        for ( Class a : DEF_ANNOTATIONS ) {
+            for ( RuntimeFieldAccessor accessor : getFieldAccessors( type, ( Class<? extends Annotation> ) a ) ) {
+                if ( type.equals( accessor.getField().getDeclaringClass() ) ) {
+                    return true;
                 }
             }
         }
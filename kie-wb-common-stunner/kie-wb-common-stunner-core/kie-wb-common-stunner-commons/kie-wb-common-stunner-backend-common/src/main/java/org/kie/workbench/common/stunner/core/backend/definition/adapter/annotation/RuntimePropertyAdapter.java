@@ -16,6 +16,7 @@
 package org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation;
 
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.AbstractRuntimeAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.RuntimeFieldAccessor;
 import org.kie.workbench.common.stunner.core.definition.adapter.PropertyAdapter;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 import org.kie.workbench.common.stunner.core.definition.annotation.Description;
@@ -26,7 +27,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.Dependent;
-import java.lang.reflect.Field;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -94,22 +94,13 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
     @Override
     public Object getValue( T property ) {
         if ( null != property ) {
-            Class<?> c = property.getClass();
-            while ( !c.getName().equals( Object.class.getName() ) ) {
-                Field[] fields = c.getDeclaredFields();
-                if ( null != fields ) {
-                    for ( Field field : fields ) {
-                        Value annotation = field.getAnnotation( Value.class );
-                        if ( null != annotation ) {
-                            try {
-                                return _getValue( field, annotation, property );
-                            } catch ( Exception e ) {
-                                LOG.error( "Error obtaining annotated value for Property with id " + getId( property ), e );
-                            }
-                        }
-                    }
+            RuntimeFieldAccessor accessor = getFieldAccessor( property.getClass(), Value.class );
+            if ( null != accessor ) {
+                try {
+                    return accessor.getValue( property );
+                } catch ( Exception e ) {
+                    LOG.error( "Error obtaining annotated value for Property with id " + getId( property ), e );
                 }
-                c = c.getSuperclass();
             }
 
         }
@@ -120,22 +111,13 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
     @Override
     public Object getDefaultValue( T property ) {
         if ( null != property ) {
-            Class<?> c = property.getClass();
-            while ( !c.getName().equals( Object.class.getName() ) ) {
-                Field[] fields = c.getDeclaredFields();
-                if ( null != fields ) {
-                    for ( Field field : fields ) {
-                        DefaultValue annotation = field.getAnnotation( DefaultValue.class );
-                        if ( null != annotation ) {
-                            try {
-                                return _getValue( field, annotation, property );
-                            } catch ( Exception e ) {
-                                LOG.error( "Error obtaining annotated default value for Property with id " + getId( property ) );
-                            }
-                        }
-                    }
+            RuntimeFieldAccessor accessor = getFieldAccessor( property.getClass(), DefaultValue.class );
+            if ( null != accessor ) {
+                try {
+                    return accessor.getValue( property );
+                } catch ( Exception e ) {
+                    LOG.error( "Error obtaining annotated default value for Property with id " + getId( property ) );
                 }
-                c = c.getSuperclass();
             }
         }
         return null;
@@ -146,53 +128,35 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
     public Map<Object, String> getAllowedValues( T property ) {
         Map<Object, String> result = new LinkedHashMap<>();
         if ( null != property ) {
-            Class<?> c = property.getClass();
-            boolean done = false;
-            while ( !done && !c.getName().equals( Object.class.getName() ) ) {
-                Field[] fields = c.getDeclaredFields();
-                if ( null != fields ) {
-                    for ( Field field : fields ) {
-                        AllowedValues annotation = field.getAnnotation( AllowedValues.class );
-                        if ( null != annotation ) {
-                            try {
-                                Iterable<?> value = _getValue( field, annotation, property );
-                                if ( null != value && value.iterator().hasNext() ) {
-                                    Iterator<?> vIt = value.iterator();
-                                    while ( vIt.hasNext() ) {
-                                        Object v = vIt.next();
-                                        result.put( v, v.toString() );
-
-                                    }
-
-                                }
-                                done = true;
-
-                            } catch ( Exception e ) {
-                                LOG.error( "Error obtaining annotated allowed values for Property with id " + getId( property ) );
-                            }
+            // Only the allowed values fields from the first class in the hierarchy that declares them are considered.
+            Class<?> declaringClass = null;
+            for ( RuntimeFieldAccessor accessor : getFieldAccessors( property.getClass(), AllowedValues.class ) ) {
+                if ( null != declaringClass && !declaringClass.equals( accessor.getField().getDeclaringClass() ) ) {
+                    break;
+                }
+                try {
+                    Iterable<?> value = accessor.getValue( property );
+                    if ( null != value && value.iterator().hasNext() ) {
+                        Iterator<?> vIt = value.iterator();
+                        while ( vIt.hasNext() ) {
+                            Object v = vIt.next();
+                            result.put( v, v.toString() );
 
                         }
 
                     }
+                    declaringClass = accessor.getField().getDeclaringClass();
 
+                } catch ( Exception e ) {
+                    LOG.error( "Error obtaining annotated allowed values for Property with id " + getId( property ) );
                 }
-                c = c.getSuperclass();
+
             }
 
         }
         return !result.isEmpty() ? result : null;
     }
 
-    @SuppressWarnings( "unchecked" )
-    private <V> V _getValue( Field field, Object annotation, T property ) throws IllegalAccessException {
-        if ( null != annotation ) {
-            field.setAccessible( true );
-            V result = ( V ) field.get( property );
-            return result;
-        }
-        return null;
-    }
-
     @Override
     public void setValue( final T property, final Object value ) {
         if ( null != property ) {
@@ -201,29 +165,14 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
                 return;
 
             }
-            Class<?> c = property.getClass();
-            boolean done = false;
-            while ( !done && !c.getName().equals( Object.class.getName() ) ) {
-                Field[] fields = c.getDeclaredFields();
-                if ( null != fields ) {
-                    for ( Field field : fields ) {
-                        Value annotation = field.getAnnotation( Value.class );
-                        if ( null != annotation ) {
-                            try {
-                                field.setAccessible( true );
-                                field.set( property, value );
-                                done = true;
-                                break;
-                            } catch ( Exception e ) {
-                                LOG.error( "Error setting value for Property with id [" + getId( property ) + "] " +
-                                        "and value [" + ( value != null ? value.toString() : "null" ) + "]" );
-                            }
-
-                        }
-                    }
-
+            RuntimeFieldAccessor accessor = getFieldAccessor( property.getClass(), Value.class );
+            if ( null != accessor ) {
+                try {
+                    accessor.setValue( property, value );
+                } catch ( Exception e ) {
+                    LOG.error( "Error setting value for Property with id [" + getId( property ) + "] " +
+                            "and value [" + ( value != null ? value.toString() : "null" ) + "]" );
                 }
-                c = c.getSuperclass();
 
             }
 
@@ -16,6 +16,7 @@
 package org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation;
 
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.AbstractRuntimeAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.RuntimeFieldAccessor;
 import org.kie.workbench.common.stunner.core.definition.adapter.PropertySetAdapter;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 import org.kie.workbench.common.stunner.core.definition.annotation.Name;
@@ -25,7 +26,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.enterprise.context.Dependent;
-import java.lang.reflect.Field;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -53,19 +53,16 @@ public class RuntimePropertySetAdapter<T> extends AbstractRuntimeAdapter<T> impl
     public Set<?> getProperties( T propertySet ) {
         Set<Object> result = null;
         if ( null != propertySet ) {
-            Field[] fields = propertySet.getClass().getDeclaredFields();
-            if ( null != fields ) {
-                result = new HashSet<>();
-                for ( Field field : fields ) {
-                    Property annotation = field.getAnnotation( Property.class );
-                    if ( null != annotation ) {
-                        try {
-                            field.setAccessible( true );
-                            Object property = field.get( propertySet );
-                            result.add( property );
-                        } catch ( Exception e ) {
-                            LOG.error( "Error obtaining annotated properties for T with id " + getId( propertySet ) );
-                        }
+            final Class<?> type = propertySet.getClass();
+            result = new HashSet<>();
+            for ( RuntimeFieldAccessor accessor : getFieldAccessors( type, Property.class ) ) {
+                // Only the properties declared by the property set class itself.
+                if ( type.equals( accessor.getField().getDeclaringClass() ) ) {
+                    try {
+                        Object property = accessor.getValue( propertySet );
+                        result.add( property );
+                    } catch ( Exception e ) {
+                        LOG.error( "Error obtaining annotated properties for T with id " + getId( propertySet ) );
                     }
                 }
             }
@@ -32,11 +32,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.commons.async.SimpleAsyncExecutorService;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.IOException;
 import org.uberfire.java.nio.file.FileAlreadyExistsException;
 import org.uberfire.java.nio.file.FileVisitResult;
 import org.uberfire.java.nio.file.SimpleFileVisitor;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributeView;
 import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
 import org.uberfire.workbench.type.ResourceTypeDefinition;
 
@@ -44,11 +46,15 @@ import javax.enterprise.inject.Instance;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull;
 import static org.uberfire.java.nio.file.Files.walkFileTree;
 
-// TODO: Use the diagram registry cache.
 public abstract class AbstractVFSDiagramService<D extends Diagram> implements BaseDiagramService<D> {
 
     private static final Logger LOG =
@@ -61,6 +67,15 @@ public abstract class AbstractVFSDiagramService<D extends Diagram> implements Ba
     private final BackendRegistryFactory registryFactory;
     private Collection<DefinitionSetService> definitionSetServices = new LinkedList<>();
     private DiagramRegistry<D> registry;
+    // Parsed metadata of the diagrams listed from VFS, keyed by the path's URI and validated against the attributes
+    // of both the diagram and the metadata files.
+    private final Map<String, CachedMetadata> metadataCache =
+            Collections.synchronizedMap( new LinkedHashMap<String, CachedMetadata>( 16, 0.75f, true ) {
+                @Override
+                protected boolean removeEldestEntry( final Map.Entry<String, CachedMetadata> eldest ) {
+                    return size() > getMaxCachedDiagrams();
+                }
+            } );
 
     public AbstractVFSDiagramService( final DefinitionManager definitionManager,
                                       final FactoryManager factoryManager,
@@ -115,44 +130,83 @@ public abstract class AbstractVFSDiagramService<D extends Diagram> implements Ba
         return prefix + baseFileName + extension;
     }
 
-    @SuppressWarnings( "unchecked" )
     public D getDiagramByPath( final org.uberfire.backend.vfs.Path file ) {
         if ( accepts( file ) ) {
             DefinitionSetService services = getServicesByPath( file );
             if ( null != services ) {
-                final String defSetId = getDefinitionSetId( services );
-                final String name = parseFileName( file, services );
-                // Check if any metadata definition exist.
-                Metadata metadata = null;
-                InputStream metaDataStream = loadMetadataForPath( file );
-                if ( null != metaDataStream ) {
-                    try {
-                        metadata = services.getDiagramMarshaller().getMetadataMarshaller().unmarshall( metaDataStream );
-                    } catch ( java.io.IOException e ) {
-                        LOG.error( "Cannot unmarshall metadata for diagram's path [" + file + "]", e );
-                    }
+                return loadDiagram( file, services );
+            }
+
+        }
+        throw new UnsupportedOperationException( "Diagram format not supported [" + file + "]" );
+    }
+
+    /**
+     * Returns the diagram's metadata, including the title, for the given path, but it does not
+     * parse the diagram's raw data, so no graph is being built. The metadata is cached until either the diagram
+     * or its metadata file change, so the returned instance is shared and must not be modified.
+     */
+    public Metadata getMetadataByPath( final org.uberfire.backend.vfs.Path file ) {
+        if ( accepts( file ) ) {
+            DefinitionSetService services = getServicesByPath( file );
+            if ( null != services ) {
+                final String key = file.toURI();
+                final FileVersion version = getFileVersion( Paths.convert( file ) );
+                final FileVersion metadataVersion = getMetadataFileVersion( file );
+                final CachedMetadata cached = metadataCache.get( key );
+                if ( null != cached && cached.isFor( version, metadataVersion ) ) {
+                    return cached.metadata;
                 }
-                if ( null == metadata ) {
-                    metadata = buildMetadataInstance( file, defSetId, name );
-                }
-                metadata.setPath( file );
-                // Parse and load the diagram raw data.
-                final InputStream is = loadPath( file );
-                try {
-                    Graph<DefinitionSet, ?> graph = services.getDiagramMarshaller().unmarshall( metadata, is );
-                    DiagramFactory<Metadata, ?> factory =
-                            factoryManager.registry().getDiagramFactory( graph.getContent().getDefinition(), getMetadataType() );
-                    return ( D ) factory.build( name, metadata, graph );
-                } catch ( java.io.IOException e ) {
-                    LOG.error( "Cannot unmarshall diagram for diagram's path [" + file + "]", e );
-                    return null;
+                final Metadata metadata = loadMetadata( file, services );
+                if ( null != version && null != metadataVersion ) {
+                    metadataCache.put( key, new CachedMetadata( version, metadataVersion, metadata ) );
                 }
+                return metadata;
             }
 
         }
         throw new UnsupportedOperationException( "Diagram format not supported [" + file + "]" );
     }
 
+    @SuppressWarnings( "unchecked" )
+    private D loadDiagram( final org.uberfire.backend.vfs.Path file,
+                           final DefinitionSetService services ) {
+        final String name = parseFileName( file, services );
+        final Metadata metadata = loadMetadata( file, services );
+        // Parse and load the diagram raw data.
+        final InputStream is = loadPath( file );
+        try {
+            Graph<DefinitionSet, ?> graph = services.getDiagramMarshaller().unmarshall( metadata, is );
+            DiagramFactory<Metadata, ?> factory =
+                    factoryManager.registry().getDiagramFactory( graph.getContent().getDefinition(), getMetadataType() );
+            return ( D ) factory.build( name, metadata, graph );
+        } catch ( java.io.IOException e ) {
+            LOG.error( "Cannot unmarshall diagram for diagram's path [" + file + "]", e );
+            return null;
+        }
+    }
+
+    private Metadata loadMetadata( final org.uberfire.backend.vfs.Path file,
+                                   final DefinitionSetService services ) {
+        final String defSetId = getDefinitionSetId( services );
+        final String name = parseFileName( file, services );
+        // Check if any metadata definition exist.
+        Metadata metadata = null;
+        InputStream metaDataStream = loadMetadataForPath( file );
+        if ( null != metaDataStream ) {
+            try {
+                metadata = services.getDiagramMarshaller().getMetadataMarshaller().unmarshall( metaDataStream );
+            } catch ( java.io.IOException e ) {
+                LOG.error( "Cannot unmarshall metadata for diagram's path [" + file + "]", e );
+            }
+        }
+        if ( null == metadata ) {
+            metadata = buildMetadataInstance( file, defSetId, name );
+        }
+        metadata.setPath( file );
+        return metadata;
+    }
+
     private String parseFileName( final org.uberfire.backend.vfs.Path file,
                                   final DefinitionSetService services ) {
         final String n = file.getFileName();
@@ -169,6 +223,7 @@ public abstract class AbstractVFSDiagramService<D extends Diagram> implements Ba
 
     public boolean delete( D diagram ) {
         Path path = diagram.getMetadata().getPath();
+        evict( path );
         return doDelete( path );
     }
 
@@ -178,6 +233,7 @@ public abstract class AbstractVFSDiagramService<D extends Diagram> implements Ba
     private void register( D diagram ) {
         try {
             String[] raw = serizalize( diagram );
+            evict( diagram.getMetadata().getPath() );
             doSave( diagram, raw[ 0 ], raw[ 1 ] );
         } catch ( Exception e ) {
             LOG.error( "Error while saving diagram with UUID [" + diagram.getName() + "].", e );
@@ -203,36 +259,176 @@ public abstract class AbstractVFSDiagramService<D extends Diagram> implements Ba
 
     public Collection<D> getDiagramsByPath( final org.uberfire.java.nio.file.Path root ) {
         try {
-            final Collection<D> result = new ArrayList<D>();
-            if ( ioService.exists( root ) ) {
-                walkFileTree( checkNotNull( "root", root ),
-                        new SimpleFileVisitor<org.uberfire.java.nio.file.Path>() {
-                            @Override
-                            public FileVisitResult visitFile( final org.uberfire.java.nio.file.Path _file, final BasicFileAttributes attrs ) throws IOException {
-                                checkNotNull( "file", _file );
-                                checkNotNull( "attrs", attrs );
-                                org.uberfire.backend.vfs.Path file = org.uberfire.backend.server.util.Paths.convert( _file );
-                                ;
-                                if ( accepts( file ) ) {
-                                    // portable diagram representation.
-                                    D diagram = getDiagramByPath( file );
-                                    if ( null != diagram ) {
-                                        result.add( diagram );
-                                    }
-
-                                }
-                                return FileVisitResult.CONTINUE;
-                            }
-                        } );
+            return loadDiagrams( getAcceptedPaths( root ) );
+
+        } catch ( Exception e ) {
+            LOG.error( "Error while obtaining diagrams.", e );
+            throw e;
+        }
+    }
+
+    /**
+     * Lightweight alternative to <code>getDiagramsByPath</code> for listing purposes. It only reads
+     * the metadata and title for each diagram, so the diagrams' raw data is never parsed.
+     */
+    public Collection<Metadata> getDiagramsMetadataByPath( final org.uberfire.java.nio.file.Path root ) {
+        try {
+            final Collection<Metadata> result = new ArrayList<Metadata>();
+            for ( final org.uberfire.backend.vfs.Path file : getAcceptedPaths( root ) ) {
+                result.add( getMetadataByPath( file ) );
             }
             return result;
 
         } catch ( Exception e ) {
-            LOG.error( "Error while obtaining diagrams.", e );
+            LOG.error( "Error while obtaining diagrams metadata.", e );
             throw e;
         }
     }
 
+    /**
+     * Removes the metadata for the given path from the cache, so next lookup loads it again from VFS.
+     */
+    protected void evict( final org.uberfire.backend.vfs.Path path ) {
+        if ( null != path ) {
+            metadataCache.remove( path.toURI() );
+        }
+    }
+
+    /**
+     * The maximum number of diagrams whose metadata is cached, the least recently used ones are discarded first.
+     */
+    protected int getMaxCachedDiagrams() {
+        return 100;
+    }
+
+    /**
+     * The executor used to load the diagrams in parallel, the container managed one by default.
+     */
+    protected Executor getLoaderExecutor() {
+        return SimpleAsyncExecutorService.getDefaultInstance();
+    }
+
+    /**
+     * The maximum number of diagrams loaded at the same time.
+     */
+    protected int getMaxLoaderThreads() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * The path of the file the metadata for the given diagram is read from, or <code>null</code> if the metadata
+     * is not stored apart from the diagram.
+     */
+    protected org.uberfire.java.nio.file.Path getMetadataFilePath( final org.uberfire.backend.vfs.Path path ) {
+        return null;
+    }
+
+    private List<org.uberfire.backend.vfs.Path> getAcceptedPaths( final org.uberfire.java.nio.file.Path root ) {
+        final List<org.uberfire.backend.vfs.Path> result = new ArrayList<org.uberfire.backend.vfs.Path>();
+        if ( ioService.exists( root ) ) {
+            walkFileTree( checkNotNull( "root", root ),
+                    new SimpleFileVisitor<org.uberfire.java.nio.file.Path>() {
+                        @Override
+                        public FileVisitResult visitFile( final org.uberfire.java.nio.file.Path _file, final BasicFileAttributes attrs ) throws IOException {
+                            checkNotNull( "file", _file );
+                            checkNotNull( "attrs", attrs );
+                            org.uberfire.backend.vfs.Path file = org.uberfire.backend.server.util.Paths.convert( _file );
+                            if ( accepts( file ) ) {
+                                result.add( file );
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+                    } );
+        }
+        return result;
+    }
+
+    Collection<D> loadDiagrams( final List<org.uberfire.backend.vfs.Path> files ) {
+        final Collection<D> result = new ArrayList<D>( files.size() );
+        final int workers = Math.min( files.size(), getMaxLoaderThreads() );
+        if ( workers <= 1 ) {
+            for ( final org.uberfire.backend.vfs.Path file : files ) {
+                addIfNotNull( result, getDiagramByPath( file ) );
+            }
+            return result;
+        }
+        // Each worker loads the next pending diagram, so no more than the given number of threads are used.
+        final Executor executor = getLoaderExecutor();
+        final AtomicReferenceArray<D> diagrams = new AtomicReferenceArray<D>( files.size() );
+        final AtomicInteger next = new AtomicInteger();
+        final List<FutureTask<Void>> tasks = new ArrayList<FutureTask<Void>>( workers );
+        try {
+            for ( int i = 0; i < workers; i++ ) {
+                final FutureTask<Void> task = new FutureTask<Void>( () -> {
+                    for ( int index = next.getAndIncrement(); index < files.size(); index = next.getAndIncrement() ) {
+                        diagrams.set( index, getDiagramByPath( files.get( index ) ) );
+                    }
+                    return null;
+                } );
+                tasks.add( task );
+                executor.execute( task );
+            }
+            for ( final FutureTask<Void> task : tasks ) {
+                task.get();
+            }
+            // Keep the diagrams in the same order as they have been visited.
+            for ( int i = 0; i < files.size(); i++ ) {
+                addIfNotNull( result, diagrams.get( i ) );
+            }
+            return result;
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException( "Interrupted while loading diagrams.", e );
+        } catch ( ExecutionException e ) {
+            final Throwable cause = e.getCause();
+            if ( cause instanceof RuntimeException ) {
+                throw ( RuntimeException ) cause;
+            }
+            throw new RuntimeException( cause );
+        } finally {
+            // Nothing left to do when all of them completed, otherwise do not keep loading for a failed call.
+            next.set( files.size() );
+            for ( final FutureTask<Void> task : tasks ) {
+                task.cancel( true );
+            }
+        }
+    }
+
+    private void addIfNotNull( final Collection<D> result,
+                               final D diagram ) {
+        if ( null != diagram ) {
+            result.add( diagram );
+        }
+    }
+
+    private FileVersion getMetadataFileVersion( final org.uberfire.backend.vfs.Path file ) {
+        final org.uberfire.java.nio.file.Path metadataPath = getMetadataFilePath( file );
+        if ( null == metadataPath ) {
+            return FileVersion.NONE;
+        }
+        try {
+            if ( !ioService.exists( metadataPath ) ) {
+                return FileVersion.NONE;
+            }
+        } catch ( Exception e ) {
+            LOG.debug( "Cannot check the metadata file for diagram's path [" + file + "]", e );
+            return null;
+        }
+        return getFileVersion( metadataPath );
+    }
+
+    private FileVersion getFileVersion( final org.uberfire.java.nio.file.Path path ) {
+        try {
+            final BasicFileAttributes attrs =
+                    ioService.getFileAttributeView( path, BasicFileAttributeView.class ).readAttributes();
+            return new FileVersion( attrs.lastModifiedTime().toMillis(), attrs.size() );
+        } catch ( Exception e ) {
+            // Not able to check the file's version, so do not use the cache for it.
+            LOG.debug( "Cannot read attributes for path [" + path + "]", e );
+            return null;
+        }
+    }
+
     protected abstract InputStream loadMetadataForPath( org.uberfire.backend.vfs.Path path );
 
     protected abstract Metadata buildMetadataInstance( org.uberfire.backend.vfs.Path path, String defSetId, String title );
@@ -308,4 +504,57 @@ public abstract class AbstractVFSDiagramService<D extends Diagram> implements Ba
     protected DiagramRegistry<D> getRegistry() {
         return registry;
     }
+
+    private static final class FileVersion {
+
+        // The version of a file that does not exist.
+        private static final FileVersion NONE = new FileVersion( -1, -1 );
+
+        private final long lastModified;
+        private final long size;
+
+        private FileVersion( final long lastModified,
+                             final long size ) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals( final Object o ) {
+            if ( this == o ) {
+                return true;
+            }
+            if ( !( o instanceof FileVersion ) ) {
+                return false;
+            }
+            final FileVersion that = ( FileVersion ) o;
+            return lastModified == that.lastModified && size == that.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode( lastModified ) + Long.hashCode( size );
+        }
+    }
+
+    private static final class CachedMetadata {
+
+        private final FileVersion version;
+        private final FileVersion metadataVersion;
+        private final Metadata metadata;
+
+        private CachedMetadata( final FileVersion version,
+                                final FileVersion metadataVersion,
+                                final Metadata metadata ) {
+            this.version = version;
+            this.metadataVersion = metadataVersion;
+            this.metadata = metadata;
+        }
+
+        private boolean isFor( final FileVersion version,
+                               final FileVersion metadataVersion ) {
+            return null != version && null != metadataVersion
+                    && version.equals( this.version ) && metadataVersion.equals( this.metadataVersion );
+        }
+    }
 }
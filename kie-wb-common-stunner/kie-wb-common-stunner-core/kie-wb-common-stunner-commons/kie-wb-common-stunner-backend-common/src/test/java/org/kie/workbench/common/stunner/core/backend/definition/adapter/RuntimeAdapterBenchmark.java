@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.definition.adapter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation.RuntimePropertyAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation.RuntimePropertyAdapterTest;
+import org.kie.workbench.common.stunner.core.definition.annotation.property.Caption;
+import org.kie.workbench.common.stunner.core.definition.annotation.property.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the property value and annotated field access through the compiled accessors table
+ * against the previous approach, which introspected the class hierarchy on each access.
+ * <p>
+ * Run it from the IDE or through the <code>main</code> method using the test classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RuntimeAdapterBenchmark {
+
+    private RuntimePropertyAdapter<Object> adapter;
+    private RuntimePropertyAdapterTest.ChildTestProperty property;
+
+    @Setup
+    public void setup() {
+        adapter = new RuntimePropertyAdapter<>();
+        property = new RuntimePropertyAdapterTest.ChildTestProperty();
+    }
+
+    @Benchmark
+    public Object getValueUsingAccessors() {
+        return adapter.getValue( property );
+    }
+
+    @Benchmark
+    public Object getValueUsingReflection() throws IllegalAccessException {
+        return getFirstAnnotatedFieldValue( property,
+                                            Value.class );
+    }
+
+    @Benchmark
+    public Object getCaptionUsingAccessors() {
+        return adapter.getCaption( property );
+    }
+
+    @Benchmark
+    public Object getCaptionUsingReflection() throws IllegalAccessException {
+        return getFirstAnnotatedFieldValue( property,
+                                            Caption.class );
+    }
+
+    @Benchmark
+    public Object setValueUsingAccessors() {
+        adapter.setValue( property,
+                          "value" );
+        return property;
+    }
+
+    // The lookup the runtime adapters did before using the accessors table.
+    private static Object getFirstAnnotatedFieldValue( final Object object,
+                                                       final Class<? extends Annotation> annotationType ) throws IllegalAccessException {
+        Class<?> c = object.getClass();
+        while ( !c.getName().equals( Object.class.getName() ) ) {
+            for ( Field field : c.getDeclaredFields() ) {
+                if ( null != field.getAnnotation( annotationType ) ) {
+                    field.setAccessible( true );
+                    final Object value = field.get( object );
+                    if ( null != value ) {
+                        return value;
+                    }
+                    break;
+                }
+            }
+            c = c.getSuperclass();
+        }
+        return null;
+    }
+
+    public static void main( final String[] args ) throws RunnerException {
+        new Runner( new OptionsBuilder()
+                            .include( RuntimeAdapterBenchmark.class.getSimpleName() )
+                            .build() ).run();
+    }
+}
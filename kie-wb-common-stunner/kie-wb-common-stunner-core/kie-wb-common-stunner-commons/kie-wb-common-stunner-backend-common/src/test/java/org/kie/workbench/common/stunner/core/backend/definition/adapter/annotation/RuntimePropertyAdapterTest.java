@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.definition.adapter.annotation;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.definition.annotation.Property;
+import org.kie.workbench.common.stunner.core.definition.annotation.property.AllowedValues;
+import org.kie.workbench.common.stunner.core.definition.annotation.property.Caption;
+import org.kie.workbench.common.stunner.core.definition.annotation.property.DefaultValue;
+import org.kie.workbench.common.stunner.core.definition.annotation.property.ReadOnly;
+import org.kie.workbench.common.stunner.core.definition.annotation.property.Type;
+import org.kie.workbench.common.stunner.core.definition.annotation.property.Value;
+import org.kie.workbench.common.stunner.core.definition.property.PropertyType;
+import org.kie.workbench.common.stunner.core.definition.property.type.StringType;
+
+import static org.junit.Assert.*;
+
+public class RuntimePropertyAdapterTest {
+
+    @Property
+    public static class BaseTestProperty {
+
+        @Type
+        public static final PropertyType type = new StringType();
+
+        @Caption
+        public static final String caption = "Base caption";
+
+        @DefaultValue
+        public static final String defaultValue = "default";
+
+        @AllowedValues
+        public static final Set<String> allowedValues = new LinkedHashSet<String>( Arrays.asList( "a", "b" ) );
+
+        @Value
+        private String value = "initial";
+    }
+
+    @Property
+    public static class ChildTestProperty extends BaseTestProperty {
+
+        @Caption
+        public static final String caption = "Child caption";
+
+        @ReadOnly
+        public static final Boolean readOnly = false;
+    }
+
+    @Property
+    public static class ReadOnlyTestProperty {
+
+        @ReadOnly
+        public static final Boolean readOnly = true;
+
+        @Value
+        private String value = "initial";
+    }
+
+    private RuntimePropertyAdapter<Object> tested;
+
+    @Before
+    public void setup() {
+        tested = new RuntimePropertyAdapter<>();
+    }
+
+    @Test
+    public void testGetAndSetValue() {
+        final BaseTestProperty property = new BaseTestProperty();
+        assertEquals( "initial",
+                      tested.getValue( property ) );
+        tested.setValue( property,
+                         "updated" );
+        assertEquals( "updated",
+                      property.value );
+        assertEquals( "updated",
+                      tested.getValue( property ) );
+        tested.setValue( property,
+                         null );
+        assertNull( tested.getValue( property ) );
+    }
+
+    @Test
+    public void testInheritedValue() {
+        final ChildTestProperty property = new ChildTestProperty();
+        tested.setValue( property,
+                         "child" );
+        assertEquals( "child",
+                      property.value );
+        assertEquals( "child",
+                      tested.getValue( property ) );
+    }
+
+    @Test
+    public void testAnnotatedFieldsLookupOrder() {
+        assertEquals( "Base caption",
+                      tested.getCaption( new BaseTestProperty() ) );
+        assertEquals( "Child caption",
+                      tested.getCaption( new ChildTestProperty() ) );
+        assertEquals( "default",
+                      tested.getDefaultValue( new ChildTestProperty() ) );
+        assertTrue( tested.getType( new ChildTestProperty() ) instanceof StringType );
+        assertFalse( tested.isReadOnly( new ChildTestProperty() ) );
+    }
+
+    @Test
+    public void testAllowedValues() {
+        final Map<Object, String> allowedValues = tested.getAllowedValues( new ChildTestProperty() );
+        assertNotNull( allowedValues );
+        assertEquals( 2,
+                      allowedValues.size() );
+        assertEquals( "a",
+                      allowedValues.get( "a" ) );
+        assertEquals( "b",
+                      allowedValues.get( "b" ) );
+        assertNull( tested.getAllowedValues( new ReadOnlyTestProperty() ) );
+    }
+
+    @Test
+    public void testReadOnlyValueIsNotUpdated() {
+        final ReadOnlyTestProperty property = new ReadOnlyTestProperty();
+        assertTrue( tested.isReadOnly( property ) );
+        tested.setValue( property,
+                         "updated" );
+        assertEquals( "initial",
+                      tested.getValue( property ) );
+    }
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.enterprise.inject.Instance;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.api.DefinitionManager;
+import org.kie.workbench.common.stunner.core.api.FactoryManager;
+import org.kie.workbench.common.stunner.core.definition.DefinitionSetResourceType;
+import org.kie.workbench.common.stunner.core.definition.service.DefinitionSetService;
+import org.kie.workbench.common.stunner.core.definition.service.DiagramMarshaller;
+import org.kie.workbench.common.stunner.core.definition.service.DiagramMetadataMarshaller;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.factory.diagram.DiagramFactory;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
+import org.kie.workbench.common.stunner.core.registry.BackendRegistryFactory;
+import org.kie.workbench.common.stunner.core.registry.factory.FactoryRegistry;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributeView;
+import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+import org.uberfire.java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+@RunWith( MockitoJUnitRunner.class )
+public class AbstractVFSDiagramServiceTest {
+
+    private static final int DIAGRAMS = 20;
+
+    @Mock
+    private DefinitionManager definitionManager;
+
+    @Mock
+    private FactoryManager factoryManager;
+
+    @Mock
+    private FactoryRegistry factoryRegistry;
+
+    @Mock
+    private Instance<DefinitionSetService> definitionSetServiceInstances;
+
+    @Mock
+    private DefinitionSetService definitionSetService;
+
+    @Mock
+    private DefinitionSetResourceType resourceType;
+
+    @Mock
+    private DiagramMarshaller diagramMarshaller;
+
+    @Mock
+    private DiagramMetadataMarshaller metadataMarshaller;
+
+    @Mock
+    private DiagramFactory diagramFactory;
+
+    @Mock
+    private Graph graph;
+
+    @Mock
+    private DefinitionSet definitionSet;
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private BackendRegistryFactory registryFactory;
+
+    @Mock
+    private BasicFileAttributeView attributeView;
+
+    @Mock
+    private BasicFileAttributes attributes;
+
+    @Mock
+    private FileTime lastModifiedTime;
+
+    @Mock
+    private org.uberfire.java.nio.file.Path metadataFile;
+
+    @Mock
+    private BasicFileAttributeView metadataAttributeView;
+
+    @Mock
+    private BasicFileAttributes metadataAttributes;
+
+    @Mock
+    private FileTime metadataLastModifiedTime;
+
+    // The diagram names by built diagram, and the threads the diagrams have been built in.
+    private final Map<Diagram, String> names = new ConcurrentHashMap<>();
+    private final Set<Thread> loaderThreads = Collections.newSetFromMap( new ConcurrentHashMap<>() );
+
+    private ExecutorService executor;
+    private TestDiagramService tested;
+
+    @Before
+    @SuppressWarnings( "unchecked" )
+    public void setup() throws Exception {
+        when( definitionSetServiceInstances.iterator() ).then( invocation -> Collections.singletonList( definitionSetService ).iterator() );
+        when( definitionSetService.getResourceType() ).thenReturn( resourceType );
+        when( definitionSetService.getDiagramMarshaller() ).thenReturn( diagramMarshaller );
+        when( diagramMarshaller.getMetadataMarshaller() ).thenReturn( metadataMarshaller );
+        when( metadataMarshaller.unmarshall( any( InputStream.class ) ) ).then( invocation -> mock( Metadata.class ) );
+        when( resourceType.accept( any( Path.class ) ) ).thenReturn( true );
+        when( resourceType.getSuffix() ).thenReturn( "bpmn" );
+        doReturn( Object.class ).when( resourceType ).getDefinitionSetType();
+        when( diagramMarshaller.unmarshall( any( Metadata.class ), any( InputStream.class ) ) ).then( invocation -> {
+            loaderThreads.add( Thread.currentThread() );
+            return graph;
+        } );
+        when( graph.getContent() ).thenReturn( definitionSet );
+        when( definitionSet.getDefinition() ).thenReturn( "defSet" );
+        when( factoryManager.registry() ).thenReturn( factoryRegistry );
+        when( factoryRegistry.getDiagramFactory( anyString(), any( Class.class ) ) ).thenReturn( diagramFactory );
+        when( diagramFactory.build( anyString(), any( Metadata.class ), any( Graph.class ) ) ).then( invocation -> {
+            final Diagram diagram = mock( Diagram.class );
+            names.put( diagram, ( String ) invocation.getArguments()[ 0 ] );
+            return diagram;
+        } );
+        when( ioService.readAllBytes( any( org.uberfire.java.nio.file.Path.class ) ) ).thenReturn( "<diagram/>".getBytes() );
+        when( ioService.getFileAttributeView( any( org.uberfire.java.nio.file.Path.class ), eq( BasicFileAttributeView.class ) ) ).thenReturn( attributeView );
+        when( attributeView.readAttributes() ).thenReturn( attributes );
+        when( attributes.lastModifiedTime() ).thenReturn( lastModifiedTime );
+        when( lastModifiedTime.toMillis() ).thenReturn( 1000L );
+        when( attributes.size() ).thenReturn( 10L );
+        when( ioService.exists( metadataFile ) ).thenReturn( true );
+        when( ioService.getFileAttributeView( eq( metadataFile ), eq( BasicFileAttributeView.class ) ) ).thenReturn( metadataAttributeView );
+        when( metadataAttributeView.readAttributes() ).thenReturn( metadataAttributes );
+        when( metadataAttributes.lastModifiedTime() ).thenReturn( metadataLastModifiedTime );
+        when( metadataLastModifiedTime.toMillis() ).thenReturn( 1000L );
+        when( metadataAttributes.size() ).thenReturn( 5L );
+
+        executor = Executors.newFixedThreadPool( 4 );
+        tested = new TestDiagramService();
+        tested.initialize();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testMetadataDoesNotLoadTheGraph() throws Exception {
+        final Metadata metadata = tested.getMetadataByPath( newPath( "diagram" ) );
+
+        assertNotNull( metadata );
+        verify( metadataMarshaller, times( 1 ) ).unmarshall( any( InputStream.class ) );
+        verify( ioService, never() ).readAllBytes( any( org.uberfire.java.nio.file.Path.class ) );
+        verify( diagramMarshaller, never() ).unmarshall( any( Metadata.class ), any( InputStream.class ) );
+    }
+
+    @Test
+    public void testMetadataIsCached() throws Exception {
+        final Path path = newPath( "diagram" );
+
+        final Metadata first = tested.getMetadataByPath( path );
+        final Metadata second = tested.getMetadataByPath( path );
+
+        assertSame( first, second );
+        verify( metadataMarshaller, times( 1 ) ).unmarshall( any( InputStream.class ) );
+        assertEquals( 1, tested.metadataReads.get() );
+    }
+
+    @Test
+    public void testDiagramsAreNotShared() throws Exception {
+        final Path path = newPath( "diagram" );
+
+        final Diagram first = tested.getDiagramByPath( path );
+        final Diagram second = tested.getDiagramByPath( path );
+
+        // Diagrams are mutable, so callers never share the same diagram instance.
+        verify( diagramMarshaller, times( 2 ) ).unmarshall( any( Metadata.class ), any( InputStream.class ) );
+        assertNotSame( first, second );
+        assertEquals( "diagram", names.get( second ) );
+    }
+
+    @Test
+    public void testFileVersionChangeInvalidatesCache() {
+        final Path path = newPath( "diagram" );
+
+        tested.getMetadataByPath( path );
+        when( lastModifiedTime.toMillis() ).thenReturn( 2000L );
+        tested.getMetadataByPath( path );
+        tested.getMetadataByPath( path );
+        when( attributes.size() ).thenReturn( 20L );
+        tested.getMetadataByPath( path );
+
+        assertEquals( 3, tested.metadataReads.get() );
+    }
+
+    @Test
+    public void testMetadataFileChangeInvalidatesCache() {
+        final Path path = newPath( "diagram" );
+
+        tested.getMetadataByPath( path );
+        when( metadataLastModifiedTime.toMillis() ).thenReturn( 2000L );
+        tested.getMetadataByPath( path );
+        tested.getMetadataByPath( path );
+        // The metadata file is deleted.
+        when( ioService.exists( metadataFile ) ).thenReturn( false );
+        tested.getMetadataByPath( path );
+        tested.getMetadataByPath( path );
+
+        assertEquals( 3, tested.metadataReads.get() );
+    }
+
+    @Test
+    public void testCacheBypassedWithoutFileAttributes() {
+        final Path path = newPath( "diagram" );
+        when( attributeView.readAttributes() ).thenThrow( new RuntimeException( "No attributes" ) );
+
+        tested.getMetadataByPath( path );
+        tested.getMetadataByPath( path );
+
+        assertEquals( 2, tested.metadataReads.get() );
+    }
+
+    @Test
+    public void testDeleteEvictsMetadata() {
+        final Path path = newPath( "diagram" );
+        final Diagram diagram = tested.getDiagramByPath( path );
+        final Metadata metadata = mock( Metadata.class );
+        when( metadata.getPath() ).thenReturn( path );
+        when( diagram.getMetadata() ).thenReturn( metadata );
+
+        tested.getMetadataByPath( path );
+        tested.delete( diagram );
+        tested.getMetadataByPath( path );
+
+        // One for the diagram, and one for each metadata lookup.
+        assertEquals( 3, tested.metadataReads.get() );
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        tested.maxCachedDiagrams = 2;
+
+        tested.getMetadataByPath( newPath( "diagram0" ) );
+        tested.getMetadataByPath( newPath( "diagram1" ) );
+        tested.getMetadataByPath( newPath( "diagram2" ) );
+        // The least recently used metadata has been discarded.
+        tested.getMetadataByPath( newPath( "diagram0" ) );
+        tested.getMetadataByPath( newPath( "diagram2" ) );
+
+        assertEquals( 4, tested.metadataReads.get() );
+    }
+
+    @Test
+    public void testParallelLoadKeepsOrder() {
+        final List<Path> paths = new ArrayList<>();
+        for ( int i = 0; i < DIAGRAMS; i++ ) {
+            paths.add( newPath( "diagram" + i ) );
+        }
+
+        final Collection<Diagram> diagrams = tested.loadDiagrams( paths );
+
+        final List<String> loaded = new ArrayList<>();
+        for ( Diagram diagram : diagrams ) {
+            loaded.add( names.get( diagram ) );
+        }
+        final List<String> expected = new ArrayList<>();
+        for ( int i = 0; i < DIAGRAMS; i++ ) {
+            expected.add( "diagram" + i );
+        }
+        assertEquals( expected, loaded );
+        assertFalse( loaderThreads.isEmpty() );
+        assertFalse( loaderThreads.contains( Thread.currentThread() ) );
+        assertFalse( executor.isShutdown() );
+    }
+
+    @Test
+    public void testParallelLoadIsBounded() {
+        tested.maxLoaderThreads = 2;
+        final List<Path> paths = new ArrayList<>();
+        for ( int i = 0; i < DIAGRAMS; i++ ) {
+            paths.add( newPath( "diagram" + i ) );
+        }
+
+        assertEquals( DIAGRAMS, tested.loadDiagrams( paths ).size() );
+        assertTrue( loaderThreads.size() <= 2 );
+    }
+
+    @Test
+    public void testParallelLoadPropagatesErrors() {
+        final List<Path> paths = new ArrayList<>();
+        for ( int i = 0; i < DIAGRAMS; i++ ) {
+            paths.add( newPath( "diagram" + i ) );
+        }
+        when( ioService.readAllBytes( any( org.uberfire.java.nio.file.Path.class ) ) ).thenThrow( new IllegalStateException( "Cannot read" ) );
+
+        try {
+            tested.loadDiagrams( paths );
+            fail( "Loading errors must be propagated" );
+        } catch ( IllegalStateException e ) {
+            assertEquals( "Cannot read", e.getMessage() );
+        }
+        // The shared executor keeps working for the next calls.
+        assertFalse( executor.isShutdown() );
+    }
+
+    private Path newPath( final String name ) {
+        return PathFactory.newPath( name + ".bpmn", "file:///diagrams/" + name + ".bpmn" );
+    }
+
+    private class TestDiagramService extends AbstractVFSDiagramService<Diagram> {
+
+        private int maxCachedDiagrams = 100;
+        private int maxLoaderThreads = 4;
+        private final AtomicInteger metadataReads = new AtomicInteger();
+
+        TestDiagramService() {
+            super( definitionManager, factoryManager, definitionSetServiceInstances, ioService, registryFactory );
+        }
+
+        @Override
+        public Path create( final Path path, final String name, final String defSetId ) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected Class<? extends Metadata> getMetadataType() {
+            return Metadata.class;
+        }
+
+        @Override
+        protected boolean doDelete( final Path path ) {
+            return true;
+        }
+
+        @Override
+        protected InputStream loadMetadataForPath( final Path path ) {
+            metadataReads.incrementAndGet();
+            return new ByteArrayInputStream( "<metadata/>".getBytes() );
+        }
+
+        @Override
+        protected org.uberfire.java.nio.file.Path getMetadataFilePath( final Path path ) {
+            return metadataFile;
+        }
+
+        @Override
+        protected Metadata buildMetadataInstance( final Path path, final String defSetId, final String title ) {
+            return mock( Metadata.class );
+        }
+
+        @Override
+        protected void doSave( final Diagram diagram, final String raw, final String metadata ) {
+        }
+
+        @Override
+        protected int getMaxCachedDiagrams() {
+            return maxCachedDiagrams;
+        }
+
+        @Override
+        protected ExecutorService getLoaderExecutor() {
+            return executor;
+        }
+
+        @Override
+        protected int getMaxLoaderThreads() {
+            return maxLoaderThreads;
+        }
+    }
+}
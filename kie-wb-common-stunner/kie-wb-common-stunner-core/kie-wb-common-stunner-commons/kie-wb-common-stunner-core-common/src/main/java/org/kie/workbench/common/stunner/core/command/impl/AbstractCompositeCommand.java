@@ -67,7 +67,15 @@ public abstract class AbstractCompositeCommand<T, V> implements CompositeCommand
             final List<CommandResult<V>> results = new LinkedList<>();
             for ( final Command<T, V> command : commands ) {
                 LOGGER.log( Level.FINE, "Checking execution for command [" + command + "]" );
-                final CommandResult<V> violations = doExecute( context, command );
+                final CommandResult<V> violations;
+                try {
+                    violations = doExecute( context, command );
+                } catch ( final RuntimeException e ) {
+                    // Commands can fail by throwing (eg: BoundsExceededException), do not leave the batch half applied.
+                    LOGGER.log( Level.FINE, "Execution of command [" + command + "] failed, undoing the executed ones." );
+                    undoMultipleExecutedCommands( context, executedCommands );
+                    throw e;
+                }
                 LOGGER.log( Level.FINE, "Execution of command [" + command + "] finished - "
                         + "Violations [" + violations + "]");
                 results.add( violations );
@@ -75,6 +83,7 @@ public abstract class AbstractCompositeCommand<T, V> implements CompositeCommand
                     undoMultipleExecutedCommands( context, executedCommands );
                     break;
                 }
+                executedCommands.push( command );
             }
             return buildResult( results );
         }
@@ -133,9 +142,18 @@ public abstract class AbstractCompositeCommand<T, V> implements CompositeCommand
     }
 
     private CommandResult<V> undoMultipleExecutedCommands( final T context,
-                                                            final List<Command<T, V>> commandStack ) {
+                                                            final Stack<Command<T, V>> commandStack ) {
+        // Undo the already executed commands in reverse order.
         final List<CommandResult<V>> results = new LinkedList<>();
-        commandStack.stream().forEach( command -> results.add( doUndo( context, command ) ) );
+        while ( !commandStack.isEmpty() ) {
+            final Command<T, V> command = commandStack.pop();
+            try {
+                results.add( doUndo( context, command ) );
+            } catch ( final RuntimeException e ) {
+                // Keep undoing the rest of commands, the original failure is the one reported to the caller.
+                LOGGER.log( Level.SEVERE, "Undo of command [" + command + "] failed.", e );
+            }
+        }
         return buildResult( results );
     }
 
@@ -35,9 +35,12 @@ public abstract class AbstractCriteriaLookupManager<I, T, R extends LookupManage
 
     protected abstract boolean matches( String key, String value, I item );
 
+    // The lookup checks the same criteria against each item, so keep the latest parsed one.
+    private ParsedCriteria lastCriteria;
+
     @Override
     protected boolean matches( final String criteria, final I item ) {
-        final Map<String, String> criterias = parseCriteria( criteria );
+        final Map<String, String> criterias = getParsedCriteria( criteria );
         if ( null != criterias ) {
             for ( final Map.Entry<String, String> entry : criterias.entrySet() ) {
                 if ( !matches( entry.getKey(), entry.getValue(), item ) ) {
@@ -49,6 +52,18 @@ public abstract class AbstractCriteriaLookupManager<I, T, R extends LookupManage
         return false;
     }
 
+    private Map<String, String> getParsedCriteria( final String criteria ) {
+        final ParsedCriteria last = lastCriteria;
+        if ( null != last && last.criteria.equals( criteria ) ) {
+            return last.parsed;
+        }
+        final Map<String, String> parsed = parseCriteria( criteria );
+        if ( null != criteria ) {
+            lastCriteria = new ParsedCriteria( criteria, null != parsed ? Collections.unmodifiableMap( parsed ) : null );
+        }
+        return parsed;
+    }
+
     public static Map<String, String> parseCriteria( final String criteria ) {
         if ( null != criteria ) {
             final Map<String, String> result = new HashMap<>( criteria.length() );
@@ -112,4 +127,17 @@ public abstract class AbstractCriteriaLookupManager<I, T, R extends LookupManage
 
     }
 
+    private static final class ParsedCriteria {
+
+        private final String criteria;
+        private final Map<String, String> parsed;
+
+        private ParsedCriteria( final String criteria,
+                                final Map<String, String> parsed ) {
+            this.criteria = criteria;
+            this.parsed = parsed;
+        }
+
+    }
+
 }
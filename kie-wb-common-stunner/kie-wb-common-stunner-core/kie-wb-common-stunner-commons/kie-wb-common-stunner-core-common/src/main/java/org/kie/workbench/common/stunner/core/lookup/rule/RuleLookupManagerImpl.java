@@ -19,6 +19,7 @@ package org.kie.workbench.common.stunner.core.lookup.rule;
 import org.kie.workbench.common.stunner.core.api.DefinitionManager;
 import org.kie.workbench.common.stunner.core.lookup.criteria.AbstractCriteriaLookupManager;
 import org.kie.workbench.common.stunner.core.rule.*;
+import org.kie.workbench.common.stunner.core.rule.impl.index.IdBitSet;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -30,6 +31,7 @@ public class RuleLookupManagerImpl
         implements RuleLookupManager {
 
     DefinitionManager definitionManager;
+    private final Map<String, RuleIndex> indexes = new HashMap<>();
 
     protected RuleLookupManagerImpl() {
     }
@@ -41,15 +43,31 @@ public class RuleLookupManagerImpl
 
     @Override
     protected List<Rule> getItems( final RuleLookupRequest request ) {
-        final String defSetId = request.getDefinitionSetId();
-        final Object defSet = definitionManager.definitionSets().getDefinitionSetById( defSetId );
-        if ( null != defSet ) {
-            final Collection<Rule> rules = definitionManager.adapters().forRules().getRules( defSet );
-            return new LinkedList<>( rules );
+        final RuleIndex index = getIndex( request.getDefinitionSetId() );
+        if ( null != index ) {
+            // Narrow the rules to be filtered using the precomputed tables. The resulting rules are still
+            // filtered by the whole criteria, so it's fine if some criteria keys are not indexed.
+            final Map<String, String> criteria = parseCriteria( request.getCriteria() );
+            final String from = null != criteria ? criteria.get( "from" ) : null;
+            return index.getCandidates( criteria,
+                                        null != from ? toSet( from ) : null );
         }
         return null;
     }
 
+    private synchronized RuleIndex getIndex( final String defSetId ) {
+        RuleIndex index = indexes.get( defSetId );
+        if ( null == index ) {
+            final Object defSet = definitionManager.definitionSets().getDefinitionSetById( defSetId );
+            if ( null != defSet ) {
+                final Collection<Rule> rules = definitionManager.adapters().forRules().getRules( defSet );
+                index = new RuleIndex( rules );
+                indexes.put( defSetId, index );
+            }
+        }
+        return index;
+    }
+
     @Override
     protected Rule buildResult( final Rule rule ) {
         return rule;
@@ -156,4 +174,123 @@ public class RuleLookupManagerImpl
         return null;
     }
 
+    /**
+     * The rules for a given definition set, indexed by the criteria keys used on the most common lookups.
+     */
+    private static final class RuleIndex {
+
+        private final List<Rule> rules;
+        private final Map<String, List<Rule>> byType = new HashMap<>();
+        private final Map<String, List<Rule>> byId = new HashMap<>();
+        // Start role -> positions of the connection rules that permit it.
+        private final Map<String, IdBitSet> connectionsByStartRole = new HashMap<>();
+
+        private RuleIndex( final Collection<Rule> rules ) {
+            this.rules = null != rules ? new ArrayList<>( rules ) : new ArrayList<Rule>( 0 );
+            for ( int i = 0; i < this.rules.size(); i++ ) {
+                final Rule rule = this.rules.get( i );
+                final String type = getType( rule );
+                if ( null != type ) {
+                    add( byType, type, rule );
+                }
+                final String id = getId( rule );
+                if ( null != id ) {
+                    add( byId, id, rule );
+                }
+                if ( rule instanceof ConnectionRule ) {
+                    final Set<ConnectionRule.PermittedConnection> connections = ( ( ConnectionRule ) rule ).getPermittedConnections();
+                    if ( null != connections ) {
+                        for ( final ConnectionRule.PermittedConnection c : connections ) {
+                            IdBitSet positions = connectionsByStartRole.get( c.getStartRole() );
+                            if ( null == positions ) {
+                                positions = new IdBitSet();
+                                connectionsByStartRole.put( c.getStartRole(), positions );
+                            }
+                            positions.set( i );
+                        }
+                    }
+                }
+            }
+        }
+
+        private List<Rule> getCandidates( final Map<String, String> criteria,
+                                          final Set<String> fromRoles ) {
+            List<Rule> candidates = rules;
+            if ( null == criteria ) {
+                return candidates;
+            }
+            final String type = criteria.get( "type" );
+            if ( null != type && byType.containsKey( type ) ) {
+                candidates = smallest( candidates, byType.get( type ) );
+            }
+            final String id = criteria.get( "id" );
+            if ( null != id ) {
+                candidates = smallest( candidates, byId.get( id ) );
+            }
+            if ( null != fromRoles ) {
+                candidates = smallest( candidates, getConnectionsFrom( fromRoles ) );
+            }
+            return candidates;
+        }
+
+        private List<Rule> getConnectionsFrom( final Set<String> roles ) {
+            final IdBitSet positions = new IdBitSet();
+            for ( final String role : roles ) {
+                final IdBitSet rolePositions = connectionsByStartRole.get( role );
+                if ( null != rolePositions ) {
+                    positions.or( rolePositions );
+                }
+            }
+            final List<Rule> result = new ArrayList<>();
+            for ( int i = positions.nextSetBit( 0 ); i >= 0; i = positions.nextSetBit( i + 1 ) ) {
+                result.add( rules.get( i ) );
+            }
+            return result;
+        }
+
+        private static List<Rule> smallest( final List<Rule> current,
+                                            final List<Rule> candidates ) {
+            if ( null == candidates ) {
+                return new ArrayList<Rule>( 0 );
+            }
+            return candidates.size() < current.size() ? candidates : current;
+        }
+
+        private static void add( final Map<String, List<Rule>> map,
+                                 final String key,
+                                 final Rule rule ) {
+            List<Rule> list = map.get( key );
+            if ( null == list ) {
+                list = new ArrayList<>();
+                map.put( key, list );
+            }
+            list.add( rule );
+        }
+
+        private static String getType( final Rule rule ) {
+            if ( rule instanceof ContainmentRule ) {
+                return "containment";
+            } else if ( rule instanceof ConnectionRule ) {
+                return "connection";
+            } else if ( rule instanceof CardinalityRule ) {
+                return "cardinality";
+            } else if ( rule instanceof EdgeCardinalityRule ) {
+                return "edgecardinality";
+            }
+            return null;
+        }
+
+        private static String getId( final Rule rule ) {
+            if ( rule instanceof EdgeCardinalityRule ) {
+                return ( ( EdgeCardinalityRule ) rule ).getId();
+            } else if ( rule instanceof ContainmentRule ) {
+                return ( ( ContainmentRule ) rule ).getId();
+            } else if ( rule instanceof ConnectionRule ) {
+                return ( ( ConnectionRule ) rule ).getId();
+            }
+            return null;
+        }
+
+    }
+
 }
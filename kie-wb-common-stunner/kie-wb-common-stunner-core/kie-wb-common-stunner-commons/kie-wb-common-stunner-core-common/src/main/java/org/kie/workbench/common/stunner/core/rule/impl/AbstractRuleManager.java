@@ -30,6 +30,7 @@ public abstract class AbstractRuleManager<R extends Rule> implements RuleManager
     public RuleManager addRule( final R rule ) {
         if ( supports( rule ) ) {
             rules.add( rule );
+            onRulesChanged();
         }
         return this;
     }
@@ -37,7 +38,16 @@ public abstract class AbstractRuleManager<R extends Rule> implements RuleManager
     @Override
     public RuleManager clearRules() {
         rules.clear();
+        onRulesChanged();
         return this;
     }
 
+    /**
+     * Called when the registered rules change, so any data precomputed from them can be discarded.
+     * Evaluations may run on other threads, so precomputed data should be fully built before it is
+     * published through a volatile field, and never modified afterwards.
+     */
+    protected void onRulesChanged() {
+    }
+
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.rule.impl.index;
+
+/**
+ * A growable set of non negative integer identifiers, backed by an array of int words.
+ * <p>
+ * It's used instead of <code>java.util.BitSet</code> as this class is shared with the client side.
+ */
+public final class IdBitSet {
+
+    private static final int WORD_SIZE = 32;
+
+    private int[] words = new int[ 1 ];
+
+    public IdBitSet set( final int id ) {
+        checkId( id );
+        final int index = id / WORD_SIZE;
+        if ( index >= words.length ) {
+            final int[] grown = new int[ Math.max( index + 1, words.length * 2 ) ];
+            System.arraycopy( words, 0, grown, 0, words.length );
+            words = grown;
+        }
+        words[ index ] |= 1 << ( id % WORD_SIZE );
+        return this;
+    }
+
+    public boolean get( final int id ) {
+        if ( id < 0 ) {
+            return false;
+        }
+        final int index = id / WORD_SIZE;
+        return index < words.length && ( words[ index ] & ( 1 << ( id % WORD_SIZE ) ) ) != 0;
+    }
+
+    public IdBitSet or( final IdBitSet other ) {
+        if ( other.words.length > words.length ) {
+            final int[] grown = new int[ other.words.length ];
+            System.arraycopy( words, 0, grown, 0, words.length );
+            words = grown;
+        }
+        for ( int i = 0; i < other.words.length; i++ ) {
+            words[ i ] |= other.words[ i ];
+        }
+        return this;
+    }
+
+    public boolean intersects( final IdBitSet other ) {
+        final int size = Math.min( words.length, other.words.length );
+        for ( int i = 0; i < size; i++ ) {
+            if ( ( words[ i ] & other.words[ i ] ) != 0 ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        for ( final int word : words ) {
+            if ( word != 0 ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the first identifier in the set that is equal or greater than the given one, or -1 if there is none.
+     */
+    public int nextSetBit( final int from ) {
+        int index = Math.max( from, 0 ) / WORD_SIZE;
+        if ( index >= words.length ) {
+            return -1;
+        }
+        int word = words[ index ] & ( -1 << ( Math.max( from, 0 ) % WORD_SIZE ) );
+        while ( true ) {
+            if ( word != 0 ) {
+                return index * WORD_SIZE + Integer.numberOfTrailingZeros( word );
+            }
+            if ( ++index == words.length ) {
+                return -1;
+            }
+            word = words[ index ];
+        }
+    }
+
+    private static void checkId( final int id ) {
+        if ( id < 0 ) {
+            throw new IllegalArgumentException( "Identifier must be non negative [" + id + "]" );
+        }
+    }
+
+}
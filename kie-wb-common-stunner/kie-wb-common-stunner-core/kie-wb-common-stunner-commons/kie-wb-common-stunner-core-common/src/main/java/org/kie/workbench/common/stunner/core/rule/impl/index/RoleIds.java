@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.rule.impl.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interns role names into consecutive integer identifiers, so role sets can be represented as bit sets.
+ */
+public final class RoleIds {
+
+    public static final int UNKNOWN = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    public int intern( final String role ) {
+        final Integer id = ids.get( role );
+        if ( null != id ) {
+            return id;
+        }
+        final int newId = ids.size();
+        ids.put( role, newId );
+        return newId;
+    }
+
+    /**
+     * Returns the identifier for the given role, or <code>UNKNOWN</code> if it has not been interned.
+     */
+    public int idOf( final String role ) {
+        final Integer id = ids.get( role );
+        return null != id ? id : UNKNOWN;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.rule.impl.index;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A precomputed lookup table from a given key (for example a target definition id or a role)
+ * to the set of roles it allows, stored as a bit set over the interned role identifiers.
+ */
+public final class RoleTable {
+
+    private final RoleIds roleIds;
+    private final Map<String, IdBitSet> table = new HashMap<>();
+
+    public RoleTable( final RoleIds roleIds ) {
+        this.roleIds = roleIds;
+    }
+
+    public RoleTable add( final String key,
+                          final String role ) {
+        getOrCreate( key ).set( roleIds.intern( role ) );
+        return this;
+    }
+
+    public RoleTable addAll( final String key,
+                             final Collection<String> roles ) {
+        final IdBitSet bits = getOrCreate( key );
+        if ( null != roles ) {
+            for ( final String role : roles ) {
+                bits.set( roleIds.intern( role ) );
+            }
+        }
+        return this;
+    }
+
+    public boolean containsKey( final String key ) {
+        return table.containsKey( key );
+    }
+
+    /**
+     * Check whether any of the given roles is allowed for the given key.
+     */
+    public boolean allows( final String key,
+                           final Iterable<String> roles ) {
+        final IdBitSet allowed = table.get( key );
+        if ( null == allowed || null == roles ) {
+            return false;
+        }
+        for ( final String role : roles ) {
+            if ( allowed.get( roleIds.idOf( role ) ) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private IdBitSet getOrCreate( final String key ) {
+        IdBitSet bits = table.get( key );
+        if ( null == bits ) {
+            bits = new IdBitSet();
+            table.put( key, bits );
+        }
+        return bits;
+    }
+
+}
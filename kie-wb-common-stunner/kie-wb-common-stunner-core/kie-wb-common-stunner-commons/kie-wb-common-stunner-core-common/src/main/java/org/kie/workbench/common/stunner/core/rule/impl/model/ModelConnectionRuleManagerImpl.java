@@ -20,12 +20,16 @@ import org.kie.workbench.common.stunner.core.rule.ConnectionRule;
 import org.kie.workbench.common.stunner.core.rule.DefaultRuleViolations;
 import org.kie.workbench.common.stunner.core.rule.RuleViolations;
 import org.kie.workbench.common.stunner.core.rule.impl.AbstractConnectionRuleManager;
+import org.kie.workbench.common.stunner.core.rule.impl.index.RoleIds;
+import org.kie.workbench.common.stunner.core.rule.impl.index.RoleTable;
 import org.kie.workbench.common.stunner.core.rule.impl.violations.ConnectionRuleViolation;
 import org.kie.workbench.common.stunner.core.rule.model.ModelConnectionRuleManager;
 import org.uberfire.commons.data.Pair;
 
 import javax.enterprise.context.Dependent;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 @Dependent
@@ -33,6 +37,9 @@ public class ModelConnectionRuleManagerImpl extends AbstractConnectionRuleManage
 
     private static final String NAME = "Domain Model Connection Rule Manager";
 
+    // Edge id -> the start roles it accepts, each with its permitted end roles.
+    private volatile Map<String, EdgeConnections> connectionsByEdge;
+
     @Override
     public String getName() {
         return NAME;
@@ -46,22 +53,62 @@ public class ModelConnectionRuleManagerImpl extends AbstractConnectionRuleManage
             return new DefaultRuleViolations();
         }
         final DefaultRuleViolations results = new DefaultRuleViolations();
-        final Set<Pair<String, String>> couples = new HashSet<Pair<String, String>>();
-        for ( ConnectionRule rule : rules ) {
-            if ( edgeId.equals( rule.getId() ) ) {
-                for ( ConnectionRule.PermittedConnection pc : rule.getPermittedConnections() ) {
-                    couples.add( new Pair<String, String>( pc.getStartRole(), pc.getEndRole() ) );
-                    if ( outgoingLabels.contains( pc.getStartRole() ) ) {
-                        if ( incomingLabels.contains( pc.getEndRole() ) ) {
-                            return results;
-                        }
-                    }
+        final EdgeConnections connections = getConnections().get( edgeId );
+        if ( null != connections ) {
+            for ( final String outgoingLabel : outgoingLabels ) {
+                if ( connections.endRoles.allows( outgoingLabel, incomingLabels ) ) {
+                    return results;
                 }
             }
         }
+        final Set<Pair<String, String>> couples = null != connections ?
+                new HashSet<Pair<String, String>>( connections.couples ) : new HashSet<Pair<String, String>>();
         results.addViolation( new ConnectionRuleViolation( edgeId, couples ) );
         return results;
 
     }
 
+    @Override
+    protected void onRulesChanged() {
+        connectionsByEdge = null;
+    }
+
+    private Map<String, EdgeConnections> getConnections() {
+        Map<String, EdgeConnections> connections = connectionsByEdge;
+        if ( null == connections ) {
+            final RoleIds roleIds = new RoleIds();
+            connections = new HashMap<>();
+            for ( ConnectionRule rule : rules ) {
+                EdgeConnections edgeConnections = connections.get( rule.getId() );
+                if ( null == edgeConnections ) {
+                    edgeConnections = new EdgeConnections( roleIds );
+                    connections.put( rule.getId(), edgeConnections );
+                }
+                for ( ConnectionRule.PermittedConnection pc : rule.getPermittedConnections() ) {
+                    edgeConnections.add( pc.getStartRole(), pc.getEndRole() );
+                }
+            }
+            connectionsByEdge = connections;
+        }
+        return connections;
+    }
+
+    private static final class EdgeConnections {
+
+        // Start role -> permitted end roles.
+        private final RoleTable endRoles;
+        private final Set<Pair<String, String>> couples = new HashSet<Pair<String, String>>();
+
+        private EdgeConnections( final RoleIds roleIds ) {
+            this.endRoles = new RoleTable( roleIds );
+        }
+
+        private void add( final String startRole,
+                          final String endRole ) {
+            endRoles.add( startRole, endRole );
+            couples.add( new Pair<String, String>( startRole, endRole ) );
+        }
+
+    }
+
 }
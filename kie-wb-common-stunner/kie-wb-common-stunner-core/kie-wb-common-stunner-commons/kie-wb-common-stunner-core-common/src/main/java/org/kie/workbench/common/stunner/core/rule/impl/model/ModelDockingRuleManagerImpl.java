@@ -20,11 +20,12 @@ import org.kie.workbench.common.stunner.core.rule.DefaultRuleViolations;
 import org.kie.workbench.common.stunner.core.rule.DockingRule;
 import org.kie.workbench.common.stunner.core.rule.RuleViolations;
 import org.kie.workbench.common.stunner.core.rule.impl.AbstractDockingRuleManager;
+import org.kie.workbench.common.stunner.core.rule.impl.index.RoleIds;
+import org.kie.workbench.common.stunner.core.rule.impl.index.RoleTable;
 import org.kie.workbench.common.stunner.core.rule.impl.violations.ContainmentRuleViolation;
 import org.kie.workbench.common.stunner.core.rule.model.ModelDockingRuleManager;
 
 import javax.enterprise.context.Dependent;
-import java.util.HashSet;
 import java.util.Set;
 
 @Dependent
@@ -32,6 +33,9 @@ public class ModelDockingRuleManagerImpl extends AbstractDockingRuleManager<Stri
 
     private static final String NAME = "Domain Model Docking Rule Manager";
 
+    // Target id -> roles that can be docked to it.
+    private volatile RoleTable permittedRoles;
+
     @Override
     public String getName() {
         return NAME;
@@ -44,17 +48,28 @@ public class ModelDockingRuleManagerImpl extends AbstractDockingRuleManager<Stri
             return new DefaultRuleViolations();
         }
         final DefaultRuleViolations results = new DefaultRuleViolations();
-        for ( DockingRule rule : rules ) {
-            if ( rule.getId().equals( targetId ) ) {
-                final Set<String> permittedStrings = new HashSet<String>( rule.getPermittedRoles() );
-                permittedStrings.retainAll( candidateRoles );
-                if ( permittedStrings.size() > 0 ) {
-                    return results;
-                }
-            }
+        if ( getPermittedRoles().allows( targetId, candidateRoles ) ) {
+            return results;
         }
         results.addViolation( new ContainmentRuleViolation( targetId, candidateRoles.toString() ) );
         return results;
     }
 
+    @Override
+    protected void onRulesChanged() {
+        permittedRoles = null;
+    }
+
+    private RoleTable getPermittedRoles() {
+        RoleTable table = permittedRoles;
+        if ( null == table ) {
+            table = new RoleTable( new RoleIds() );
+            for ( DockingRule rule : rules ) {
+                table.addAll( rule.getId(), rule.getPermittedRoles() );
+            }
+            permittedRoles = table;
+        }
+        return table;
+    }
+
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.command.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.command.Command;
+import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.command.CompositeCommand;
+import org.kie.workbench.common.stunner.core.command.util.CommandUtils;
+import org.kie.workbench.common.stunner.core.registry.RegistryFactory;
+import org.kie.workbench.common.stunner.core.registry.command.CommandRegistry;
+import org.kie.workbench.common.stunner.core.registry.impl.CommandRegistryImpl;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class CompositeCommandRollbackTest {
+
+    private List<String> log;
+    private CommandManagerImpl<Object, Object> commandManager;
+
+    @Before
+    public void setup() {
+        log = new ArrayList<>();
+        commandManager = new CommandManagerImpl<>();
+    }
+
+    @Test
+    public void testExecuteComposite() {
+        final CommandResult<Object> result = commandManager.execute( new Object(),
+                                                                     composite( new PlainCommand( "c1" ),
+                                                                                new PlainCommand( "c2" ) ) );
+        assertFalse( CommandUtils.isError( result ) );
+        assertEquals( "[allow c1, allow c2, execute c1, execute c2]",
+                      log.toString() );
+    }
+
+    @Test
+    public void testRollback() {
+        final CommandResult<Object> result = commandManager.execute( new Object(),
+                                                                     composite( new PlainCommand( "c1" ),
+                                                                                new PlainCommand( "c2" ),
+                                                                                new PlainCommand( "fail", true ),
+                                                                                new PlainCommand( "c3" ) ) );
+        assertTrue( CommandUtils.isError( result ) );
+        assertEquals( "[allow c1, allow c2, allow fail, allow c3, execute c1, execute c2, execute fail, undo c2, undo c1]",
+                      log.toString() );
+    }
+
+    @Test
+    public void testRollbackOnException() {
+        try {
+            commandManager.execute( new Object(),
+                                    composite( new PlainCommand( "c1" ),
+                                               new PlainCommand( "c2" ),
+                                               new ThrowingCommand( "throw" ),
+                                               new PlainCommand( "c3" ) ) );
+            fail( "The command exception must be propagated" );
+        } catch ( IllegalStateException e ) {
+            assertEquals( "throw",
+                          e.getMessage() );
+        }
+        assertEquals( "[allow c1, allow c2, allow throw, allow c3, execute c1, execute c2, execute throw, undo c2, undo c1]",
+                      log.toString() );
+    }
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    public void testStackRegistersSingleEntryForComposite() {
+        final RegistryFactory registryFactory = mock( RegistryFactory.class );
+        final CommandRegistry<Command<Object, Object>> registry = new CommandRegistryImpl<>();
+        when( registryFactory.newCommandRegistry() ).thenReturn( ( CommandRegistry ) registry );
+        final StackCommandManagerImpl<Object, Object> stack = new StackCommandManagerImpl<>( registryFactory,
+                                                                                              commandManager );
+        final Object context = new Object();
+        assertFalse( CommandUtils.isError( stack.execute( context,
+                                                          composite( new PlainCommand( "c1" ),
+                                                                     new PlainCommand( "c2" ) ) ) ) );
+        assertEquals( 1,
+                      registry.getCommandHistory().size() );
+        log.clear();
+        assertFalse( CommandUtils.isError( stack.undo( context ) ) );
+        assertEquals( "[undo c2, undo c1]",
+                      log.toString() );
+        assertTrue( registry.getCommandHistory().isEmpty() );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private CompositeCommand<Object, Object> composite( final Command<Object, Object>... commands ) {
+        return new CompositeCommandImpl.CompositeCommandBuilder<Object, Object>()
+                .addCommands( Arrays.asList( commands ) )
+                .build();
+    }
+
+    private class PlainCommand implements Command<Object, Object> {
+
+        private final String name;
+        private final boolean fail;
+
+        private PlainCommand( final String name ) {
+            this( name, false );
+        }
+
+        private PlainCommand( final String name,
+                              final boolean fail ) {
+            this.name = name;
+            this.fail = fail;
+        }
+
+        @Override
+        public CommandResult<Object> allow( final Object context ) {
+            return result( "allow", false );
+        }
+
+        @Override
+        public CommandResult<Object> execute( final Object context ) {
+            return result( "execute", fail );
+        }
+
+        @Override
+        public CommandResult<Object> undo( final Object context ) {
+            return result( "undo", false );
+        }
+
+        private CommandResult<Object> result( final String operation,
+                                              final boolean error ) {
+            log.add( operation + " " + this );
+            return new CommandResultImpl<>( error ? CommandResult.Type.ERROR : CommandResult.Type.INFO,
+                                            operation,
+                                            Collections.emptyList() );
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private class ThrowingCommand extends PlainCommand {
+
+        private ThrowingCommand( final String name ) {
+            super( name );
+        }
+
+        @Override
+        public CommandResult<Object> execute( final Object context ) {
+            super.execute( context );
+            throw new IllegalStateException( toString() );
+        }
+    }
+}
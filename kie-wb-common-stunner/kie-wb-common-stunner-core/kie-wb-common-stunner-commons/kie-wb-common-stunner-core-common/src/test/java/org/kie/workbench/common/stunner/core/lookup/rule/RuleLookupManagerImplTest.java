@@ -0,0 +1,207 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.lookup.rule;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.api.DefinitionManager;
+import org.kie.workbench.common.stunner.core.definition.adapter.AdapterManager;
+import org.kie.workbench.common.stunner.core.definition.adapter.DefinitionSetRuleAdapter;
+import org.kie.workbench.common.stunner.core.lookup.criteria.AbstractCriteriaLookupManager;
+import org.kie.workbench.common.stunner.core.registry.definition.TypeDefinitionSetRegistry;
+import org.kie.workbench.common.stunner.core.rule.ConnectionRule;
+import org.kie.workbench.common.stunner.core.rule.EdgeCardinalityRule;
+import org.kie.workbench.common.stunner.core.rule.Rule;
+import org.kie.workbench.common.stunner.core.rule.impl.rules.CardinalityRuleImpl;
+import org.kie.workbench.common.stunner.core.rule.impl.rules.ConnectionRuleImpl;
+import org.kie.workbench.common.stunner.core.rule.impl.rules.ContainmentRuleImpl;
+import org.kie.workbench.common.stunner.core.rule.impl.rules.EdgeCardinalityRuleImpl;
+import org.kie.workbench.common.stunner.core.rule.impl.rules.PermittedConnectionImpl;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith( MockitoJUnitRunner.class )
+public class RuleLookupManagerImplTest {
+
+    private static final String DEF_SET_ID = "defSet";
+    private static final int RULES_PER_TYPE = 20;
+
+    @Mock
+    private DefinitionManager definitionManager;
+
+    @Mock
+    private TypeDefinitionSetRegistry definitionSets;
+
+    @Mock
+    private AdapterManager adapters;
+
+    @Mock
+    private DefinitionSetRuleAdapter<Object> ruleAdapter;
+
+    private final Object defSet = new Object();
+    private final List<Rule> rules = new ArrayList<>();
+
+    private RuleLookupManagerImpl tested;
+
+    @Before
+    @SuppressWarnings( "unchecked" )
+    public void setup() throws Exception {
+        for ( int i = 0; i < RULES_PER_TYPE; i++ ) {
+            rules.add( new ContainmentRuleImpl( "containment" + i,
+                                                "container" + ( i % 5 ),
+                                                new HashSet<>( Arrays.asList( "role" + i, "role" + ( i + 1 ) ) ) ) );
+            final Set<ConnectionRule.PermittedConnection> connections = new HashSet<>();
+            connections.add( new PermittedConnectionImpl( "start" + ( i % 4 ), "end" + i ) );
+            connections.add( new PermittedConnectionImpl( "start" + ( i % 7 ), "end" + ( i + 1 ) ) );
+            rules.add( new ConnectionRuleImpl( "connection" + i,
+                                               "edge" + ( i % 3 ),
+                                               connections ) );
+            rules.add( new CardinalityRuleImpl( "cardinality" + i,
+                                                "role" + i,
+                                                0,
+                                                1 ) );
+            rules.add( new EdgeCardinalityRuleImpl( "edge" + ( i % 3 ),
+                                                    "edgeCardinality" + i,
+                                                    "role" + ( i % 6 ),
+                                                    i % 2 == 0 ? EdgeCardinalityRule.Type.INCOMING : EdgeCardinalityRule.Type.OUTGOING,
+                                                    0,
+                                                    1 ) );
+        }
+        doReturn( definitionSets ).when( definitionManager ).definitionSets();
+        when( definitionSets.getDefinitionSetById( DEF_SET_ID ) ).thenReturn( defSet );
+        when( definitionManager.adapters() ).thenReturn( adapters );
+        when( adapters.forRules() ).thenReturn( ruleAdapter );
+        when( ruleAdapter.getRules( defSet ) ).thenReturn( rules );
+        tested = new RuleLookupManagerImpl( definitionManager );
+    }
+
+    @Test
+    public void testLookupByTypeAndId() {
+        final List<Rule> result = lookup( new RuleLookupRequestImpl.Builder()
+                                                  .type( RuleLookupRequestImpl.Builder.RuleType.CONTAINMENT )
+                                                  .id( "container2" ) );
+
+        assertEquals( RULES_PER_TYPE / 5, result.size() );
+        for ( Rule rule : result ) {
+            assertTrue( rule instanceof ContainmentRuleImpl );
+            assertEquals( "container2", ( ( ContainmentRuleImpl ) rule ).getId() );
+        }
+    }
+
+    @Test
+    public void testLookupByUnknownId() {
+        assertTrue( lookup( new RuleLookupRequestImpl.Builder()
+                                    .type( RuleLookupRequestImpl.Builder.RuleType.CONNECTION )
+                                    .id( "unknown" ) ).isEmpty() );
+    }
+
+    @Test
+    public void testSameResultsAsFilteringAllRules() {
+        final List<RuleLookupRequestImpl.Builder> requests = new ArrayList<>();
+        for ( RuleLookupRequestImpl.Builder.RuleType type : RuleLookupRequestImpl.Builder.RuleType.values() ) {
+            requests.add( new RuleLookupRequestImpl.Builder().type( type ) );
+        }
+        requests.add( new RuleLookupRequestImpl.Builder().id( "edge1" ) );
+        requests.add( new RuleLookupRequestImpl.Builder()
+                              .type( RuleLookupRequestImpl.Builder.RuleType.CONNECTION )
+                              .id( "edge1" ) );
+        requests.add( new RuleLookupRequestImpl.Builder()
+                              .type( RuleLookupRequestImpl.Builder.RuleType.CONNECTION )
+                              .from( new LinkedHashSet<>( Arrays.asList( "start1", "start5", "start6" ) ) ) );
+        requests.add( new RuleLookupRequestImpl.Builder()
+                              .type( RuleLookupRequestImpl.Builder.RuleType.CONNECTION )
+                              .id( "edge2" )
+                              .from( new LinkedHashSet<>( Arrays.asList( "start3", "start0" ) ) ) );
+        requests.add( new RuleLookupRequestImpl.Builder()
+                              .type( RuleLookupRequestImpl.Builder.RuleType.CONNECTION )
+                              .from( Collections.singleton( "unknown" ) ) );
+        requests.add( new RuleLookupRequestImpl.Builder()
+                              .type( RuleLookupRequestImpl.Builder.RuleType.EDGECARDINALITY )
+                              .role( "role3" )
+                              .edgeType( RuleLookupRequestImpl.Builder.EdgeType.INCOMING ) );
+
+        for ( RuleLookupRequestImpl.Builder request : requests ) {
+            final RuleLookupRequest built = request.definitionSetId( DEF_SET_ID )
+                    .pageSize( rules.size() )
+                    .build();
+            assertEquals( built.getCriteria(),
+                          filter( built.getCriteria() ),
+                          tested.lookup( built ).getResults() );
+        }
+    }
+
+    @Test
+    public void testIndexIsBuiltOncePerDefinitionSet() {
+        for ( int i = 0; i < 10; i++ ) {
+            lookup( new RuleLookupRequestImpl.Builder()
+                            .type( RuleLookupRequestImpl.Builder.RuleType.CONNECTION )
+                            .id( "edge" + ( i % 3 ) ) );
+        }
+
+        verify( ruleAdapter, times( 1 ) ).getRules( defSet );
+    }
+
+    @Test
+    public void testUnknownDefinitionSet() {
+        final RuleLookupRequest request = new RuleLookupRequestImpl.Builder()
+                .definitionSetId( "unknown" )
+                .type( RuleLookupRequestImpl.Builder.RuleType.CONTAINMENT )
+                .build();
+
+        assertTrue( tested.lookup( request ).getResults().isEmpty() );
+        verify( ruleAdapter, never() ).getRules( any() );
+    }
+
+    private List<Rule> lookup( final RuleLookupRequestImpl.Builder request ) {
+        return tested.lookup( request.definitionSetId( DEF_SET_ID )
+                                      .pageSize( rules.size() )
+                                      .build() ).getResults();
+    }
+
+    // The rules a lookup returned before the index, checking the whole criteria against every rule.
+    private List<Rule> filter( final String criteria ) {
+        final Map<String, String> parsed = AbstractCriteriaLookupManager.parseCriteria( criteria );
+        final List<Rule> result = new ArrayList<>();
+        for ( Rule rule : rules ) {
+            boolean matches = true;
+            for ( Map.Entry<String, String> entry : parsed.entrySet() ) {
+                if ( !tested.matches( entry.getKey(), entry.getValue(), rule ) ) {
+                    matches = false;
+                    break;
+                }
+            }
+            if ( matches ) {
+                result.add( rule );
+            }
+        }
+        return result;
+    }
+
+}
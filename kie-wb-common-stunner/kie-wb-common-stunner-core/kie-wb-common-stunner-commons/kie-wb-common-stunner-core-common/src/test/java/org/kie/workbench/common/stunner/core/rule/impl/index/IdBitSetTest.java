@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.rule.impl.index;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IdBitSetTest {
+
+    @Test
+    public void testSetAndGet() {
+        final IdBitSet tested = new IdBitSet();
+        assertTrue( tested.isEmpty() );
+        tested.set( 0 ).set( 31 ).set( 32 ).set( 200 );
+        assertFalse( tested.isEmpty() );
+        assertTrue( tested.get( 0 ) );
+        assertTrue( tested.get( 31 ) );
+        assertTrue( tested.get( 32 ) );
+        assertTrue( tested.get( 200 ) );
+        assertFalse( tested.get( 1 ) );
+        assertFalse( tested.get( 199 ) );
+        assertFalse( tested.get( 1000 ) );
+        assertFalse( tested.get( -1 ) );
+    }
+
+    @Test
+    public void testNextSetBit() {
+        final IdBitSet tested = new IdBitSet().set( 3 ).set( 31 ).set( 64 ).set( 95 );
+        assertEquals( 3,
+                      tested.nextSetBit( 0 ) );
+        assertEquals( 31,
+                      tested.nextSetBit( 4 ) );
+        assertEquals( 64,
+                      tested.nextSetBit( 32 ) );
+        assertEquals( 95,
+                      tested.nextSetBit( 65 ) );
+        assertEquals( -1,
+                      tested.nextSetBit( 96 ) );
+        assertEquals( -1,
+                      new IdBitSet().nextSetBit( 0 ) );
+    }
+
+    @Test
+    public void testOrAndIntersects() {
+        final IdBitSet a = new IdBitSet().set( 1 );
+        final IdBitSet b = new IdBitSet().set( 100 );
+        assertFalse( a.intersects( b ) );
+        a.or( b );
+        assertTrue( a.get( 1 ) );
+        assertTrue( a.get( 100 ) );
+        assertTrue( a.intersects( b ) );
+        assertTrue( b.intersects( a ) );
+    }
+
+    @Test
+    public void testRoleTable() {
+        final RoleTable tested = new RoleTable( new RoleIds() )
+                .addAll( "parent", Arrays.asList( "r1", "r2" ) )
+                .add( "other", "r3" );
+        assertTrue( tested.containsKey( "parent" ) );
+        assertTrue( tested.allows( "parent", Arrays.asList( "r5", "r2" ) ) );
+        assertFalse( tested.allows( "parent", Arrays.asList( "r3", "unknown" ) ) );
+        assertTrue( tested.allows( "other", Arrays.asList( "r3" ) ) );
+        assertFalse( tested.allows( "missing", Arrays.asList( "r1" ) ) );
+    }
+
+}
@@ -102,4 +102,17 @@ public class ModelContainmentRuleManagerImplTest {
         assertTrue( violations.violations( RuleViolation.Type.ERROR ).iterator().hasNext() );
     }
 
+    @Test
+    public void testRulesChanged() {
+        final Set<String> candidateRoles = new HashSet<String>( 1 ) {{
+            add( "role1" );
+        }};
+        assertFalse( tested.evaluate( PARENT_ID, candidateRoles ).violations( RuleViolation.Type.ERROR ).iterator().hasNext() );
+        tested.clearRules();
+        tested.addRule( rule2 );
+        assertTrue( tested.evaluate( PARENT_ID, candidateRoles ).violations( RuleViolation.Type.ERROR ).iterator().hasNext() );
+        tested.addRule( rule );
+        assertFalse( tested.evaluate( PARENT_ID, candidateRoles ).violations( RuleViolation.Type.ERROR ).iterator().hasNext() );
+    }
+
 }
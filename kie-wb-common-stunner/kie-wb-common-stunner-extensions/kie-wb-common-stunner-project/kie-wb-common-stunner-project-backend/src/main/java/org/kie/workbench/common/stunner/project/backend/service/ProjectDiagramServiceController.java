@@ -97,6 +97,7 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectD
                       OpenOption... comment ) {
         try {
             String[] raw = serizalize( diagram );
+            evict( path );
             getIoService().write( Paths.convert( path ), raw[ 0 ], attributes, comment );
         } catch ( Exception e ) {
             LOG.error( "Error while saving diagram with UUID [" + diagram.getName() + "].", e );
@@ -124,6 +125,7 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectD
 
     // TODO: Use commit message.
     public boolean delete( Path _path, String message ) {
+        evict( _path );
         final org.uberfire.java.nio.file.Path path = Paths.convert( _path );
         return getIoService().deleteIfExists( path, StandardDeleteOption.NON_EMPTY_DIRECTORIES );
     }
@@ -96,6 +96,11 @@ public class ProjectDiagramServiceImpl extends KieService<ProjectDiagram>
         return controller.getDiagramByPath( path );
     }
 
+    @Override
+    public org.kie.workbench.common.stunner.core.diagram.Metadata getMetadataByPath( Path path ) {
+        return controller.getMetadataByPath( path );
+    }
+
     @Override
     public boolean accepts( Path path ) {
         return controller.accepts( path );
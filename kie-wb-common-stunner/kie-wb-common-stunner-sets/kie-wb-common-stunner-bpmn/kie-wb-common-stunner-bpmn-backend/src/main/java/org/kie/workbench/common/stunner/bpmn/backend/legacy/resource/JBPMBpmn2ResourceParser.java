@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.legacy.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import bpsim.impl.BpsimPackageImpl;
+import org.eclipse.bpmn2.Bpmn2Package;
+import org.eclipse.bpmn2.Definitions;
+import org.eclipse.bpmn2.DocumentRoot;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.jboss.drools.DroolsPackage;
+import org.jboss.drools.impl.DroolsPackageImpl;
+
+/**
+ * Parses BPMN2 process definitions using pre-initialized EMF infrastructure.
+ * <p>
+ * The EMF packages are initialized only once, the load options and the XML name to feature map are shared
+ * across all parsing operations, the SAX parsers are obtained from a shared <code>XMLParserPoolImpl</code>
+ * and the resource sets, which are not thread safe, are pooled so each one is only used by a single
+ * thread at a time. So it's safe to use the same instance from different threads concurrently.
+ */
+public class JBPMBpmn2ResourceParser {
+
+    private static final String BPMN2_NS_URI = "http://www.omg.org/spec/BPMN/20100524/MODEL";
+    private static final String RESOURCE_URI = "inputStream://dummyUriWithValidSuffix.xml";
+    private static final String ENCODING = "UTF-8";
+
+    private final Map<String, Object> loadOptions;
+    private final Queue<ResourceSet> resourceSets = new ConcurrentLinkedQueue<ResourceSet>();
+
+    private static class Holder {
+
+        private static final JBPMBpmn2ResourceParser INSTANCE = new JBPMBpmn2ResourceParser();
+    }
+
+    public static JBPMBpmn2ResourceParser getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    JBPMBpmn2ResourceParser() {
+        DroolsPackageImpl.init();
+        BpsimPackageImpl.init();
+        final Map<String, Object> options = new HashMap<String, Object>();
+        options.put( XMLResource.OPTION_ENCODING,
+                     ENCODING );
+        options.put( XMLResource.OPTION_DEFER_IDREF_RESOLUTION,
+                     true );
+        options.put( XMLResource.OPTION_DISABLE_NOTIFY,
+                     true );
+        options.put( XMLResource.OPTION_PROCESS_DANGLING_HREF,
+                     XMLResource.OPTION_PROCESS_DANGLING_HREF_RECORD );
+        options.put( XMLResource.OPTION_USE_PARSER_POOL,
+                     new XMLParserPoolImpl( true ) );
+        options.put( XMLResource.OPTION_USE_XML_NAME_TO_FEATURE_MAP,
+                     Collections.synchronizedMap( new HashMap<Object, Object>() ) );
+        options.put( XMLResource.OPTION_USE_DEPRECATED_METHODS,
+                     false );
+        this.loadOptions = Collections.unmodifiableMap( options );
+    }
+
+    public Definitions parse( final InputStream inputStream ) throws IOException {
+        final ResourceSet resourceSet = acquireResourceSet();
+        JBPMBpmn2ResourceImpl resource = null;
+        try {
+            resource = (JBPMBpmn2ResourceImpl) resourceSet.createResource( URI.createURI( RESOURCE_URI ) );
+            resource.setEncoding( ENCODING );
+            resource.load( inputStream,
+                           loadOptions );
+            final DocumentRoot root = (DocumentRoot) resource.getContents().get( 0 );
+            return root.getDefinitions();
+        } finally {
+            // The loaded definitions are kept attached to the resource, but the resource itself
+            // must not be kept in the pooled resource set.
+            if ( null != resource ) {
+                resourceSet.getResources().remove( resource );
+            }
+            resourceSets.offer( resourceSet );
+        }
+    }
+
+    Map<String, Object> getLoadOptions() {
+        return loadOptions;
+    }
+
+    private ResourceSet acquireResourceSet() {
+        final ResourceSet resourceSet = resourceSets.poll();
+        return null != resourceSet ? resourceSet : createResourceSet();
+    }
+
+    private static ResourceSet createResourceSet() {
+        final ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put( Resource.Factory.Registry.DEFAULT_EXTENSION,
+                                                                                 new JBPMBpmn2ResourceFactoryImpl() );
+        resourceSet.getPackageRegistry().put( BPMN2_NS_URI,
+                                              Bpmn2Package.eINSTANCE );
+        resourceSet.getPackageRegistry().put( DroolsPackage.eNS_URI,
+                                              DroolsPackage.eINSTANCE );
+        return resourceSet;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.legacy.resource;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.bpmn2.Definitions;
+import org.eclipse.bpmn2.Process;
+import org.eclipse.bpmn2.RootElement;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class JBPMBpmn2ResourceParserTest {
+
+    private static final String BPMN_BASIC = "org/kie/workbench/common/stunner/bpmn/backend/service/diagram/basic.bpmn";
+    private static final String BPMN_BASIC_DEFINITIONS_ID = "_8nbnEfbPEeWV2qFDuocQ6Q";
+    private static final String BPMN_BASIC_PROCESS_ID = "_8neDUPbPEeWV2qFDuocQ6Q";
+
+    @Test
+    public void testSharedInstance() {
+        assertSame( JBPMBpmn2ResourceParser.getInstance(),
+                    JBPMBpmn2ResourceParser.getInstance() );
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testLoadOptionsAreImmutable() {
+        new JBPMBpmn2ResourceParser().getLoadOptions().put( "someOption",
+                                                            true );
+    }
+
+    @Test
+    public void testParse() throws Exception {
+        final Definitions definitions = parse( new JBPMBpmn2ResourceParser() );
+        assertBasicDefinitions( definitions );
+    }
+
+    @Test
+    public void testParseConcurrently() throws Exception {
+        final JBPMBpmn2ResourceParser parser = new JBPMBpmn2ResourceParser();
+        final ExecutorService executorService = Executors.newFixedThreadPool( 8 );
+        try {
+            final List<Future<Definitions>> results = new ArrayList<Future<Definitions>>();
+            for ( int i = 0; i < 64; i++ ) {
+                results.add( executorService.submit( new Callable<Definitions>() {
+                    @Override
+                    public Definitions call() throws Exception {
+                        return parse( parser );
+                    }
+                } ) );
+            }
+            for ( final Future<Definitions> result : results ) {
+                assertBasicDefinitions( result.get() );
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static Definitions parse( final JBPMBpmn2ResourceParser parser ) throws Exception {
+        final InputStream is = JBPMBpmn2ResourceParserTest.class.getClassLoader().getResourceAsStream( BPMN_BASIC );
+        try {
+            return parser.parse( is );
+        } finally {
+            is.close();
+        }
+    }
+
+    private static void assertBasicDefinitions( final Definitions definitions ) {
+        assertNotNull( definitions );
+        assertEquals( BPMN_BASIC_DEFINITIONS_ID,
+                      definitions.getId() );
+        Process process = null;
+        for ( final RootElement rootElement : definitions.getRootElements() ) {
+            if ( rootElement instanceof Process ) {
+                process = (Process) rootElement;
+            }
+        }
+        assertNotNull( process );
+        assertEquals( BPMN_BASIC_PROCESS_ID,
+                      process.getId() );
+        assertFalse( process.getFlowElements().isEmpty() );
+    }
+}